@@ -0,0 +1,197 @@
+package Database.DAO.Impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Righe al secondo lette da un risultato largo come quello delle SELECT su HACKATHON:
+ * lettura per etichetta, come prima di {@link RowMapper}, contro lettura per indice.
+ *
+ * Il ResultSet è simulato in memoria, così che si misuri solo la lettura delle celle e non
+ * la rete. Come il driver PostgreSQL, risolve le etichette con una mappa che ignora
+ * maiuscole e minuscole. Entrambe le varianti passano dallo stesso proxy: i valori assoluti
+ * comprendono il suo costo, il confronto tra le due no.
+ *
+ * Esecuzione: {@code mvn -Pbenchmark package && java -jar target/benchmarks.jar RowMapperBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private static final int RIGHE = 10_000;
+
+    private static final String[] ETICHETTE = {
+            "Titolo_identificativo", "Organizzatore", "Sede", "DataInizio_registrazione",
+            "DataFine_registrazione", "DataInizio_evento", "DataFine_evento", "Descrizione_problema",
+            "NumIscritti_corrente", "MaxNum_iscritti", "MaxNum_membriTeam", "Lunghezza_descrizione"
+    };
+
+    private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+    private static final RowMapper.Colonna TITOLO = COLONNE.aggiungi("Titolo_identificativo");
+    private static final RowMapper.Colonna ORGANIZZATORE = COLONNE.aggiungi("Organizzatore");
+    private static final RowMapper.Colonna SEDE = COLONNE.aggiungi("Sede");
+    private static final RowMapper.Colonna INIZIO_REGISTRAZIONE = COLONNE.aggiungi("DataInizio_registrazione");
+    private static final RowMapper.Colonna FINE_REGISTRAZIONE = COLONNE.aggiungi("DataFine_registrazione");
+    private static final RowMapper.Colonna INIZIO_EVENTO = COLONNE.aggiungi("DataInizio_evento");
+    private static final RowMapper.Colonna FINE_EVENTO = COLONNE.aggiungi("DataFine_evento");
+    private static final RowMapper.Colonna DESCRIZIONE = COLONNE.aggiungi("Descrizione_problema");
+    private static final RowMapper.Colonna NUM_ISCRITTI = COLONNE.aggiungi("NumIscritti_corrente");
+    private static final RowMapper.Colonna MAX_ISCRITTI = COLONNE.aggiungi("MaxNum_iscritti");
+    private static final RowMapper.Colonna MAX_MEMBRI_TEAM = COLONNE.aggiungi("MaxNum_membriTeam");
+    private static final RowMapper.Colonna LUNGHEZZA_DESCRIZIONE = COLONNE.aggiungi("Lunghezza_descrizione");
+
+    private Object[][] righe;
+    private ResultSet rs;
+
+    @Setup(Level.Trial)
+    public void preparaRighe() {
+        righe = new Object[RIGHE][];
+        Date inizio = Date.valueOf(LocalDate.of(2025, 3, 1));
+        Date fine = Date.valueOf(LocalDate.of(2025, 3, 3));
+        for (int i = 0; i < RIGHE; i++) {
+            righe[i] = new Object[]{
+                    "Hackathon " + i, "organizzatore" + (i % 50), "Napoli", inizio, inizio, fine, fine,
+                    "Descrizione del problema dell'hackathon numero " + i, i % 200, 200, 5, 48
+            };
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void apriRisultato() {
+        rs = RisultatoSimulato.crea(righe);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RIGHE)
+    public void perEtichetta(Blackhole bh) throws SQLException {
+        while (rs.next()) {
+            bh.consume(rs.getString("Titolo_identificativo"));
+            bh.consume(rs.getString("Organizzatore"));
+            bh.consume(rs.getString("Sede"));
+            bh.consume(rs.getDate("DataInizio_registrazione").toLocalDate());
+            bh.consume(rs.getDate("DataFine_registrazione").toLocalDate());
+            bh.consume(rs.getDate("DataInizio_evento").toLocalDate());
+            bh.consume(rs.getDate("DataFine_evento").toLocalDate());
+            bh.consume(rs.getString("Descrizione_problema"));
+            bh.consume(rs.getInt("NumIscritti_corrente"));
+            bh.consume(rs.getInt("MaxNum_iscritti"));
+            bh.consume(rs.getInt("MaxNum_membriTeam"));
+            bh.consume(rs.getInt("Lunghezza_descrizione"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RIGHE)
+    public void perIndice(Blackhole bh) throws SQLException {
+        RowMapper.Riga riga = COLONNE.riga(rs);
+        while (rs.next()) {
+            bh.consume(riga.getString(TITOLO));
+            bh.consume(riga.getString(ORGANIZZATORE));
+            bh.consume(riga.getString(SEDE));
+            bh.consume(riga.getLocalDate(INIZIO_REGISTRAZIONE));
+            bh.consume(riga.getLocalDate(FINE_REGISTRAZIONE));
+            bh.consume(riga.getLocalDate(INIZIO_EVENTO));
+            bh.consume(riga.getLocalDate(FINE_EVENTO));
+            bh.consume(riga.getString(DESCRIZIONE));
+            bh.consume(riga.getInt(NUM_ISCRITTI));
+            bh.consume(riga.getInt(MAX_ISCRITTI));
+            bh.consume(riga.getInt(MAX_MEMBRI_TEAM));
+            bh.consume(riga.getInt(LUNGHEZZA_DESCRIZIONE));
+        }
+    }
+
+    /**
+     * ResultSet in memoria con solo i metodi usati dal benchmark.
+     */
+    private static final class RisultatoSimulato implements InvocationHandler {
+        private static final Map<String, Integer> INDICI = new HashMap<>();
+
+        static {
+            for (int i = 0; i < ETICHETTE.length; i++) {
+                INDICI.put(ETICHETTE[i], i + 1);
+                INDICI.put(ETICHETTE[i].toLowerCase(Locale.ROOT), i + 1);
+            }
+        }
+
+        private final Object[][] righe;
+        private final ResultSetMetaData metaData;
+        private int corrente = -1;
+
+        private RisultatoSimulato(Object[][] righe) {
+            this.righe = righe;
+            this.metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                    ResultSetMetaData.class.getClassLoader(), new Class<?>[]{ResultSetMetaData.class},
+                    (proxy, metodo, argomenti) -> switch (metodo.getName()) {
+                        case "getColumnCount" -> ETICHETTE.length;
+                        case "getColumnLabel", "getColumnName" -> ETICHETTE[(Integer) argomenti[0] - 1];
+                        default -> throw new UnsupportedOperationException(metodo.getName());
+                    });
+        }
+
+        static ResultSet crea(Object[][] righe) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, new RisultatoSimulato(righe));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argomenti) throws SQLException {
+            switch (metodo.getName()) {
+                case "next":
+                    return ++corrente < righe.length;
+                case "getMetaData":
+                    return metaData;
+                case "wasNull":
+                    return false;
+                case "getString":
+                case "getDate":
+                case "getInt":
+                    return righe[corrente][indice(argomenti[0]) - 1];
+                default:
+                    throw new UnsupportedOperationException(metodo.getName());
+            }
+        }
+
+        private static int indice(Object colonna) throws SQLException {
+            if (colonna instanceof Integer indice) {
+                return indice;
+            }
+            // Come il driver: prima l'etichetta esatta, poi in minuscolo
+            Integer indice = INDICI.get((String) colonna);
+            if (indice == null) {
+                indice = INDICI.get(((String) colonna).toLowerCase(Locale.ROOT));
+            }
+            if (indice == null) {
+                throw new SQLException("Colonna inesistente: " + colonna);
+            }
+            return indice;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package Database;
+
+import org.postgresql.PGConnection;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Annullamento delle query di un'operazione eseguita su un altro thread.
+ *
+ * Interrompere il thread non basta: un thread bloccato nella lettura del socket del driver
+ * PostgreSQL non si sveglia, e la query continua a occupare il server e la connessione del pool.
+ * Mentre un annullamento è associato al thread, le connessioni prese con
+ * {@link ConnessioneDatabase#getConnection()} vengono registrate fino alla loro chiusura;
+ * {@link #annulla()} chiede al server di interrompere la query in corso su ciascuna
+ * (come {@code Statement.cancel()}) e impedisce di prenderne di nuove.
+ */
+public final class Annullamento {
+
+    private static final ThreadLocal<Annullamento> CORRENTE = new ThreadLocal<>();
+
+    // Connessioni in prestito all'operazione, protette dal lock dell'istanza
+    private final Set<Connection> inUso = new HashSet<>();
+    private boolean annullato;
+
+    /**
+     * Associa l'annullamento al thread corrente, che deve poi chiamare {@link #dissocia()}.
+     */
+    public void associa() {
+        CORRENTE.set(this);
+    }
+
+    /**
+     * Dissocia l'annullamento dal thread corrente.
+     */
+    public void dissocia() {
+        if (CORRENTE.get() == this) {
+            CORRENTE.remove();
+        }
+    }
+
+    /**
+     * Interrompe le query in corso sulle connessioni dell'operazione. Le connessioni
+     * richieste in seguito vengono rifiutate con una SQLException.
+     */
+    public synchronized void annulla() {
+        annullato = true;
+        for (Connection connection : inUso) {
+            try {
+                connection.unwrap(PGConnection.class).cancelQuery();
+            } catch (SQLException e) {
+                System.err.println("Errore durante l'annullamento di una query: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return true se {@link #annulla()} è stato chiamato
+     */
+    public synchronized boolean isAnnullato() {
+        return annullato;
+    }
+
+    /**
+     * Registra una connessione appena presa dal pool presso l'annullamento associato
+     * al thread corrente, se c'è.
+     *
+     * @param connection La connessione presa dal pool
+     * @return La connessione da usare: se è registrata, la sua chiusura la rimuove dalla registrazione
+     * @throws SQLException Se l'operazione è già stata annullata (la connessione viene restituita)
+     */
+    static Connection registra(Connection connection) throws SQLException {
+        Annullamento annullamento = CORRENTE.get();
+        return annullamento == null ? connection : annullamento.aggiungi(connection);
+    }
+
+    private synchronized Connection aggiungi(Connection connection) throws SQLException {
+        if (annullato) {
+            connection.close();
+            throw new SQLException("Operazione annullata");
+        }
+        inUso.add(connection);
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            // Prima di restituirla al pool: non deve essere annullata la query di un altro
+                            synchronized (this) {
+                                inUso.remove(connection);
+                            }
+                            connection.close();
+                            return null;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+}
@@ -0,0 +1,307 @@
+package Database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool limitato di connessioni JDBC verso PostgreSQL.
+ * Le connessioni vengono prese in prestito con {@link #borrow()} e restituite al pool
+ * semplicemente chiamando {@code close()} sulla connessione ottenuta, così che i DAO possano
+ * usare il normale try-with-resources per ogni operazione.
+ *
+ * Il pool gestisce:
+ * - un numero massimo di connessioni fisiche aperte contemporaneamente;
+ * - un timeout di attesa quando il pool è esaurito;
+ * - la validazione della connessione al momento del prestito;
+ * - l'eliminazione delle connessioni inattive da troppo tempo;
+ * - una durata massima di vita per ogni connessione fisica.
+ */
+public class ConnectionPool {
+
+    // ATTRIBUTI
+    private final String url;
+    private final String nome;
+    private final String password;
+
+    private final int maxConnessioni;
+    private final int minConnessioniInattive;
+    private final long timeoutAttesaMillis;
+    private final long timeoutInattivitaMillis;
+    private final long durataMassimaMillis;
+    private final int timeoutValidazioneSecondi;
+
+    /**
+     * Connessioni fisiche inattive, la testa contiene la più recente (uso LIFO).
+     */
+    private final LinkedBlockingDeque<ConnessioneFisica> inattive = new LinkedBlockingDeque<>();
+
+    /**
+     * Permessi disponibili: limita il numero di connessioni in prestito.
+     */
+    private final Semaphore permessi;
+
+    private final ScheduledExecutorService manutenzione;
+    private volatile boolean chiuso = false;
+
+    /**
+     * Connessione fisica con i metadati necessari alla gestione del ciclo di vita.
+     */
+    private static final class ConnessioneFisica {
+        private final Connection connection;
+        private final long creataIl;
+        private long ultimoUtilizzo;
+
+        private ConnessioneFisica(Connection connection) {
+            this.connection = connection;
+            this.creataIl = System.currentTimeMillis();
+            this.ultimoUtilizzo = creataIl;
+        }
+    }
+
+    // COSTRUTTORE
+    /**
+     * Crea il pool e apre subito le connessioni minime, così che un database
+     * non raggiungibile venga segnalato all'avvio.
+     *
+     * @param url URL JDBC del database
+     * @param nome Nome utente del database
+     * @param password Password del database
+     * @param maxConnessioni Numero massimo di connessioni in prestito contemporaneamente
+     * @param minConnessioniInattive Numero di connessioni inattive da mantenere aperte
+     * @param timeoutAttesaMillis Attesa massima quando il pool è esaurito
+     * @param timeoutInattivitaMillis Tempo dopo il quale una connessione inattiva viene chiusa
+     * @param durataMassimaMillis Durata massima di vita di una connessione fisica
+     * @param timeoutValidazioneSecondi Timeout per la validazione al momento del prestito
+     * @throws SQLException Se non è possibile aprire le connessioni iniziali
+     */
+    public ConnectionPool(String url, String nome, String password,
+                          int maxConnessioni, int minConnessioniInattive,
+                          long timeoutAttesaMillis, long timeoutInattivitaMillis,
+                          long durataMassimaMillis, int timeoutValidazioneSecondi) throws SQLException {
+        if (maxConnessioni <= 0 || minConnessioniInattive < 0 || minConnessioniInattive > maxConnessioni) {
+            throw new IllegalArgumentException("Configurazione del pool di connessioni non valida");
+        }
+        this.url = url;
+        this.nome = nome;
+        this.password = password;
+        this.maxConnessioni = maxConnessioni;
+        this.minConnessioniInattive = minConnessioniInattive;
+        this.timeoutAttesaMillis = timeoutAttesaMillis;
+        this.timeoutInattivitaMillis = timeoutInattivitaMillis;
+        this.durataMassimaMillis = durataMassimaMillis;
+        this.timeoutValidazioneSecondi = timeoutValidazioneSecondi;
+        this.permessi = new Semaphore(maxConnessioni, true);
+
+        for (int i = 0; i < minConnessioniInattive; i++) {
+            inattive.offerLast(apriConnessione());
+        }
+
+        this.manutenzione = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-manutenzione");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodo = Math.max(1000, Math.min(timeoutInattivitaMillis, durataMassimaMillis) / 2);
+        manutenzione.scheduleWithFixedDelay(this::eseguiManutenzione, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Prende in prestito una connessione dal pool.
+     * La connessione restituita va chiusa al termine dell'operazione per riconsegnarla al pool.
+     *
+     * @return Una connessione valida
+     * @throws SQLException Se il pool è esaurito oltre il timeout o il database non è raggiungibile
+     */
+    public Connection borrow() throws SQLException {
+        if (chiuso) {
+            throw new SQLException("Il pool di connessioni è stato chiuso");
+        }
+
+        try {
+            if (!permessi.tryAcquire(timeoutAttesaMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Pool di connessioni esaurito: nessuna connessione disponibile entro "
+                                + timeoutAttesaMillis + " ms (massimo " + maxConnessioni + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Attesa di una connessione interrotta", e);
+        }
+
+        try {
+            ConnessioneFisica fisica;
+            while ((fisica = inattive.pollFirst()) != null) {
+                if (isScaduta(fisica, System.currentTimeMillis()) || !isValida(fisica)) {
+                    chiudiFisica(fisica);
+                    continue;
+                }
+                return avvolgi(fisica);
+            }
+            return avvolgi(apriConnessione());
+        } catch (SQLException | RuntimeException e) {
+            permessi.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Chiude il pool e tutte le connessioni inattive.
+     * Le connessioni ancora in prestito vengono chiuse alla loro restituzione.
+     */
+    public void shutdown() {
+        chiuso = true;
+        manutenzione.shutdownNow();
+        ConnessioneFisica fisica;
+        while ((fisica = inattive.pollFirst()) != null) {
+            chiudiFisica(fisica);
+        }
+    }
+
+    /**
+     * @return Il numero massimo di connessioni in prestito contemporaneamente
+     */
+    public int getMaxConnessioni() {
+        return maxConnessioni;
+    }
+
+    /**
+     * @return Il numero di connessioni attualmente in prestito
+     */
+    public int getConnessioniInUso() {
+        return maxConnessioni - permessi.availablePermits();
+    }
+
+    /**
+     * @return Il numero di connessioni fisiche inattive nel pool
+     */
+    public int getConnessioniInattive() {
+        return inattive.size();
+    }
+
+    // METODI INTERNI
+
+    private ConnessioneFisica apriConnessione() throws SQLException {
+        return new ConnessioneFisica(DriverManager.getConnection(url, nome, password));
+    }
+
+    private boolean isScaduta(ConnessioneFisica fisica, long adesso) {
+        return adesso - fisica.creataIl >= durataMassimaMillis;
+    }
+
+    private boolean isValida(ConnessioneFisica fisica) {
+        try {
+            return fisica.connection.isValid(timeoutValidazioneSecondi);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void chiudiFisica(ConnessioneFisica fisica) {
+        try {
+            fisica.connection.close();
+        } catch (SQLException e) {
+            System.err.println("Errore nella chiusura di una connessione del pool: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Riconsegna una connessione fisica al pool, ripristinandone lo stato.
+     */
+    private void restituisci(ConnessioneFisica fisica) {
+        try {
+            boolean riutilizzabile = !chiuso && !fisica.connection.isClosed()
+                    && !isScaduta(fisica, System.currentTimeMillis());
+            if (riutilizzabile) {
+                if (!fisica.connection.getAutoCommit()) {
+                    fisica.connection.rollback();
+                    fisica.connection.setAutoCommit(true);
+                }
+                if (fisica.connection.isReadOnly()) {
+                    fisica.connection.setReadOnly(false);
+                }
+                fisica.connection.clearWarnings();
+                fisica.ultimoUtilizzo = System.currentTimeMillis();
+                inattive.offerFirst(fisica);
+            } else {
+                chiudiFisica(fisica);
+            }
+        } catch (SQLException e) {
+            // La connessione è in uno stato inconsistente: meglio scartarla
+            chiudiFisica(fisica);
+        } finally {
+            permessi.release();
+        }
+    }
+
+    /**
+     * Elimina le connessioni inattive da troppo tempo o giunte a fine vita,
+     * mantenendo comunque il numero minimo di connessioni inattive.
+     */
+    private void eseguiManutenzione() {
+        long adesso = System.currentTimeMillis();
+        for (ConnessioneFisica fisica : inattive) {
+            boolean inattivaTroppo = adesso - fisica.ultimoUtilizzo >= timeoutInattivitaMillis
+                    && inattive.size() > minConnessioniInattive;
+            if ((inattivaTroppo || isScaduta(fisica, adesso)) && inattive.remove(fisica)) {
+                chiudiFisica(fisica);
+            }
+        }
+    }
+
+    /**
+     * Avvolge la connessione fisica in un proxy il cui {@code close()} la riconsegna al pool.
+     */
+    private Connection avvolgi(ConnessioneFisica fisica) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean restituita = false;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!restituita) {
+                            restituita = true;
+                            restituisci(fisica);
+                        }
+                        return null;
+                    case "isClosed":
+                        return restituita || fisica.connection.isClosed();
+                    case "unwrap":
+                        if (((Class<?>) args[0]).isInstance(proxy)) {
+                            return proxy;
+                        }
+                        break;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "PooledConnection[" + fisica.connection + "]";
+                    default:
+                        break;
+                }
+                if (restituita) {
+                    throw new SQLException("Connessione già restituita al pool");
+                }
+                try {
+                    return method.invoke(fisica.connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+}
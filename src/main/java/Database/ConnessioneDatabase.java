@@ -5,58 +5,123 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
- * Classe singleton per la gestione della connessione al database PostgreSQL.
- * Implementa il pattern Singleton per garantire una sola istanza di connessione.
+ * Classe singleton per la gestione delle connessioni al database PostgreSQL.
+ * Implementa il pattern Singleton per garantire un solo pool di connessioni condiviso:
+ * ogni operazione dei DAO prende in prestito una connessione con {@link #getConnection()}
+ * e la restituisce chiudendola al termine.
  */
 public class ConnessioneDatabase {
 
     // ATTRIBUTI
     private static ConnessioneDatabase instance;
-    public Connection connection = null;
+    private final ConnectionPool pool;
     private String nome = "postgres";
     private String password = "passwordBasi";
-    private String url = "jdbc:postgresql://localhost:5432/ProgettoBasi";
+    // reWriteBatchedInserts: il driver trasforma gli INSERT in batch in INSERT multi-riga
+    private String url = "jdbc:postgresql://localhost:5432/ProgettoBasi?reWriteBatchedInserts=true";
     private String driver = "org.postgresql.Driver";
 
+    // CONFIGURAZIONE DEL POOL
+    private int maxConnessioni = 10;
+    private int minConnessioniInattive = 1;
+    private long timeoutAttesaMillis = 5_000;
+    private long timeoutInattivitaMillis = 5 * 60_000;
+    private long durataMassimaMillis = 30 * 60_000;
+    private int timeoutValidazioneSecondi = 2;
+
     // COSTRUTTORE
     private ConnessioneDatabase() throws SQLException {
         try {
             Class.forName(driver);
-            connection = DriverManager.getConnection(url, nome, password);
-            System.out.println("Connessione al database stabilita con successo!");
-
         } catch (ClassNotFoundException ex) {
             System.out.println("Database Connection Creation Failed : " + ex.getMessage());
             ex.printStackTrace();
         }
+        pool = new ConnectionPool(url, nome, password,
+                maxConnessioni, minConnessioniInattive,
+                timeoutAttesaMillis, timeoutInattivitaMillis,
+                durataMassimaMillis, timeoutValidazioneSecondi);
+        System.out.println("Connessione al database stabilita con successo!");
     }
 
     /**
      * Metodo per ottenere l'istanza singleton della connessione al database.
-     * 
+     *
      * @return L'istanza di ConnessioneDatabase
      * @throws SQLException Se si verifica un errore nella connessione
      */
-    public static ConnessioneDatabase getInstance() throws SQLException {
+    public static synchronized ConnessioneDatabase getInstance() throws SQLException {
         if (instance == null) {
             instance = new ConnessioneDatabase();
-        } else if (instance.connection.isClosed()) {
-            instance = new ConnessioneDatabase();
         }
         return instance;
     }
 
     /**
-     * Metodo per chiudere la connessione al database.
+     * Prende in prestito una connessione dal pool.
+     * La connessione va chiusa al termine dell'operazione (ad esempio con try-with-resources)
+     * per restituirla al pool. Se il thread corrente ha una transazione attiva viene
+     * restituita la connessione della transazione. Se al thread è associato un
+     * {@link Annullamento}, la connessione vi viene registrata fino alla chiusura.
+     *
+     * @return Una connessione valida al database
+     * @throws SQLException Se il pool è esaurito o il database non è raggiungibile
      */
-    public void closeConnection() {
+    public Connection getConnection() throws SQLException {
+        Transazione tx = Transazione.corrente();
+        if (tx != null) {
+            return tx.getConnection();
+        }
+        return Annullamento.registra(pool.borrow());
+    }
+
+    /**
+     * Apre una nuova transazione esplicita associata al thread corrente.
+     *
+     * @return La transazione aperta
+     * @throws SQLException Se non è possibile ottenere una connessione dal pool
+     */
+    public Transazione iniziaTransazione() throws SQLException {
+        Connection connection = Annullamento.registra(pool.borrow());
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Connessione al database chiusa.");
+            return new Transazione(connection);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Apre una connessione fuori dal pool, per usi di lunga durata che non devono
+     * occupare una connessione del pool (ad esempio l'ascolto delle notifiche).
+     * La connessione va chiusa dal chiamante.
+     *
+     * @return Una nuova connessione al database
+     * @throws SQLException Se il database non è raggiungibile
+     */
+    public Connection apriConnessioneDedicata() throws SQLException {
+        return DriverManager.getConnection(url, nome, password);
+    }
+
+    /**
+     * Restituisce il pool di connessioni sottostante, ad esempio per monitorarne l'utilizzo.
+     *
+     * @return Il pool di connessioni
+     */
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Metodo per chiudere tutte le connessioni al database.
+     */
+    public void closeConnection() {
+        synchronized (ConnessioneDatabase.class) {
+            pool.shutdown();
+            if (instance == this) {
+                instance = null;
             }
-        } catch (SQLException e) {
-            System.err.println("Errore nella chiusura della connessione: " + e.getMessage());
         }
+        System.out.println("Connessione al database chiusa.");
     }
 }
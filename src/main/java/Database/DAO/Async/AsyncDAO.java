@@ -0,0 +1,180 @@
+package Database.DAO.Async;
+
+import Database.Annullamento;
+import Database.ConnessioneDatabase;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Facciata asincrona per un qualsiasi DAO (HackathonDAO, TeamDAO, MembershipDAO, DocumentoDAO,
+ * VotoDAO, ValutazioneDAO, InvitoGiudiceDAO, ...) o per un controller che li usa.
+ * Ogni chiamata viene eseguita su un thread virtuale dedicato e restituisce un CompletableFuture,
+ * così che le GUI possano interrogare il database senza bloccare l'Event Dispatch Thread.
+ *
+ * Esempio d'uso:
+ * <pre>
+ *     AsyncDAO&lt;HackathonDAO&gt; hackathonAsync = new AsyncDAO&lt;&gt;(new HackathonDAOImpl());
+ *     hackathonAsync.submit(HackathonDAO::getAllHackathon)
+ *                   .thenAccept(lista -&gt; SwingUtilities.invokeLater(() -&gt; aggiornaLista(lista)));
+ * </pre>
+ *
+ * Le operazioni in esecuzione sono al più quante le connessioni del pool: le altre attendono
+ * il proprio turno sul loro thread virtuale, senza occupare thread di piattaforma e senza
+ * scadere per il timeout di attesa del pool. Il timeout dell'operazione comprende l'attesa.
+ *
+ * Se il future restituito viene cancellato o scade il timeout, le query in corso vengono
+ * annullate sul server ({@link Annullamento}) e il thread che le esegue viene interrotto,
+ * così che la connessione torni subito al pool.
+ *
+ * @param <D> Il tipo di DAO avvolto
+ */
+public class AsyncDAO<D> {
+
+    /**
+     * Timeout predefinito per le operazioni asincrone.
+     */
+    public static final Duration TIMEOUT_PREDEFINITO = Duration.ofSeconds(30);
+
+    /**
+     * Executor condiviso: un thread virtuale per ogni operazione.
+     */
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Permessi delle operazioni in esecuzione, quanti le connessioni del pool; creati al primo uso.
+     */
+    private static volatile Semaphore inEsecuzione;
+
+    private final D dao;
+    private final Duration timeout;
+
+    /**
+     * Crea la facciata asincrona con il timeout predefinito.
+     *
+     * @param dao Il DAO sincrono da avvolgere
+     */
+    public AsyncDAO(D dao) {
+        this(dao, TIMEOUT_PREDEFINITO);
+    }
+
+    /**
+     * Crea la facciata asincrona con un timeout personalizzato.
+     *
+     * @param dao Il DAO sincrono da avvolgere
+     * @param timeout Il timeout applicato a ogni operazione
+     */
+    public AsyncDAO(D dao, Duration timeout) {
+        if (dao == null || timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("DAO e timeout positivo sono obbligatori");
+        }
+        this.dao = dao;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Esegue un'operazione sul DAO in modo asincrono con il timeout della facciata.
+     *
+     * @param operazione L'operazione da eseguire
+     * @param <T> Il tipo del risultato
+     * @return Un future completato con il risultato, o eccezionalmente con la SQLException
+     *         (avvolta in CompletionException) o con una TimeoutException
+     */
+    public <T> CompletableFuture<T> submit(SqlFunction<D, T> operazione) {
+        return submit(operazione, timeout);
+    }
+
+    /**
+     * Esegue un'operazione sul DAO in modo asincrono con un timeout specifico.
+     *
+     * @param operazione L'operazione da eseguire
+     * @param timeout Il timeout dell'operazione
+     * @param <T> Il tipo del risultato
+     * @return Un future completato con il risultato dell'operazione
+     */
+    public <T> CompletableFuture<T> submit(SqlFunction<D, T> operazione, Duration timeout) {
+        CompletableFuture<T> risultato = new CompletableFuture<>();
+        Annullamento annullamento = new Annullamento();
+
+        Future<?> task = EXECUTOR.submit(() -> {
+            try {
+                Semaphore permessi = permessi();
+                permessi.acquire();
+                try {
+                    if (risultato.isDone()) {
+                        return;
+                    }
+                    annullamento.associa();
+                    try {
+                        risultato.complete(operazione.apply(dao));
+                    } finally {
+                        annullamento.dissocia();
+                    }
+                } finally {
+                    permessi.release();
+                }
+            } catch (InterruptedException e) {
+                risultato.completeExceptionally(new CancellationException("Operazione interrotta"));
+            } catch (Throwable e) {
+                risultato.completeExceptionally(new CompletionException(e));
+            }
+        });
+
+        // Cancellazione e timeout (anche quelli applicati dal chiamante) annullano le query
+        // in corso e interrompono il thread
+        risultato.whenComplete((valore, errore) -> {
+            if (errore != null && !task.isDone()) {
+                annullamento.annulla();
+                task.cancel(true);
+            }
+        });
+
+        return risultato.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Estrae l'errore originale da quello con cui è stato completato un future della facciata.
+     *
+     * @param errore L'errore ricevuto, ad esempio in {@code whenComplete}
+     * @return La causa, senza gli involucri CompletionException
+     */
+    public static Throwable causa(Throwable errore) {
+        while (errore instanceof CompletionException && errore.getCause() != null) {
+            errore = errore.getCause();
+        }
+        return errore;
+    }
+
+    /**
+     * Restituisce i permessi delle operazioni in esecuzione, creandoli al primo uso
+     * con la dimensione del pool di connessioni.
+     */
+    private static Semaphore permessi() throws SQLException {
+        Semaphore permessi = inEsecuzione;
+        if (permessi == null) {
+            synchronized (AsyncDAO.class) {
+                permessi = inEsecuzione;
+                if (permessi == null) {
+                    int massimo = ConnessioneDatabase.getInstance().getPool().getMaxConnessioni();
+                    inEsecuzione = permessi = new Semaphore(massimo, true);
+                }
+            }
+        }
+        return permessi;
+    }
+
+    /**
+     * @return Il DAO sincrono avvolto
+     */
+    public D getDao() {
+        return dao;
+    }
+}
@@ -0,0 +1,23 @@
+package Database.DAO.Async;
+
+import java.sql.SQLException;
+
+/**
+ * Operazione su un DAO che può lanciare SQLException.
+ * Permette di passare le chiamate ai DAO come lambda, ad esempio {@code dao -> dao.getAllHackathon()}.
+ *
+ * @param <D> Il tipo di DAO su cui viene eseguita l'operazione
+ * @param <T> Il tipo del risultato
+ */
+@FunctionalInterface
+public interface SqlFunction<D, T> {
+
+    /**
+     * Esegue l'operazione sul DAO.
+     *
+     * @param dao Il DAO su cui eseguire l'operazione
+     * @return Il risultato dell'operazione
+     * @throws SQLException Se si verifica un errore durante l'accesso al database
+     */
+    T apply(D dao) throws SQLException;
+}
@@ -0,0 +1,105 @@
+package Database.DAO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Classifica di un hackathon calcolata dai voti dei giudici.
+ *
+ * La classifica è provvisoria finché l'hackathon non è terminato o mancano voti;
+ * diventa definitiva quando l'evento è concluso e ogni giudice ha votato ogni team.
+ */
+public class Classifica {
+
+    private final String titoloHackathon;
+    private final List<RigaClassifica> righe;
+    private final boolean hackathonTerminato;
+    private final int numeroGiudici;
+    private final int votiRegistrati;
+
+    /**
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param righe Le righe della classifica in ordine di posizione
+     * @param hackathonTerminato true se la data di fine dell'evento è passata
+     * @param numeroGiudici Il numero di giudici dell'hackathon
+     * @param votiRegistrati Il numero totale di voti espressi
+     */
+    public Classifica(String titoloHackathon, List<RigaClassifica> righe, boolean hackathonTerminato,
+                      int numeroGiudici, int votiRegistrati) {
+        this.titoloHackathon = titoloHackathon;
+        this.righe = Collections.unmodifiableList(new ArrayList<>(righe));
+        this.hackathonTerminato = hackathonTerminato;
+        this.numeroGiudici = numeroGiudici;
+        this.votiRegistrati = votiRegistrati;
+    }
+
+    public String getTitoloHackathon() {
+        return titoloHackathon;
+    }
+
+    /**
+     * @return Le righe della classifica in ordine di posizione
+     */
+    public List<RigaClassifica> getRighe() {
+        return righe;
+    }
+
+    public boolean isHackathonTerminato() {
+        return hackathonTerminato;
+    }
+
+    public int getNumeroGiudici() {
+        return numeroGiudici;
+    }
+
+    public int getVotiRegistrati() {
+        return votiRegistrati;
+    }
+
+    /**
+     * @return Il numero di voti attesi: ogni giudice vota ogni team
+     */
+    public int getVotiAttesi() {
+        return numeroGiudici * righe.size();
+    }
+
+    /**
+     * @return Il numero di voti ancora da esprimere
+     */
+    public int getVotiMancanti() {
+        return Math.max(0, getVotiAttesi() - votiRegistrati);
+    }
+
+    /**
+     * @return true se l'hackathon è terminato e tutti i voti sono stati espressi
+     */
+    public boolean isDefinitiva() {
+        return hackathonTerminato && !righe.isEmpty() && numeroGiudici > 0 && getVotiMancanti() == 0;
+    }
+
+    /**
+     * Restituisce la riga di un team.
+     *
+     * @param nomeTeam Il nome del team
+     * @return La riga del team, null se il team non è in classifica
+     */
+    public RigaClassifica getRiga(String nomeTeam) {
+        for (RigaClassifica riga : righe) {
+            if (riga.getNomeTeam().equals(nomeTeam)) {
+                return riga;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Formato testuale salvato in HACKATHON.Classifica: una riga "posizione team punteggio" per team.
+     *
+     * @return La classifica in forma testuale
+     */
+    public String toTesto() {
+        return righe.stream().map(RigaClassifica::toString).collect(Collectors.joining("\n"));
+    }
+}
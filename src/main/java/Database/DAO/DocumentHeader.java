@@ -0,0 +1,85 @@
+package Database.DAO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proiezione leggera di un documento per le liste e i selettori.
+ *
+ * Contiene solo la chiave, il titolo, la data di stesura, la dimensione e una breve anteprima:
+ * il contenuto completo, che può essere molto grande, non viene trasferito e va richiesto
+ * con {@link DocumentoDAO#findById(int)} solo quando il documento viene aperto.
+ */
+public class DocumentHeader {
+
+    /**
+     * Numero massimo di caratteri dell'anteprima calcolata dal database.
+     */
+    public static final int LUNGHEZZA_ANTEPRIMA = 60;
+
+    private final int idDocumento;
+    private final String nomeTeam;
+    private final String titoloHackathon;
+    private final String titolo;
+    private final LocalDateTime dataStesura;
+    private final int dimensione;
+    private final String anteprima;
+
+    /**
+     * @param idDocumento L'ID del documento
+     * @param nomeTeam Il nome del team autore
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param titolo Il titolo del documento
+     * @param dataStesura La data di stesura
+     * @param dimensione La lunghezza del contenuto in caratteri
+     * @param anteprima I primi caratteri del contenuto
+     */
+    public DocumentHeader(int idDocumento, String nomeTeam, String titoloHackathon, String titolo,
+                          LocalDateTime dataStesura, int dimensione, String anteprima) {
+        this.idDocumento = idDocumento;
+        this.nomeTeam = nomeTeam;
+        this.titoloHackathon = titoloHackathon;
+        this.titolo = titolo;
+        this.dataStesura = dataStesura;
+        this.dimensione = dimensione;
+        this.anteprima = anteprima;
+    }
+
+    public int getIdDocumento() {
+        return idDocumento;
+    }
+
+    public String getNomeTeam() {
+        return nomeTeam;
+    }
+
+    public String getTitoloHackathon() {
+        return titoloHackathon;
+    }
+
+    public String getTitolo() {
+        return titolo;
+    }
+
+    public LocalDateTime getDataStesura() {
+        return dataStesura;
+    }
+
+    /**
+     * @return La lunghezza del contenuto in caratteri
+     */
+    public int getDimensione() {
+        return dimensione;
+    }
+
+    /**
+     * @return I primi {@value #LUNGHEZZA_ANTEPRIMA} caratteri del contenuto
+     */
+    public String getAnteprima() {
+        return anteprima;
+    }
+
+    @Override
+    public String toString() {
+        return titolo;
+    }
+}
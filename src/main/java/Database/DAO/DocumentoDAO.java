@@ -36,6 +36,79 @@ public interface DocumentoDAO {
      * @throws SQLException Se si verifica un errore durante l'operazione
      */
     List<Documento> getDocumentiByHackathon(String titoloHackathon) throws SQLException;
+
+    /**
+     * Recupera le intestazioni dei documenti di un team, senza il contenuto.
+     *
+     * @param nomeTeam Il nome del team
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return Lista delle intestazioni, nello stesso ordine di {@link #getDocumentiByTeam(String, String)}
+     * @throws SQLException Se si verifica un errore durante l'operazione
+     */
+    List<DocumentHeader> getIntestazioniByTeam(String nomeTeam, String titoloHackathon) throws SQLException;
+
+    /**
+     * Recupera le intestazioni dei documenti di un hackathon, senza il contenuto.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return Lista delle intestazioni, nello stesso ordine di {@link #getDocumentiByHackathon(String)}
+     * @throws SQLException Se si verifica un errore durante l'operazione
+     */
+    List<DocumentHeader> getIntestazioniByHackathon(String titoloHackathon) throws SQLException;
+
+    /**
+     * Recupera un documento completo di contenuto.
+     *
+     * @param idDocumento L'ID del documento
+     * @return Il documento, null se non esiste
+     * @throws SQLException Se si verifica un errore durante l'operazione
+     */
+    Documento findById(int idDocumento) throws SQLException;
+
+    /**
+     * Recupera una pagina dei documenti di un hackathon, nello stesso ordine di
+     * {@link #getDocumentiByHackathon(String)}.
+     * La paginazione è a keyset su (Nome_team, Data_stesura, ID_documento).
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param dimensionePagina Il numero massimo di documenti nella pagina
+     * @param token Il token restituito dalla pagina precedente, null per la prima pagina
+     * @return La pagina di documenti
+     * @throws SQLException Se si verifica un errore durante l'operazione
+     */
+    Pagina<Documento> getDocumentiByHackathon(String titoloHackathon, int dimensionePagina, String token) throws SQLException;
+    
+    /**
+     * Cerca i documenti di un hackathon per parole del titolo e del contenuto, in ordine di rilevanza.
+     * La ricerca ignora maiuscole e accenti; un documento è trovato se contiene tutte le parole
+     * cercate, e l'ultima parola, se il testo non termina con uno spazio, vale come prefisso.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param testo Il testo cercato
+     * @param limite Il numero massimo di risultati
+     * @return Le intestazioni dei documenti trovati, dal più rilevante; vuota se il testo non contiene parole
+     * @throws SQLException Se si verifica un errore durante l'operazione
+     */
+    List<DocumentHeader> cercaDocumenti(String titoloHackathon, String testo, int limite) throws SQLException;
+    
+    /**
+     * Cerca i documenti di un hackathon con la ricerca testuale di PostgreSQL (configurazione italiana),
+     * senza trasferire il contenuto dei documenti. Il testo accetta la sintassi delle ricerche web:
+     * parole, frasi tra virgolette, OR e parole escluse con il segno meno.
+     * I risultati sono ordinati per rilevanza (ts_rank) e paginati a keyset su (rilevanza, ID_documento);
+     * ogni risultato contiene un estratto del contenuto con le parole trovate evidenziate (ts_headline).
+     * Richiede la colonna e l'indice creati dalla migrazione db/migrazioni/001_ricerca_testuale_documenti.sql.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param nomeTeam Il nome del team a cui limitare la ricerca, null per tutti i team
+     * @param testo Il testo cercato
+     * @param dimensionePagina Il numero massimo di risultati nella pagina
+     * @param token Il token restituito dalla pagina precedente, null per la prima pagina
+     * @return La pagina di risultati, vuota se il testo è vuoto
+     * @throws SQLException Se la migrazione non è stata eseguita o si verifica un errore durante l'operazione
+     */
+    Pagina<DocumentoTrovato> cercaDocumentiTestoCompleto(String titoloHackathon, String nomeTeam, String testo,
+                                                         int dimensionePagina, String token) throws SQLException;
     
     /**
      * Elimina un documento dal database.
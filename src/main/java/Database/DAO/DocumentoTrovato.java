@@ -0,0 +1,73 @@
+package Database.DAO;
+
+/**
+ * Documento trovato da una ricerca testuale eseguita dal database.
+ *
+ * Oltre all'intestazione contiene la rilevanza calcolata da PostgreSQL e un estratto del
+ * contenuto in cui le parole trovate sono racchiuse tra {@link #INIZIO_EVIDENZA} e
+ * {@link #FINE_EVIDENZA}. I delimitatori non sono tag HTML, perché il contenuto dei documenti
+ * non va interpretato come HTML: {@link #getEstrattoHtml()} lo converte in modo sicuro.
+ */
+public class DocumentoTrovato {
+
+    /**
+     * Delimitatore di inizio delle parole trovate nell'estratto.
+     */
+    public static final String INIZIO_EVIDENZA = "«";
+
+    /**
+     * Delimitatore di fine delle parole trovate nell'estratto.
+     */
+    public static final String FINE_EVIDENZA = "»";
+
+    private final DocumentHeader intestazione;
+    private final double rilevanza;
+    private final String estratto;
+
+    /**
+     * @param intestazione L'intestazione del documento
+     * @param rilevanza La rilevanza del documento per la ricerca, più alta per i documenti più pertinenti
+     * @param estratto L'estratto del contenuto con le parole trovate evidenziate
+     */
+    public DocumentoTrovato(DocumentHeader intestazione, double rilevanza, String estratto) {
+        this.intestazione = intestazione;
+        this.rilevanza = rilevanza;
+        this.estratto = estratto;
+    }
+
+    public DocumentHeader getIntestazione() {
+        return intestazione;
+    }
+
+    public double getRilevanza() {
+        return rilevanza;
+    }
+
+    /**
+     * @return L'estratto del contenuto, con le parole trovate tra {@link #INIZIO_EVIDENZA} e {@link #FINE_EVIDENZA}
+     */
+    public String getEstratto() {
+        return estratto;
+    }
+
+    /**
+     * @return L'estratto come frammento HTML, con il testo del documento protetto e le parole trovate in grassetto
+     */
+    public String getEstrattoHtml() {
+        if (estratto == null) {
+            return "";
+        }
+        String protetto = estratto
+                .replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;");
+        return protetto
+                .replace(INIZIO_EVIDENZA, "<b>")
+                .replace(FINE_EVIDENZA, "</b>");
+    }
+
+    @Override
+    public String toString() {
+        return intestazione.getTitolo();
+    }
+}
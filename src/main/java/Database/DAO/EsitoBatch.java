@@ -0,0 +1,135 @@
+package Database.DAO;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Risultato di un'operazione batch (saveAll, updateAll, deleteAll, ...).
+ * Riporta l'esito di ogni singola riga, così che una riga non valida
+ * (ad esempio per una violazione di vincolo) non faccia perdere le altre.
+ *
+ * @param <E> Il tipo degli elementi elaborati (entità o chiavi)
+ */
+public class EsitoBatch<E> {
+
+    /**
+     * Possibili esiti di una riga.
+     */
+    public enum Stato {
+        /** La riga è stata scritta. */
+        SUCCESSO,
+        /** L'istruzione è stata eseguita ma non ha modificato righe (es. chiave inesistente). */
+        NESSUNA_RIGA,
+        /** L'istruzione ha generato un errore, ad esempio una violazione di vincolo. */
+        ERRORE
+    }
+
+    /**
+     * Esito di una singola riga del batch.
+     *
+     * @param <E> Il tipo dell'elemento elaborato
+     */
+    public static class Riga<E> {
+        private final int indice;
+        private final E elemento;
+        private final Stato stato;
+        private final SQLException errore;
+
+        public Riga(int indice, E elemento, Stato stato, SQLException errore) {
+            this.indice = indice;
+            this.elemento = elemento;
+            this.stato = stato;
+            this.errore = errore;
+        }
+
+        public int getIndice() {
+            return indice;
+        }
+
+        public E getElemento() {
+            return elemento;
+        }
+
+        public Stato getStato() {
+            return stato;
+        }
+
+        /**
+         * @return L'errore della riga, null se non ci sono stati errori
+         */
+        public SQLException getErrore() {
+            return errore;
+        }
+
+        public boolean isSuccesso() {
+            return stato == Stato.SUCCESSO;
+        }
+
+        /**
+         * @return true se la riga è fallita per una violazione di vincolo (SQLState classe 23)
+         */
+        public boolean isViolazioneVincolo() {
+            return errore != null && errore.getSQLState() != null && errore.getSQLState().startsWith("23");
+        }
+    }
+
+    private final List<Riga<E>> righe = new ArrayList<>();
+
+    /**
+     * Registra l'esito di una riga.
+     *
+     * @param riga L'esito da aggiungere
+     */
+    public void aggiungi(Riga<E> riga) {
+        righe.add(riga);
+    }
+
+    /**
+     * @return Gli esiti di tutte le righe, nell'ordine di input
+     */
+    public List<Riga<E>> getRighe() {
+        return Collections.unmodifiableList(righe);
+    }
+
+    /**
+     * @return Gli esiti delle righe non scritte (errori e righe senza effetto)
+     */
+    public List<Riga<E>> getRigheFallite() {
+        List<Riga<E>> fallite = new ArrayList<>();
+        for (Riga<E> riga : righe) {
+            if (!riga.isSuccesso()) {
+                fallite.add(riga);
+            }
+        }
+        return fallite;
+    }
+
+    public int getNumeroSuccessi() {
+        int successi = 0;
+        for (Riga<E> riga : righe) {
+            if (riga.isSuccesso()) {
+                successi++;
+            }
+        }
+        return successi;
+    }
+
+    public int getNumeroFallimenti() {
+        return righe.size() - getNumeroSuccessi();
+    }
+
+    /**
+     * @return true se tutte le righe sono state scritte
+     */
+    public boolean isCompletato() {
+        return getNumeroFallimenti() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "EsitoBatch[righe=" + righe.size() + ", successi=" + getNumeroSuccessi()
+                + ", fallimenti=" + getNumeroFallimenti() + "]";
+    }
+}
@@ -0,0 +1,78 @@
+package Database.DAO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Risultato dell'importazione massiva di un file CSV.
+ * Riporta il numero di righe lette e importate e, separatamente, le righe scartate con il motivo.
+ */
+public class EsitoImportazione {
+
+    /**
+     * Riga del file CSV che non è stata importata.
+     */
+    public static class RigaScartata {
+        private final long numeroRecord;
+        private final List<String> valori;
+        private final String motivo;
+
+        /**
+         * @param numeroRecord Posizione del record nel file (1 = primo record dopo l'intestazione)
+         * @param valori I valori letti dal file
+         * @param motivo Il motivo per cui la riga è stata scartata
+         */
+        public RigaScartata(long numeroRecord, List<String> valori, String motivo) {
+            this.numeroRecord = numeroRecord;
+            this.valori = Collections.unmodifiableList(new ArrayList<>(valori));
+            this.motivo = motivo;
+        }
+
+        public long getNumeroRecord() {
+            return numeroRecord;
+        }
+
+        public List<String> getValori() {
+            return valori;
+        }
+
+        public String getMotivo() {
+            return motivo;
+        }
+    }
+
+    private final String tabella;
+    private final long righeLette;
+    private final long righeImportate;
+    private final List<RigaScartata> righeScartate;
+
+    public EsitoImportazione(String tabella, long righeLette, long righeImportate, List<RigaScartata> righeScartate) {
+        this.tabella = tabella;
+        this.righeLette = righeLette;
+        this.righeImportate = righeImportate;
+        this.righeScartate = Collections.unmodifiableList(new ArrayList<>(righeScartate));
+    }
+
+    public String getTabella() {
+        return tabella;
+    }
+
+    public long getRigheLette() {
+        return righeLette;
+    }
+
+    public long getRigheImportate() {
+        return righeImportate;
+    }
+
+    public List<RigaScartata> getRigheScartate() {
+        return righeScartate;
+    }
+
+    @Override
+    public String toString() {
+        return tabella + ": lette " + righeLette + ", importate " + righeImportate
+                + ", scartate " + righeScartate.size();
+    }
+}
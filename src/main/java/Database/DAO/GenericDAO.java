@@ -2,6 +2,7 @@ package Database.DAO;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interfaccia generica per le operazioni CRUD (Create, Read, Update, Delete) sui database.
@@ -54,4 +55,151 @@ public interface GenericDAO<T, K> {
      * @throws SQLException Se si verifica un errore durante l'operazione
      */
     List<T> findAll() throws SQLException;
+
+    /**
+     * Numero predefinito di righe lette dal database per ogni giro di rete negli stream.
+     */
+    int FETCH_SIZE_PREDEFINITO = 1000;
+
+    /**
+     * Legge tutte le entità come Stream con la dimensione di fetch predefinita.
+     *
+     * @return Uno Stream di tutte le entità, da chiudere al termine della lettura
+     * @throws SQLException Se si verifica un errore durante l'apertura della query
+     * @see #streamAll(int)
+     */
+    default Stream<T> streamAll() throws SQLException {
+        return streamAll(FETCH_SIZE_PREDEFINITO);
+    }
+
+    /**
+     * Legge tutte le entità come Stream consumato in modo pigro.
+     * Le implementazioni usano un cursore lato server che trasferisce {@code fetchSize} righe
+     * alla volta, così che esportazioni ed elaborazioni massive usino memoria costante
+     * indipendentemente dalla dimensione della tabella.
+     *
+     * Lo Stream tiene occupata una connessione finché non viene chiuso: va sempre usato
+     * con try-with-resources. Gli errori durante la lettura vengono lanciati come
+     * {@link UncheckedSQLException}.
+     *
+     * @param fetchSize Numero di righe lette per ogni giro di rete
+     * @return Uno Stream di tutte le entità, da chiudere al termine della lettura
+     * @throws SQLException Se si verifica un errore durante l'apertura della query
+     */
+    default Stream<T> streamAll(int fetchSize) throws SQLException {
+        return findAll().stream();
+    }
+
+    /**
+     * Numero predefinito di righe inviate al database in un singolo blocco batch.
+     */
+    int DIMENSIONE_BATCH_PREDEFINITA = 500;
+
+    /**
+     * Salva più entità con la dimensione di blocco predefinita.
+     *
+     * @param entities Le entità da salvare
+     * @return L'esito di ogni entità
+     * @throws SQLException Se si verifica un errore non legato alle singole righe
+     * @see #saveAll(List, int)
+     */
+    default EsitoBatch<T> saveAll(List<T> entities) throws SQLException {
+        return saveAll(entities, DIMENSIONE_BATCH_PREDEFINITA);
+    }
+
+    /**
+     * Salva più entità nel database, a blocchi della dimensione indicata.
+     * Una riga non valida (ad esempio per una violazione di vincolo) non interrompe
+     * il salvataggio delle altre: l'esito di ogni riga è riportato nel risultato.
+     * L'implementazione predefinita esegue un {@link #save(Object)} per entità;
+     * le implementazioni possono usare addBatch/executeBatch.
+     *
+     * @param entities Le entità da salvare
+     * @param dimensioneChunk Numero di righe per blocco
+     * @return L'esito di ogni entità
+     * @throws SQLException Se si verifica un errore non legato alle singole righe
+     */
+    default EsitoBatch<T> saveAll(List<T> entities, int dimensioneChunk) throws SQLException {
+        EsitoBatch<T> esito = new EsitoBatch<>();
+        for (int i = 0; i < entities.size(); i++) {
+            T entity = entities.get(i);
+            try {
+                esito.aggiungi(new EsitoBatch.Riga<>(i, entity,
+                        save(entity) ? EsitoBatch.Stato.SUCCESSO : EsitoBatch.Stato.NESSUNA_RIGA, null));
+            } catch (SQLException e) {
+                esito.aggiungi(new EsitoBatch.Riga<>(i, entity, EsitoBatch.Stato.ERRORE, e));
+            }
+        }
+        return esito;
+    }
+
+    /**
+     * Aggiorna più entità con la dimensione di blocco predefinita.
+     *
+     * @param entities Le entità da aggiornare
+     * @return L'esito di ogni entità
+     * @throws SQLException Se si verifica un errore non legato alle singole righe
+     * @see #updateAll(List, int)
+     */
+    default EsitoBatch<T> updateAll(List<T> entities) throws SQLException {
+        return updateAll(entities, DIMENSIONE_BATCH_PREDEFINITA);
+    }
+
+    /**
+     * Aggiorna più entità nel database, a blocchi della dimensione indicata.
+     * Le entità inesistenti risultano con esito {@link EsitoBatch.Stato#NESSUNA_RIGA}.
+     *
+     * @param entities Le entità da aggiornare
+     * @param dimensioneChunk Numero di righe per blocco
+     * @return L'esito di ogni entità
+     * @throws SQLException Se si verifica un errore non legato alle singole righe
+     */
+    default EsitoBatch<T> updateAll(List<T> entities, int dimensioneChunk) throws SQLException {
+        EsitoBatch<T> esito = new EsitoBatch<>();
+        for (int i = 0; i < entities.size(); i++) {
+            T entity = entities.get(i);
+            try {
+                esito.aggiungi(new EsitoBatch.Riga<>(i, entity,
+                        update(entity) ? EsitoBatch.Stato.SUCCESSO : EsitoBatch.Stato.NESSUNA_RIGA, null));
+            } catch (SQLException e) {
+                esito.aggiungi(new EsitoBatch.Riga<>(i, entity, EsitoBatch.Stato.ERRORE, e));
+            }
+        }
+        return esito;
+    }
+
+    /**
+     * Elimina più entità con la dimensione di blocco predefinita.
+     *
+     * @param keys Le chiavi delle entità da eliminare
+     * @return L'esito di ogni chiave
+     * @throws SQLException Se si verifica un errore non legato alle singole righe
+     * @see #deleteAll(List, int)
+     */
+    default EsitoBatch<K> deleteAll(List<K> keys) throws SQLException {
+        return deleteAll(keys, DIMENSIONE_BATCH_PREDEFINITA);
+    }
+
+    /**
+     * Elimina più entità dal database tramite le loro chiavi, a blocchi della dimensione indicata.
+     * Le chiavi inesistenti risultano con esito {@link EsitoBatch.Stato#NESSUNA_RIGA}.
+     *
+     * @param keys Le chiavi delle entità da eliminare
+     * @param dimensioneChunk Numero di righe per blocco
+     * @return L'esito di ogni chiave
+     * @throws SQLException Se si verifica un errore non legato alle singole righe
+     */
+    default EsitoBatch<K> deleteAll(List<K> keys, int dimensioneChunk) throws SQLException {
+        EsitoBatch<K> esito = new EsitoBatch<>();
+        for (int i = 0; i < keys.size(); i++) {
+            K key = keys.get(i);
+            try {
+                esito.aggiungi(new EsitoBatch.Riga<>(i, key,
+                        delete(key) ? EsitoBatch.Stato.SUCCESSO : EsitoBatch.Stato.NESSUNA_RIGA, null));
+            } catch (SQLException e) {
+                esito.aggiungi(new EsitoBatch.Riga<>(i, key, EsitoBatch.Stato.ERRORE, e));
+            }
+        }
+        return esito;
+    }
 }
@@ -28,6 +28,24 @@ public interface HackathonDAO extends GenericDAO<Hackathon, String> {
      */
     List<Hackathon> getHackathonByOrganizzatore(String usernameOrganizzatore) throws SQLException;
 
+    /**
+     * Recupera il riepilogo degli hackathon di un organizzatore, senza la descrizione del problema.
+     *
+     * @param usernameOrganizzatore Username dell'organizzatore
+     * @return Lista dei riepiloghi, dal più recente
+     * @throws SQLException in caso di errore nel database
+     */
+    List<HackathonSummary> getRiepiloghiByOrganizzatore(String usernameOrganizzatore) throws SQLException;
+
+    /**
+     * Recupera la sola descrizione del problema di un hackathon.
+     *
+     * @param titoloIdentificativo Il titolo dell'hackathon
+     * @return La descrizione, null se l'hackathon non esiste
+     * @throws SQLException in caso di errore nel database
+     */
+    String getDescrizioneProblema(String titoloIdentificativo) throws SQLException;
+
     /**
      * Recupera tutti gli hackathon dal database.
      *
@@ -36,6 +54,29 @@ public interface HackathonDAO extends GenericDAO<Hackathon, String> {
      */
     List<Hackathon> getAllHackathon() throws SQLException;
 
+    /**
+     * Recupera una pagina di hackathon, nello stesso ordine di {@link #getAllHackathon()}.
+     * La paginazione è a keyset su (DataInizio_evento, Titolo_identificativo).
+     *
+     * @param dimensionePagina Il numero massimo di hackathon nella pagina
+     * @param token Il token restituito dalla pagina precedente, null per la prima pagina
+     * @return La pagina di hackathon
+     * @throws SQLException in caso di errore nel database
+     */
+    Pagina<Hackathon> getAllHackathon(int dimensionePagina, String token) throws SQLException;
+
+    /**
+     * Cerca gli hackathon con il titolo più simile al testo, tollerando errori di battitura
+     * (somiglianza a trigrammi di pg_trgm). I titoli che contengono il testo sono sempre trovati.
+     * Se pg_trgm non è installata vengono trovati solo questi, in ordine alfabetico.
+     *
+     * @param testo Il testo cercato
+     * @param limite Il numero massimo di risultati
+     * @return Gli hackathon trovati, dal più simile; vuota se il testo è vuoto
+     * @throws SQLException in caso di errore nel database
+     */
+    List<Hackathon> cercaHackathonSimili(String testo, int limite) throws SQLException;
+
     /**
      * Recupera gli hackathon con registrazioni attualmente aperte.
      *
@@ -72,15 +113,40 @@ public interface HackathonDAO extends GenericDAO<Hackathon, String> {
     boolean aggiornaClassifica(String titoloIdentificativo, String classifica) throws SQLException;
     
     /**
-     * Genera la classifica di un hackathon utilizzando la funzione del database.
-     * Questa funzione verifica che l'hackathon sia terminato e che tutti i giudici
-     * abbiano espresso i loro voti prima di generare la classifica finale.
+     * Restituisce la classifica di un hackathon, provvisoria o definitiva.
+     * La classifica è mantenuta in memoria e aggiornata a ogni voto, quindi la lettura
+     * non ricalcola i punteggi. La lettura non scrive mai nel database: la classifica
+     * finale viene salvata solo dall'organizzatore con {@link #salvaClassificaDefinitiva}.
+     *
+     * @param titoloIdentificativo Titolo dell'hackathon
+     * @return La classifica dell'hackathon
+     * @throws SQLException in caso di errore nel database
+     */
+    Classifica getClassifica(String titoloIdentificativo) throws SQLException;
+
+    /**
+     * Genera la classifica finale con la funzione del database genera_classifica_hackathon
+     * e la salva in HACKATHON.Classifica. È l'azione di chiusura dell'organizzatore,
+     * possibile solo a hackathon terminato.
+     *
+     * @param titoloIdentificativo Titolo dell'hackathon
+     * @param usernameOrganizzatore Il nome utente dell'organizzatore che chiude l'hackathon
+     * @return Il testo della classifica salvata
+     * @throws SQLException Se l'hackathon non esiste, non è terminato o si verifica un errore nel database
+     * @throws SecurityException Se l'organizzatore non è quello dell'hackathon
+     */
+    String salvaClassificaDefinitiva(String titoloIdentificativo, String usernameOrganizzatore)
+            throws SQLException, SecurityException;
+
+    /**
+     * Restituisce la posizione attuale di un team nella classifica, senza costruire l'intera classifica.
      *
      * @param titoloIdentificativo Titolo dell'hackathon
-     * @return La stringa della classifica generata, o un messaggio di errore
+     * @param nomeTeam Nome del team
+     * @return La posizione del team a partire da 1, -1 se il team non appartiene all'hackathon
      * @throws SQLException in caso di errore nel database
      */
-    String generaClassificaHackathon(String titoloIdentificativo) throws SQLException;
+    int getPosizioneTeam(String titoloIdentificativo, String nomeTeam) throws SQLException;
     
     /**
      * Verifica se un hackathon è terminato (data fine evento superata).
@@ -0,0 +1,100 @@
+package Database.DAO;
+
+import java.time.LocalDate;
+
+/**
+ * Proiezione leggera di un hackathon per le liste.
+ *
+ * Contiene la chiave, le date e i dati di iscrizione, ma non la descrizione del problema:
+ * di questa viene riportata solo la lunghezza, e il testo va richiesto con
+ * {@link HackathonDAO#getDescrizioneProblema(String)} quando si aprono i dettagli.
+ */
+public class HackathonSummary {
+
+    private final String titoloIdentificativo;
+    private final String organizzatore;
+    private final String sede;
+    private final LocalDate dataInizioRegistrazioni;
+    private final LocalDate dataFineRegistrazioni;
+    private final LocalDate dataInizio;
+    private final LocalDate dataFine;
+    private final int numIscritti;
+    private final int maxNumIscritti;
+    private final int lunghezzaDescrizione;
+
+    /**
+     * @param titoloIdentificativo Il titolo identificativo dell'hackathon
+     * @param organizzatore L'username dell'organizzatore
+     * @param sede La sede dell'evento
+     * @param dataInizioRegistrazioni La data di apertura delle registrazioni
+     * @param dataFineRegistrazioni La data di chiusura delle registrazioni
+     * @param dataInizio La data di inizio dell'evento
+     * @param dataFine La data di fine dell'evento
+     * @param numIscritti Il numero di iscritti corrente
+     * @param maxNumIscritti Il numero massimo di iscritti
+     * @param lunghezzaDescrizione La lunghezza della descrizione del problema in caratteri
+     */
+    public HackathonSummary(String titoloIdentificativo, String organizzatore, String sede,
+                            LocalDate dataInizioRegistrazioni, LocalDate dataFineRegistrazioni,
+                            LocalDate dataInizio, LocalDate dataFine,
+                            int numIscritti, int maxNumIscritti, int lunghezzaDescrizione) {
+        this.titoloIdentificativo = titoloIdentificativo;
+        this.organizzatore = organizzatore;
+        this.sede = sede;
+        this.dataInizioRegistrazioni = dataInizioRegistrazioni;
+        this.dataFineRegistrazioni = dataFineRegistrazioni;
+        this.dataInizio = dataInizio;
+        this.dataFine = dataFine;
+        this.numIscritti = numIscritti;
+        this.maxNumIscritti = maxNumIscritti;
+        this.lunghezzaDescrizione = lunghezzaDescrizione;
+    }
+
+    public String getTitoloIdentificativo() {
+        return titoloIdentificativo;
+    }
+
+    public String getOrganizzatore() {
+        return organizzatore;
+    }
+
+    public String getSede() {
+        return sede;
+    }
+
+    public LocalDate getDataInizioRegistrazioni() {
+        return dataInizioRegistrazioni;
+    }
+
+    public LocalDate getDataFineRegistrazioni() {
+        return dataFineRegistrazioni;
+    }
+
+    public LocalDate getDataInizio() {
+        return dataInizio;
+    }
+
+    public LocalDate getDataFine() {
+        return dataFine;
+    }
+
+    public int getNumIscritti() {
+        return numIscritti;
+    }
+
+    public int getMaxNumIscritti() {
+        return maxNumIscritti;
+    }
+
+    /**
+     * @return La lunghezza della descrizione del problema in caratteri
+     */
+    public int getLunghezzaDescrizione() {
+        return lunghezzaDescrizione;
+    }
+
+    @Override
+    public String toString() {
+        return titoloIdentificativo;
+    }
+}
@@ -0,0 +1,111 @@
+package Database.DAO.Impl;
+
+import Database.ConnessioneDatabase;
+import Database.TransactionTemplate;
+import Database.DAO.EsitoBatch;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Esecutore condiviso dalle implementazioni DAO per le scritture batch.
+ *
+ * Gli elementi vengono inviati a blocchi (chunk) con addBatch/executeBatch; grazie
+ * all'opzione reWriteBatchedInserts del driver PostgreSQL gli INSERT di un blocco
+ * diventano un unico INSERT multi-riga. Ogni blocco è eseguito in una transazione:
+ * se il batch fallisce (ad esempio per una violazione di vincolo) il blocco viene
+ * annullato e rieseguito riga per riga con un savepoint per ciascuna, così che solo
+ * le righe non valide vengano scartate e l'esito di ogni riga sia riportato.
+ */
+final class BatchWriter {
+
+    /**
+     * Imposta i parametri dello statement per un elemento.
+     *
+     * @param <E> Il tipo dell'elemento
+     */
+    @FunctionalInterface
+    interface Binder<E> {
+        void bind(PreparedStatement stmt, E elemento) throws SQLException;
+    }
+
+    private BatchWriter() {
+    }
+
+    /**
+     * Esegue lo statement per ogni elemento, a blocchi della dimensione indicata.
+     *
+     * @param database Il gestore delle connessioni
+     * @param sql Lo statement parametrico da eseguire
+     * @param elementi Gli elementi da scrivere
+     * @param dimensioneChunk Numero di elementi per blocco
+     * @param binder Imposta i parametri dello statement per ogni elemento
+     * @param <E> Il tipo degli elementi
+     * @return L'esito per ogni elemento
+     * @throws SQLException Per errori non legati alle singole righe (es. connessione persa)
+     */
+    static <E> EsitoBatch<E> esegui(ConnessioneDatabase database, String sql, List<E> elementi,
+                                    int dimensioneChunk, Binder<E> binder) throws SQLException {
+        if (dimensioneChunk <= 0) {
+            throw new IllegalArgumentException("La dimensione del blocco deve essere positiva");
+        }
+
+        EsitoBatch<E> esito = new EsitoBatch<>();
+        for (int inizio = 0; inizio < elementi.size(); inizio += dimensioneChunk) {
+            int primo = inizio;
+            List<E> blocco = elementi.subList(inizio, Math.min(inizio + dimensioneChunk, elementi.size()));
+
+            TransactionTemplate.esegui(tx -> {
+                try (Connection connection = database.getConnection();
+                     PreparedStatement stmt = connection.prepareStatement(sql)) {
+
+                    Savepoint inizioBlocco = tx.creaSavepoint("batch_blocco");
+                    try {
+                        for (E elemento : blocco) {
+                            binder.bind(stmt, elemento);
+                            stmt.addBatch();
+                        }
+                        int[] conteggi = stmt.executeBatch();
+                        tx.rilasciaSavepoint(inizioBlocco);
+                        for (int i = 0; i < blocco.size(); i++) {
+                            esito.aggiungi(riga(primo + i, blocco.get(i), conteggi[i]));
+                        }
+                        return null;
+                    } catch (BatchUpdateException e) {
+                        tx.rollbackASavepoint(inizioBlocco);
+                        stmt.clearBatch();
+                    }
+
+                    // Il blocco contiene almeno una riga non valida: si procede riga per riga
+                    for (int i = 0; i < blocco.size(); i++) {
+                        E elemento = blocco.get(i);
+                        Savepoint sp = tx.creaSavepoint("batch_riga");
+                        try {
+                            binder.bind(stmt, elemento);
+                            esito.aggiungi(riga(primo + i, elemento, stmt.executeUpdate()));
+                            tx.rilasciaSavepoint(sp);
+                        } catch (SQLException e) {
+                            tx.rollbackASavepoint(sp);
+                            esito.aggiungi(new EsitoBatch.Riga<>(primo + i, elemento, EsitoBatch.Stato.ERRORE, e));
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+        return esito;
+    }
+
+    private static <E> EsitoBatch.Riga<E> riga(int indice, E elemento, int conteggio) {
+        // Con reWriteBatchedInserts il driver restituisce SUCCESS_NO_INFO per gli INSERT riscritti
+        EsitoBatch.Stato stato = (conteggio > 0 || conteggio == Statement.SUCCESS_NO_INFO)
+                ? EsitoBatch.Stato.SUCCESSO
+                : EsitoBatch.Stato.NESSUNA_RIGA;
+        return new EsitoBatch.Riga<>(indice, elemento, stato, null);
+    }
+}
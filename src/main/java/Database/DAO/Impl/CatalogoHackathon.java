@@ -0,0 +1,268 @@
+package Database.DAO.Impl;
+
+import Database.DAO.StatisticheCache;
+import Database.Transazione;
+import model.Hackathon;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalogo in memoria degli hackathon, condiviso da tutte le istanze di {@link HackathonDAOImpl}.
+ *
+ * Gli hackathon cambiano di rado ma sono letti da molte viste, spesso più volte per schermata.
+ * Il catalogo tiene gli hackathon per titolo, l'elenco completo e un indice per organizzatore;
+ * ogni voce scade dopo {@link #TTL_MILLIS} e le voci per titolo e per organizzatore sono
+ * limitate a {@link #DIMENSIONE_MASSIMA}, rimuovendo quelle usate meno di recente.
+ *
+ * Le scritture dei DAO invalidano il catalogo prima di restituire il controllo (write-through).
+ * Una lettura dal database iniziata prima di un'invalidazione non viene memorizzata, e durante
+ * una transazione esplicita il catalogo non memorizza nulla: i dati letti potrebbero non
+ * essere ancora confermati. Una scrittura dentro una transazione invalida il catalogo subito,
+ * perché il thread che scrive veda le proprie modifiche, e di nuovo dopo il commit: nel
+ * frattempo un altro thread può aver memorizzato i dati precedenti al commit.
+ */
+final class CatalogoHackathon {
+
+    /**
+     * Durata di validità delle voci, configurabile con la proprietà {@code catalogo.hackathon.ttlMillis}.
+     * Limita quanto restano visibili le modifiche fatte da altri client o dai trigger del database.
+     */
+    static final long TTL_MILLIS = Long.getLong("catalogo.hackathon.ttlMillis", 60_000);
+
+    /**
+     * Numero massimo di voci per titolo e di voci per organizzatore.
+     */
+    static final int DIMENSIONE_MASSIMA = 1_000;
+
+    /**
+     * Lettura dal database eseguita in caso di voce mancante o scaduta.
+     *
+     * @param <T> Il tipo del risultato
+     */
+    @FunctionalInterface
+    interface Lettura<T> {
+        T leggi() throws SQLException;
+    }
+
+    private static final class Voce<T> {
+        private final T valore;
+        private final long scadenza;
+
+        private Voce(T valore, long scadenza) {
+            this.valore = valore;
+            this.scadenza = scadenza;
+        }
+
+        private boolean isValida(long adesso) {
+            return adesso < scadenza;
+        }
+    }
+
+    private static final Object LOCK = new Object();
+    private static final Map<String, Voce<Hackathon>> PER_TITOLO = new Limitata<>();
+    private static final Map<String, Voce<List<Hackathon>>> PER_ORGANIZZATORE = new Limitata<>();
+    private static Voce<List<Hackathon>> tutti;
+
+    private static long generazione;
+    private static long successi;
+    private static long mancati;
+    private static long invalidazioni;
+    private static long sfratti;
+
+    private CatalogoHackathon() {
+    }
+
+    /**
+     * Restituisce un hackathon per titolo.
+     *
+     * @param titolo Il titolo dell'hackathon
+     * @param daDatabase La lettura da eseguire se il titolo non è in catalogo
+     * @return L'hackathon, null se non esiste
+     * @throws SQLException Se la lettura dal database fallisce
+     */
+    static Hackathon hackathon(String titolo, Lettura<Hackathon> daDatabase) throws SQLException {
+        long generazioneLettura;
+        synchronized (LOCK) {
+            long adesso = System.currentTimeMillis();
+            Voce<Hackathon> voce = PER_TITOLO.get(titolo);
+            if (voce != null && voce.isValida(adesso)) {
+                successi++;
+                return voce.valore;
+            }
+            if (tutti != null && tutti.isValida(adesso)) {
+                // Con l'elenco completo valido un titolo assente non esiste
+                successi++;
+                for (Hackathon hackathon : tutti.valore) {
+                    if (hackathon.getTitoloIdentificativo().equals(titolo)) {
+                        return hackathon;
+                    }
+                }
+                return null;
+            }
+            mancati++;
+            generazioneLettura = generazione;
+        }
+
+        Hackathon letto = daDatabase.leggi();
+        synchronized (LOCK) {
+            if (letto != null && puoMemorizzare(generazioneLettura)) {
+                PER_TITOLO.put(titolo, new Voce<>(letto, System.currentTimeMillis() + TTL_MILLIS));
+            }
+        }
+        return letto;
+    }
+
+    /**
+     * Restituisce l'elenco completo degli hackathon, nell'ordine della lettura dal database.
+     *
+     * @param daDatabase La lettura dell'elenco completo
+     * @return Una copia dell'elenco
+     * @throws SQLException Se la lettura dal database fallisce
+     */
+    static List<Hackathon> tutti(Lettura<List<Hackathon>> daDatabase) throws SQLException {
+        long generazioneLettura;
+        synchronized (LOCK) {
+            if (tutti != null && tutti.isValida(System.currentTimeMillis())) {
+                successi++;
+                return new ArrayList<>(tutti.valore);
+            }
+            mancati++;
+            generazioneLettura = generazione;
+        }
+
+        List<Hackathon> letti = List.copyOf(daDatabase.leggi());
+        synchronized (LOCK) {
+            if (puoMemorizzare(generazioneLettura)) {
+                long scadenza = System.currentTimeMillis() + TTL_MILLIS;
+                tutti = new Voce<>(letti, scadenza);
+                // L'elenco completo alimenta anche le voci per titolo e l'indice per organizzatore
+                Map<String, List<Hackathon>> perOrganizzatore = new LinkedHashMap<>();
+                for (Hackathon hackathon : letti) {
+                    PER_TITOLO.put(hackathon.getTitoloIdentificativo(), new Voce<>(hackathon, scadenza));
+                    perOrganizzatore.computeIfAbsent(hackathon.getOrganizzatore(), o -> new ArrayList<>()).add(hackathon);
+                }
+                PER_ORGANIZZATORE.clear();
+                perOrganizzatore.forEach((organizzatore, elenco) ->
+                        PER_ORGANIZZATORE.put(organizzatore, new Voce<>(List.copyOf(elenco), scadenza)));
+            }
+        }
+        return new ArrayList<>(letti);
+    }
+
+    /**
+     * Restituisce gli hackathon di un organizzatore.
+     *
+     * @param organizzatore Lo username dell'organizzatore
+     * @param daDatabase La lettura da eseguire se l'organizzatore non è in catalogo
+     * @return Una copia dell'elenco
+     * @throws SQLException Se la lettura dal database fallisce
+     */
+    static List<Hackathon> diOrganizzatore(String organizzatore, Lettura<List<Hackathon>> daDatabase) throws SQLException {
+        long generazioneLettura;
+        synchronized (LOCK) {
+            long adesso = System.currentTimeMillis();
+            Voce<List<Hackathon>> voce = PER_ORGANIZZATORE.get(organizzatore);
+            if (voce != null && voce.isValida(adesso)) {
+                successi++;
+                return new ArrayList<>(voce.valore);
+            }
+            if (tutti != null && tutti.isValida(adesso)) {
+                // La voce dell'organizzatore può essere stata rimossa dal limite di dimensione:
+                // l'elenco completo valido contiene comunque tutti i suoi hackathon
+                successi++;
+                List<Hackathon> trovati = new ArrayList<>();
+                for (Hackathon hackathon : tutti.valore) {
+                    if (hackathon.getOrganizzatore().equals(organizzatore)) {
+                        trovati.add(hackathon);
+                    }
+                }
+                return trovati;
+            }
+            mancati++;
+            generazioneLettura = generazione;
+        }
+
+        List<Hackathon> letti = List.copyOf(daDatabase.leggi());
+        synchronized (LOCK) {
+            if (puoMemorizzare(generazioneLettura)) {
+                PER_ORGANIZZATORE.put(organizzatore, new Voce<>(letti, System.currentTimeMillis() + TTL_MILLIS));
+            }
+        }
+        return new ArrayList<>(letti);
+    }
+
+    /**
+     * Invalida un hackathon dopo una scrittura. L'elenco completo e l'indice per organizzatore
+     * vengono scartati, perché l'hackathon potrebbe esserne entrato o uscito.
+     *
+     * @param titolo Il titolo dell'hackathon modificato
+     */
+    static void invalida(String titolo) {
+        synchronized (LOCK) {
+            PER_TITOLO.remove(titolo);
+            scartaElenchi();
+        }
+        Transazione tx = Transazione.corrente();
+        if (tx != null) {
+            tx.dopoCommit(() -> invalida(titolo));
+        }
+    }
+
+    /**
+     * Invalida l'intero catalogo, ad esempio dopo un'importazione massiva.
+     */
+    static void invalidaTutto() {
+        synchronized (LOCK) {
+            PER_TITOLO.clear();
+            scartaElenchi();
+        }
+        Transazione tx = Transazione.corrente();
+        if (tx != null) {
+            tx.dopoCommit(CatalogoHackathon::invalidaTutto);
+        }
+    }
+
+    /**
+     * @return Le statistiche del catalogo
+     */
+    static StatisticheCache getStatistiche() {
+        synchronized (LOCK) {
+            return new StatisticheCache("Catalogo hackathon", successi, mancati, invalidazioni, sfratti,
+                    PER_TITOLO.size() + PER_ORGANIZZATORE.size());
+        }
+    }
+
+    private static void scartaElenchi() {
+        tutti = null;
+        PER_ORGANIZZATORE.clear();
+        generazione++;
+        invalidazioni++;
+    }
+
+    private static boolean puoMemorizzare(long generazioneLettura) {
+        return generazioneLettura == generazione && Transazione.corrente() == null;
+    }
+
+    /**
+     * Mappa in ordine di accesso che rimuove la voce usata meno di recente oltre la dimensione massima.
+     * Va usata sotto {@link #LOCK}.
+     */
+    private static final class Limitata<V> extends LinkedHashMap<String, V> {
+        private Limitata() {
+            super(64, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+            if (size() > DIMENSIONE_MASSIMA) {
+                sfratti++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package Database.DAO.Impl;
 
 import Database.ConnessioneDatabase;
+import Database.DAO.DocumentHeader;
 import Database.DAO.DocumentoDAO;
+import Database.DAO.DocumentoTrovato;
+import Database.DAO.Pagina;
 import model.Documento;
-import model.Team;
+
 import model.Hackathon;
 
 import java.sql.*;
@@ -14,15 +17,62 @@ import java.util.List;
  * Implementazione dell'interfaccia DocumentoDAO per PostgreSQL.
  */
 public class DocumentoDAOImpl implements DocumentoDAO {
+
+    private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+    private static final RowMapper.Colonna ID_DOCUMENTO = COLONNE.aggiungi("ID_documento");
+    private static final RowMapper.Colonna NOME_TEAM = COLONNE.aggiungi("Nome_team");
+    private static final RowMapper.Colonna TITOLO_HACKATHON = COLONNE.aggiungi("Titolo_hackathon");
+    private static final RowMapper.Colonna TITOLO_DOC = COLONNE.aggiungi("Titolo_doc");
+    private static final RowMapper.Colonna CONTENUTO = COLONNE.aggiungi("Contenuto");
+    private static final RowMapper.Colonna DATA_STESURA = COLONNE.aggiungi("Data_stesura");
+    private static final RowMapper.Colonna DIMENSIONE = COLONNE.aggiungi("Dimensione");
+    private static final RowMapper.Colonna ANTEPRIMA = COLONNE.aggiungi("Anteprima");
+    private static final RowMapper.Colonna RILEVANZA = COLONNE.aggiungi("Rilevanza");
+    private static final RowMapper.Colonna ESTRATTO = COLONNE.aggiungi("Estratto");
+
+    private static final RowMapper<Documento> DOCUMENTO = new RowMapper<>(COLONNE, riga -> new Documento(
+            riga.getInt(ID_DOCUMENTO),
+            MappaIdentita.team(riga.getString(TITOLO_HACKATHON), riga.getString(NOME_TEAM)),
+            riga.getString(TITOLO_DOC),
+            riga.getString(CONTENUTO)
+    ));
+
+    private static final RowMapper<DocumentHeader> INTESTAZIONE = new RowMapper<>(COLONNE, riga -> new DocumentHeader(
+            riga.getInt(ID_DOCUMENTO),
+            riga.getString(NOME_TEAM),
+            riga.getString(TITOLO_HACKATHON),
+            riga.getString(TITOLO_DOC),
+            riga.getLocalDateTime(DATA_STESURA),
+            riga.getInt(DIMENSIONE),
+            riga.getString(ANTEPRIMA)
+    ));
     
-    private Connection connection;
+    /**
+     * Configurazione della ricerca testuale di PostgreSQL usata per i documenti.
+     */
+    static final String CONFIGURAZIONE_TESTO = "italian";
+
+    /**
+     * Opzioni di ts_headline per gli estratti dei risultati della ricerca testuale.
+     */
+    private static final String OPZIONI_ESTRATTO = "MaxFragments=2, MinWords=8, MaxWords=20, FragmentDelimiter=\" … \", "
+            + "StartSel=" + DocumentoTrovato.INIZIO_EVIDENZA + ", StopSel=" + DocumentoTrovato.FINE_EVIDENZA;
+
+    /**
+     * Migrazione che crea la colonna e l'indice della ricerca testuale.
+     */
+    static final String MIGRAZIONE_RICERCA_TESTUALE = "db/migrazioni/001_ricerca_testuale_documenti.sql";
+
+    /** true quando la colonna e l'indice della ricerca testuale sono stati verificati. */
+    private static volatile boolean ricercaTestualePronta;
+
+    private final ConnessioneDatabase database;
     
     /**
-     * Costruttore che inizializza la connessione al database.
+     * Costruttore che inizializza l'accesso al pool di connessioni del database.
      */
     public DocumentoDAOImpl() throws SQLException {
-        this.connection = ConnessioneDatabase.getInstance().connection;
-        System.out.println("DocumentoDAO inizializzato correttamente.");
+        this.database = ConnessioneDatabase.getInstance();
     }
     
     @Override
@@ -30,16 +80,31 @@ public class DocumentoDAOImpl implements DocumentoDAO {
         String sql = """
             INSERT INTO DOCUMENTO (Nome_team, Titolo_hackathon, Titolo_doc, Contenuto, Data_stesura)
             VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
+            RETURNING ID_documento, Data_stesura
             """;
+        String nomeTeam = documento.getSource().getNomeTeam();
+        String titoloHackathon = documento.getSource().getHackathon().getTitoloIdentificativo();
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, documento.getSource().getNomeTeam());
-            stmt.setString(2, documento.getSource().getHackathon().getTitoloIdentificativo());
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, nomeTeam);
+            stmt.setString(2, titoloHackathon);
             stmt.setString(3, documento.getTitle());
             stmt.setString(4, documento.getText());
             
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                // Il nuovo documento entra subito nell'indice di ricerca, se già costruito
+                IndiceDocumenti.registraDocumento(new DocumentHeader(
+                        rs.getInt("ID_documento"), nomeTeam, titoloHackathon, documento.getTitle(),
+                        rs.getTimestamp("Data_stesura").toLocalDateTime(),
+                        dimensione(documento.getText()), anteprima(documento.getText())),
+                        documento.getText());
+            }
+            NotificheCache.pubblica(connection, NotificheCache.Entita.DOCUMENTO, titoloHackathon, nomeTeam);
+            return true;
         } catch (SQLException e) {
             throw new SQLException("Errore durante il salvataggio del documento: " + e.getMessage(), e);
         }
@@ -49,30 +114,19 @@ public class DocumentoDAOImpl implements DocumentoDAO {
     public List<Documento> getDocumentiByTeam(String nomeTeam, String titoloHackathon) throws SQLException {
         List<Documento> documenti = new ArrayList<>();
         String sql = """
-            SELECT d.ID_documento, d.Titolo_doc, d.Contenuto, d.Data_stesura
+            SELECT d.ID_documento, d.Nome_team, d.Titolo_doc, d.Contenuto, d.Data_stesura
             FROM DOCUMENTO d
             WHERE d.Nome_team = ? AND d.Titolo_hackathon = ?
             ORDER BY d.Data_stesura DESC
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, nomeTeam);
             stmt.setString(2, titoloHackathon);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    // Crea oggetti placeholder per Team e Hackathon
-                    Hackathon hackathon = new Hackathon(titoloHackathon);
-                    Team team = new Team(hackathon, nomeTeam);
-                    
-                    Documento documento = new Documento(
-                        rs.getInt("ID_documento"),
-                        team,
-                        rs.getString("Titolo_doc"),
-                        rs.getString("Contenuto")
-                    );
-                    documenti.add(documento);
-                }
+                documenti.addAll(documentiDi(MappaIdentita.hackathon(titoloHackathon)).mappaTutte(rs));
             }
         } catch (SQLException e) {
             throw new SQLException("Errore durante il recupero dei documenti del team: " + e.getMessage(), e);
@@ -90,41 +144,366 @@ public class DocumentoDAOImpl implements DocumentoDAO {
             ORDER BY d.Nome_team, d.Data_stesura DESC
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, titoloHackathon);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    // Crea oggetti placeholder per Team e Hackathon
-                    Hackathon hackathon = new Hackathon(titoloHackathon);
-                    Team team = new Team(hackathon, rs.getString("Nome_team"));
-                    
-                    Documento documento = new Documento(
-                        rs.getInt("ID_documento"),
-                        team,
-                        rs.getString("Titolo_doc"),
-                        rs.getString("Contenuto")
-                    );
-                    documenti.add(documento);
-                }
+                documenti.addAll(documentiDi(MappaIdentita.hackathon(titoloHackathon)).mappaTutte(rs));
             }
         } catch (SQLException e) {
             throw new SQLException("Errore durante il recupero dei documenti dell'hackathon: " + e.getMessage(), e);
         }
         return documenti;
     }
+
+    @Override
+    public Pagina<Documento> getDocumentiByHackathon(String titoloHackathon, int dimensionePagina, String token) throws SQLException {
+        Pagina.verificaDimensione(dimensionePagina);
+        String[] chiave = token == null ? null : Pagina.decodificaToken(token, 3);
+        Timestamp dataChiave = null;
+        int idChiave = 0;
+        if (chiave != null) {
+            try {
+                dataChiave = Timestamp.valueOf(chiave[1]);
+                idChiave = Integer.parseInt(chiave[2]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Token di paginazione non valido", e);
+            }
+        }
+
+        // L'ordinamento è misto (team crescente, data decrescente), quindi la condizione
+        // di ripartenza è scomposta per colonna; l'ID a parità di data rende la chiave univoca
+        String sql = """
+            SELECT d.ID_documento, d.Nome_team, d.Titolo_doc, d.Contenuto, d.Data_stesura
+            FROM DOCUMENTO d
+            WHERE d.Titolo_hackathon = ? %s
+            ORDER BY d.Nome_team, d.Data_stesura DESC, d.ID_documento DESC
+            LIMIT ?
+            """.formatted(chiave == null ? "" : """
+                AND (d.Nome_team > ?
+                     OR (d.Nome_team = ? AND (d.Data_stesura, d.ID_documento) < (?, ?)))""");
+
+        List<Documento> documenti = new ArrayList<>();
+        String tokenSuccessivo = null;
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int indice = 1;
+            stmt.setString(indice++, titoloHackathon);
+            if (chiave != null) {
+                stmt.setString(indice++, chiave[0]);
+                stmt.setString(indice++, chiave[0]);
+                stmt.setTimestamp(indice++, dataChiave);
+                stmt.setInt(indice++, idChiave);
+            }
+            // Una riga in più indica che esiste una pagina successiva
+            stmt.setInt(indice, dimensionePagina + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                String[] ultimaChiave = null;
+                RowMapper<Documento> mapper = documentiDi(MappaIdentita.hackathon(titoloHackathon));
+                RowMapper.Riga riga = mapper.riga(rs);
+                while (rs.next()) {
+                    if (documenti.size() == dimensionePagina) {
+                        tokenSuccessivo = Pagina.codificaToken(ultimaChiave);
+                        break;
+                    }
+                    documenti.add(mapper.leggi(riga));
+                    ultimaChiave = new String[]{
+                        riga.getString(NOME_TEAM),
+                        riga.getTimestamp(DATA_STESURA).toString(),
+                        String.valueOf(riga.getInt(ID_DOCUMENTO))
+                    };
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante il recupero della pagina di documenti dell'hackathon: " + e.getMessage(), e);
+        }
+        return new Pagina<>(documenti, tokenSuccessivo);
+    }
     
+    @Override
+    public List<DocumentHeader> getIntestazioniByTeam(String nomeTeam, String titoloHackathon) throws SQLException {
+        String sql = """
+            SELECT d.ID_documento, d.Nome_team, d.Titolo_hackathon, d.Titolo_doc, d.Data_stesura,
+                   char_length(d.Contenuto) AS Dimensione, left(d.Contenuto, ?) AS Anteprima
+            FROM DOCUMENTO d
+            WHERE d.Nome_team = ? AND d.Titolo_hackathon = ?
+            ORDER BY d.Data_stesura DESC
+            """;
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, DocumentHeader.LUNGHEZZA_ANTEPRIMA);
+            stmt.setString(2, nomeTeam);
+            stmt.setString(3, titoloHackathon);
+
+            return leggiIntestazioni(stmt);
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante il recupero delle intestazioni dei documenti del team: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<DocumentHeader> getIntestazioniByHackathon(String titoloHackathon) throws SQLException {
+        String sql = """
+            SELECT d.ID_documento, d.Nome_team, d.Titolo_hackathon, d.Titolo_doc, d.Data_stesura,
+                   char_length(d.Contenuto) AS Dimensione, left(d.Contenuto, ?) AS Anteprima
+            FROM DOCUMENTO d
+            WHERE d.Titolo_hackathon = ?
+            ORDER BY d.Nome_team, d.Data_stesura DESC
+            """;
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, DocumentHeader.LUNGHEZZA_ANTEPRIMA);
+            stmt.setString(2, titoloHackathon);
+
+            return leggiIntestazioni(stmt);
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante il recupero delle intestazioni dei documenti dell'hackathon: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Esegue una query sulle intestazioni e converte le righe.
+     */
+    private List<DocumentHeader> leggiIntestazioni(PreparedStatement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            return INTESTAZIONE.mappaTutte(rs);
+        }
+    }
+
+    /**
+     * Mapper dei documenti di un hackathon già risolto: il team di ogni riga è cercato
+     * nella mappa d'identità senza passare dal titolo dell'hackathon.
+     */
+    private static RowMapper<Documento> documentiDi(Hackathon hackathon) {
+        return new RowMapper<>(COLONNE, riga -> new Documento(
+                riga.getInt(ID_DOCUMENTO),
+                MappaIdentita.team(hackathon, riga.getString(NOME_TEAM)),
+                riga.getString(TITOLO_DOC),
+                riga.getString(CONTENUTO)
+        ));
+    }
+
+    @Override
+    public Documento findById(int idDocumento) throws SQLException {
+        String sql = """
+            SELECT d.ID_documento, d.Nome_team, d.Titolo_hackathon, d.Titolo_doc, d.Contenuto
+            FROM DOCUMENTO d
+            WHERE d.ID_documento = ?
+            """;
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, idDocumento);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return DOCUMENTO.mappaPrima(rs);
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante il recupero del documento: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public boolean delete(int idDocumento) throws SQLException {
-        String sql = "DELETE FROM DOCUMENTO WHERE ID_documento = ?";
+        String sql = "DELETE FROM DOCUMENTO WHERE ID_documento = ? RETURNING Titolo_hackathon";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, idDocumento);
             
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                String titoloHackathon = rs.getString("Titolo_hackathon");
+                IndiceDocumenti.registraEliminazione(titoloHackathon, idDocumento);
+                NotificheCache.pubblica(connection, NotificheCache.Entita.DOCUMENTO, titoloHackathon, null);
+            }
+            return true;
         } catch (SQLException e) {
             throw new SQLException("Errore durante l'eliminazione del documento: " + e.getMessage(), e);
         }
     }
+
+    @Override
+    public List<DocumentHeader> cercaDocumenti(String titoloHackathon, String testo, int limite) throws SQLException {
+        IndiceDocumenti indice = IndiceDocumenti.get(titoloHackathon, () -> costruisciIndice(titoloHackathon));
+        return indice.cerca(testo, limite);
+    }
+
+    /**
+     * Costruisce l'indice di ricerca di un hackathon leggendo in un'unica query
+     * le intestazioni e il contenuto di tutti i suoi documenti.
+     */
+    private IndiceDocumenti costruisciIndice(String titoloHackathon) throws SQLException {
+        String sql = """
+            SELECT d.ID_documento, d.Nome_team, d.Titolo_hackathon, d.Titolo_doc, d.Data_stesura,
+                   char_length(d.Contenuto) AS Dimensione, left(d.Contenuto, ?) AS Anteprima, d.Contenuto
+            FROM DOCUMENTO d
+            WHERE d.Titolo_hackathon = ?
+            ORDER BY d.Nome_team, d.Data_stesura DESC
+            """;
+
+        IndiceDocumenti indice = new IndiceDocumenti();
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, DocumentHeader.LUNGHEZZA_ANTEPRIMA);
+            stmt.setString(2, titoloHackathon);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = INTESTAZIONE.riga(rs);
+                while (rs.next()) {
+                    indice.aggiungi(INTESTAZIONE.leggi(riga), riga.getString(CONTENUTO));
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante la costruzione dell'indice dei documenti: " + e.getMessage(), e);
+        }
+        return indice;
+    }
+
+    /**
+     * Numero di caratteri del contenuto, come char_length di PostgreSQL.
+     */
+    private static int dimensione(String contenuto) {
+        return contenuto != null ? contenuto.codePointCount(0, contenuto.length()) : 0;
+    }
+
+    /**
+     * Primi caratteri del contenuto, come left(Contenuto, LUNGHEZZA_ANTEPRIMA) di PostgreSQL.
+     */
+    private static String anteprima(String contenuto) {
+        if (contenuto == null) {
+            return null;
+        }
+        int caratteri = Math.min(DocumentHeader.LUNGHEZZA_ANTEPRIMA, dimensione(contenuto));
+        return contenuto.substring(0, contenuto.offsetByCodePoints(0, caratteri));
+    }
+
+    @Override
+    public Pagina<DocumentoTrovato> cercaDocumentiTestoCompleto(String titoloHackathon, String nomeTeam, String testo,
+                                                                int dimensionePagina, String token) throws SQLException {
+        Pagina.verificaDimensione(dimensionePagina);
+        if (testo == null || testo.isBlank()) {
+            return new Pagina<>(new ArrayList<>(), null);
+        }
+        String[] chiave = token == null ? null : Pagina.decodificaToken(token, 2);
+        float rilevanzaChiave = 0;
+        int idChiave = 0;
+        if (chiave != null) {
+            try {
+                rilevanzaChiave = Float.parseFloat(chiave[0]);
+                idChiave = Integer.parseInt(chiave[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Token di paginazione non valido", e);
+            }
+        }
+
+        // La query interna usa l'indice GIN e ordina per rilevanza; gli estratti, costosi,
+        // sono calcolati solo per le righe della pagina
+        String sql = """
+            SELECT p.ID_documento, p.Nome_team, p.Titolo_hackathon, p.Titolo_doc, p.Data_stesura,
+                   p.Dimensione, p.Anteprima, p.Rilevanza,
+                   ts_headline(?::regconfig, p.Contenuto, p.Query, ?) AS Estratto
+            FROM (
+                SELECT d.ID_documento, d.Nome_team, d.Titolo_hackathon, d.Titolo_doc, d.Data_stesura,
+                       char_length(d.Contenuto) AS Dimensione, left(d.Contenuto, ?) AS Anteprima,
+                       d.Contenuto, q.Query, ts_rank(d.Testo_ricerca, q.Query) AS Rilevanza
+                FROM DOCUMENTO d, websearch_to_tsquery(?::regconfig, ?) AS q(Query)
+                WHERE d.Titolo_hackathon = ? %s AND d.Testo_ricerca @@ q.Query
+            ) p
+            %s
+            ORDER BY p.Rilevanza DESC, p.ID_documento DESC
+            LIMIT ?
+            """.formatted(
+                nomeTeam == null ? "" : "AND d.Nome_team = ?",
+                chiave == null ? "" : "WHERE (p.Rilevanza, p.ID_documento) < (?::real, ?)");
+
+        List<DocumentoTrovato> trovati = new ArrayList<>();
+        String tokenSuccessivo = null;
+
+        try (Connection connection = database.getConnection()) {
+            verificaRicercaTestuale(connection);
+
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                int indice = 1;
+                stmt.setString(indice++, CONFIGURAZIONE_TESTO);
+                stmt.setString(indice++, OPZIONI_ESTRATTO);
+                stmt.setInt(indice++, DocumentHeader.LUNGHEZZA_ANTEPRIMA);
+                stmt.setString(indice++, CONFIGURAZIONE_TESTO);
+                stmt.setString(indice++, testo);
+                stmt.setString(indice++, titoloHackathon);
+                if (nomeTeam != null) {
+                    stmt.setString(indice++, nomeTeam);
+                }
+                if (chiave != null) {
+                    stmt.setFloat(indice++, rilevanzaChiave);
+                    stmt.setInt(indice++, idChiave);
+                }
+                // Una riga in più indica che esiste una pagina successiva
+                stmt.setInt(indice, dimensionePagina + 1);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    RowMapper.Riga riga = INTESTAZIONE.riga(rs);
+                    String[] ultimaChiave = null;
+                    while (rs.next()) {
+                        if (trovati.size() == dimensionePagina) {
+                            tokenSuccessivo = Pagina.codificaToken(ultimaChiave);
+                            break;
+                        }
+                        float rilevanza = riga.getFloat(RILEVANZA);
+                        DocumentHeader intestazione = INTESTAZIONE.leggi(riga);
+                        trovati.add(new DocumentoTrovato(intestazione, rilevanza, riga.getString(ESTRATTO)));
+                        ultimaChiave = new String[]{
+                            Float.toString(rilevanza),
+                            String.valueOf(intestazione.getIdDocumento())
+                        };
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante la ricerca testuale dei documenti: " + e.getMessage(), e);
+        }
+        return new Pagina<>(trovati, tokenSuccessivo);
+    }
+
+    /**
+     * Verifica, fino al primo esito positivo, che DOCUMENTO abbia la colonna tsvector della
+     * ricerca testuale e il relativo indice GIN.
+     *
+     * Colonna e indice sono creati dalla migrazione {@value #MIGRAZIONE_RICERCA_TESTUALE} e non
+     * dal DAO: il DDL prende lock sulla tabella e va eseguito in una finestra di manutenzione.
+     *
+     * @throws SQLException Se la colonna o l'indice mancano, o se la verifica fallisce
+     */
+    private static void verificaRicercaTestuale(Connection connection) throws SQLException {
+        if (ricercaTestualePronta) {
+            return;
+        }
+        String verifica = """
+            SELECT EXISTS (SELECT 1 FROM pg_attribute
+                           WHERE attrelid = 'documento'::regclass AND attname = 'testo_ricerca'
+                             AND NOT attisdropped) AS Colonna,
+                   to_regclass('idx_documento_testo_ricerca') IS NOT NULL AS Indice
+            """;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(verifica)) {
+            rs.next();
+            if (!rs.getBoolean("Colonna")) {
+                throw new SQLException("Ricerca testuale non disponibile: manca la colonna DOCUMENTO.Testo_ricerca, "
+                        + "eseguire la migrazione " + MIGRAZIONE_RICERCA_TESTUALE);
+            }
+            if (!rs.getBoolean("Indice")) {
+                throw new SQLException("Ricerca testuale non disponibile: manca l'indice idx_documento_testo_ricerca, "
+                        + "eseguire la migrazione " + MIGRAZIONE_RICERCA_TESTUALE);
+            }
+        }
+        // Un esito negativo non viene ricordato: la migrazione può essere eseguita ad applicazione avviata
+        ricercaTestualePronta = true;
+    }
 }
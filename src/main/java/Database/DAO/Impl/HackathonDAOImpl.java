@@ -1,28 +1,69 @@
 package Database.DAO.Impl;
 
+import Database.DAO.Classifica;
 import Database.DAO.HackathonDAO;
+import Database.DAO.HackathonSummary;
+import Database.DAO.Pagina;
+import Database.DAO.StatisticheCache;
 import Database.ConnessioneDatabase;
+import Database.TransactionTemplate;
 import model.Hackathon;
+import model.Team;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementazione del DAO per la gestione degli hackathon nel database PostgreSQL.
  */
 public class HackathonDAOImpl implements HackathonDAO {
 
-    private Connection connection;
+    private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+    private static final RowMapper.Colonna TITOLO = COLONNE.aggiungi("Titolo_identificativo");
+    private static final RowMapper.Colonna ORGANIZZATORE = COLONNE.aggiungi("Organizzatore");
+    private static final RowMapper.Colonna SEDE = COLONNE.aggiungi("Sede");
+    private static final RowMapper.Colonna INIZIO_REGISTRAZIONE = COLONNE.aggiungi("DataInizio_registrazione");
+    private static final RowMapper.Colonna FINE_REGISTRAZIONE = COLONNE.aggiungi("DataFine_registrazione");
+    private static final RowMapper.Colonna INIZIO_EVENTO = COLONNE.aggiungi("DataInizio_evento");
+    private static final RowMapper.Colonna FINE_EVENTO = COLONNE.aggiungi("DataFine_evento");
+    private static final RowMapper.Colonna DESCRIZIONE = COLONNE.aggiungi("Descrizione_problema");
+    private static final RowMapper.Colonna NUM_ISCRITTI = COLONNE.aggiungi("NumIscritti_corrente");
+    private static final RowMapper.Colonna MAX_ISCRITTI = COLONNE.aggiungi("MaxNum_iscritti");
+    private static final RowMapper.Colonna MAX_MEMBRI_TEAM = COLONNE.aggiungi("MaxNum_membriTeam");
+    private static final RowMapper.Colonna LUNGHEZZA_DESCRIZIONE = COLONNE.aggiungi("Lunghezza_descrizione");
+
+    private static final RowMapper<Hackathon> HACKATHON = new RowMapper<>(COLONNE, HackathonDAOImpl::createHackathonFromRiga);
+
+    private static final RowMapper<HackathonSummary> RIEPILOGO = new RowMapper<>(COLONNE, riga -> new HackathonSummary(
+            riga.getString(TITOLO),
+            riga.getString(ORGANIZZATORE),
+            riga.getString(SEDE),
+            riga.getLocalDate(INIZIO_REGISTRAZIONE),
+            riga.getLocalDate(FINE_REGISTRAZIONE),
+            riga.getLocalDate(INIZIO_EVENTO),
+            riga.getLocalDate(FINE_EVENTO),
+            riga.getInt(NUM_ISCRITTI),
+            riga.getInt(MAX_ISCRITTI),
+            riga.getInt(LUNGHEZZA_DESCRIZIONE)
+    ));
+
+    private final ConnessioneDatabase database;
 
     /**
-     * Costruttore che inizializza la connessione al database.
+     * Costruttore che inizializza l'accesso al pool di connessioni del database.
      *
      * @throws SQLException Se si verifica un errore nella connessione
      */
     public HackathonDAOImpl() throws SQLException {
-        this.connection = ConnessioneDatabase.getInstance().connection;
+        this.database = ConnessioneDatabase.getInstance();
     }
 
     @Override
@@ -37,7 +78,8 @@ public class HackathonDAOImpl implements HackathonDAO {
                 ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, hackathon.getTitoloIdentificativo());
             stmt.setString(2, hackathon.getOrganizzatore());
             stmt.setString(3, hackathon.getSede());
@@ -50,6 +92,8 @@ public class HackathonDAOImpl implements HackathonDAO {
             stmt.setInt(10, hackathon.getMaxMembriTeam());
 
             int rowsAffected = stmt.executeUpdate();
+            CatalogoHackathon.invalida(hackathon.getTitoloIdentificativo());
+            NotificheCache.pubblica(connection, NotificheCache.Entita.HACKATHON, hackathon.getTitoloIdentificativo(), null);
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -69,6 +113,10 @@ public class HackathonDAOImpl implements HackathonDAO {
 
     @Override
     public List<Hackathon> getHackathonByOrganizzatore(String usernameOrganizzatore) throws SQLException {
+        return CatalogoHackathon.diOrganizzatore(usernameOrganizzatore, () -> leggiDiOrganizzatore(usernameOrganizzatore));
+    }
+
+    private List<Hackathon> leggiDiOrganizzatore(String usernameOrganizzatore) throws SQLException {
         String sql = """
                 SELECT Titolo_identificativo, Organizzatore, Sede, Classifica,
                        DataInizio_registrazione, DataFine_registrazione,
@@ -82,13 +130,12 @@ public class HackathonDAOImpl implements HackathonDAO {
 
         List<Hackathon> hackathons = new ArrayList<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, usernameOrganizzatore);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    hackathons.add(createHackathonFromResultSet(rs));
-                }
+                hackathons.addAll(HACKATHON.mappaTutte(rs));
             }
         } catch (SQLException e) {
             throw new SQLException("Errore nel recupero degli hackathon dell'organizzatore: " + e.getMessage(), e);
@@ -97,8 +144,57 @@ public class HackathonDAOImpl implements HackathonDAO {
         return hackathons;
     }
 
+    @Override
+    public List<HackathonSummary> getRiepiloghiByOrganizzatore(String usernameOrganizzatore) throws SQLException {
+        String sql = """
+                SELECT Titolo_identificativo, Organizzatore, Sede,
+                       DataInizio_registrazione, DataFine_registrazione,
+                       DataInizio_evento, DataFine_evento,
+                       NumIscritti_corrente, MaxNum_iscritti,
+                       COALESCE(char_length(Descrizione_problema), 0) AS Lunghezza_descrizione
+                FROM HACKATHON
+                WHERE Organizzatore = ?
+                ORDER BY DataInizio_evento DESC
+                """;
+
+        List<HackathonSummary> riepiloghi = new ArrayList<>();
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, usernameOrganizzatore);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                riepiloghi.addAll(RIEPILOGO.mappaTutte(rs));
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore nel recupero dei riepiloghi degli hackathon: " + e.getMessage(), e);
+        }
+
+        return riepiloghi;
+    }
+
+    @Override
+    public String getDescrizioneProblema(String titoloIdentificativo) throws SQLException {
+        String sql = "SELECT Descrizione_problema FROM HACKATHON WHERE Titolo_identificativo = ?";
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, titoloIdentificativo);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString("Descrizione_problema") : null;
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore nel recupero della descrizione dell'hackathon: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public List<Hackathon> getAllHackathon() throws SQLException {
+        return CatalogoHackathon.tutti(this::leggiTutti);
+    }
+
+    private List<Hackathon> leggiTutti() throws SQLException {
         String sql = """
                 SELECT Titolo_identificativo, Organizzatore, Sede, Classifica,
                        DataInizio_registrazione, DataFine_registrazione,
@@ -111,12 +207,11 @@ public class HackathonDAOImpl implements HackathonDAO {
 
         List<Hackathon> hackathons = new ArrayList<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
-            while (rs.next()) {
-                hackathons.add(createHackathonFromResultSet(rs));
-            }
+            hackathons.addAll(HACKATHON.mappaTutte(rs));
         } catch (SQLException e) {
             throw new SQLException("Errore nel recupero di tutti gli hackathon: " + e.getMessage(), e);
         }
@@ -125,7 +220,67 @@ public class HackathonDAOImpl implements HackathonDAO {
     }
 
     @Override
-    public List<Hackathon> getHackathonConRegistrazioniAperte() throws SQLException {
+    public List<Hackathon> cercaHackathonSimili(String testo, int limite) throws SQLException {
+        if (testo == null || testo.isBlank() || limite <= 0) {
+            return new ArrayList<>();
+        }
+        String cercato = testo.trim();
+
+        try (Connection connection = database.getConnection()) {
+            // Senza pg_trgm resta la sola ricerca per sottostringa
+            boolean somiglianza = IndiciTrigrammi.somiglianzaDisponibile(connection);
+            String sql = """
+                    SELECT Titolo_identificativo, Organizzatore, Sede, Classifica,
+                           DataInizio_registrazione, DataFine_registrazione,
+                           DataInizio_evento, DataFine_evento,
+                           Descrizione_problema, NumIscritti_corrente,
+                           MaxNum_iscritti, MaxNum_membriTeam
+                    FROM HACKATHON
+                    %s
+                    LIMIT ?
+                    """.formatted(somiglianza
+                    ? """
+                      WHERE ? <% Titolo_identificativo OR Titolo_identificativo ILIKE ? ESCAPE '\\'
+                      ORDER BY word_similarity(?, Titolo_identificativo) DESC, Titolo_identificativo"""
+                    : """
+                      WHERE Titolo_identificativo ILIKE ? ESCAPE '\\'
+                      ORDER BY Titolo_identificativo""");
+
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                int indice = 1;
+                if (somiglianza) {
+                    stmt.setString(indice++, cercato);
+                }
+                stmt.setString(indice++, IndiciTrigrammi.contiene(cercato));
+                if (somiglianza) {
+                    stmt.setString(indice++, cercato);
+                }
+                stmt.setInt(indice, limite);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return HACKATHON.mappaTutte(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore nella ricerca per somiglianza degli hackathon: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Pagina<Hackathon> getAllHackathon(int dimensionePagina, String token) throws SQLException {
+        Pagina.verificaDimensione(dimensionePagina);
+        String[] chiave = token == null ? null : Pagina.decodificaToken(token, 2);
+        Date dataChiave = null;
+        if (chiave != null) {
+            try {
+                dataChiave = Date.valueOf(chiave[0]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Token di paginazione non valido", e);
+            }
+        }
+
+        // Il titolo rende la chiave univoca a parità di data; entrambe le colonne sono
+        // ordinate in modo decrescente così che il confronto tra righe usi l'indice
         String sql = """
                 SELECT Titolo_identificativo, Organizzatore, Sede, Classifica,
                        DataInizio_registrazione, DataFine_registrazione,
@@ -133,24 +288,57 @@ public class HackathonDAOImpl implements HackathonDAO {
                        Descrizione_problema, NumIscritti_corrente,
                        MaxNum_iscritti, MaxNum_membriTeam
                 FROM HACKATHON
-                WHERE DataInizio_registrazione <= CURRENT_DATE 
-                  AND DataFine_registrazione >= CURRENT_DATE
-                  AND COALESCE(NumIscritti_corrente, 0) < MaxNum_iscritti
-                ORDER BY DataFine_registrazione ASC
-                """;
+                %s
+                ORDER BY DataInizio_evento DESC, Titolo_identificativo DESC
+                LIMIT ?
+                """.formatted(chiave == null ? "" : "WHERE (DataInizio_evento, Titolo_identificativo) < (?, ?)");
 
         List<Hackathon> hackathons = new ArrayList<>();
+        String tokenSuccessivo = null;
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int indice = 1;
+            if (chiave != null) {
+                stmt.setDate(indice++, dataChiave);
+                stmt.setString(indice++, chiave[1]);
+            }
+            // Una riga in più indica che esiste una pagina successiva
+            stmt.setInt(indice, dimensionePagina + 1);
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            while (rs.next()) {
-                hackathons.add(createHackathonFromResultSet(rs));
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = HACKATHON.riga(rs);
+                while (rs.next()) {
+                    if (hackathons.size() == dimensionePagina) {
+                        Hackathon ultimo = hackathons.get(hackathons.size() - 1);
+                        tokenSuccessivo = Pagina.codificaToken(
+                                ultimo.getDataInizio().toLocalDate().toString(), ultimo.getTitoloIdentificativo());
+                        break;
+                    }
+                    hackathons.add(HACKATHON.leggi(riga));
+                }
             }
         } catch (SQLException e) {
-            throw new SQLException("Errore nel recupero degli hackathon con registrazioni aperte: " + e.getMessage(), e);
+            throw new SQLException("Errore nel recupero della pagina di hackathon: " + e.getMessage(), e);
         }
 
+        return new Pagina<>(hackathons, tokenSuccessivo);
+    }
+
+    @Override
+    public List<Hackathon> getHackathonConRegistrazioniAperte() throws SQLException {
+        // Filtro sul catalogo invece di una query dedicata: stesse condizioni della vecchia
+        // WHERE (registrazioni in corso oggi e posti disponibili), ordinate per chiusura
+        LocalDate oggi = LocalDate.now();
+        List<Hackathon> hackathons = new ArrayList<>();
+        for (Hackathon hackathon : getAllHackathon()) {
+            if (!hackathon.getDataInizioRegistrazioni().toLocalDate().isAfter(oggi)
+                    && !hackathon.getDataFineRegistrazioni().toLocalDate().isBefore(oggi)
+                    && hackathon.getNumIscritti() < hackathon.getMaxNumIscritti()) {
+                hackathons.add(hackathon);
+            }
+        }
+        hackathons.sort(Comparator.comparing(Hackathon::getDataFineRegistrazioni));
         return hackathons;
     }
 
@@ -174,12 +362,11 @@ public class HackathonDAOImpl implements HackathonDAO {
 
         List<Hackathon> hackathons = new ArrayList<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
-            while (rs.next()) {
-                hackathons.add(createHackathonFromResultSet(rs));
-            }
+            hackathons.addAll(HACKATHON.mappaTutte(rs));
         } catch (SQLException e) {
             throw new SQLException("Errore nel recupero degli hackathon terminati: " + e.getMessage(), e);
         }
@@ -191,11 +378,14 @@ public class HackathonDAOImpl implements HackathonDAO {
     public boolean aggiornaClassifica(String titoloIdentificativo, String classifica) throws SQLException {
         String sql = "UPDATE HACKATHON SET Classifica = ? WHERE Titolo_identificativo = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, classifica);
             stmt.setString(2, titoloIdentificativo);
 
             int rowsAffected = stmt.executeUpdate();
+            CatalogoHackathon.invalida(titoloIdentificativo);
+            NotificheCache.pubblica(connection, NotificheCache.Entita.HACKATHON, titoloIdentificativo, null);
             return rowsAffected > 0;
         } catch (SQLException e) {
             throw new SQLException("Errore nell'aggiornamento della classifica: " + e.getMessage(), e);
@@ -220,7 +410,8 @@ public class HackathonDAOImpl implements HackathonDAO {
                 WHERE Titolo_identificativo = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, entity.getSede());
             stmt.setDate(2, Date.valueOf(entity.getDataInizioRegistrazioni().toLocalDate()));
             stmt.setDate(3, Date.valueOf(entity.getDataFineRegistrazioni().toLocalDate()));
@@ -232,6 +423,8 @@ public class HackathonDAOImpl implements HackathonDAO {
             stmt.setString(9, entity.getTitoloIdentificativo());
 
             int rowsAffected = stmt.executeUpdate();
+            CatalogoHackathon.invalida(entity.getTitoloIdentificativo());
+            NotificheCache.pubblica(connection, NotificheCache.Entita.HACKATHON, entity.getTitoloIdentificativo(), null);
             return rowsAffected > 0;
         } catch (SQLException e) {
             throw new SQLException("Errore nell'aggiornamento dell'hackathon: " + e.getMessage(), e);
@@ -242,10 +435,15 @@ public class HackathonDAOImpl implements HackathonDAO {
     public boolean delete(String titoloIdentificativo) throws SQLException {
         String sql = "DELETE FROM HACKATHON WHERE Titolo_identificativo = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, titoloIdentificativo);
 
             int rowsAffected = stmt.executeUpdate();
+            CatalogoHackathon.invalida(titoloIdentificativo);
+            MappaIdentita.rimuoviHackathon(titoloIdentificativo);
+            IndiceDocumenti.invalida(titoloIdentificativo);
+            NotificheCache.pubblica(connection, NotificheCache.Entita.HACKATHON, titoloIdentificativo, null);
             return rowsAffected > 0;
         } catch (SQLException e) {
             throw new SQLException("Errore nell'eliminazione dell'hackathon: " + e.getMessage(), e);
@@ -254,6 +452,33 @@ public class HackathonDAOImpl implements HackathonDAO {
 
     @Override
     public Hackathon findByKey(String titoloIdentificativo) throws SQLException {
+        return CatalogoHackathon.hackathon(titoloIdentificativo, () -> leggiPerTitolo(titoloIdentificativo));
+    }
+
+    /**
+     * Completa gli hackathon dei team letti con {@link TeamDAOImpl#TEAM} che sono ancora
+     * riferimenti con il solo titolo, leggendo ogni hackathon una sola volta. Chi riceve
+     * i team ne usa date e limiti, che in un riferimento sono null.
+     *
+     * @param teams I team da completare
+     * @throws SQLException Se la lettura di un hackathon fallisce
+     */
+    void completaHackathon(Collection<Team> teams) throws SQLException {
+        Set<String> letti = new HashSet<>();
+        for (Team team : teams) {
+            Hackathon hackathon = team.getHackathon();
+            if (!hackathon.isRiferimento() || !letti.add(hackathon.getTitoloIdentificativo())) {
+                continue;
+            }
+            Hackathon letto = findByKey(hackathon.getTitoloIdentificativo());
+            // Il catalogo può restituire un'istanza diversa dal riferimento del team
+            if (letto != null && letto != hackathon) {
+                hackathon.aggiornaDa(letto);
+            }
+        }
+    }
+
+    private Hackathon leggiPerTitolo(String titoloIdentificativo) throws SQLException {
         String sql = """
                 SELECT Titolo_identificativo, Organizzatore, Sede, Classifica,
                        DataInizio_registrazione, DataFine_registrazione,
@@ -264,12 +489,14 @@ public class HackathonDAOImpl implements HackathonDAO {
                 WHERE Titolo_identificativo = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, titoloIdentificativo);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return createHackathonFromResultSet(rs);
+                Hackathon hackathon = HACKATHON.mappaPrima(rs);
+                if (hackathon != null) {
+                    return hackathon;
                 }
             }
         } catch (SQLException e) {
@@ -284,25 +511,40 @@ public class HackathonDAOImpl implements HackathonDAO {
         return getAllHackathon();
     }
 
+    @Override
+    public Stream<Hackathon> streamAll(int fetchSize) throws SQLException {
+        String sql = """
+                SELECT Titolo_identificativo, Organizzatore, Sede, Classifica,
+                       DataInizio_registrazione, DataFine_registrazione,
+                       DataInizio_evento, DataFine_evento,
+                       Descrizione_problema, NumIscritti_corrente,
+                       MaxNum_iscritti, MaxNum_membriTeam
+                FROM HACKATHON
+                ORDER BY DataInizio_evento DESC
+                """;
+
+        return ResultSetStreams.stream(database, sql, stmt -> { }, fetchSize, HACKATHON);
+    }
+
     /**
-     * Metodo di utilità per creare un oggetto Hackathon da un ResultSet.
+     * Metodo di utilità per creare un oggetto Hackathon da una riga letta per indice.
      *
-     * @param rs Il ResultSet contenente i dati dell'hackathon
+     * @param riga La riga contenente i dati dell'hackathon
      * @return L'oggetto Hackathon creato
      * @throws SQLException in caso di errore nella lettura dei dati
      */
-    private Hackathon createHackathonFromResultSet(ResultSet rs) throws SQLException {
-        String titoloIdentificativo = rs.getString("Titolo_identificativo");
-        String organizzatore = rs.getString("Organizzatore");
-        String sede = rs.getString("Sede");
+    private static Hackathon createHackathonFromRiga(RowMapper.Riga riga) throws SQLException {
+        String titoloIdentificativo = riga.getString(TITOLO);
+        String organizzatore = riga.getString(ORGANIZZATORE);
+        String sede = riga.getString(SEDE);
         
         // Conversione date da SQL Date a LocalDateTime
-        LocalDateTime dataInizioEvento = rs.getDate("DataInizio_evento").toLocalDate().atStartOfDay();
-        LocalDateTime dataFineEvento = rs.getDate("DataFine_evento").toLocalDate().atTime(23, 59, 59);
-        LocalDateTime dataInizioRegistrazione = rs.getDate("DataInizio_registrazione").toLocalDate().atStartOfDay();
+        LocalDateTime dataInizioEvento = riga.getLocalDate(INIZIO_EVENTO).atStartOfDay();
+        LocalDateTime dataFineEvento = riga.getLocalDate(FINE_EVENTO).atTime(23, 59, 59);
+        LocalDateTime dataInizioRegistrazione = riga.getLocalDate(INIZIO_REGISTRAZIONE).atStartOfDay();
         
-        int maxMembriTeam = rs.getInt("MaxNum_membriTeam");
-        int maxNumIscritti = rs.getInt("MaxNum_iscritti");
+        int maxMembriTeam = riga.getInt(MAX_MEMBRI_TEAM);
+        int maxNumIscritti = riga.getInt(MAX_ISCRITTI);
 
         try {
             // Creo l'hackathon usando il costruttore principale
@@ -315,13 +557,14 @@ public class HackathonDAOImpl implements HackathonDAO {
                     dataInizioRegistrazione, // data inizio registrazioni
                     maxMembriTeam,         // max membri team
                     maxNumIscritti,        // max num iscritti
-                    rs.getString("Descrizione_problema") // descrizione problema
+                    riga.getString(DESCRIZIONE) // descrizione problema
             );
 
             // Imposto i dati aggiuntivi
-            hackathon.setNumIscritti(rs.getInt("NumIscritti_corrente"));
+            hackathon.setNumIscritti(riga.getInt(NUM_ISCRITTI));
 
-            return hackathon;
+            // Chi possiede già l'istanza canonica (team, documenti, GUI) vede i dati aggiornati
+            return MappaIdentita.registraHackathon(hackathon);
             
         } catch (Exception e) {
             throw new SQLException("Errore nella creazione dell'oggetto Hackathon: " + e.getMessage(), e);
@@ -329,44 +572,101 @@ public class HackathonDAOImpl implements HackathonDAO {
     }
     
     @Override
-    public String generaClassificaHackathon(String titoloIdentificativo) throws SQLException {
-        String sql = "SELECT genera_classifica_hackathon(?)";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+    public Classifica getClassifica(String titoloIdentificativo) throws SQLException {
+        String sql = """
+                SELECT DataFine_evento < CURRENT_DATE AS Terminato,
+                       (SELECT COUNT(*) FROM GIUDICE g WHERE g.Titolo_hackathon = h.Titolo_identificativo) AS Numero_giudici
+                FROM HACKATHON h
+                WHERE h.Titolo_identificativo = ?
+                """;
+
+        boolean terminato;
+        int numeroGiudici;
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, titoloIdentificativo);
-            
+
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getString(1);
-                } else {
-                    return "Errore: Nessun risultato dalla funzione di generazione classifica";
+                if (!rs.next()) {
+                    throw new SQLException("Hackathon non trovato: " + titoloIdentificativo);
                 }
+                terminato = rs.getBoolean("Terminato");
+                numeroGiudici = rs.getInt("Numero_giudici");
             }
         } catch (SQLException e) {
             throw new SQLException("Errore durante la generazione della classifica: " + e.getMessage(), e);
         }
+
+        MotoreClassifica.ClassificaHackathon inMemoria = MotoreClassifica.get(database, titoloIdentificativo);
+        return new Classifica(titoloIdentificativo, inMemoria.getRighe(), terminato,
+                numeroGiudici, inMemoria.getVotiRegistrati());
     }
-    
+
     @Override
-    public boolean isHackathonTerminato(String titoloIdentificativo) throws SQLException {
-        String sql = """
-                SELECT COUNT(*) 
-                FROM HACKATHON 
-                WHERE Titolo_identificativo = ? AND DataFine_evento < CURRENT_DATE
+    public int getPosizioneTeam(String titoloIdentificativo, String nomeTeam) throws SQLException {
+        return MotoreClassifica.get(database, titoloIdentificativo).getPosizione(nomeTeam);
+    }
+
+    @Override
+    public String salvaClassificaDefinitiva(String titoloIdentificativo, String usernameOrganizzatore)
+            throws SQLException, SecurityException {
+        String verificaSql = """
+                SELECT Organizzatore, DataFine_evento < CURRENT_DATE AS Terminato
+                FROM HACKATHON
+                WHERE Titolo_identificativo = ?
+                FOR UPDATE
                 """;
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, titoloIdentificativo);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
+        // Il calcolo della classifica finale resta alla funzione del database
+        String generaSql = "SELECT genera_classifica_hackathon(?)";
+
+        return TransactionTemplate.esegui(tx -> {
+            String testo;
+            try (Connection connection = database.getConnection()) {
+                try (PreparedStatement stmt = connection.prepareStatement(verificaSql)) {
+                    stmt.setString(1, titoloIdentificativo);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new SQLException("Hackathon non trovato: " + titoloIdentificativo);
+                        }
+                        String organizzatore = rs.getString("Organizzatore");
+                        if (!organizzatore.equals(usernameOrganizzatore)) {
+                            throw new SecurityException("L'organizzatore " + usernameOrganizzatore +
+                                " non è autorizzato a chiudere la classifica dell'hackathon '" + titoloIdentificativo +
+                                "'. Solo l'organizzatore " + organizzatore + " può farlo.");
+                        }
+                        if (!rs.getBoolean("Terminato")) {
+                            throw new SQLException("L'hackathon '" + titoloIdentificativo + "' non è ancora terminato");
+                        }
+                    }
+                }
+
+                try (PreparedStatement stmt = connection.prepareStatement(generaSql)) {
+                    stmt.setString(1, titoloIdentificativo);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next() || rs.getString(1) == null) {
+                            throw new SQLException("Nessun risultato dalla funzione di generazione classifica");
+                        }
+                        testo = rs.getString(1);
+                    }
                 }
+            } catch (SQLException e) {
+                throw new SQLException("Errore durante il salvataggio della classifica definitiva: " + e.getMessage(), e);
             }
-        } catch (SQLException e) {
-            throw new SQLException("Errore durante la verifica termine hackathon: " + e.getMessage(), e);
-        }
-        
-        return false;
+            aggiornaClassifica(titoloIdentificativo, testo);
+            return testo;
+        });
+    }
+    
+    @Override
+    public boolean isHackathonTerminato(String titoloIdentificativo) throws SQLException {
+        Hackathon hackathon = findByKey(titoloIdentificativo);
+        return hackathon != null && hackathon.getDataFine().toLocalDate().isBefore(LocalDate.now());
+    }
+
+    /**
+     * @return Le statistiche del catalogo degli hackathon condiviso dalle istanze del DAO
+     */
+    public static StatisticheCache getStatisticheCatalogo() {
+        return CatalogoHackathon.getStatistiche();
     }
 }
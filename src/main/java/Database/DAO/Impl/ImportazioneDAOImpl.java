@@ -0,0 +1,306 @@
+package Database.DAO.Impl;
+
+import Database.ConnessioneDatabase;
+import Database.TransactionTemplate;
+import Database.DAO.EsitoImportazione;
+import Database.DAO.ImportazioneDAO;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementazione dell'importazione massiva tramite il CopyManager del driver PostgreSQL.
+ *
+ * Per ogni file:
+ * 1. il CSV viene letto da {@link LettoreCsv} e caricato con COPY in una tabella temporanea di
+ *    appoggio con colonne testuali, così che valori malformati non interrompano il caricamento.
+ *    I record con un numero di colonne errato o con virgolette non chiuse, che farebbero fallire
+ *    l'intero COPY, vengono caricati già marcati come scartati;
+ * 2. le righe non valide (campi mancanti, duplicati nel file, riferimenti inesistenti,
+ *    righe già presenti) vengono marcate con il motivo dello scarto;
+ * 3. le righe valide vengono unite alla tabella definitiva con un unico INSERT ... SELECT.
+ *    Se un vincolo o un trigger rifiuta qualche riga, l'unione viene ripetuta riga per riga
+ *    lato server e solo le righe rifiutate vengono scartate.
+ *
+ * Tutto avviene in un'unica transazione per file.
+ */
+public class ImportazioneDAOImpl implements ImportazioneDAO {
+
+    /**
+     * Dimensione dei blocchi inviati al server durante il COPY.
+     */
+    private static final int BLOCCO_COPY = 64 * 1024;
+
+    private final ConnessioneDatabase database;
+
+    /**
+     * Costruttore che inizializza l'accesso al pool di connessioni del database.
+     *
+     * @throws SQLException Se si verifica un errore nella connessione
+     */
+    public ImportazioneDAOImpl() throws SQLException {
+        this.database = ConnessioneDatabase.getInstance();
+    }
+
+    /**
+     * Descrizione di un'importazione: tabella di appoggio, controlli e istruzioni di unione.
+     */
+    private static class Importazione {
+        private final String tabella;
+        private final String staging;
+        private final String[] colonne;
+        private final List<String[]> controlli = new ArrayList<>();
+        private String unione;
+        private String inserimentoRiga;
+
+        private Importazione(String tabella, String staging, String... colonne) {
+            this.tabella = tabella;
+            this.staging = staging;
+            this.colonne = colonne;
+        }
+
+        /**
+         * Aggiunge un controllo: le righe che soddisfano la condizione vengono scartate con il motivo indicato.
+         */
+        private Importazione scarta(String condizione, String motivo) {
+            controlli.add(new String[]{condizione, motivo});
+            return this;
+        }
+
+        /**
+         * Scarta le righe successive alla prima con la stessa chiave all'interno del file.
+         */
+        private Importazione scartaDuplicati(String chiave, String motivo) {
+            return scarta("s.riga IN (SELECT d.riga FROM (SELECT riga, row_number() OVER (PARTITION BY " + chiave
+                    + " ORDER BY riga) AS n FROM " + staging + " WHERE motivo IS NULL) d WHERE d.n > 1)", motivo);
+        }
+    }
+
+    @Override
+    public EsitoImportazione importaUtenti(Reader csv) throws SQLException, IOException {
+        Importazione imp = new Importazione("UTENTE", "import_utente", "username", "password")
+                .scarta("s.username IS NULL OR btrim(s.username) = '' OR s.password IS NULL OR btrim(s.password) = ''",
+                        "Username e password sono obbligatori")
+                .scartaDuplicati("username", "Username duplicato nel file")
+                .scarta("EXISTS (SELECT 1 FROM UTENTE u WHERE u.Username = s.username)",
+                        "Utente già registrato");
+        imp.unione = """
+                INSERT INTO UTENTE (Username, Password)
+                SELECT username, password FROM import_utente WHERE motivo IS NULL ORDER BY riga
+                """;
+        imp.inserimentoRiga = "INSERT INTO UTENTE (Username, Password) VALUES (r.username, r.password)";
+        return importa(csv, imp);
+    }
+
+    @Override
+    public EsitoImportazione importaTeam(Reader csv) throws SQLException, IOException {
+        Importazione imp = new Importazione("TEAM", "import_team", "nome_team", "titolo_hackathon", "punteggio_finale")
+                .scarta("s.nome_team IS NULL OR btrim(s.nome_team) = '' OR s.titolo_hackathon IS NULL OR btrim(s.titolo_hackathon) = ''",
+                        "Nome del team e titolo dell'hackathon sono obbligatori")
+                .scarta("btrim(coalesce(s.punteggio_finale, '')) <> '' AND s.punteggio_finale !~ '^\\s*-?[0-9]+\\s*$'",
+                        "Punteggio finale non numerico")
+                .scarta("NOT EXISTS (SELECT 1 FROM HACKATHON h WHERE h.Titolo_identificativo = s.titolo_hackathon)",
+                        "Hackathon inesistente")
+                .scartaDuplicati("nome_team, titolo_hackathon", "Team duplicato nel file")
+                .scarta("EXISTS (SELECT 1 FROM TEAM t WHERE t.Nome_team = s.nome_team AND t.Titolo_hackathon = s.titolo_hackathon)",
+                        "Team già esistente per questo hackathon");
+        imp.unione = """
+                INSERT INTO TEAM (Nome_team, Titolo_hackathon, Punteggio_finale)
+                SELECT nome_team, titolo_hackathon, NULLIF(btrim(punteggio_finale), '')::int
+                FROM import_team WHERE motivo IS NULL ORDER BY riga
+                """;
+        imp.inserimentoRiga = """
+                INSERT INTO TEAM (Nome_team, Titolo_hackathon, Punteggio_finale)
+                VALUES (r.nome_team, r.titolo_hackathon, NULLIF(btrim(r.punteggio_finale), '')::int)""";
+        try {
+            return importa(csv, imp);
+        } finally {
+            MotoreClassifica.invalidaTutte();
+            NotificheCache.pubblicaTutto(database);
+        }
+    }
+
+    @Override
+    public EsitoImportazione importaMembership(Reader csv) throws SQLException, IOException {
+        Importazione imp = new Importazione("MEMBERSHIP", "import_membership",
+                "username", "nome_team", "titolo_hackathon", "data_adesione")
+                .scarta("s.username IS NULL OR btrim(s.username) = '' OR s.nome_team IS NULL OR btrim(s.nome_team) = ''"
+                                + " OR s.titolo_hackathon IS NULL OR btrim(s.titolo_hackathon) = ''",
+                        "Username, nome del team e titolo dell'hackathon sono obbligatori")
+                .scarta("btrim(coalesce(s.data_adesione, '')) <> '' AND s.data_adesione !~ '^\\s*[0-9]{4}-[0-9]{2}-[0-9]{2}\\s*$'",
+                        "Data di adesione non valida (formato AAAA-MM-GG)")
+                .scarta("NOT EXISTS (SELECT 1 FROM UTENTE u WHERE u.Username = s.username)",
+                        "Utente inesistente")
+                .scarta("NOT EXISTS (SELECT 1 FROM TEAM t WHERE t.Nome_team = s.nome_team AND t.Titolo_hackathon = s.titolo_hackathon)",
+                        "Team inesistente per questo hackathon")
+                .scartaDuplicati("username, titolo_hackathon", "Utente presente più volte nel file per lo stesso hackathon")
+                .scarta("EXISTS (SELECT 1 FROM MEMBERSHIP m WHERE m.Username_utente = s.username AND m.Titolo_hackathon = s.titolo_hackathon)",
+                        "Utente già membro di un team per questo hackathon");
+        imp.unione = """
+                INSERT INTO MEMBERSHIP (Username_utente, Team_appartenenza, Titolo_hackathon, Data_adesione)
+                SELECT username, nome_team, titolo_hackathon,
+                       COALESCE(NULLIF(btrim(data_adesione), '')::date, CURRENT_DATE)
+                FROM import_membership WHERE motivo IS NULL ORDER BY riga
+                """;
+        imp.inserimentoRiga = """
+                INSERT INTO MEMBERSHIP (Username_utente, Team_appartenenza, Titolo_hackathon, Data_adesione)
+                VALUES (r.username, r.nome_team, r.titolo_hackathon,
+                        COALESCE(NULLIF(btrim(r.data_adesione), '')::date, CURRENT_DATE))""";
+        try {
+            return importa(csv, imp);
+        } finally {
+            // Le nuove membership cambiano il numero di iscritti degli hackathon
+            CatalogoHackathon.invalidaTutto();
+            IscrittiHackathon.invalidaTutti();
+            NotificheCache.pubblicaTutto(database);
+        }
+    }
+
+    /**
+     * Esegue i passi dell'importazione descritta in un'unica transazione.
+     */
+    private EsitoImportazione importa(Reader csv, Importazione imp) throws SQLException, IOException {
+        String colonne = String.join(", ", imp.colonne);
+
+        try {
+            return TransactionTemplate.esegui(tx -> {
+                try (Connection connection = database.getConnection();
+                     Statement stmt = connection.createStatement()) {
+
+                    // 1. Tabella di appoggio e caricamento con COPY
+                    stmt.execute("DROP TABLE IF EXISTS " + imp.staging);
+                    stmt.execute("CREATE TEMP TABLE " + imp.staging + " (riga bigint, "
+                            + String.join(" text, ", imp.colonne) + " text, motivo text) ON COMMIT DROP");
+                    CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                            "COPY " + imp.staging + " (riga, " + colonne + ", motivo) FROM STDIN WITH (FORMAT csv)");
+                    try {
+                        caricaRecord(new LettoreCsv(csv), copy, imp.colonne.length);
+                        copy.endCopy();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } finally {
+                        if (copy.isActive()) {
+                            copy.cancelCopy();
+                        }
+                    }
+                    stmt.execute("ANALYZE " + imp.staging);
+
+                    // 2. Marcatura delle righe non valide
+                    for (String[] controllo : imp.controlli) {
+                        try (PreparedStatement scarta = connection.prepareStatement(
+                                "UPDATE " + imp.staging + " s SET motivo = ? WHERE s.motivo IS NULL AND (" + controllo[0] + ")")) {
+                            scarta.setString(1, controllo[1]);
+                            scarta.executeUpdate();
+                        }
+                    }
+
+                    // 3. Unione con la tabella definitiva, con ripiego riga per riga se qualche riga viene rifiutata
+                    long importate;
+                    Savepoint primaUnione = tx.creaSavepoint("import_unione");
+                    try {
+                        importate = stmt.executeUpdate(imp.unione);
+                        tx.rilasciaSavepoint(primaUnione);
+                    } catch (SQLException e) {
+                        tx.rollbackASavepoint(primaUnione);
+                        stmt.execute("""
+                                DO $$
+                                DECLARE r record;
+                                BEGIN
+                                    FOR r IN SELECT * FROM %1$s WHERE motivo IS NULL ORDER BY riga LOOP
+                                        BEGIN
+                                            %2$s;
+                                        EXCEPTION WHEN OTHERS THEN
+                                            UPDATE %1$s SET motivo = SQLERRM WHERE riga = r.riga;
+                                        END;
+                                    END LOOP;
+                                END $$
+                                """.formatted(imp.staging, imp.inserimentoRiga));
+                        importate = contaRighe(stmt, imp.staging, "motivo IS NULL");
+                    }
+
+                    long lette = contaRighe(stmt, imp.staging, "TRUE");
+                    List<EsitoImportazione.RigaScartata> scartate = new ArrayList<>();
+                    try (ResultSet rs = stmt.executeQuery("SELECT riga, " + colonne + ", motivo FROM " + imp.staging
+                            + " WHERE motivo IS NOT NULL ORDER BY riga")) {
+                        // Colonne per posizione: riga, i valori del file, motivo
+                        int motivo = imp.colonne.length + 2;
+                        while (rs.next()) {
+                            List<String> valori = new ArrayList<>();
+                            for (int i = 0; i < imp.colonne.length; i++) {
+                                valori.add(rs.getString(i + 2));
+                            }
+                            scartate.add(new EsitoImportazione.RigaScartata(
+                                    rs.getLong(1), valori, rs.getString(motivo)));
+                        }
+                    }
+                    return new EsitoImportazione(imp.tabella, lette, importate, scartate);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante l'importazione in " + imp.tabella + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Invia al COPY i record del file, saltando l'intestazione. Ogni record viene riscritto
+     * in CSV con il suo numero; i record malformati vengono inviati con il motivo dello scarto
+     * e i campi riportati al numero di colonne atteso.
+     */
+    private void caricaRecord(LettoreCsv lettore, CopyIn copy, int numeroColonne) throws IOException, SQLException {
+        StringBuilder blocco = new StringBuilder(BLOCCO_COPY + 1024);
+        LettoreCsv.Record record;
+        while ((record = lettore.prossimo()) != null) {
+            if (record.numero() == 0) {
+                continue; // Intestazione
+            }
+            String motivo = record.errore();
+            if (motivo == null && record.valori().size() != numeroColonne) {
+                motivo = "Numero di colonne errato: attese " + numeroColonne + ", trovate " + record.valori().size();
+            }
+
+            blocco.append(record.numero());
+            for (int i = 0; i < numeroColonne; i++) {
+                blocco.append(',');
+                aggiungiCampo(blocco, i < record.valori().size() ? record.valori().get(i) : null);
+            }
+            blocco.append(',');
+            aggiungiCampo(blocco, motivo);
+            blocco.append('\n');
+
+            if (blocco.length() >= BLOCCO_COPY) {
+                inviaBlocco(copy, blocco);
+            }
+        }
+        inviaBlocco(copy, blocco);
+    }
+
+    private static void aggiungiCampo(StringBuilder blocco, String valore) {
+        if (valore != null) {
+            blocco.append('"').append(valore.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private static void inviaBlocco(CopyIn copy, StringBuilder blocco) throws SQLException {
+        if (blocco.isEmpty()) {
+            return;
+        }
+        byte[] byteBlocco = blocco.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(byteBlocco, 0, byteBlocco.length);
+        blocco.setLength(0);
+    }
+
+    private long contaRighe(Statement stmt, String staging, String condizione) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + staging + " WHERE " + condizione)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
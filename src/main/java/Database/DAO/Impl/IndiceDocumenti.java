@@ -0,0 +1,382 @@
+package Database.DAO.Impl;
+
+import Database.DAO.DocumentHeader;
+import Database.Transazione;
+import utilities.TestoRicerca;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Indice invertito in memoria dei documenti di un hackathon, per la ricerca per titolo e contenuto.
+ *
+ * Titoli e contenuti sono divisi in parole normalizzate ({@link TestoRicerca}); per ogni parola
+ * l'indice tiene l'elenco ordinato dei documenti che la contengono con la relativa frequenza.
+ * I risultati sono ordinati con BM25, contando le parole del titolo {@link #PESO_TITOLO} volte.
+ * Un documento è trovato se contiene tutte le parole cercate; l'ultima parola, se ancora in
+ * corso di digitazione, vale come prefisso.
+ *
+ * L'indice di un hackathon viene costruito al primo accesso con un'unica lettura dei documenti e
+ * poi aggiornato da {@link DocumentoDAOImpl} a ogni salvataggio ed eliminazione. Come le altre
+ * cache condivise, una costruzione in concorrenza con una scrittura non viene memorizzata e le
+ * scritture dentro una transazione esplicita invalidano l'indice invece di aggiornarlo.
+ */
+final class IndiceDocumenti {
+
+    /** Parametro di saturazione della frequenza di BM25. */
+    static final double K1 = 1.2;
+
+    /** Parametro di normalizzazione per la lunghezza di BM25. */
+    static final double B = 0.75;
+
+    /** Quante volte conta una parola del titolo rispetto a una del contenuto. */
+    static final int PESO_TITOLO = 3;
+
+    /** Numero massimo di parole in cui viene espanso il prefisso dell'ultima parola. */
+    static final int ESPANSIONI_MASSIME = 64;
+
+    /** Numero massimo di hackathon indicizzati in memoria. */
+    static final int HACKATHON_MASSIMI = 16;
+
+    /**
+     * Durata di validità di un indice, configurabile con {@code cache.documenti.ttlMillis}.
+     */
+    static final long TTL_MILLIS = Long.getLong("cache.documenti.ttlMillis", 5 * 60_000);
+
+    private static final Object LOCK = new Object();
+    private static final Map<String, IndiceDocumenti> PER_HACKATHON = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IndiceDocumenti> eldest) {
+            return size() > HACKATHON_MASSIMI;
+        }
+    };
+    private static long modifiche;
+
+    /**
+     * Elenco dei documenti che contengono una parola, ordinato per posizione del documento nell'indice.
+     */
+    private static final class Occorrenze {
+        private int[] documenti = new int[4];
+        private int[] frequenze = new int[4];
+        private int dimensione;
+
+        private void aggiungi(int documento, int frequenza) {
+            if (dimensione == documenti.length) {
+                documenti = Arrays.copyOf(documenti, dimensione * 2);
+                frequenze = Arrays.copyOf(frequenze, dimensione * 2);
+            }
+            // Di solito la posizione è la più alta e l'inserimento è in coda;
+            // una posizione liberata e riusata va inserita al suo posto
+            int i = dimensione;
+            if (i > 0 && documenti[i - 1] > documento) {
+                i = -Arrays.binarySearch(documenti, 0, dimensione, documento) - 1;
+                System.arraycopy(documenti, i, documenti, i + 1, dimensione - i);
+                System.arraycopy(frequenze, i, frequenze, i + 1, dimensione - i);
+            }
+            documenti[i] = documento;
+            frequenze[i] = frequenza;
+            dimensione++;
+        }
+
+        private int frequenza(int documento) {
+            int i = Arrays.binarySearch(documenti, 0, dimensione, documento);
+            return i >= 0 ? frequenze[i] : 0;
+        }
+
+        private void rimuovi(int documento) {
+            int i = Arrays.binarySearch(documenti, 0, dimensione, documento);
+            if (i >= 0) {
+                System.arraycopy(documenti, i + 1, documenti, i, dimensione - i - 1);
+                System.arraycopy(frequenze, i + 1, frequenze, i, dimensione - i - 1);
+                dimensione--;
+            }
+        }
+    }
+
+    /**
+     * Documento indicizzato: l'intestazione restituita dalle ricerche, la lunghezza pesata
+     * e le parole distinte, che servono a rimuoverlo dall'indice.
+     */
+    private record Voce(DocumentHeader intestazione, int lunghezza, String[] parole) {
+    }
+
+    private final NavigableMap<String, Occorrenze> dizionario = new TreeMap<>();
+    private final List<Voce> documenti = new ArrayList<>();
+    private final Map<Integer, Integer> posizionePerId = new HashMap<>();
+    private final Deque<Integer> posizioniLibere = new ArrayDeque<>();
+    private final long scadenza = System.currentTimeMillis() + TTL_MILLIS;
+    private long lunghezzaTotale;
+
+    IndiceDocumenti() {
+    }
+
+    /**
+     * Restituisce l'indice dei documenti di un hackathon, costruendolo se necessario.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param costruzione La lettura dal database che costruisce l'indice
+     * @return L'indice dell'hackathon
+     * @throws SQLException Se la costruzione fallisce
+     */
+    static IndiceDocumenti get(String titoloHackathon, CatalogoHackathon.Lettura<IndiceDocumenti> costruzione)
+            throws SQLException {
+        long versione;
+        synchronized (LOCK) {
+            IndiceDocumenti indice = PER_HACKATHON.get(titoloHackathon);
+            if (indice != null && System.currentTimeMillis() < indice.scadenza && Transazione.corrente() == null) {
+                return indice;
+            }
+            versione = modifiche;
+        }
+
+        IndiceDocumenti costruito = costruzione.leggi();
+        synchronized (LOCK) {
+            if (versione == modifiche && Transazione.corrente() == null) {
+                PER_HACKATHON.put(titoloHackathon, costruito);
+            }
+        }
+        return costruito;
+    }
+
+    /**
+     * Aggiunge all'indice, se costruito, un documento appena salvato.
+     *
+     * @param intestazione L'intestazione del documento
+     * @param contenuto Il contenuto del documento
+     */
+    static void registraDocumento(DocumentHeader intestazione, String contenuto) {
+        synchronized (LOCK) {
+            modifiche++;
+            IndiceDocumenti indice = aggiornabile(intestazione.getTitoloHackathon());
+            if (indice != null) {
+                indice.aggiungi(intestazione, contenuto);
+            }
+        }
+    }
+
+    /**
+     * Rimuove dall'indice, se costruito, un documento appena eliminato.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon del documento
+     * @param idDocumento L'ID del documento
+     */
+    static void registraEliminazione(String titoloHackathon, int idDocumento) {
+        synchronized (LOCK) {
+            modifiche++;
+            IndiceDocumenti indice = aggiornabile(titoloHackathon);
+            if (indice != null) {
+                indice.rimuovi(idDocumento);
+            }
+        }
+    }
+
+    /**
+     * Scarta l'indice di un hackathon.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     */
+    static void invalida(String titoloHackathon) {
+        synchronized (LOCK) {
+            modifiche++;
+            PER_HACKATHON.remove(titoloHackathon);
+        }
+        Transazione tx = Transazione.corrente();
+        if (tx != null) {
+            // Prima del commit un altro thread può ricostruire l'indice precedente alla scrittura
+            tx.dopoCommit(() -> invalida(titoloHackathon));
+        }
+    }
+
+    /**
+     * Scarta tutti gli indici.
+     */
+    static void invalidaTutti() {
+        synchronized (LOCK) {
+            modifiche++;
+            PER_HACKATHON.clear();
+        }
+    }
+
+    private static IndiceDocumenti aggiornabile(String titoloHackathon) {
+        if (Transazione.corrente() != null) {
+            invalida(titoloHackathon);
+            return null;
+        }
+        return PER_HACKATHON.get(titoloHackathon);
+    }
+
+    /**
+     * Aggiunge un documento all'indice.
+     *
+     * @param intestazione L'intestazione del documento
+     * @param contenuto Il contenuto del documento
+     */
+    synchronized void aggiungi(DocumentHeader intestazione, String contenuto) {
+        rimuovi(intestazione.getIdDocumento());
+
+        Map<String, Integer> frequenze = new HashMap<>();
+        int lunghezza = 0;
+        for (String parola : TestoRicerca.parole(intestazione.getTitolo())) {
+            frequenze.merge(parola, PESO_TITOLO, Integer::sum);
+            lunghezza += PESO_TITOLO;
+        }
+        for (String parola : TestoRicerca.parole(contenuto)) {
+            frequenze.merge(parola, 1, Integer::sum);
+            lunghezza++;
+        }
+
+        // Riusa la posizione di un documento rimosso, anche quella appena liberata da un nuovo salvataggio
+        Voce voce = new Voce(intestazione, lunghezza, frequenze.keySet().toArray(new String[0]));
+        Integer libera = posizioniLibere.poll();
+        int posizione;
+        if (libera != null) {
+            posizione = libera;
+            documenti.set(posizione, voce);
+        } else {
+            posizione = documenti.size();
+            documenti.add(voce);
+        }
+        posizionePerId.put(intestazione.getIdDocumento(), posizione);
+        lunghezzaTotale += lunghezza;
+        frequenze.forEach((parola, frequenza) ->
+                dizionario.computeIfAbsent(parola, p -> new Occorrenze()).aggiungi(posizione, frequenza));
+    }
+
+    /**
+     * Rimuove un documento dall'indice. La sua posizione resta vuota, così che le posizioni
+     * degli altri documenti non cambino, e viene riusata dal prossimo documento aggiunto.
+     *
+     * @param idDocumento L'ID del documento
+     */
+    synchronized void rimuovi(int idDocumento) {
+        Integer posizione = posizionePerId.remove(idDocumento);
+        if (posizione == null) {
+            return;
+        }
+        Voce voce = documenti.set(posizione, null);
+        posizioniLibere.push(posizione);
+        lunghezzaTotale -= voce.lunghezza();
+        for (String parola : voce.parole()) {
+            Occorrenze occorrenze = dizionario.get(parola);
+            occorrenze.rimuovi(posizione);
+            if (occorrenze.dimensione == 0) {
+                dizionario.remove(parola);
+            }
+        }
+    }
+
+    /**
+     * Cerca i documenti che contengono tutte le parole del testo, in ordine di rilevanza.
+     *
+     * @param testo Il testo cercato
+     * @param limite Il numero massimo di risultati
+     * @return Le intestazioni dei documenti trovati, dal più rilevante
+     */
+    synchronized List<DocumentHeader> cerca(String testo, int limite) {
+        List<String> parole = TestoRicerca.parole(testo);
+        String prefisso = TestoRicerca.parolaIncompleta(testo);
+        if (prefisso != null && !parole.isEmpty() && parole.get(parole.size() - 1).equals(prefisso)) {
+            parole.remove(parole.size() - 1);
+        }
+
+        // Ogni gruppo è soddisfatto da una qualsiasi delle sue parole: una parola completa
+        // forma un gruppo da sola, il prefisso un gruppo con tutte le parole che inizia
+        List<List<Occorrenze>> gruppi = new ArrayList<>();
+        for (String parola : new LinkedHashSet<>(parole)) {
+            Occorrenze occorrenze = dizionario.get(parola);
+            if (occorrenze == null) {
+                return new ArrayList<>();
+            }
+            gruppi.add(List.of(occorrenze));
+        }
+        if (prefisso != null) {
+            List<Occorrenze> espansioni = new ArrayList<>();
+            for (Occorrenze occorrenze : dizionario.subMap(prefisso, true, prefisso + Character.MAX_VALUE, true).values()) {
+                espansioni.add(occorrenze);
+                if (espansioni.size() == ESPANSIONI_MASSIME) {
+                    break;
+                }
+            }
+            if (espansioni.isEmpty()) {
+                return new ArrayList<>();
+            }
+            gruppi.add(espansioni);
+        }
+        if (gruppi.isEmpty() || limite <= 0 || posizionePerId.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int totaleDocumenti = posizionePerId.size();
+        double lunghezzaMedia = Math.max(1.0, (double) lunghezzaTotale / totaleDocumenti);
+
+        // I candidati sono i documenti del gruppo più piccolo; gli altri gruppi li filtrano
+        gruppi.sort(Comparator.comparingInt(IndiceDocumenti::dimensione));
+        PriorityQueue<double[]> migliori = new PriorityQueue<>(
+                Comparator.<double[]>comparingDouble(r -> r[0]).thenComparing(r -> -r[1]));
+        for (int candidato : candidati(gruppi.get(0))) {
+            Voce voce = documenti.get(candidato);
+            double normalizzazione = K1 * (1 - B + B * voce.lunghezza() / lunghezzaMedia);
+            double punteggio = 0;
+            for (List<Occorrenze> gruppo : gruppi) {
+                double migliore = 0;
+                for (Occorrenze occorrenze : gruppo) {
+                    int frequenza = occorrenze.frequenza(candidato);
+                    if (frequenza > 0) {
+                        double idf = Math.log(1 + (totaleDocumenti - occorrenze.dimensione + 0.5) / (occorrenze.dimensione + 0.5));
+                        migliore = Math.max(migliore, idf * frequenza * (K1 + 1) / (frequenza + normalizzazione));
+                    }
+                }
+                if (migliore == 0) {
+                    punteggio = -1;
+                    break;
+                }
+                punteggio += migliore;
+            }
+            if (punteggio > 0) {
+                migliori.add(new double[]{punteggio, candidato});
+                if (migliori.size() > limite) {
+                    migliori.poll();
+                }
+            }
+        }
+
+        List<DocumentHeader> risultati = new ArrayList<>(migliori.size());
+        while (!migliori.isEmpty()) {
+            risultati.add(documenti.get((int) migliori.poll()[1]).intestazione());
+        }
+        Collections.reverse(risultati);
+        return risultati;
+    }
+
+    private static int dimensione(List<Occorrenze> gruppo) {
+        int dimensione = 0;
+        for (Occorrenze occorrenze : gruppo) {
+            dimensione += occorrenze.dimensione;
+        }
+        return dimensione;
+    }
+
+    private static int[] candidati(List<Occorrenze> gruppo) {
+        if (gruppo.size() == 1) {
+            Occorrenze occorrenze = gruppo.get(0);
+            return Arrays.copyOf(occorrenze.documenti, occorrenze.dimensione);
+        }
+        return gruppo.stream()
+                .flatMapToInt(o -> Arrays.stream(o.documenti, 0, o.dimensione))
+                .distinct()
+                .toArray();
+    }
+}
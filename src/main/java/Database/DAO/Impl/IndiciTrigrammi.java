@@ -0,0 +1,77 @@
+package Database.DAO.Impl;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Supporto alla ricerca dei nomi dei team e dei titoli degli hackathon con l'estensione pg_trgm.
+ *
+ * Un indice GIN con gin_trgm_ops serve sia le ricerche per sottostringa (LIKE e ILIKE con
+ * caratteri jolly iniziali, che un B-tree non può usare) sia le ricerche per somiglianza
+ * con l'operatore {@code <%}, tolleranti agli errori di battitura.
+ *
+ * L'estensione e gli indici sono creati dalla migrazione {@value #MIGRAZIONE}, non dai DAO.
+ * Le ricerche per sottostringa non dipendono da essa; quelle per somiglianza verificano che
+ * l'estensione sia installata e, se manca, ripiegano sulla sola ricerca per sottostringa.
+ */
+final class IndiciTrigrammi {
+
+    /**
+     * Migrazione che installa l'estensione pg_trgm e crea gli indici a trigrammi.
+     */
+    static final String MIGRAZIONE = "db/migrazioni/002_indici_trigrammi.sql";
+
+    /**
+     * Caratteri speciali dei pattern LIKE, da proteggere nel testo cercato.
+     */
+    private static final String CARATTERE_ESCAPE = "\\";
+
+    private static volatile boolean disponibile;
+    private static final AtomicBoolean avvisoMostrato = new AtomicBoolean();
+
+    private IndiciTrigrammi() {
+    }
+
+    /**
+     * Verifica che l'estensione pg_trgm sia installata, così che si possano usare l'operatore
+     * {@code <%} e word_similarity. Un esito negativo non viene ricordato, perché la migrazione
+     * può essere eseguita ad applicazione avviata, ma viene segnalato una sola volta.
+     *
+     * @param connection La connessione su cui eseguire la verifica
+     * @return true se l'estensione è installata
+     * @throws SQLException Se la lettura del catalogo fallisce
+     */
+    static boolean somiglianzaDisponibile(Connection connection) throws SQLException {
+        if (disponibile) {
+            return true;
+        }
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')")) {
+            rs.next();
+            disponibile = rs.getBoolean(1);
+        }
+        if (!disponibile && avvisoMostrato.compareAndSet(false, true)) {
+            System.err.println("Estensione pg_trgm non installata, ricerca per somiglianza sostituita dalla ricerca "
+                    + "per sottostringa: eseguire la migrazione " + MIGRAZIONE);
+        }
+        return disponibile;
+    }
+
+    /**
+     * Costruisce il pattern ILIKE che cerca il testo in qualsiasi punto, proteggendo i caratteri
+     * jolly presenti nel testo stesso.
+     *
+     * @param testo Il testo cercato
+     * @return Il pattern, da usare con {@code ILIKE ? ESCAPE '\'}
+     */
+    static String contiene(String testo) {
+        String protetto = testo
+                .replace(CARATTERE_ESCAPE, CARATTERE_ESCAPE + CARATTERE_ESCAPE)
+                .replace("%", CARATTERE_ESCAPE + "%")
+                .replace("_", CARATTERE_ESCAPE + "_");
+        return "%" + protetto + "%";
+    }
+}
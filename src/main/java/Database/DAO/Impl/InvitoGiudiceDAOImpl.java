@@ -1,6 +1,7 @@
 package Database.DAO.Impl;
 
 import Database.ConnessioneDatabase;
+import Database.DAO.IncaricoGiudice;
 import Database.DAO.InvitoGiudiceDAO;
 
 import java.sql.*;
@@ -11,15 +12,30 @@ import java.util.List;
  * Implementazione dell'interfaccia InvitoGiudiceDAO per PostgreSQL.
  */
 public class InvitoGiudiceDAOImpl implements InvitoGiudiceDAO {
+
+    private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+    private static final RowMapper.Colonna TITOLO_HACKATHON = COLONNE.aggiungi("Titolo_hackathon");
+    private static final RowMapper.Colonna SEDE = COLONNE.aggiungi("Sede");
+    private static final RowMapper.Colonna INIZIO_EVENTO = COLONNE.aggiungi("DataInizio_evento");
+    private static final RowMapper.Colonna FINE_EVENTO = COLONNE.aggiungi("DataFine_evento");
+    private static final RowMapper.Colonna ORGANIZZATORE = COLONNE.aggiungi("Organizzatore");
+    private static final RowMapper.Colonna USERNAME_UTENTE = COLONNE.aggiungi("Username_utente");
+
+    private static final RowMapper<IncaricoGiudice> INCARICO = new RowMapper<>(COLONNE, riga -> new IncaricoGiudice(
+            riga.getString(TITOLO_HACKATHON),
+            riga.getString(SEDE),
+            riga.getLocalDate(INIZIO_EVENTO),
+            riga.getLocalDate(FINE_EVENTO)
+    ));
+
     
-    private Connection connection;
+    private final ConnessioneDatabase database;
     
     /**
-     * Costruttore che inizializza la connessione al database.
+     * Costruttore che inizializza l'accesso al pool di connessioni del database.
      */
     public InvitoGiudiceDAOImpl() throws SQLException {
-        this.connection = ConnessioneDatabase.getInstance().connection;
-        System.out.println("InvitoGiudiceDAO inizializzato correttamente.");
+        this.database = ConnessioneDatabase.getInstance();
     }
     
     @Override
@@ -34,16 +50,18 @@ public class InvitoGiudiceDAOImpl implements InvitoGiudiceDAO {
             ORDER BY ig.Data_invito DESC
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = COLONNE.riga(rs);
                 while (rs.next()) {
                     String invito = String.format("Invito a giudicare '%s' - Sede: %s - Dal %s al %s",
-                        rs.getString("Titolo_hackathon"),
-                        rs.getString("Sede"),
-                        rs.getDate("DataInizio_evento"),
-                        rs.getDate("DataFine_evento")
+                        riga.getString(TITOLO_HACKATHON),
+                        riga.getString(SEDE),
+                        riga.getLocalDate(INIZIO_EVENTO),
+                        riga.getLocalDate(FINE_EVENTO)
                     );
                     inviti.add(invito);
                 }
@@ -62,7 +80,8 @@ public class InvitoGiudiceDAOImpl implements InvitoGiudiceDAO {
             WHERE Username_utente = ? AND Titolo_hackathon = ? AND Stato_invito = 'Inviato'
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             stmt.setString(2, titoloHackathon);
             
@@ -81,7 +100,8 @@ public class InvitoGiudiceDAOImpl implements InvitoGiudiceDAO {
             WHERE Username_utente = ? AND Titolo_hackathon = ? AND Stato_invito = 'Inviato'
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             stmt.setString(2, titoloHackathon);
             
@@ -95,6 +115,15 @@ public class InvitoGiudiceDAOImpl implements InvitoGiudiceDAO {
     @Override
     public List<String> getHackathonAsGiudice(String username) throws SQLException {
         List<String> hackathons = new ArrayList<>();
+        for (IncaricoGiudice incarico : getIncarichiGiudice(username)) {
+            hackathons.add(incarico.toString());
+        }
+        return hackathons;
+    }
+    
+    @Override
+    public List<IncaricoGiudice> getIncarichiGiudice(String username) throws SQLException {
+        List<IncaricoGiudice> incarichi = new ArrayList<>();
         String sql = """
             SELECT DISTINCT g.Titolo_hackathon, h.DataInizio_evento, h.DataFine_evento, h.Sede
             FROM GIUDICE g
@@ -103,119 +132,147 @@ public class InvitoGiudiceDAOImpl implements InvitoGiudiceDAO {
             ORDER BY h.DataInizio_evento DESC
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    String hackathon = String.format("%s - %s (%s - %s)",
-                        rs.getString("Titolo_hackathon"),
-                        rs.getString("Sede"),
-                        rs.getDate("DataInizio_evento"),
-                        rs.getDate("DataFine_evento")
-                    );
-                    hackathons.add(hackathon);
-                }
+                incarichi.addAll(INCARICO.mappaTutte(rs));
             }
         } catch (SQLException e) {
             throw new SQLException("Errore durante il recupero delle hackathon come giudice: " + e.getMessage(), e);
         }
-        return hackathons;
+        return incarichi;
     }
     
     @Override
-    public boolean creaInvito(String username, String titoloHackathon) throws SQLException {
-        // Prima recuperiamo l'organizzatore dell'hackathon
-        String sqlOrganizzatore = "SELECT Organizzatore FROM HACKATHON WHERE Titolo_identificativo = ?";
-        String organizzatore = null;
+    public boolean hasConflittoDate(String username, String titoloHackathon) throws SQLException {
+        // La ricerca parte dagli incarichi dell'utente (indice su GIUDICE) e confronta
+        // gli intervalli di date estremi inclusi con quello dell'hackathon candidato
+        String sql = """
+            SELECT c.Titolo_identificativo,
+                   EXISTS (
+                       SELECT 1
+                       FROM GIUDICE g
+                       JOIN HACKATHON h ON g.Titolo_hackathon = h.Titolo_identificativo
+                       WHERE g.Username_utente = ?
+                         AND h.DataInizio_evento <= c.DataFine_evento
+                         AND h.DataFine_evento >= c.DataInizio_evento
+                   ) AS Conflitto
+            FROM HACKATHON c
+            WHERE c.Titolo_identificativo = ?
+            """;
         
-        try (PreparedStatement stmtOrg = connection.prepareStatement(sqlOrganizzatore)) {
-            stmtOrg.setString(1, titoloHackathon);
-            try (ResultSet rs = stmtOrg.executeQuery()) {
-                if (rs.next()) {
-                    organizzatore = rs.getString("Organizzatore");
-                } else {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, username);
+            stmt.setString(2, titoloHackathon);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
                     throw new SQLException("Hackathon non trovato: " + titoloHackathon);
                 }
+                return rs.getBoolean("Conflitto");
             }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante la verifica dei conflitti di date: " + e.getMessage(), e);
         }
-        
-        // Ora inseriamo l'invito con tutti i campi richiesti
-        String sql = "INSERT INTO INVITO_GIUDICE (Username_organizzatore, Username_utente, Titolo_hackathon, Data_invito, Stato_invito) VALUES (?, ?, ?, CURRENT_DATE, 'Inviato')";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, organizzatore);
+    }
+    
+    @Override
+    public boolean creaInvito(String username, String titoloHackathon) throws SQLException {
+        // L'organizzatore è letto dall'hackathon nella stessa istruzione che inserisce l'invito;
+        // un invito già presente non genera errori ma semplicemente nessuna riga inserita
+        String sql = """
+            WITH h AS (
+                SELECT Organizzatore FROM HACKATHON WHERE Titolo_identificativo = ?
+            ), nuovo AS (
+                INSERT INTO INVITO_GIUDICE (Username_organizzatore, Username_utente, Titolo_hackathon, Data_invito, Stato_invito)
+                SELECT h.Organizzatore, ?, ?, CURRENT_DATE, 'Inviato'
+                FROM h
+                ON CONFLICT DO NOTHING
+                RETURNING 1
+            )
+            SELECT EXISTS (SELECT 1 FROM nuovo) AS Creato
+            FROM h
+            """;
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, titoloHackathon);
             stmt.setString(2, username);
             stmt.setString(3, titoloHackathon);
-            
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
-                System.out.println("Invito creato con successo per " + username + " nell'hackathon " + titoloHackathon + " dall'organizzatore " + organizzatore);
-                return true;
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Hackathon non trovato: " + titoloHackathon);
+                }
+                return rs.getBoolean("Creato");
             }
-            
         } catch (SQLException e) {
-            // Se è un errore di chiave duplicata, significa che l'utente è già stato invitato
-            if (e.getSQLState().equals("23505")) { // PostgreSQL unique constraint violation
-                System.out.println("L'utente " + username + " è già stato invitato per l'hackathon " + titoloHackathon);
-                return false;
-            }
             throw new SQLException("Errore nella creazione dell'invito: " + e.getMessage(), e);
         }
-        
-        return false;
     }
     
     @Override
     public boolean creaInvitoConVerifica(String usernameOrganizzatore, String username, String titoloHackathon) throws SQLException, SecurityException {
-        // Prima verifichiamo che l'organizzatore sia effettivamente il proprietario dell'hackathon
-        String sqlVerifica = "SELECT Organizzatore FROM HACKATHON WHERE Titolo_identificativo = ?";
+        return !creaInviti(usernameOrganizzatore, List.of(username), titoloHackathon).isEmpty();
+    }
+
+    @Override
+    public List<String> creaInviti(String usernameOrganizzatore, List<String> usernames, String titoloHackathon) throws SQLException, SecurityException {
+        // Verifica dell'organizzatore e inserimento degli inviti in un'unica istruzione:
+        // gli inviti sono scritti solo se l'organizzatore è il proprietario dell'hackathon,
+        // e l'organizzatore effettivo torna comunque indietro per segnalare il rifiuto
+        String sql = """
+            WITH h AS (
+                SELECT Organizzatore FROM HACKATHON WHERE Titolo_identificativo = ?
+            ), nuovi AS (
+                INSERT INTO INVITO_GIUDICE (Username_organizzatore, Username_utente, Titolo_hackathon, Data_invito, Stato_invito)
+                SELECT h.Organizzatore, u.Username, ?, CURRENT_DATE, 'Inviato'
+                FROM h, unnest(?::text[]) AS u(Username)
+                WHERE h.Organizzatore = ?
+                ON CONFLICT DO NOTHING
+                RETURNING Username_utente
+            )
+            SELECT h.Organizzatore, nuovi.Username_utente
+            FROM h
+            LEFT JOIN nuovi ON TRUE
+            """;
+
         String organizzatoreEffettivo = null;
-        
-        try (PreparedStatement stmtVerifica = connection.prepareStatement(sqlVerifica)) {
-            stmtVerifica.setString(1, titoloHackathon);
-            try (ResultSet rs = stmtVerifica.executeQuery()) {
-                if (rs.next()) {
-                    organizzatoreEffettivo = rs.getString("Organizzatore");
-                } else {
-                    throw new SQLException("Hackathon non trovato: " + titoloHackathon);
+        List<String> invitati = new ArrayList<>();
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, titoloHackathon);
+            stmt.setString(2, titoloHackathon);
+            stmt.setArray(3, connection.createArrayOf("text", usernames.stream().distinct().toArray()));
+            stmt.setString(4, usernameOrganizzatore);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = COLONNE.riga(rs);
+                while (rs.next()) {
+                    organizzatoreEffettivo = riga.getString(ORGANIZZATORE);
+                    String invitato = riga.getString(USERNAME_UTENTE);
+                    if (invitato != null) {
+                        invitati.add(invitato);
+                    }
                 }
             }
+        } catch (SQLException e) {
+            throw new SQLException("Errore nella creazione degli inviti: " + e.getMessage(), e);
+        }
+
+        if (organizzatoreEffettivo == null) {
+            throw new SQLException("Hackathon non trovato: " + titoloHackathon);
         }
-        
         // Verifica che l'organizzatore che fa la richiesta sia quello autorizzato
         if (!usernameOrganizzatore.equals(organizzatoreEffettivo)) {
-            throw new SecurityException("L'organizzatore " + usernameOrganizzatore + 
-                " non è autorizzato a invitare giudici per l'hackathon '" + titoloHackathon + 
+            throw new SecurityException("L'organizzatore " + usernameOrganizzatore +
+                " non è autorizzato a invitare giudici per l'hackathon '" + titoloHackathon +
                 "'. Solo l'organizzatore " + organizzatoreEffettivo + " può farlo.");
         }
-        
-        // Se la verifica è passata, procediamo con la creazione dell'invito
-        String sql = "INSERT INTO INVITO_GIUDICE (Username_organizzatore, Username_utente, Titolo_hackathon, Data_invito, Stato_invito) VALUES (?, ?, ?, CURRENT_DATE, 'Inviato')";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, usernameOrganizzatore);
-            stmt.setString(2, username);
-            stmt.setString(3, titoloHackathon);
-            
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
-                System.out.println("Invito creato con successo per " + username + 
-                    " nell'hackathon " + titoloHackathon + " dall'organizzatore autorizzato " + usernameOrganizzatore);
-                return true;
-            }
-            
-        } catch (SQLException e) {
-            // Se è un errore di chiave duplicata, significa che l'utente è già stato invitato
-            if (e.getSQLState().equals("23505")) { // PostgreSQL unique constraint violation
-                System.out.println("L'utente " + username + " è già stato invitato per l'hackathon " + titoloHackathon);
-                return false;
-            }
-            throw new SQLException("Errore nella creazione dell'invito: " + e.getMessage(), e);
-        }
-        
-        return false;
+        return invitati;
     }
 }
@@ -0,0 +1,251 @@
+package Database.DAO.Impl;
+
+import Database.ConnessioneDatabase;
+import Database.Transazione;
+import Database.DAO.StatisticheCache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Membership di un hackathon tenute in memoria: per ogni utente il suo team e per ogni team
+ * l'insieme dei suoi membri.
+ *
+ * Le verifiche ripetute a ogni selezione nelle viste (utente già in un team, numero di membri,
+ * team pieno) vengono servite da qui invece che con una query COUNT per domanda. Le membership
+ * di un hackathon sono caricate con un'unica query al primo accesso; {@link MembershipDAOImpl}
+ * le aggiorna a ogni adesione o abbandono confermato, mentre le modifiche massive o fatte
+ * dentro una transazione esplicita le invalidano. Le voci scadono comunque dopo
+ * {@link #TTL_MILLIS}, per le modifiche fatte da altri client.
+ *
+ * Un'invalidazione dentro una transazione viene ripetuta dopo il commit: prima del commit
+ * un altro thread può caricare e memorizzare le membership precedenti alla scrittura.
+ *
+ * I vincoli e i trigger del database restano l'autorità finale: la cache serve le verifiche
+ * preliminari, non sostituisce i controlli all'inserimento.
+ */
+final class IscrittiHackathon {
+
+    /**
+     * Durata di validità delle membership caricate, configurabile con {@code cache.membership.ttlMillis}.
+     */
+    static final long TTL_MILLIS = Long.getLong("cache.membership.ttlMillis", 30_000);
+
+    /**
+     * Numero massimo di hackathon tenuti in memoria.
+     */
+    static final int HACKATHON_MASSIMI = 64;
+
+    private static final Object LOCK = new Object();
+    private static final Map<String, IscrittiHackathon> PER_HACKATHON = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IscrittiHackathon> eldest) {
+            if (size() > HACKATHON_MASSIMI) {
+                sfratti++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private static long modifiche;
+    private static long successi;
+    private static long mancati;
+    private static long invalidazioni;
+    private static long sfratti;
+
+    private final Map<String, String> teamPerUtente = new HashMap<>();
+    private final Map<String, Set<String>> membriPerTeam = new HashMap<>();
+    private final long scadenza;
+
+    private IscrittiHackathon(long scadenza) {
+        this.scadenza = scadenza;
+    }
+
+    /**
+     * Restituisce le membership di un hackathon, caricandole se necessario.
+     * Dentro una transazione esplicita le membership sono lette dal database e non memorizzate.
+     *
+     * @param database Il gestore delle connessioni
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return Le membership dell'hackathon
+     * @throws SQLException Se il caricamento fallisce
+     */
+    static IscrittiHackathon get(ConnessioneDatabase database, String titoloHackathon) throws SQLException {
+        long versione;
+        synchronized (LOCK) {
+            IscrittiHackathon iscritti = PER_HACKATHON.get(titoloHackathon);
+            if (iscritti != null && System.currentTimeMillis() < iscritti.scadenza && Transazione.corrente() == null) {
+                successi++;
+                return iscritti;
+            }
+            mancati++;
+            versione = modifiche;
+        }
+
+        IscrittiHackathon caricati = carica(database, titoloHackathon);
+        synchronized (LOCK) {
+            if (versione == modifiche && Transazione.corrente() == null) {
+                PER_HACKATHON.put(titoloHackathon, caricati);
+            }
+        }
+        return caricati;
+    }
+
+    /**
+     * Registra un'adesione appena confermata nel database.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param username L'utente che si è unito
+     * @param nomeTeam Il team
+     */
+    static void registraAdesione(String titoloHackathon, String username, String nomeTeam) {
+        synchronized (LOCK) {
+            modifiche++;
+            IscrittiHackathon iscritti = aggiornabili(titoloHackathon);
+            if (iscritti != null) {
+                iscritti.aggiungi(username, nomeTeam);
+            }
+        }
+    }
+
+    /**
+     * Registra un abbandono appena confermato nel database.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param username L'utente che ha lasciato il team
+     * @param nomeTeam Il team
+     */
+    static void registraAbbandono(String titoloHackathon, String username, String nomeTeam) {
+        synchronized (LOCK) {
+            modifiche++;
+            IscrittiHackathon iscritti = aggiornabili(titoloHackathon);
+            if (iscritti != null) {
+                iscritti.rimuovi(username, nomeTeam);
+            }
+        }
+    }
+
+    /**
+     * Scarta le membership in memoria di un hackathon.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     */
+    static void invalida(String titoloHackathon) {
+        synchronized (LOCK) {
+            modifiche++;
+            invalidazioni++;
+            PER_HACKATHON.remove(titoloHackathon);
+        }
+        Transazione tx = Transazione.corrente();
+        if (tx != null) {
+            tx.dopoCommit(() -> invalida(titoloHackathon));
+        }
+    }
+
+    /**
+     * Scarta tutte le membership in memoria, ad esempio dopo un'importazione.
+     */
+    static void invalidaTutti() {
+        synchronized (LOCK) {
+            modifiche++;
+            invalidazioni++;
+            PER_HACKATHON.clear();
+        }
+        Transazione tx = Transazione.corrente();
+        if (tx != null) {
+            tx.dopoCommit(IscrittiHackathon::invalidaTutti);
+        }
+    }
+
+    /**
+     * @return Le statistiche della cache delle membership
+     */
+    static StatisticheCache getStatistiche() {
+        synchronized (LOCK) {
+            return new StatisticheCache("Membership", successi, mancati, invalidazioni, sfratti, PER_HACKATHON.size());
+        }
+    }
+
+    /**
+     * Un'adesione salvata dentro una transazione esplicita può ancora essere annullata:
+     * in quel caso le membership vengono scartate invece che aggiornate, ora e di nuovo
+     * dopo il commit.
+     */
+    private static IscrittiHackathon aggiornabili(String titoloHackathon) {
+        Transazione tx = Transazione.corrente();
+        if (tx != null) {
+            invalidazioni++;
+            PER_HACKATHON.remove(titoloHackathon);
+            tx.dopoCommit(() -> invalida(titoloHackathon));
+            return null;
+        }
+        return PER_HACKATHON.get(titoloHackathon);
+    }
+
+    private static IscrittiHackathon carica(ConnessioneDatabase database, String titoloHackathon) throws SQLException {
+        String sql = "SELECT Username_utente, Team_appartenenza FROM MEMBERSHIP WHERE Titolo_hackathon = ?";
+
+        IscrittiHackathon iscritti = new IscrittiHackathon(System.currentTimeMillis() + TTL_MILLIS);
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, titoloHackathon);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    iscritti.aggiungi(rs.getString(1), rs.getString(2));
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante il caricamento delle membership dell'hackathon: " + e.getMessage(), e);
+        }
+        return iscritti;
+    }
+
+    /**
+     * @param username Lo username dell'utente
+     * @return Il team dell'utente in questo hackathon, null se non è in nessun team
+     */
+    synchronized String getTeam(String username) {
+        return teamPerUtente.get(username);
+    }
+
+    /**
+     * @param nomeTeam Il nome del team
+     * @return Il numero di membri del team, 0 se il team non ha membri o non esiste
+     */
+    synchronized int contaMembri(String nomeTeam) {
+        Set<String> membri = membriPerTeam.get(nomeTeam);
+        return membri != null ? membri.size() : 0;
+    }
+
+    private synchronized void aggiungi(String username, String nomeTeam) {
+        String precedente = teamPerUtente.put(username, nomeTeam);
+        if (precedente != null && !precedente.equals(nomeTeam)) {
+            togliDalTeam(username, precedente);
+        }
+        membriPerTeam.computeIfAbsent(nomeTeam, t -> new HashSet<>()).add(username);
+    }
+
+    private synchronized void rimuovi(String username, String nomeTeam) {
+        teamPerUtente.remove(username, nomeTeam);
+        togliDalTeam(username, nomeTeam);
+    }
+
+    private void togliDalTeam(String username, String nomeTeam) {
+        Set<String> membri = membriPerTeam.get(nomeTeam);
+        if (membri != null) {
+            membri.remove(username);
+            if (membri.isEmpty()) {
+                membriPerTeam.remove(nomeTeam);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package Database.DAO.Impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lettore di record CSV che non si interrompe sui record malformati.
+ *
+ * Segue le regole del formato csv di COPY (separatore virgola, virgolette doppie come
+ * delimitatore e come escape, campi tra virgolette che possono contenere a capo) ma,
+ * invece di fallire, restituisce i record non interpretabili con un motivo di errore:
+ * chi lo usa può così scartare solo quelle righe. Un campo vuoto senza virgolette viene
+ * letto come null, un campo {@code ""} come stringa vuota, come fa COPY.
+ *
+ * Se il file termina con delle virgolette aperte, viene scartata solo la riga fisica
+ * in cui il record iniziava e la lettura riprende dalla riga successiva.
+ */
+final class LettoreCsv {
+
+    /**
+     * Record letto dal file.
+     *
+     * @param numero Posizione del record nel file, a partire da 0 (l'eventuale intestazione)
+     * @param valori I campi letti; per un record con virgolette non chiuse, la sola riga scartata
+     * @param errore Il motivo per cui il record non è interpretabile, null se è ben formato
+     */
+    record Record(long numero, List<String> valori, String errore) {
+    }
+
+    private final BufferedReader reader;
+    // Testo già letto da rileggere, dopo uno scarto per virgolette non chiuse
+    private String daRileggere = "";
+    private int posizione;
+    private long record;
+
+    LettoreCsv(Reader reader) {
+        this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+    }
+
+    /**
+     * Legge il record successivo, saltando le righe vuote.
+     *
+     * @return Il record, null alla fine del file
+     * @throws IOException Se la lettura del file fallisce
+     */
+    Record prossimo() throws IOException {
+        while (true) {
+            StringBuilder grezzo = new StringBuilder();
+            List<String> campi = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            boolean virgolette = false;
+            boolean campoTraVirgolette = false;
+
+            int c;
+            while (true) {
+                c = leggi();
+                if (c == -1) {
+                    break;
+                }
+                if (virgolette) {
+                    grezzo.append((char) c);
+                    if (c == '"') {
+                        int successivo = leggi();
+                        if (successivo == '"') {
+                            grezzo.append('"');
+                            campo.append('"');
+                        } else {
+                            virgolette = false;
+                            rileggi(successivo);
+                        }
+                    } else {
+                        campo.append((char) c);
+                    }
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        int successivo = leggi();
+                        if (successivo != '\n') {
+                            rileggi(successivo);
+                        }
+                    }
+                    break;
+                } else {
+                    grezzo.append((char) c);
+                    if (c == ',') {
+                        campi.add(valore(campo, campoTraVirgolette));
+                        campo.setLength(0);
+                        campoTraVirgolette = false;
+                    } else if (c == '"') {
+                        virgolette = true;
+                        campoTraVirgolette = true;
+                    } else {
+                        campo.append((char) c);
+                    }
+                }
+            }
+
+            if (virgolette) {
+                return scartaPrimaRiga(grezzo.toString());
+            }
+            if (grezzo.isEmpty()) {
+                if (c == -1) {
+                    return null;
+                }
+                continue; // Riga vuota
+            }
+            campi.add(valore(campo, campoTraVirgolette));
+            return new Record(record++, campi, null);
+        }
+    }
+
+    /**
+     * Scarta la prima riga fisica di un record con virgolette non chiuse e prepara
+     * il resto del testo per essere riletto.
+     */
+    private Record scartaPrimaRiga(String grezzo) {
+        int fineRiga = grezzo.indexOf('\n');
+        String riga = fineRiga < 0 ? grezzo : grezzo.substring(0, fineRiga);
+        if (riga.endsWith("\r")) {
+            riga = riga.substring(0, riga.length() - 1);
+        }
+        if (fineRiga >= 0) {
+            daRileggere = grezzo.substring(fineRiga + 1) + daRileggere.substring(posizione);
+            posizione = 0;
+        }
+        return new Record(record++, Collections.singletonList(riga), "Virgolette non chiuse");
+    }
+
+    private static String valore(StringBuilder campo, boolean traVirgolette) {
+        return campo.isEmpty() && !traVirgolette ? null : campo.toString();
+    }
+
+    private int leggi() throws IOException {
+        if (posizione < daRileggere.length()) {
+            return daRileggere.charAt(posizione++);
+        }
+        return reader.read();
+    }
+
+    private void rileggi(int c) {
+        if (c == -1) {
+            return;
+        }
+        if (posizione > 0 && daRileggere.charAt(posizione - 1) == c) {
+            posizione--;
+        } else {
+            daRileggere = (char) c + daRileggere.substring(posizione);
+            posizione = 0;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package Database.DAO.Impl;
+
+import Database.DAO.TeamDAO;
+import model.Hackathon;
+import model.Team;
+import model.Utente;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Mappa d'identità della sessione per hackathon, team e utenti.
+ *
+ * I DAO che leggono righe che citano un hackathon, un team o un utente ottengono da qui
+ * l'istanza canonica associata alla chiave naturale, invece di costruirne una nuova per riga:
+ * leggere 10.000 team di uno stesso hackathon produce 10.000 team e un solo hackathon.
+ * Se l'hackathon non è ancora stato letto viene creato un riferimento leggero con il solo
+ * titolo, che si completa quando {@link HackathonDAOImpl} legge i dati dell'evento.
+ *
+ * Le istanze sono tenute con riferimenti deboli: restano nella mappa finché qualcuno
+ * (tipicamente la GUI) le usa, poi vengono rimosse senza bisogno di chiudere la sessione.
+ */
+final class MappaIdentita {
+
+    private static final Registro<String, Hackathon> HACKATHON = new Registro<>();
+    private static final Registro<TeamDAO.TeamKey, Team> TEAM = new Registro<>();
+    private static final Registro<String, Utente> UTENTI = new Registro<>();
+
+    private MappaIdentita() {
+    }
+
+    /**
+     * Restituisce l'istanza canonica di un hackathon, creando un riferimento se non è nota.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return L'hackathon canonico, eventualmente un riferimento con il solo titolo
+     */
+    static Hackathon hackathon(String titoloHackathon) {
+        return HACKATHON.ottieni(titoloHackathon, Hackathon::riferimento);
+    }
+
+    /**
+     * Registra un hackathon appena letto dal database. Se esiste già un'istanza canonica
+     * ne aggiorna i dati e restituisce quella, altrimenti la nuova istanza diventa canonica.
+     *
+     * @param letto L'hackathon letto dal database
+     * @return L'istanza canonica aggiornata
+     */
+    static Hackathon registraHackathon(Hackathon letto) {
+        Hackathon canonico = HACKATHON.ottieni(letto.getTitoloIdentificativo(), titolo -> letto);
+        if (canonico != letto) {
+            canonico.aggiornaDa(letto);
+        }
+        return canonico;
+    }
+
+    /**
+     * Restituisce l'istanza canonica di un team.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon del team
+     * @param nomeTeam Il nome del team
+     * @return Il team canonico
+     */
+    static Team team(String titoloHackathon, String nomeTeam) {
+        return TEAM.ottieni(new TeamDAO.TeamKey(nomeTeam, titoloHackathon),
+                chiave -> new Team(hackathon(titoloHackathon), nomeTeam));
+    }
+
+    /**
+     * Restituisce l'istanza canonica di un team di un hackathon già risolto.
+     *
+     * @param hackathon L'hackathon canonico del team
+     * @param nomeTeam Il nome del team
+     * @return Il team canonico
+     */
+    static Team team(Hackathon hackathon, String nomeTeam) {
+        return TEAM.ottieni(new TeamDAO.TeamKey(nomeTeam, hackathon.getTitoloIdentificativo()),
+                chiave -> new Team(hackathon, nomeTeam));
+    }
+
+    /**
+     * Restituisce l'istanza canonica di un utente. Se la password letta è cambiata
+     * l'istanza viene sostituita, così che nessuno veda credenziali superate.
+     *
+     * @param username Lo username dell'utente
+     * @param password La password letta dal database
+     * @return L'utente canonico
+     */
+    static Utente utente(String username, String password) {
+        Utente canonico = UTENTI.ottieni(username, u -> new Utente(u, password));
+        if (!canonico.getPassword().equals(password)) {
+            canonico = new Utente(username, password);
+            UTENTI.sostituisci(username, canonico);
+        }
+        return canonico;
+    }
+
+    /**
+     * Dimentica un hackathon eliminato.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     */
+    static void rimuoviHackathon(String titoloHackathon) {
+        HACKATHON.rimuovi(titoloHackathon);
+    }
+
+    /**
+     * Dimentica un team eliminato.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon del team
+     * @param nomeTeam Il nome del team
+     */
+    static void rimuoviTeam(String titoloHackathon, String nomeTeam) {
+        TEAM.rimuovi(new TeamDAO.TeamKey(nomeTeam, titoloHackathon));
+    }
+
+    /**
+     * Dimentica un utente eliminato.
+     *
+     * @param username Lo username dell'utente
+     */
+    static void rimuoviUtente(String username) {
+        UTENTI.rimuovi(username);
+    }
+
+    /**
+     * Mappa con valori deboli: le voci delle istanze non più usate vengono ripulite
+     * a ogni accesso tramite la coda dei riferimenti.
+     */
+    private static final class Registro<K, V> {
+        private final Map<K, Voce<K, V>> voci = new ConcurrentHashMap<>();
+        private final ReferenceQueue<V> scadute = new ReferenceQueue<>();
+
+        private static final class Voce<K, V> extends WeakReference<V> {
+            private final K chiave;
+
+            private Voce(K chiave, V valore, ReferenceQueue<V> coda) {
+                super(valore, coda);
+                this.chiave = chiave;
+            }
+        }
+
+        private V ottieni(K chiave, Function<K, V> crea) {
+            pulisci();
+            while (true) {
+                Voce<K, V> voce = voci.get(chiave);
+                V valore = voce != null ? voce.get() : null;
+                if (valore != null) {
+                    return valore;
+                }
+                V nuovo = crea.apply(chiave);
+                Voce<K, V> nuovaVoce = new Voce<>(chiave, nuovo, scadute);
+                boolean inserita = voce == null
+                        ? voci.putIfAbsent(chiave, nuovaVoce) == null
+                        : voci.replace(chiave, voce, nuovaVoce);
+                if (inserita) {
+                    return nuovo;
+                }
+                // Un altro thread ha registrato la chiave nel frattempo: si riprova con la sua istanza
+            }
+        }
+
+        private void sostituisci(K chiave, V valore) {
+            pulisci();
+            voci.put(chiave, new Voce<>(chiave, valore, scadute));
+        }
+
+        private void rimuovi(K chiave) {
+            pulisci();
+            voci.remove(chiave);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void pulisci() {
+            Reference<? extends V> scaduta;
+            while ((scaduta = scadute.poll()) != null) {
+                Voce<K, V> voce = (Voce<K, V>) scaduta;
+                voci.remove(voce.chiave, voce);
+            }
+        }
+    }
+}
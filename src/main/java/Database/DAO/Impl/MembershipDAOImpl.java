@@ -2,9 +2,10 @@ package Database.DAO.Impl;
 
 import Database.DAO.MembershipDAO;
 import Database.ConnessioneDatabase;
+import Database.DAO.EsitoBatch;
+import Database.DAO.StatisticheCache;
 import model.Utente;
 import model.Team;
-import model.Hackathon;
 
 import java.sql.*;
 import java.time.LocalDate;
@@ -16,29 +17,41 @@ import java.util.List;
  * Gestisce la tabella associativa MEMBERSHIP senza bisogno di un modello specifico.
  */
 public class MembershipDAOImpl implements MembershipDAO {
+
+    private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+    private static final RowMapper.Colonna TEAM_APPARTENENZA = COLONNE.aggiungi("Team_appartenenza");
     
-    private Connection connection;
+    private final ConnessioneDatabase database;
+    private final HackathonDAOImpl hackathonDAO;
     
     /**
-     * Costruttore che inizializza la connessione al database.
+     * Costruttore che inizializza l'accesso al pool di connessioni del database.
      * 
      * @throws SQLException Se si verifica un errore nella connessione
      */
     public MembershipDAOImpl() throws SQLException {
-        this.connection = ConnessioneDatabase.getInstance().connection;
+        this.database = ConnessioneDatabase.getInstance();
+        this.hackathonDAO = new HackathonDAOImpl();
     }
 
     @Override
     public boolean addUserToTeam(String username, String nomeTeam, String titoloHackathon, LocalDate dataAdesione) throws SQLException {
         String sql = "INSERT INTO MEMBERSHIP (Username_utente, Team_appartenenza, Titolo_hackathon, Data_adesione) VALUES (?, ?, ?, ?)";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             stmt.setString(2, nomeTeam);
             stmt.setString(3, titoloHackathon);
             stmt.setDate(4, Date.valueOf(dataAdesione));
             
             int rowsAffected = stmt.executeUpdate();
+            // Il numero di iscritti dell'hackathon è cambiato
+            CatalogoHackathon.invalida(titoloHackathon);
+            if (rowsAffected > 0) {
+                IscrittiHackathon.registraAdesione(titoloHackathon, username, nomeTeam);
+                NotificheCache.pubblica(connection, NotificheCache.Entita.MEMBERSHIP, titoloHackathon, username);
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             throw new SQLException("Errore durante l'aggiunta dell'utente al team: " + e.getMessage(), e);
@@ -49,12 +62,18 @@ public class MembershipDAOImpl implements MembershipDAO {
     public boolean removeUserFromTeam(String username, String nomeTeam, String titoloHackathon) throws SQLException {
         String sql = "DELETE FROM MEMBERSHIP WHERE Username_utente = ? AND Team_appartenenza = ? AND Titolo_hackathon = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             stmt.setString(2, nomeTeam);
             stmt.setString(3, titoloHackathon);
             
             int rowsAffected = stmt.executeUpdate();
+            CatalogoHackathon.invalida(titoloHackathon);
+            if (rowsAffected > 0) {
+                IscrittiHackathon.registraAbbandono(titoloHackathon, username, nomeTeam);
+                NotificheCache.pubblica(connection, NotificheCache.Entita.MEMBERSHIP, titoloHackathon, username);
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             throw new SQLException("Errore durante la rimozione dell'utente dal team: " + e.getMessage(), e);
@@ -63,40 +82,12 @@ public class MembershipDAOImpl implements MembershipDAO {
 
     @Override
     public boolean isUserInTeamForHackathon(String username, String titoloHackathon) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM MEMBERSHIP WHERE Username_utente = ? AND Titolo_hackathon = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, username);
-            stmt.setString(2, titoloHackathon);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
-                }
-            }
-        } catch (SQLException e) {
-            throw new SQLException("Errore durante la verifica della membership dell'utente: " + e.getMessage(), e);
-        }
-        return false;
+        return IscrittiHackathon.get(database, titoloHackathon).getTeam(username) != null;
     }
 
     @Override
     public int countTeamMembers(String nomeTeam, String titoloHackathon) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM MEMBERSHIP WHERE Team_appartenenza = ? AND Titolo_hackathon = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, nomeTeam);
-            stmt.setString(2, titoloHackathon);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
-                }
-            }
-        } catch (SQLException e) {
-            throw new SQLException("Errore durante il conteggio dei membri del team: " + e.getMessage(), e);
-        }
-        return 0;
+        return IscrittiHackathon.get(database, titoloHackathon).contaMembri(nomeTeam);
     }
 
     @Override
@@ -110,18 +101,13 @@ public class MembershipDAOImpl implements MembershipDAO {
             ORDER BY m.Data_adesione
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, nomeTeam);
             stmt.setString(2, titoloHackathon);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Utente utente = new Utente(
-                        rs.getString("Username"),
-                        rs.getString("Password")
-                    );
-                    members.add(utente);
-                }
+                members.addAll(UtenteDAOImpl.UTENTE.mappaTutte(rs));
             }
         } catch (SQLException e) {
             throw new SQLException("Errore durante il recupero dei membri del team: " + e.getMessage(), e);
@@ -131,21 +117,7 @@ public class MembershipDAOImpl implements MembershipDAO {
 
     @Override
     public String getUserTeamForHackathon(String username, String titoloHackathon) throws SQLException {
-        String sql = "SELECT Team_appartenenza FROM MEMBERSHIP WHERE Username_utente = ? AND Titolo_hackathon = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, username);
-            stmt.setString(2, titoloHackathon);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getString("Team_appartenenza");
-                }
-            }
-        } catch (SQLException e) {
-            throw new SQLException("Errore durante la ricerca del team dell'utente: " + e.getMessage(), e);
-        }
-        return null;
+        return IscrittiHackathon.get(database, titoloHackathon).getTeam(username);
     }
 
     @Override
@@ -153,12 +125,14 @@ public class MembershipDAOImpl implements MembershipDAO {
         List<String> teams = new ArrayList<>();
         String sql = "SELECT DISTINCT Team_appartenenza FROM MEMBERSHIP WHERE Titolo_hackathon = ? ORDER BY Team_appartenenza";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, titoloHackathon);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = COLONNE.riga(rs);
                 while (rs.next()) {
-                    teams.add(rs.getString("Team_appartenenza"));
+                    teams.add(riga.getString(TEAM_APPARTENENZA));
                 }
             }
         } catch (SQLException e) {
@@ -178,21 +152,15 @@ public class MembershipDAOImpl implements MembershipDAO {
             ORDER BY t.Titolo_hackathon, t.Nome_team
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    // Crea un oggetto Hackathon placeholder per il Team
-                    Hackathon hackathon = new Hackathon(rs.getString("Titolo_hackathon"));
-                    Team team = new Team(hackathon, rs.getString("Nome_team"));
-                    Integer punteggio = rs.getObject("Punteggio_finale", Integer.class);
-                    if (punteggio != null) {
-                        team.setVotoFinale(punteggio);
-                    }
-                    teams.add(team);
-                }
+                // Team e hackathon canonici della sessione, senza un hackathon fittizio per riga
+                teams.addAll(TeamDAOImpl.TEAM.mappaTutte(rs));
             }
+            hackathonDAO.completaHackathon(teams);
         } catch (SQLException e) {
             throw new SQLException("Errore durante il recupero dei team dell'utente: " + e.getMessage(), e);
         }
@@ -208,19 +176,16 @@ public class MembershipDAOImpl implements MembershipDAO {
             WHERE m.Username_utente = ? AND t.Titolo_hackathon = ?
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             stmt.setString(2, titoloHackathon);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    // Crea un oggetto Hackathon placeholder per il Team
-                    Hackathon hackathon = new Hackathon(rs.getString("Titolo_hackathon"));
-                    Team team = new Team(hackathon, rs.getString("Nome_team"));
-                    Integer punteggio = rs.getObject("Punteggio_finale", Integer.class);
-                    if (punteggio != null) {
-                        team.setVotoFinale(punteggio);
-                    }
+                // Team e hackathon canonici della sessione, senza un hackathon fittizio per riga
+                Team team = TeamDAOImpl.TEAM.mappaPrima(rs);
+                if (team != null) {
+                    hackathonDAO.completaHackathon(List.of(team));
                     return team;
                 }
             }
@@ -229,4 +194,33 @@ public class MembershipDAOImpl implements MembershipDAO {
         }
         return null;
     }
+
+    @Override
+    public EsitoBatch<Membership> addUsersToTeams(List<Membership> memberships, int dimensioneChunk) throws SQLException {
+        String sql = "INSERT INTO MEMBERSHIP (Username_utente, Team_appartenenza, Titolo_hackathon, Data_adesione) VALUES (?, ?, ?, ?)";
+
+        try {
+            return BatchWriter.esegui(database, sql, memberships, dimensioneChunk, (stmt, membership) -> {
+                stmt.setString(1, membership.getUsername());
+                stmt.setString(2, membership.getNomeTeam());
+                stmt.setString(3, membership.getTitoloHackathon());
+                stmt.setDate(4, Date.valueOf(membership.getDataAdesione()));
+            });
+        } finally {
+            // Dopo la scrittura: una lettura fatta prima non deve poter memorizzare le righe precedenti
+            memberships.forEach(membership -> {
+                CatalogoHackathon.invalida(membership.getTitoloHackathon());
+                IscrittiHackathon.invalida(membership.getTitoloHackathon());
+            });
+            NotificheCache.pubblica(database, NotificheCache.Entita.MEMBERSHIP,
+                    memberships.stream().map(Membership::getTitoloHackathon).toList());
+        }
+    }
+
+    /**
+     * @return Le statistiche della cache delle membership condivisa dai DAO
+     */
+    public static StatisticheCache getStatisticheCache() {
+        return IscrittiHackathon.getStatistiche();
+    }
 }
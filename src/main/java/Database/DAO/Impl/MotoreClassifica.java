@@ -0,0 +1,397 @@
+package Database.DAO.Impl;
+
+import Database.ConnessioneDatabase;
+import Database.Transazione;
+import Database.DAO.RigaClassifica;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classifiche degli hackathon mantenute in memoria e aggiornate a ogni voto.
+ *
+ * La classifica di un hackathon viene caricata al primo accesso con un'unica query aggregata
+ * sui voti; da quel momento {@link VotoDAOImpl#save} la aggiorna incrementalmente, spostando
+ * solo il team votato. I team sono tenuti in un albero di ricerca bilanciato (treap) con la
+ * dimensione di ogni sottoalbero, così che la posizione di un team si calcoli in O(log n)
+ * senza scorrere la classifica.
+ *
+ * Le modifiche che non passano da un singolo voto confermato (team creati o eliminati,
+ * voti salvati dentro una transazione esplicita) invalidano la classifica, che viene
+ * ricaricata alla lettura successiva.
+ *
+ * Ogni classifica ricorda le coppie (giudice, team) già conteggiate, la stessa chiave univoca
+ * di VOTO: un voto confermato può essere già presente nelle righe di un caricamento concorrente
+ * prima che {@link #registraVoto} venga chiamato, e in quel caso viene ignorato invece di
+ * essere contato due volte.
+ */
+final class MotoreClassifica {
+
+    /**
+     * Ordine della classifica: punteggio decrescente, poi voto massimo decrescente, poi nome del team.
+     */
+    private static final Comparator<Voce> ORDINE = Comparator
+            .comparingInt((Voce v) -> v.punteggio).reversed()
+            .thenComparing(Comparator.comparingInt((Voce v) -> v.votoMassimo).reversed())
+            .thenComparing(v -> v.nomeTeam);
+
+    private static final Map<String, ClassificaHackathon> CLASSIFICHE = new ConcurrentHashMap<>();
+
+    private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+    private static final RowMapper.Colonna NOME_TEAM = COLONNE.aggiungi("Nome_team");
+    private static final RowMapper.Colonna PUNTEGGIO = COLONNE.aggiungi("Punteggio");
+    private static final RowMapper.Colonna NUMERO_VOTI = COLONNE.aggiungi("Numero_voti");
+    private static final RowMapper.Colonna VOTO_MASSIMO = COLONNE.aggiungi("Voto_massimo");
+    private static final RowMapper.Colonna GIUDICI = COLONNE.aggiungi("Giudici");
+
+    /** Incrementato a ogni modifica: una classifica caricata in concorrenza con una modifica viene scartata. */
+    private static final AtomicLong MODIFICHE = new AtomicLong();
+
+    private MotoreClassifica() {
+    }
+
+    /**
+     * Restituisce la classifica in memoria di un hackathon, caricandola se necessario.
+     *
+     * @param database Il gestore delle connessioni
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return La classifica dell'hackathon
+     * @throws SQLException Se il caricamento fallisce
+     */
+    static ClassificaHackathon get(ConnessioneDatabase database, String titoloHackathon) throws SQLException {
+        ClassificaHackathon classifica = CLASSIFICHE.get(titoloHackathon);
+        if (classifica != null) {
+            return classifica;
+        }
+
+        long versione = MODIFICHE.get();
+        classifica = carica(database, titoloHackathon);
+        if (MODIFICHE.get() == versione) {
+            ClassificaHackathon esistente = CLASSIFICHE.putIfAbsent(titoloHackathon, classifica);
+            return esistente != null ? esistente : classifica;
+        }
+        return classifica;
+    }
+
+    /**
+     * Registra un voto appena salvato nella classifica in memoria, se caricata.
+     *
+     * @param usernameGiudice Il giudice che ha votato
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param nomeTeam Il team votato
+     * @param punteggio Il voto assegnato
+     */
+    static void registraVoto(String usernameGiudice, String titoloHackathon, String nomeTeam, int punteggio) {
+        if (Transazione.corrente() != null) {
+            // Il voto potrebbe essere annullato con la transazione
+            invalida(titoloHackathon);
+            return;
+        }
+        MODIFICHE.incrementAndGet();
+        ClassificaHackathon classifica = CLASSIFICHE.get(titoloHackathon);
+        if (classifica != null) {
+            classifica.registraVoto(usernameGiudice, nomeTeam, punteggio);
+        }
+    }
+
+    /**
+     * Scarta la classifica in memoria di un hackathon.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     */
+    static void invalida(String titoloHackathon) {
+        MODIFICHE.incrementAndGet();
+        CLASSIFICHE.remove(titoloHackathon);
+        Transazione tx = Transazione.corrente();
+        if (tx != null) {
+            // Prima del commit un altro thread può caricare la classifica precedente alla scrittura
+            tx.dopoCommit(() -> invalida(titoloHackathon));
+        }
+    }
+
+    /**
+     * Scarta tutte le classifiche in memoria.
+     */
+    static void invalidaTutte() {
+        MODIFICHE.incrementAndGet();
+        CLASSIFICHE.clear();
+    }
+
+    private static ClassificaHackathon carica(ConnessioneDatabase database, String titoloHackathon) throws SQLException {
+        String sql = """
+                SELECT t.Nome_team,
+                       COALESCE(SUM(v.Punteggio), 0) AS Punteggio,
+                       COUNT(v.Punteggio) AS Numero_voti,
+                       COALESCE(MAX(v.Punteggio), 0) AS Voto_massimo,
+                       array_agg(v.Username_giudice) FILTER (WHERE v.Username_giudice IS NOT NULL) AS Giudici
+                FROM TEAM t
+                LEFT JOIN VOTO v ON v.Titolo_hackathon = t.Titolo_hackathon AND v.Team_votato = t.Nome_team
+                WHERE t.Titolo_hackathon = ?
+                GROUP BY t.Nome_team
+                """;
+
+        ClassificaHackathon classifica = new ClassificaHackathon();
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, titoloHackathon);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = COLONNE.riga(rs);
+                while (rs.next()) {
+                    Array giudici = riga.getArray(GIUDICI);
+                    classifica.aggiungi(new Voce(riga.getString(NOME_TEAM), riga.getInt(PUNTEGGIO),
+                            riga.getInt(NUMERO_VOTI), riga.getInt(VOTO_MASSIMO)),
+                            giudici != null ? (String[]) giudici.getArray() : new String[0]);
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante il caricamento della classifica: " + e.getMessage(), e);
+        }
+        return classifica;
+    }
+
+    /**
+     * Punteggio di un team. Immutabile: a ogni voto viene sostituita nell'albero.
+     */
+    private static final class Voce {
+        private final String nomeTeam;
+        private final int punteggio;
+        private final int numeroVoti;
+        private final int votoMassimo;
+
+        private Voce(String nomeTeam, int punteggio, int numeroVoti, int votoMassimo) {
+            this.nomeTeam = nomeTeam;
+            this.punteggio = punteggio;
+            this.numeroVoti = numeroVoti;
+            this.votoMassimo = votoMassimo;
+        }
+
+        private Voce conVoto(int voto) {
+            return new Voce(nomeTeam, punteggio + voto, numeroVoti + 1, Math.max(votoMassimo, voto));
+        }
+
+        /**
+         * @return true se i due team condividono la stessa posizione
+         */
+        private boolean pariMerito(Voce altra) {
+            return punteggio == altra.punteggio && votoMassimo == altra.votoMassimo;
+        }
+    }
+
+    /**
+     * Classifica in memoria di un singolo hackathon.
+     */
+    static final class ClassificaHackathon {
+        private final Map<String, Voce> voci = new HashMap<>();
+        private final Albero albero = new Albero();
+        // Coppie (giudice, team) già conteggiate, chiave univoca dei voti
+        private final Set<String> votiContati = new HashSet<>();
+        private int votiRegistrati;
+
+        private synchronized void aggiungi(Voce voce, String[] giudici) {
+            voci.put(voce.nomeTeam, voce);
+            albero.inserisci(voce);
+            votiRegistrati += voce.numeroVoti;
+            for (String giudice : giudici) {
+                votiContati.add(chiaveVoto(giudice, voce.nomeTeam));
+            }
+        }
+
+        private synchronized void registraVoto(String usernameGiudice, String nomeTeam, int punteggio) {
+            if (!votiContati.add(chiaveVoto(usernameGiudice, nomeTeam))) {
+                return; // Voto già presente nelle righe caricate
+            }
+            Voce attuale = voci.get(nomeTeam);
+            if (attuale == null) {
+                attuale = new Voce(nomeTeam, 0, 0, 0);
+            } else {
+                albero.rimuovi(attuale);
+            }
+            Voce aggiornata = attuale.conVoto(punteggio);
+            voci.put(nomeTeam, aggiornata);
+            albero.inserisci(aggiornata);
+            votiRegistrati++;
+        }
+
+        private static String chiaveVoto(String usernameGiudice, String nomeTeam) {
+            return usernameGiudice + '\u0000' + nomeTeam;
+        }
+
+        /**
+         * Calcola la posizione di un team: 1 più il numero di team che lo precedono strettamente.
+         *
+         * @param nomeTeam Il nome del team
+         * @return La posizione del team, -1 se il team non è in classifica
+         */
+        synchronized int getPosizione(String nomeTeam) {
+            Voce voce = voci.get(nomeTeam);
+            if (voce == null) {
+                return -1;
+            }
+            // Il nome vuoto precede ogni altro nome: conta solo i team con punteggio o spareggio migliori
+            return albero.contaPrecedenti(new Voce("", voce.punteggio, 0, voce.votoMassimo)) + 1;
+        }
+
+        /**
+         * @return Le righe della classifica in ordine di posizione
+         */
+        synchronized List<RigaClassifica> getRighe() {
+            List<Voce> ordinate = albero.inOrdine();
+            List<RigaClassifica> righe = new ArrayList<>(ordinate.size());
+            int posizione = 0;
+            for (int i = 0; i < ordinate.size(); i++) {
+                Voce voce = ordinate.get(i);
+                if (i == 0 || !voce.pariMerito(ordinate.get(i - 1))) {
+                    posizione = i + 1;
+                }
+                boolean exAequo = (i > 0 && voce.pariMerito(ordinate.get(i - 1)))
+                        || (i + 1 < ordinate.size() && voce.pariMerito(ordinate.get(i + 1)));
+                righe.add(new RigaClassifica(posizione, voce.nomeTeam, voce.punteggio,
+                        voce.numeroVoti, voce.votoMassimo, exAequo));
+            }
+            return righe;
+        }
+
+        synchronized int getVotiRegistrati() {
+            return votiRegistrati;
+        }
+    }
+
+    /**
+     * Treap ordinato secondo {@link #ORDINE}, con la dimensione di ogni sottoalbero
+     * per contare in O(log n) gli elementi che precedono una chiave.
+     */
+    private static final class Albero {
+        private final Random random = new Random();
+        private Nodo radice;
+
+        private static final class Nodo {
+            private final Voce voce;
+            private final int priorita;
+            private int dimensione = 1;
+            private Nodo sinistro;
+            private Nodo destro;
+
+            private Nodo(Voce voce, int priorita) {
+                this.voce = voce;
+                this.priorita = priorita;
+            }
+        }
+
+        private void inserisci(Voce voce) {
+            Nodo[] parti = dividi(radice, voce);
+            radice = unisci(unisci(parti[0], new Nodo(voce, random.nextInt())), parti[1]);
+        }
+
+        private void rimuovi(Voce voce) {
+            radice = rimuovi(radice, voce);
+        }
+
+        private int contaPrecedenti(Voce chiave) {
+            int conteggio = 0;
+            Nodo nodo = radice;
+            while (nodo != null) {
+                if (ORDINE.compare(chiave, nodo.voce) <= 0) {
+                    nodo = nodo.sinistro;
+                } else {
+                    conteggio += dimensione(nodo.sinistro) + 1;
+                    nodo = nodo.destro;
+                }
+            }
+            return conteggio;
+        }
+
+        private List<Voce> inOrdine() {
+            List<Voce> voci = new ArrayList<>(dimensione(radice));
+            ArrayList<Nodo> pila = new ArrayList<>();
+            Nodo nodo = radice;
+            while (nodo != null || !pila.isEmpty()) {
+                while (nodo != null) {
+                    pila.add(nodo);
+                    nodo = nodo.sinistro;
+                }
+                nodo = pila.remove(pila.size() - 1);
+                voci.add(nodo.voce);
+                nodo = nodo.destro;
+            }
+            return voci;
+        }
+
+        /**
+         * Divide il sottoalbero in elementi minori della chiave e elementi maggiori o uguali.
+         */
+        private static Nodo[] dividi(Nodo nodo, Voce chiave) {
+            if (nodo == null) {
+                return new Nodo[]{null, null};
+            }
+            if (ORDINE.compare(nodo.voce, chiave) < 0) {
+                Nodo[] parti = dividi(nodo.destro, chiave);
+                nodo.destro = parti[0];
+                aggiorna(nodo);
+                return new Nodo[]{nodo, parti[1]};
+            }
+            Nodo[] parti = dividi(nodo.sinistro, chiave);
+            nodo.sinistro = parti[1];
+            aggiorna(nodo);
+            return new Nodo[]{parti[0], nodo};
+        }
+
+        /**
+         * Unisce due sottoalberi in cui ogni elemento del primo precede ogni elemento del secondo.
+         */
+        private static Nodo unisci(Nodo primo, Nodo secondo) {
+            if (primo == null) {
+                return secondo;
+            }
+            if (secondo == null) {
+                return primo;
+            }
+            if (primo.priorita > secondo.priorita) {
+                primo.destro = unisci(primo.destro, secondo);
+                aggiorna(primo);
+                return primo;
+            }
+            secondo.sinistro = unisci(primo, secondo.sinistro);
+            aggiorna(secondo);
+            return secondo;
+        }
+
+        private static Nodo rimuovi(Nodo nodo, Voce voce) {
+            if (nodo == null) {
+                return null;
+            }
+            int confronto = ORDINE.compare(voce, nodo.voce);
+            if (confronto == 0) {
+                return unisci(nodo.sinistro, nodo.destro);
+            }
+            if (confronto < 0) {
+                nodo.sinistro = rimuovi(nodo.sinistro, voce);
+            } else {
+                nodo.destro = rimuovi(nodo.destro, voce);
+            }
+            aggiorna(nodo);
+            return nodo;
+        }
+
+        private static int dimensione(Nodo nodo) {
+            return nodo == null ? 0 : nodo.dimensione;
+        }
+
+        private static void aggiorna(Nodo nodo) {
+            nodo.dimensione = 1 + dimensione(nodo.sinistro) + dimensione(nodo.destro);
+        }
+    }
+}
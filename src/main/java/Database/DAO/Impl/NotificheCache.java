@@ -0,0 +1,338 @@
+package Database.DAO.Impl;
+
+import Database.ConnessioneDatabase;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Invalidazione delle cache tra client diversi tramite LISTEN/NOTIFY di PostgreSQL.
+ *
+ * Le scritture dei DAO pubblicano sul canale {@link #CANALE} l'entità modificata e le sue chiavi,
+ * sulla stessa connessione usata per la scrittura: dentro una transazione esplicita la notifica
+ * parte solo al commit e un rollback la annulla. Ogni client ascolta il canale su una connessione
+ * dedicata, fuori dal pool, e scarta dalle proprie cache le voci interessate. Le notifiche
+ * pubblicate dal client stesso sono ignorate, perché le sue cache sono già aggiornate dalle scritture.
+ *
+ * Se la connessione di ascolto cade il client può aver perso delle notifiche: alla riconnessione
+ * tutte le cache vengono svuotate. Le scadenze delle singole cache restano come ulteriore garanzia.
+ * La pubblicazione si disattiva con {@code -Dcache.notifiche=false}.
+ */
+public final class NotificheCache {
+
+    /**
+     * Canale PostgreSQL delle notifiche.
+     */
+    static final String CANALE = "cache_hackathon";
+
+    /**
+     * true se le scritture pubblicano le notifiche, configurabile con {@code cache.notifiche}.
+     */
+    static final boolean ATTIVE = Boolean.parseBoolean(System.getProperty("cache.notifiche", "true"));
+
+    /**
+     * Attesa massima di una notifica prima di verificare se l'ascolto è stato fermato.
+     */
+    private static final int ATTESA_NOTIFICHE_MILLIS = 5_000;
+
+    /**
+     * Attesa prima di riaprire la connessione di ascolto dopo un errore.
+     */
+    private static final long ATTESA_RICONNESSIONE_MILLIS = 10_000;
+
+    private static final String SEPARATORE = "\t";
+
+    /** Identifica le notifiche pubblicate da questo client. */
+    private static final String ORIGINE = UUID.randomUUID().toString();
+
+    /**
+     * Entità modificate che possono essere notificate.
+     */
+    public enum Entita {
+        /** Dati di un hackathon; chiave: nessuna. */
+        HACKATHON,
+        /** Un team di un hackathon; chiave: il nome del team. */
+        TEAM,
+        /** Le membership di un hackathon; chiave: lo username. */
+        MEMBERSHIP,
+        /** I documenti di un hackathon; chiave: il nome del team. */
+        DOCUMENTO,
+        /** I voti di un hackathon; chiave: il nome del team votato. */
+        VOTO,
+        /** Un utente; titolo: nessuno, chiave: lo username. */
+        UTENTE,
+        /** Modifica massiva: va scartato tutto. */
+        TUTTO
+    }
+
+    /**
+     * Riceve le modifiche notificate da altri client, dopo che le cache dei DAO sono state invalidate.
+     * Serve alle cache tenute fuori dal livello DAO.
+     */
+    @FunctionalInterface
+    public interface Ascoltatore {
+        /**
+         * @param entita L'entità modificata
+         * @param titoloHackathon Il titolo dell'hackathon interessato, null se non applicabile
+         * @param chiave La chiave dell'entità, null se non applicabile
+         */
+        void modificato(Entita entita, String titoloHackathon, String chiave);
+    }
+
+    private static final List<Ascoltatore> ASCOLTATORI = new CopyOnWriteArrayList<>();
+
+    private static Thread ascolto;
+    private static volatile boolean fermato;
+    private static volatile Connection connessioneAscolto;
+
+    private NotificheCache() {
+    }
+
+    /**
+     * Registra un ascoltatore delle modifiche fatte da altri client.
+     *
+     * @param ascoltatore L'ascoltatore da registrare
+     */
+    public static void aggiungiAscoltatore(Ascoltatore ascoltatore) {
+        ASCOLTATORI.add(ascoltatore);
+    }
+
+    /**
+     * Avvia, una sola volta, l'ascolto delle notifiche su un thread in background.
+     *
+     * @param database Il gestore delle connessioni
+     */
+    public static synchronized void avvia(ConnessioneDatabase database) {
+        if (ascolto != null || !ATTIVE) {
+            return;
+        }
+        fermato = false;
+        ascolto = new Thread(() -> ascolta(database), "ascolto-notifiche-cache");
+        ascolto.setDaemon(true);
+        ascolto.start();
+    }
+
+    /**
+     * Ferma l'ascolto delle notifiche e chiude la connessione dedicata.
+     */
+    public static synchronized void ferma() {
+        if (ascolto == null) {
+            return;
+        }
+        fermato = true;
+        chiudi(connessioneAscolto);
+        ascolto.interrupt();
+        ascolto = null;
+    }
+
+    /**
+     * Invio di una o più notifiche su una connessione.
+     */
+    @FunctionalInterface
+    private interface Invio {
+        void esegui(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Pubblica una modifica sulla connessione usata per la scrittura.
+     * Un errore nella pubblicazione non annulla la scrittura: viene solo segnalato,
+     * e gli altri client vedranno la modifica alla scadenza delle loro cache.
+     * Dentro una transazione la notifica è protetta da un savepoint, così che un errore
+     * non lasci la transazione del chiamante nello stato di errore di PostgreSQL.
+     *
+     * @param connection La connessione della scrittura
+     * @param entita L'entità modificata
+     * @param titoloHackathon Il titolo dell'hackathon, null se non applicabile
+     * @param chiave La chiave dell'entità, null se non applicabile
+     */
+    static void pubblica(Connection connection, Entita entita, String titoloHackathon, String chiave) {
+        if (!ATTIVE) {
+            return;
+        }
+        invia(connection, c -> {
+            try (PreparedStatement stmt = c.prepareStatement("SELECT pg_notify(?, ?)")) {
+                stmt.setString(1, CANALE);
+                stmt.setString(2, componi(entita, titoloHackathon, chiave));
+                stmt.execute();
+            }
+        });
+    }
+
+    /**
+     * Pubblica con un'unica istruzione una modifica per ciascun hackathon, ad esempio dopo
+     * una scrittura in batch.
+     *
+     * @param database Il gestore delle connessioni
+     * @param entita L'entità modificata
+     * @param titoliHackathon I titoli degli hackathon interessati
+     */
+    static void pubblica(ConnessioneDatabase database, Entita entita, Collection<String> titoliHackathon) {
+        if (!ATTIVE || titoliHackathon.isEmpty()) {
+            return;
+        }
+        String[] payload = new LinkedHashSet<>(titoliHackathon).stream()
+                .map(titolo -> componi(entita, titolo, null))
+                .toArray(String[]::new);
+        try (Connection connection = database.getConnection()) {
+            invia(connection, c -> {
+                try (PreparedStatement stmt = c.prepareStatement("SELECT pg_notify(?, p) FROM unnest(?::text[]) AS p")) {
+                    stmt.setString(1, CANALE);
+                    stmt.setArray(2, c.createArrayOf("text", payload));
+                    stmt.execute();
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Errore durante la pubblicazione delle notifiche di modifica: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Esegue l'invio segnalando gli errori senza propagarli. Se la connessione è dentro una
+     * transazione l'invio avviene sotto un savepoint, annullato in caso di errore: altrimenti
+     * PostgreSQL rifiuterebbe ogni istruzione successiva e il commit della transazione (25P02).
+     */
+    private static void invia(Connection connection, Invio invio) {
+        Savepoint savepoint = null;
+        try {
+            if (!connection.getAutoCommit()) {
+                savepoint = connection.setSavepoint("notifica_cache");
+            }
+            invio.esegui(connection);
+            if (savepoint != null) {
+                connection.releaseSavepoint(savepoint);
+            }
+        } catch (SQLException e) {
+            System.err.println("Errore durante la pubblicazione della notifica di modifica: " + e.getMessage());
+            if (savepoint != null) {
+                try {
+                    connection.rollback(savepoint);
+                } catch (SQLException ex) {
+                    System.err.println("Errore durante l'annullamento della notifica di modifica: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Pubblica una modifica massiva, dopo la quale gli altri client scartano tutte le cache.
+     *
+     * @param database Il gestore delle connessioni
+     */
+    static void pubblicaTutto(ConnessioneDatabase database) {
+        if (!ATTIVE) {
+            return;
+        }
+        try (Connection connection = database.getConnection()) {
+            pubblica(connection, Entita.TUTTO, null, null);
+        } catch (SQLException e) {
+            System.err.println("Errore durante la pubblicazione della notifica di modifica: " + e.getMessage());
+        }
+    }
+
+    private static String componi(Entita entita, String titoloHackathon, String chiave) {
+        return String.join(SEPARATORE, ORIGINE, entita.name(),
+                titoloHackathon != null ? titoloHackathon : "",
+                chiave != null ? chiave : "");
+    }
+
+    private static void ascolta(ConnessioneDatabase database) {
+        while (!fermato) {
+            try (Connection connection = database.apriConnessioneDedicata()) {
+                connessioneAscolto = connection;
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("LISTEN " + CANALE);
+                }
+                // Le notifiche arrivate mentre non si era in ascolto sono perse
+                applica(Entita.TUTTO, null, null);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (!fermato) {
+                    PGNotification[] notifiche = pgConnection.getNotifications(ATTESA_NOTIFICHE_MILLIS);
+                    if (notifiche != null) {
+                        for (PGNotification notifica : notifiche) {
+                            ricevi(notifica.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!fermato) {
+                    System.err.println("Ascolto delle notifiche interrotto, nuovo tentativo tra "
+                            + ATTESA_RICONNESSIONE_MILLIS / 1000 + " secondi: " + e.getMessage());
+                    try {
+                        Thread.sleep(ATTESA_RICONNESSIONE_MILLIS);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            } finally {
+                connessioneAscolto = null;
+            }
+        }
+    }
+
+    private static void ricevi(String payload) {
+        String[] parti = payload.split(SEPARATORE, -1);
+        if (parti.length != 4 || parti[0].equals(ORIGINE)) {
+            return;
+        }
+        Entita entita;
+        try {
+            entita = Entita.valueOf(parti[1]);
+        } catch (IllegalArgumentException e) {
+            // Notifica di una versione diversa dell'applicazione: nel dubbio si scarta tutto
+            entita = Entita.TUTTO;
+        }
+        applica(entita, parti[2].isEmpty() ? null : parti[2], parti[3].isEmpty() ? null : parti[3]);
+    }
+
+    private static void applica(Entita entita, String titoloHackathon, String chiave) {
+        switch (entita) {
+            case HACKATHON, TEAM -> {
+                CatalogoHackathon.invalida(titoloHackathon);
+                MotoreClassifica.invalida(titoloHackathon);
+                IscrittiHackathon.invalida(titoloHackathon);
+                IndiceDocumenti.invalida(titoloHackathon);
+            }
+            case MEMBERSHIP -> {
+                CatalogoHackathon.invalida(titoloHackathon);
+                IscrittiHackathon.invalida(titoloHackathon);
+            }
+            case DOCUMENTO -> IndiceDocumenti.invalida(titoloHackathon);
+            case VOTO -> MotoreClassifica.invalida(titoloHackathon);
+            case UTENTE -> {
+                // Gli utenti sono tenuti in cache fuori dal livello DAO: ci pensano gli ascoltatori
+            }
+            case TUTTO -> {
+                CatalogoHackathon.invalidaTutto();
+                MotoreClassifica.invalidaTutte();
+                IscrittiHackathon.invalidaTutti();
+                IndiceDocumenti.invalidaTutti();
+            }
+        }
+        for (Ascoltatore ascoltatore : ASCOLTATORI) {
+            ascoltatore.modificato(entita, titoloHackathon, chiave);
+        }
+    }
+
+    private static void chiudi(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Errore durante la chiusura della connessione di ascolto: " + e.getMessage());
+        }
+    }
+}
@@ -8,34 +8,42 @@ import Database.DAO.GenericDAO;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class OrganizzatoreDAOImpl implements OrganizzatoreDAO {
 
-    private Connection connection;
+    private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+    private static final RowMapper.Colonna USERNAME_ORG = COLONNE.aggiungi("Username_org");
+    private static final RowMapper.Colonna PASSWORD = COLONNE.aggiungi("Password");
+
+    private static final RowMapper<Organizzatore> ORGANIZZATORE = new RowMapper<>(COLONNE,
+            riga -> new Organizzatore(riga.getString(USERNAME_ORG), riga.getString(PASSWORD)));
+
+
+    private final ConnessioneDatabase database;
 
     /**
-     * Costruttore che inizializza la connessione al database.
+     * Costruttore che inizializza l'accesso al pool di connessioni del database.
      *
      * @throws SQLException Se si verifica un errore nella connessione
      */
     public OrganizzatoreDAOImpl() throws SQLException {
-        this.connection = ConnessioneDatabase.getInstance().connection;
+        this.database = ConnessioneDatabase.getInstance();
     }
 
     @Override
     public Organizzatore login(String username, String password) throws SQLException {
         String sql = "SELECT Username_org, Password FROM ORGANIZZATORE WHERE Username_org = ? AND Password = ?";
 
-        try(PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             stmt.setString(2, password);
 
             ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return new Organizzatore(
-                        rs.getString("Username_org"),
-                        rs.getString("Password")
-                );
+            Organizzatore organizzatore = ORGANIZZATORE.mappaPrima(rs);
+            if (organizzatore != null) {
+                return organizzatore;
             }
         } catch (SQLException e) {
             throw new SQLException("Errore durante il login dell'organizzatore: " + e.getMessage(), e);
@@ -57,15 +65,14 @@ public class OrganizzatoreDAOImpl implements OrganizzatoreDAO {
                 WHERE h.Titolo_identificativo = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, hackathonTitolo);
 
             try(ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return new Organizzatore(
-                            rs.getString("Username_org"),
-                            rs.getString("Password")
-                    );
+                Organizzatore organizzatore = ORGANIZZATORE.mappaPrima(rs);
+                if (organizzatore != null) {
+                    return organizzatore;
                 }
             }
         } catch (SQLException e) {
@@ -78,7 +85,8 @@ public class OrganizzatoreDAOImpl implements OrganizzatoreDAO {
     @Override
     public boolean save(Organizzatore entity) throws SQLException {
         String sql = "INSERT INTO ORGANIZZATORE (Username_org, Password) VALUES (?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, entity.getName());
             stmt.setString(2, entity.getPassword());
 
@@ -93,7 +101,8 @@ public class OrganizzatoreDAOImpl implements OrganizzatoreDAO {
     public boolean update(Organizzatore entity) throws SQLException {
         String sql = "UPDATE ORGANIZZATORE SET Password = ? WHERE Username_org = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, entity.getPassword());
             stmt.setString(2, entity.getName());
 
@@ -108,7 +117,8 @@ public class OrganizzatoreDAOImpl implements OrganizzatoreDAO {
     public boolean delete(String key) throws SQLException {
         String sql = "DELETE FROM ORGANIZZATORE WHERE Username_org = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, key);
             int rowsAffected = stmt.executeUpdate();
             return rowsAffected > 0;
@@ -121,14 +131,13 @@ public class OrganizzatoreDAOImpl implements OrganizzatoreDAO {
     public Organizzatore findByKey(String key) throws SQLException {
         String sql = "SELECT Username_org, Password FROM ORGANIZZATORE WHERE Username_org = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, key);
             ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return new Organizzatore(
-                        rs.getString("Username_org"),
-                        rs.getString("Password")
-                );
+            Organizzatore organizzatore = ORGANIZZATORE.mappaPrima(rs);
+            if (organizzatore != null) {
+                return organizzatore;
             }
         } catch (SQLException e) {
             throw new SQLException("Errore durante la ricerca dell'organizzatore: " + e.getMessage(), e);
@@ -141,22 +150,24 @@ public class OrganizzatoreDAOImpl implements OrganizzatoreDAO {
         List<Organizzatore> organizzatori = new ArrayList<>();
         String sql = "SELECT Username_org, Password FROM ORGANIZZATORE";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()
         ) {
 
-            while (rs.next()) {
-                organizzatori.add(
-                        new Organizzatore(
-                            rs.getString("Username_org"),
-                            rs.getString("Password")
-                ));
-            }
+            organizzatori.addAll(ORGANIZZATORE.mappaTutte(rs));
         } catch (SQLException e) {
             throw new SQLException("Errore durante il recupero degli organizzatori: " + e.getMessage(), e);
         }
         return organizzatori;
     }
 
+    @Override
+    public Stream<Organizzatore> streamAll(int fetchSize) throws SQLException {
+        String sql = "SELECT Username_org, Password FROM ORGANIZZATORE";
+
+        return ResultSetStreams.stream(database, sql, stmt -> { }, fetchSize, ORGANIZZATORE);
+    }
+
     //TODO: Aggiungere metodo per inviare inviti agli utenti per diventare giudici
 }
@@ -0,0 +1,155 @@
+package Database.DAO.Impl;
+
+import Database.ConnessioneDatabase;
+import Database.DAO.UncheckedSQLException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Utilità condivisa dalle implementazioni DAO per leggere query come Stream.
+ *
+ * Il driver PostgreSQL usa un cursore lato server solo se l'auto-commit è disattivato
+ * e la dimensione di fetch è positiva: in quel caso le righe vengono trasferite a blocchi
+ * invece di essere caricate tutte in memoria. Alla chiusura dello Stream vengono chiusi
+ * ResultSet e statement e la connessione torna al pool, che ne ripristina l'auto-commit.
+ */
+final class ResultSetStreams {
+
+    /**
+     * Converte la riga corrente del ResultSet in un oggetto.
+     *
+     * @param <T> Il tipo dell'oggetto
+     */
+    @FunctionalInterface
+    interface Mapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Imposta i parametri della query.
+     */
+    @FunctionalInterface
+    interface Parametri {
+        void imposta(PreparedStatement stmt) throws SQLException;
+    }
+
+    private ResultSetStreams() {
+    }
+
+    /**
+     * Esegue la query e restituisce le righe come Stream pigro.
+     *
+     * @param database Il gestore delle connessioni
+     * @param sql La query da eseguire
+     * @param parametri Imposta i parametri della query
+     * @param fetchSize Numero di righe per ogni giro di rete
+     * @param mapper Converte ogni riga in un oggetto
+     * @param <T> Il tipo degli oggetti
+     * @return Lo Stream delle righe, da chiudere al termine della lettura
+     * @throws SQLException Se la query non può essere eseguita
+     */
+    static <T> Stream<T> stream(ConnessioneDatabase database, String sql, Parametri parametri,
+                                int fetchSize, Mapper<T> mapper) throws SQLException {
+        return apri(database, sql, parametri, fetchSize, rs -> mapper);
+    }
+
+    /**
+     * Esegue la query e restituisce le righe come Stream pigro, leggendo le colonne
+     * per indice: gli indici del mapper vengono risolti una sola volta per lo Stream.
+     *
+     * @param database Il gestore delle connessioni
+     * @param sql La query da eseguire
+     * @param parametri Imposta i parametri della query
+     * @param fetchSize Numero di righe per ogni giro di rete
+     * @param mapper Converte ogni riga in un oggetto
+     * @param <T> Il tipo degli oggetti
+     * @return Lo Stream delle righe, da chiudere al termine della lettura
+     * @throws SQLException Se la query non può essere eseguita
+     */
+    static <T> Stream<T> stream(ConnessioneDatabase database, String sql, Parametri parametri,
+                                int fetchSize, RowMapper<T> mapper) throws SQLException {
+        return apri(database, sql, parametri, fetchSize, rs -> {
+            RowMapper.Riga riga = mapper.riga(rs);
+            return corrente -> mapper.leggi(riga);
+        });
+    }
+
+    /**
+     * Associa un mapper al ResultSet appena aperto.
+     */
+    @FunctionalInterface
+    private interface Legatore<T> {
+        Mapper<T> lega(ResultSet rs) throws SQLException;
+    }
+
+    private static <T> Stream<T> apri(ConnessioneDatabase database, String sql, Parametri parametri,
+                                      int fetchSize, Legatore<T> legatore) throws SQLException {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("La dimensione di fetch deve essere positiva");
+        }
+
+        Connection connection = database.getConnection();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        Mapper<T> mapper;
+        try {
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+            }
+            stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            parametri.imposta(stmt);
+            rs = stmt.executeQuery();
+            mapper = legatore.lega(rs);
+        } catch (SQLException | RuntimeException e) {
+            chiudi(rs, stmt, connection);
+            throw e;
+        }
+
+        PreparedStatement statement = stmt;
+        ResultSet risultati = rs;
+        Spliterator<T> righe = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> azione) {
+                try {
+                    if (!risultati.next()) {
+                        return false;
+                    }
+                    azione.accept(mapper.map(risultati));
+                    return true;
+                } catch (SQLException e) {
+                    throw new UncheckedSQLException(e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(righe, false).onClose(() -> chiudi(risultati, statement, connection));
+    }
+
+    private static void chiudi(ResultSet rs, PreparedStatement stmt, Connection connection) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("Errore nella chiusura del cursore: " + e.getMessage());
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Errore nella restituzione della connessione: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package Database.DAO.Impl;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conversione delle righe di un ResultSet in oggetti, condivisa dalle implementazioni DAO.
+ *
+ * Leggere le colonne per etichetta obbliga il driver a cercare il nome a ogni cella.
+ * Un RowMapper dichiara invece una volta le colonne che legge: al primo ResultSet con una
+ * certa forma (numero ed etichette delle colonne) ne calcola gli indici e li memorizza,
+ * quindi ogni cella viene letta per indice. Le query diverse che restituiscono la stessa
+ * entità (per esempio tutte le SELECT su HACKATHON) condividono lo stesso mapper.
+ *
+ * Uso tipico:
+ * <pre>
+ *     private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+ *     private static final RowMapper.Colonna USERNAME = COLONNE.aggiungi("Username");
+ *     private static final RowMapper&lt;Utente&gt; UTENTE =
+ *             new RowMapper&lt;&gt;(COLONNE, riga -&gt; new Utente(riga.getString(USERNAME), ...));
+ * </pre>
+ *
+ * @param <T> Il tipo degli oggetti prodotti
+ */
+final class RowMapper<T> implements ResultSetStreams.Mapper<T> {
+
+    /**
+     * Converte una riga, letta tramite gli indici già risolti, in un oggetto.
+     *
+     * @param <T> Il tipo dell'oggetto
+     */
+    @FunctionalInterface
+    interface Lettore<T> {
+        T leggi(Riga riga) throws SQLException;
+    }
+
+    /**
+     * Colonna dichiarata da un mapper, identificata dalla sua posizione nella dichiarazione.
+     */
+    static final class Colonna {
+        private final String etichetta;
+        private final int posizione;
+
+        private Colonna(String etichetta, int posizione) {
+            this.etichetta = etichetta;
+            this.posizione = posizione;
+        }
+    }
+
+    /**
+     * Insieme delle colonne lette da uno o più mapper, con la cache degli indici per forma del ResultSet.
+     * Le colonne vanno dichiarate tutte prima del primo utilizzo.
+     */
+    static final class Colonne {
+        private final List<String> etichette = new ArrayList<>();
+        private final Map<String, int[]> indiciPerForma = new ConcurrentHashMap<>();
+
+        /**
+         * Dichiara una colonna da leggere.
+         *
+         * @param etichetta Il nome della colonna nella query
+         * @return La colonna, da passare ai metodi di {@link Riga}
+         */
+        Colonna aggiungi(String etichetta) {
+            etichette.add(etichetta);
+            return new Colonna(etichetta, etichette.size() - 1);
+        }
+
+        /**
+         * Associa il ResultSet agli indici delle colonne dichiarate, calcolandoli solo
+         * la prima volta che si incontra la sua forma.
+         *
+         * @param rs Il ResultSet da leggere
+         * @return La riga corrente del ResultSet, valida anche dopo ogni next()
+         * @throws SQLException Se una colonna dichiarata non è presente nel risultato
+         */
+        Riga riga(ResultSet rs) throws SQLException {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int numeroColonne = metaData.getColumnCount();
+            String[] presenti = new String[numeroColonne];
+            StringBuilder forma = new StringBuilder();
+            for (int i = 0; i < numeroColonne; i++) {
+                presenti[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+                forma.append(presenti[i]).append(',');
+            }
+
+            int[] indici = indiciPerForma.get(forma.toString());
+            if (indici == null) {
+                indici = risolvi(presenti);
+                indiciPerForma.put(forma.toString(), indici);
+            }
+            return new Riga(rs, indici);
+        }
+
+        private int[] risolvi(String[] presenti) throws SQLException {
+            int[] indici = new int[etichette.size()];
+            for (int c = 0; c < indici.length; c++) {
+                String cercata = etichette.get(c).toLowerCase(Locale.ROOT);
+                indici[c] = -1;
+                for (int i = 0; i < presenti.length; i++) {
+                    if (presenti[i].equals(cercata)) {
+                        indici[c] = i + 1;
+                        break;
+                    }
+                }
+            }
+            return indici;
+        }
+    }
+
+    /**
+     * Riga corrente di un ResultSet, letta per indice.
+     */
+    static final class Riga {
+        private final ResultSet rs;
+        private final int[] indici;
+
+        private Riga(ResultSet rs, int[] indici) {
+            this.rs = rs;
+            this.indici = indici;
+        }
+
+        private int indice(Colonna colonna) throws SQLException {
+            int indice = indici[colonna.posizione];
+            if (indice < 0) {
+                throw new SQLException("Colonna non presente nel risultato: " + colonna.etichetta);
+            }
+            return indice;
+        }
+
+        String getString(Colonna colonna) throws SQLException {
+            return rs.getString(indice(colonna));
+        }
+
+        int getInt(Colonna colonna) throws SQLException {
+            return rs.getInt(indice(colonna));
+        }
+
+        /**
+         * @return Il valore intero, null se la colonna è NULL
+         */
+        Integer getInteger(Colonna colonna) throws SQLException {
+            int valore = rs.getInt(indice(colonna));
+            return rs.wasNull() ? null : valore;
+        }
+
+        float getFloat(Colonna colonna) throws SQLException {
+            return rs.getFloat(indice(colonna));
+        }
+
+        boolean getBoolean(Colonna colonna) throws SQLException {
+            return rs.getBoolean(indice(colonna));
+        }
+
+        LocalDate getLocalDate(Colonna colonna) throws SQLException {
+            Date data = rs.getDate(indice(colonna));
+            return data != null ? data.toLocalDate() : null;
+        }
+
+        LocalDateTime getLocalDateTime(Colonna colonna) throws SQLException {
+            Timestamp timestamp = rs.getTimestamp(indice(colonna));
+            return timestamp != null ? timestamp.toLocalDateTime() : null;
+        }
+
+        Timestamp getTimestamp(Colonna colonna) throws SQLException {
+            return rs.getTimestamp(indice(colonna));
+        }
+
+        Array getArray(Colonna colonna) throws SQLException {
+            return rs.getArray(indice(colonna));
+        }
+    }
+
+    private final Colonne colonne;
+    private final Lettore<T> lettore;
+
+    /**
+     * @param colonne Le colonne lette dal mapper
+     * @param lettore Converte una riga in un oggetto
+     */
+    RowMapper(Colonne colonne, Lettore<T> lettore) {
+        this.colonne = colonne;
+        this.lettore = lettore;
+    }
+
+    /**
+     * Associa il ResultSet agli indici delle colonne del mapper.
+     *
+     * @param rs Il ResultSet da leggere
+     * @return La riga corrente, da passare a {@link #leggi(Riga)} dopo ogni next()
+     * @throws SQLException Se una colonna non è presente nel risultato
+     */
+    Riga riga(ResultSet rs) throws SQLException {
+        return colonne.riga(rs);
+    }
+
+    /**
+     * Converte la riga corrente.
+     *
+     * @param riga La riga ottenuta da {@link #riga(ResultSet)}
+     * @return L'oggetto letto
+     * @throws SQLException Se la lettura fallisce
+     */
+    T leggi(Riga riga) throws SQLException {
+        return lettore.leggi(riga);
+    }
+
+    /**
+     * Converte tutte le righe rimanenti del ResultSet.
+     *
+     * @param rs Il ResultSet da leggere
+     * @return Gli oggetti letti, nell'ordine del ResultSet
+     * @throws SQLException Se la lettura fallisce
+     */
+    List<T> mappaTutte(ResultSet rs) throws SQLException {
+        List<T> risultati = new ArrayList<>();
+        Riga riga = colonne.riga(rs);
+        while (rs.next()) {
+            risultati.add(lettore.leggi(riga));
+        }
+        return risultati;
+    }
+
+    /**
+     * Converte la prima riga del ResultSet.
+     *
+     * @param rs Il ResultSet da leggere
+     * @return L'oggetto letto, null se il ResultSet è vuoto
+     * @throws SQLException Se la lettura fallisce
+     */
+    T mappaPrima(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return null;
+        }
+        return lettore.leggi(colonne.riga(rs));
+    }
+
+    /**
+     * Converte la riga corrente di un ResultSet letto una riga alla volta.
+     * Risolve gli indici a ogni chiamata: per più righe preferire {@link #mappaTutte(ResultSet)}
+     * o {@link ResultSetStreams#stream(Database.ConnessioneDatabase, String, ResultSetStreams.Parametri, int, RowMapper)}.
+     */
+    @Override
+    public T map(ResultSet rs) throws SQLException {
+        return lettore.leggi(colonne.riga(rs));
+    }
+}
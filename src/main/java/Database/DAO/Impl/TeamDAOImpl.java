@@ -2,6 +2,8 @@ package Database.DAO.Impl;
 
 import Database.DAO.TeamDAO;
 import Database.ConnessioneDatabase;
+import Database.DAO.EsitoBatch;
+import Database.DAO.Pagina;
 import model.Team;
 import model.Utente;
 import model.Hackathon;
@@ -9,33 +11,70 @@ import model.Hackathon;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementazione dell'interfaccia TeamDAO per la gestione dei team nel database PostgreSQL.
  */
 public class TeamDAOImpl implements TeamDAO {
+
+    private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+    private static final RowMapper.Colonna NOME_TEAM = COLONNE.aggiungi("Nome_team");
+    private static final RowMapper.Colonna TITOLO_HACKATHON = COLONNE.aggiungi("Titolo_hackathon");
+    private static final RowMapper.Colonna PUNTEGGIO_FINALE = COLONNE.aggiungi("Punteggio_finale");
+    private static final RowMapper.Colonna MEMBRI = COLONNE.aggiungi("Membri");
+
+    /**
+     * Mapper dei team, condiviso dai DAO che leggono Nome_team, Titolo_hackathon e Punteggio_finale.
+     * Il team e il suo hackathon sono le istanze canoniche della sessione: per i team
+     * di hackathon non ancora letti l'hackathon è un riferimento con il solo titolo, da completare
+     * con {@link HackathonDAOImpl#completaHackathon} prima di restituire i team.
+     */
+    static final RowMapper<Team> TEAM = new RowMapper<>(COLONNE, riga -> conPunteggio(
+            MappaIdentita.team(riga.getString(TITOLO_HACKATHON), riga.getString(NOME_TEAM)), riga));
+
+    private static final RowMapper<RosterTeam> ROSTER = new RowMapper<>(COLONNE, riga -> {
+        Integer punteggioFinale = riga.getInteger(PUNTEGGIO_FINALE);
+        Array membri = riga.getArray(MEMBRI);
+        try {
+            return new RosterTeam(
+                riga.getString(NOME_TEAM),
+                riga.getString(TITOLO_HACKATHON),
+                punteggioFinale != null ? punteggioFinale : 0,
+                List.of((String[]) membri.getArray())
+            );
+        } finally {
+            membri.free();
+        }
+    });
     
-    private Connection connection;
+    private final ConnessioneDatabase database;
+    private final HackathonDAOImpl hackathonDAO;
     
     /**
-     * Costruttore che inizializza la connessione al database.
+     * Costruttore che inizializza l'accesso al pool di connessioni del database.
      * 
      * @throws SQLException Se si verifica un errore nella connessione
      */
     public TeamDAOImpl() throws SQLException {
-        this.connection = ConnessioneDatabase.getInstance().connection;
+        this.database = ConnessioneDatabase.getInstance();
+        this.hackathonDAO = new HackathonDAOImpl();
     }
 
     @Override
     public boolean save(Team entity) throws SQLException {
         String sql = "INSERT INTO TEAM (Nome_team, Titolo_hackathon, Punteggio_finale) VALUES (?, ?, ?)";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, entity.getNomeTeam());
             stmt.setString(2, entity.getHackathon().getTitoloIdentificativo());
             stmt.setObject(3, entity.getVotoFinale(), Types.INTEGER);
             
             int rowsAffected = stmt.executeUpdate();
+            MotoreClassifica.invalida(entity.getHackathon().getTitoloIdentificativo());
+            NotificheCache.pubblica(connection, NotificheCache.Entita.TEAM,
+                    entity.getHackathon().getTitoloIdentificativo(), entity.getNomeTeam());
             return rowsAffected > 0;
         } catch (SQLException e) {
             throw new SQLException("Errore durante il salvataggio del team: " + e.getMessage(), e);
@@ -46,7 +85,8 @@ public class TeamDAOImpl implements TeamDAO {
     public boolean update(Team entity) throws SQLException {
         String sql = "UPDATE TEAM SET Punteggio_finale = ? WHERE Nome_team = ? AND Titolo_hackathon = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setObject(1, entity.getVotoFinale(), Types.INTEGER);
             stmt.setString(2, entity.getNomeTeam());
             stmt.setString(3, entity.getHackathon().getTitoloIdentificativo());
@@ -62,11 +102,19 @@ public class TeamDAOImpl implements TeamDAO {
     public boolean delete(TeamKey key) throws SQLException {
         String sql = "DELETE FROM TEAM WHERE Nome_team = ? AND Titolo_hackathon = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, key.getNomeTeam());
             stmt.setString(2, key.getTitoloHackathon());
             
             int rowsAffected = stmt.executeUpdate();
+            // Con il team escono i suoi membri: cambia il numero di iscritti dell'hackathon
+            MotoreClassifica.invalida(key.getTitoloHackathon());
+            CatalogoHackathon.invalida(key.getTitoloHackathon());
+            IscrittiHackathon.invalida(key.getTitoloHackathon());
+            IndiceDocumenti.invalida(key.getTitoloHackathon());
+            MappaIdentita.rimuoviTeam(key.getTitoloHackathon(), key.getNomeTeam());
+            NotificheCache.pubblica(connection, NotificheCache.Entita.TEAM, key.getTitoloHackathon(), key.getNomeTeam());
             return rowsAffected > 0;
         } catch (SQLException e) {
             throw new SQLException("Errore durante l'eliminazione del team: " + e.getMessage(), e);
@@ -76,14 +124,17 @@ public class TeamDAOImpl implements TeamDAO {
     @Override
     public Team findByKey(TeamKey key) throws SQLException {
         String sql = "SELECT Nome_team, Titolo_hackathon, Punteggio_finale FROM TEAM WHERE Nome_team = ? AND Titolo_hackathon = ?";
+        Hackathon hackathon = getHackathonCompleto(key.getTitoloHackathon());
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, key.getNomeTeam());
             stmt.setString(2, key.getTitoloHackathon());
             
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return createTeamFromResultSet(rs);
+                Team team = teamDi(hackathon).mappaPrima(rs);
+                if (team != null) {
+                    return team;
                 }
             }
         } catch (SQLException e) {
@@ -97,30 +148,37 @@ public class TeamDAOImpl implements TeamDAO {
         List<Team> teams = new ArrayList<>();
         String sql = "SELECT Nome_team, Titolo_hackathon, Punteggio_finale FROM TEAM ORDER BY Nome_team";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
-            while (rs.next()) {
-                teams.add(createTeamFromResultSet(rs));
-            }
+            teams.addAll(TEAM.mappaTutte(rs));
+            hackathonDAO.completaHackathon(teams);
         } catch (SQLException e) {
             throw new SQLException("Errore durante il recupero di tutti i team: " + e.getMessage(), e);
         }
         return teams;
     }
 
+    @Override
+    public Stream<Team> streamAll(int fetchSize) throws SQLException {
+        String sql = "SELECT Nome_team, Titolo_hackathon, Punteggio_finale FROM TEAM ORDER BY Nome_team";
+
+        return ResultSetStreams.stream(database, sql, stmt -> { }, fetchSize, TEAM);
+    }
+
     @Override
     public List<Team> findByHackathon(String titoloHackathon) throws SQLException {
         List<Team> teams = new ArrayList<>();
         String sql = "SELECT Nome_team, Titolo_hackathon, Punteggio_finale FROM TEAM WHERE Titolo_hackathon = ? ORDER BY Nome_team";
+        Hackathon hackathon = getHackathonCompleto(titoloHackathon);
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, titoloHackathon);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    teams.add(createTeamFromResultSet(rs));
-                }
+                teams.addAll(teamDi(hackathon).mappaTutte(rs));
             }
         } catch (SQLException e) {
             throw new SQLException("Errore durante la ricerca dei team per hackathon: " + e.getMessage(), e);
@@ -128,6 +186,78 @@ public class TeamDAOImpl implements TeamDAO {
         return teams;
     }
 
+    @Override
+    public Pagina<Team> findByHackathon(String titoloHackathon, int dimensionePagina, String token) throws SQLException {
+        Pagina.verificaDimensione(dimensionePagina);
+        String[] chiave = token == null ? null : Pagina.decodificaToken(token, 1);
+
+        String sql = """
+                SELECT Nome_team, Titolo_hackathon, Punteggio_finale
+                FROM TEAM
+                WHERE Titolo_hackathon = ? %s
+                ORDER BY Nome_team
+                LIMIT ?
+                """.formatted(chiave == null ? "" : "AND Nome_team > ?");
+
+        List<Team> teams = new ArrayList<>();
+        String tokenSuccessivo = null;
+        Hackathon hackathon = getHackathonCompleto(titoloHackathon);
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int indice = 1;
+            stmt.setString(indice++, titoloHackathon);
+            if (chiave != null) {
+                stmt.setString(indice++, chiave[0]);
+            }
+            // Una riga in più indica che esiste una pagina successiva
+            stmt.setInt(indice, dimensionePagina + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<Team> mapper = teamDi(hackathon);
+                RowMapper.Riga riga = mapper.riga(rs);
+                while (rs.next()) {
+                    if (teams.size() == dimensionePagina) {
+                        tokenSuccessivo = Pagina.codificaToken(teams.get(teams.size() - 1).getNomeTeam());
+                        break;
+                    }
+                    teams.add(mapper.leggi(riga));
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante la ricerca paginata dei team per hackathon: " + e.getMessage(), e);
+        }
+        return new Pagina<>(teams, tokenSuccessivo);
+    }
+
+    @Override
+    public List<RosterTeam> getRosterByHackathon(String titoloHackathon) throws SQLException {
+        String sql = """
+            SELECT t.Nome_team, t.Titolo_hackathon, t.Punteggio_finale,
+                   COALESCE(array_agg(m.Username_utente ORDER BY m.Username_utente)
+                            FILTER (WHERE m.Username_utente IS NOT NULL), '{}') AS Membri
+            FROM TEAM t
+            LEFT JOIN MEMBERSHIP m ON m.Team_appartenenza = t.Nome_team AND m.Titolo_hackathon = t.Titolo_hackathon
+            WHERE t.Titolo_hackathon = ?
+            GROUP BY t.Nome_team, t.Titolo_hackathon, t.Punteggio_finale
+            ORDER BY t.Nome_team
+            """;
+
+        List<RosterTeam> roster = new ArrayList<>();
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, titoloHackathon);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                roster.addAll(ROSTER.mappaTutte(rs));
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante il recupero del roster dei team: " + e.getMessage(), e);
+        }
+        return roster;
+    }
+
     @Override
     public Team findByUserAndHackathon(String username, String titoloHackathon) throws SQLException {
         String sql = """
@@ -136,14 +266,17 @@ public class TeamDAOImpl implements TeamDAO {
             JOIN MEMBERSHIP m ON t.Nome_team = m.Team_appartenenza AND t.Titolo_hackathon = m.Titolo_hackathon 
             WHERE m.Username_utente = ? AND t.Titolo_hackathon = ?
             """;
+        Hackathon hackathon = getHackathonCompleto(titoloHackathon);
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             stmt.setString(2, titoloHackathon);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return createTeamFromResultSet(rs);
+                Team team = teamDi(hackathon).mappaPrima(rs);
+                if (team != null) {
+                    return team;
                 }
             }
         } catch (SQLException e) {
@@ -154,21 +287,7 @@ public class TeamDAOImpl implements TeamDAO {
 
     @Override
     public int countMembers(String nomeTeam, String titoloHackathon) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM MEMBERSHIP WHERE Team_appartenenza = ? AND Titolo_hackathon = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, nomeTeam);
-            stmt.setString(2, titoloHackathon);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
-                }
-            }
-        } catch (SQLException e) {
-            throw new SQLException("Errore durante il conteggio dei membri del team: " + e.getMessage(), e);
-        }
-        return 0;
+        return IscrittiHackathon.get(database, titoloHackathon).contaMembri(nomeTeam);
     }
 
     @Override
@@ -182,18 +301,13 @@ public class TeamDAOImpl implements TeamDAO {
             ORDER BY m.Data_adesione
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, nomeTeam);
             stmt.setString(2, titoloHackathon);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Utente utente = new Utente(
-                        rs.getString("Username"),
-                        rs.getString("Password")
-                    );
-                    members.add(utente);
-                }
+                members.addAll(UtenteDAOImpl.UTENTE.mappaTutte(rs));
             }
         } catch (SQLException e) {
             throw new SQLException("Errore durante il recupero dei membri del team: " + e.getMessage(), e);
@@ -205,7 +319,8 @@ public class TeamDAOImpl implements TeamDAO {
     public boolean updatePunteggioFinale(String nomeTeam, String titoloHackathon, int punteggioFinale) throws SQLException {
         String sql = "UPDATE TEAM SET Punteggio_finale = ? WHERE Nome_team = ? AND Titolo_hackathon = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, punteggioFinale);
             stmt.setString(2, nomeTeam);
             stmt.setString(3, titoloHackathon);
@@ -218,7 +333,8 @@ public class TeamDAOImpl implements TeamDAO {
     }
 
     /**
-     * Cerca team il cui nome contiene il testo specificato (ricerca LIKE).
+     * Cerca team il cui nome contiene il testo specificato (ricerca ILIKE, servita dall'indice
+     * a trigrammi se la migrazione {@value IndiciTrigrammi#MIGRAZIONE} è stata eseguita).
      * 
      * @param titoloHackathon Il titolo dell'hackathon in cui cercare
      * @param nomeTeamParziale Il testo da cercare nel nome del team
@@ -227,18 +343,20 @@ public class TeamDAOImpl implements TeamDAO {
      */
     public List<Team> searchTeamsByName(String titoloHackathon, String nomeTeamParziale) throws SQLException {
         List<Team> teams = new ArrayList<>();
-        String sql = "SELECT Nome_team, Titolo_hackathon, Punteggio_finale FROM TEAM " +
-                     "WHERE Titolo_hackathon = ? AND Nome_team ILIKE ? " +
-                     "ORDER BY Nome_team";
+        String sql = """
+            SELECT Nome_team, Titolo_hackathon, Punteggio_finale FROM TEAM
+            WHERE Titolo_hackathon = ? AND Nome_team ILIKE ? ESCAPE '\\'
+            ORDER BY Nome_team
+            """;
+        Hackathon hackathon = getHackathonCompleto(titoloHackathon);
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, titoloHackathon);
-            stmt.setString(2, "%" + nomeTeamParziale + "%"); // Cerca ovunque nel nome
-            
+            stmt.setString(2, IndiciTrigrammi.contiene(nomeTeamParziale)); // Cerca ovunque nel nome
+
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    teams.add(createTeamFromResultSet(rs));
-                }
+                teams.addAll(teamDi(hackathon).mappaTutte(rs));
             }
         } catch (SQLException e) {
             throw new SQLException("Errore durante la ricerca dei team: " + e.getMessage(), e);
@@ -247,34 +365,132 @@ public class TeamDAOImpl implements TeamDAO {
         return teams;
     }
 
+    @Override
+    public List<Team> cercaTeamSimili(String titoloHackathon, String testo, int limite) throws SQLException {
+        if (testo == null || testo.isBlank() || limite <= 0) {
+            return new ArrayList<>();
+        }
+        List<Team> teams = new ArrayList<>();
+        Hackathon hackathon = getHackathonCompleto(titoloHackathon);
+        String cercato = testo.trim();
+
+        try (Connection connection = database.getConnection()) {
+            boolean somiglianza = IndiciTrigrammi.somiglianzaDisponibile(connection);
+            // <% trova i nomi con una parte simile al testo (word_similarity), anche con errori di battitura;
+            // ILIKE trova comunque le sottostringhe esatte troppo corte per avere trigrammi in comune,
+            // ed è l'unico criterio se pg_trgm non è installata
+            String sql = somiglianza ? """
+                SELECT Nome_team, Titolo_hackathon, Punteggio_finale FROM TEAM
+                WHERE Titolo_hackathon = ? AND (? <% Nome_team OR Nome_team ILIKE ? ESCAPE '\\')
+                ORDER BY word_similarity(?, Nome_team) DESC, Nome_team
+                LIMIT ?
+                """ : """
+                SELECT Nome_team, Titolo_hackathon, Punteggio_finale FROM TEAM
+                WHERE Titolo_hackathon = ? AND Nome_team ILIKE ? ESCAPE '\\'
+                ORDER BY Nome_team
+                LIMIT ?
+                """;
+
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                int indice = 1;
+                stmt.setString(indice++, titoloHackathon);
+                if (somiglianza) {
+                    stmt.setString(indice++, cercato);
+                }
+                stmt.setString(indice++, IndiciTrigrammi.contiene(cercato));
+                if (somiglianza) {
+                    stmt.setString(indice++, cercato);
+                }
+                stmt.setInt(indice, limite);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    teams.addAll(teamDi(hackathon).mappaTutte(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante la ricerca per somiglianza dei team: " + e.getMessage(), e);
+        }
+        return teams;
+    }
+
     /**
-     * Metodo helper per creare un oggetto Team da un ResultSet.
-     * Nota: Per creare un Team completo, serve l'oggetto Hackathon.
-     * Questa implementazione crea un Team parziale. 
-     * In un'implementazione più completa, si dovrebbe recuperare anche l'oggetto Hackathon.
+     * Mapper dei team di un hackathon già risolto, che evita di cercarlo nella mappa a ogni riga.
      */
-    private Team createTeamFromResultSet(ResultSet rs) throws SQLException {
-        String nomeTeam = rs.getString("Nome_team");
-        String titoloHackathon = rs.getString("Titolo_hackathon");
-        Integer punteggioFinale = rs.getObject("Punteggio_finale", Integer.class);
-        
-        // Per ora creiamo un Hackathon "placeholder" con solo il titolo
-        // In un'implementazione più completa, si dovrebbe recuperare l'oggetto Hackathon completo
-        Hackathon hackathon = createHackathonPlaceholder(titoloHackathon);
-        
-        Team team = new Team(hackathon, nomeTeam);
-        if (punteggioFinale != null) {
-            team.setVotoFinale(punteggioFinale);
-        }
-        
+    private static RowMapper<Team> teamDi(Hackathon hackathon) {
+        return new RowMapper<>(COLONNE, riga -> conPunteggio(MappaIdentita.team(hackathon, riga.getString(NOME_TEAM)), riga));
+    }
+
+    private static Team conPunteggio(Team team, RowMapper.Riga riga) throws SQLException {
+        Integer punteggioFinale = riga.getInteger(PUNTEGGIO_FINALE);
+        team.impostaVotoFinale(punteggioFinale != null ? punteggioFinale : 0);
         return team;
     }
     
     /**
-     * Crea un oggetto Hackathon placeholder con solo il titolo.
-     * Usa il costruttore di test di Hackathon.
+     * Restituisce l'hackathon canonico con i dati dell'evento, leggendolo una sola volta
+     * se finora era solo un riferimento: chi riceve i team di un hackathon ne usa
+     * le date e i limiti di iscrizione.
      */
-    private Hackathon createHackathonPlaceholder(String titolo) {
-        return new Hackathon(titolo);
+    private Hackathon getHackathonCompleto(String titoloHackathon) throws SQLException {
+        Hackathon hackathon = MappaIdentita.hackathon(titoloHackathon);
+        if (hackathon.isRiferimento()) {
+            Hackathon letto = hackathonDAO.getHackathonByTitolo(titoloHackathon);
+            if (letto != null) {
+                hackathon = letto;
+            }
+        }
+        return hackathon;
+    }
+
+    @Override
+    public EsitoBatch<Team> saveAll(List<Team> entities, int dimensioneChunk) throws SQLException {
+        String sql = "INSERT INTO TEAM (Nome_team, Titolo_hackathon, Punteggio_finale) VALUES (?, ?, ?)";
+
+        try {
+            return BatchWriter.esegui(database, sql, entities, dimensioneChunk, (stmt, team) -> {
+                stmt.setString(1, team.getNomeTeam());
+                stmt.setString(2, team.getHackathon().getTitoloIdentificativo());
+                stmt.setObject(3, team.getVotoFinale(), Types.INTEGER);
+            });
+        } finally {
+            // Dopo la scrittura: una classifica caricata prima non deve restare in memoria
+            entities.forEach(team -> MotoreClassifica.invalida(team.getHackathon().getTitoloIdentificativo()));
+            NotificheCache.pubblica(database, NotificheCache.Entita.TEAM,
+                    entities.stream().map(team -> team.getHackathon().getTitoloIdentificativo()).toList());
+        }
+    }
+
+    @Override
+    public EsitoBatch<Team> updateAll(List<Team> entities, int dimensioneChunk) throws SQLException {
+        String sql = "UPDATE TEAM SET Punteggio_finale = ? WHERE Nome_team = ? AND Titolo_hackathon = ?";
+
+        return BatchWriter.esegui(database, sql, entities, dimensioneChunk, (stmt, team) -> {
+            stmt.setObject(1, team.getVotoFinale(), Types.INTEGER);
+            stmt.setString(2, team.getNomeTeam());
+            stmt.setString(3, team.getHackathon().getTitoloIdentificativo());
+        });
+    }
+
+    @Override
+    public EsitoBatch<TeamKey> deleteAll(List<TeamKey> keys, int dimensioneChunk) throws SQLException {
+        String sql = "DELETE FROM TEAM WHERE Nome_team = ? AND Titolo_hackathon = ?";
+
+        try {
+            return BatchWriter.esegui(database, sql, keys, dimensioneChunk, (stmt, key) -> {
+                stmt.setString(1, key.getNomeTeam());
+                stmt.setString(2, key.getTitoloHackathon());
+            });
+        } finally {
+            // Dopo la scrittura, come in delete(): una lettura fatta prima non deve poter memorizzare le righe precedenti
+            keys.forEach(key -> {
+                MotoreClassifica.invalida(key.getTitoloHackathon());
+                CatalogoHackathon.invalida(key.getTitoloHackathon());
+                IscrittiHackathon.invalida(key.getTitoloHackathon());
+                IndiceDocumenti.invalida(key.getTitoloHackathon());
+                MappaIdentita.rimuoviTeam(key.getTitoloHackathon(), key.getNomeTeam());
+            });
+            NotificheCache.pubblica(database, NotificheCache.Entita.TEAM,
+                    keys.stream().map(TeamKey::getTitoloHackathon).toList());
+        }
     }
 }
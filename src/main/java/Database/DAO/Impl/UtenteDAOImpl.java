@@ -2,33 +2,47 @@ package Database.DAO.Impl;
 
 import Database.DAO.UtenteDAO;
 import Database.ConnessioneDatabase;
+import Database.DAO.EsitoBatch;
+import Database.DAO.Pagina;
 import model.Utente;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementazione dell'interfaccia UtenteDAO per la gestione degli utenti nel database PostgreSQL.
  */
 public class UtenteDAOImpl implements UtenteDAO {
+
+    private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+    private static final RowMapper.Colonna USERNAME = COLONNE.aggiungi("Username");
+    private static final RowMapper.Colonna PASSWORD = COLONNE.aggiungi("Password");
+
+    /**
+     * Mapper degli utenti, condiviso dai DAO che leggono le colonne Username e Password.
+     */
+    static final RowMapper<Utente> UTENTE = new RowMapper<>(COLONNE,
+            riga -> MappaIdentita.utente(riga.getString(USERNAME), riga.getString(PASSWORD)));
     
-    private Connection connection;
+    private final ConnessioneDatabase database;
     
     /**
-     * Costruttore che inizializza la connessione al database.
+     * Costruttore che inizializza l'accesso al pool di connessioni del database.
      * 
      * @throws SQLException Se si verifica un errore nella connessione
      */
     public UtenteDAOImpl() throws SQLException {
-        this.connection = ConnessioneDatabase.getInstance().connection;
+        this.database = ConnessioneDatabase.getInstance();
     }
 
     @Override
     public boolean save(Utente entity) throws SQLException {
         String sql = "INSERT INTO UTENTE (Username, Password) VALUES (?, ?)";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, entity.getName());
             stmt.setString(2, entity.getPassword());
             
@@ -43,11 +57,15 @@ public class UtenteDAOImpl implements UtenteDAO {
     public boolean update(Utente entity) throws SQLException {
         String sql = "UPDATE UTENTE SET Password = ? WHERE Username = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, entity.getPassword());
             stmt.setString(2, entity.getName());
             
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                NotificheCache.pubblica(connection, NotificheCache.Entita.UTENTE, null, entity.getName());
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             throw new SQLException("Errore durante l'aggiornamento dell'utente: " + e.getMessage(), e);
@@ -58,10 +76,13 @@ public class UtenteDAOImpl implements UtenteDAO {
     public boolean delete(String username) throws SQLException {
         String sql = "DELETE FROM UTENTE WHERE Username = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             
             int rowsAffected = stmt.executeUpdate();
+            MappaIdentita.rimuoviUtente(username);
+            NotificheCache.pubblica(connection, NotificheCache.Entita.UTENTE, null, username);
             return rowsAffected > 0;
         } catch (SQLException e) {
             throw new SQLException("Errore durante l'eliminazione dell'utente: " + e.getMessage(), e);
@@ -72,15 +93,14 @@ public class UtenteDAOImpl implements UtenteDAO {
     public Utente findByKey(String username) throws SQLException {
         String sql = "SELECT Username, Password FROM UTENTE WHERE Username = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return new Utente(
-                        rs.getString("Username"),
-                        rs.getString("Password")
-                    );
+                Utente utente = UTENTE.mappaPrima(rs);
+                if (utente != null) {
+                    return utente;
                 }
             }
         } catch (SQLException e) {
@@ -94,17 +114,12 @@ public class UtenteDAOImpl implements UtenteDAO {
         List<Utente> utenti = new ArrayList<>();
         String sql = "SELECT Username, Password FROM UTENTE ORDER BY Username";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()
         ) {
             
-            while (rs.next()) {
-                Utente utente = new Utente(
-                    rs.getString("Username"),
-                    rs.getString("Password")
-                );
-                utenti.add(utente);
-            }
+            utenti.addAll(UTENTE.mappaTutte(rs));
         } catch (SQLException e) {
             throw new SQLException("Errore durante il recupero di tutti gli utenti: " + e.getMessage(), e);
         }
@@ -112,6 +127,55 @@ public class UtenteDAOImpl implements UtenteDAO {
         return utenti;
     }
 
+    @Override
+    public Pagina<Utente> findAll(int dimensionePagina, String token) throws SQLException {
+        Pagina.verificaDimensione(dimensionePagina);
+        String[] chiave = token == null ? null : Pagina.decodificaToken(token, 1);
+
+        String sql = """
+                SELECT Username, Password
+                FROM UTENTE
+                %s
+                ORDER BY Username
+                LIMIT ?
+                """.formatted(chiave == null ? "" : "WHERE Username > ?");
+
+        List<Utente> utenti = new ArrayList<>();
+        String tokenSuccessivo = null;
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int indice = 1;
+            if (chiave != null) {
+                stmt.setString(indice++, chiave[0]);
+            }
+            // Una riga in più indica che esiste una pagina successiva
+            stmt.setInt(indice, dimensionePagina + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = UTENTE.riga(rs);
+                while (rs.next()) {
+                    if (utenti.size() == dimensionePagina) {
+                        tokenSuccessivo = Pagina.codificaToken(utenti.get(utenti.size() - 1).getName());
+                        break;
+                    }
+                    utenti.add(UTENTE.leggi(riga));
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante il recupero della pagina di utenti: " + e.getMessage(), e);
+        }
+
+        return new Pagina<>(utenti, tokenSuccessivo);
+    }
+
+    @Override
+    public Stream<Utente> streamAll(int fetchSize) throws SQLException {
+        String sql = "SELECT Username, Password FROM UTENTE ORDER BY Username";
+
+        return ResultSetStreams.stream(database, sql, stmt -> { }, fetchSize, UTENTE);
+    }
+
     @Override
     public Utente findByUsername(String username) throws SQLException {
         // Questo metodo è identico a findByKey, ma lo mantengo per chiarezza dell'interfaccia
@@ -122,16 +186,15 @@ public class UtenteDAOImpl implements UtenteDAO {
     public Utente login(String username, String password) throws SQLException {
         String sql = "SELECT Username, Password FROM UTENTE WHERE Username = ? AND Password = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
             stmt.setString(2, password);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return new Utente(
-                        rs.getString("Username"),
-                        rs.getString("Password")
-                    );
+                Utente utente = UTENTE.mappaPrima(rs);
+                if (utente != null) {
+                    return utente;
                 }
             }
         } catch (SQLException e) {
@@ -151,17 +214,12 @@ public class UtenteDAOImpl implements UtenteDAO {
             ORDER BY u.Username
         """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, String.valueOf(hackathonId));
             
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Utente utente = new Utente(
-                        rs.getString("Username"),
-                        rs.getString("Password")
-                    );
-                    utenti.add(utente);
-                }
+                utenti.addAll(UTENTE.mappaTutte(rs));
             }
         } catch (SQLException e) {
             throw new SQLException("Errore durante la ricerca degli utenti per hackathon: " + e.getMessage(), e);
@@ -169,4 +227,33 @@ public class UtenteDAOImpl implements UtenteDAO {
         
         return utenti;
     }
+
+    @Override
+    public EsitoBatch<Utente> saveAll(List<Utente> entities, int dimensioneChunk) throws SQLException {
+        String sql = "INSERT INTO UTENTE (Username, Password) VALUES (?, ?)";
+
+        return BatchWriter.esegui(database, sql, entities, dimensioneChunk, (stmt, utente) -> {
+            stmt.setString(1, utente.getName());
+            stmt.setString(2, utente.getPassword());
+        });
+    }
+
+    @Override
+    public EsitoBatch<Utente> updateAll(List<Utente> entities, int dimensioneChunk) throws SQLException {
+        String sql = "UPDATE UTENTE SET Password = ? WHERE Username = ?";
+
+        return BatchWriter.esegui(database, sql, entities, dimensioneChunk, (stmt, utente) -> {
+            stmt.setString(1, utente.getPassword());
+            stmt.setString(2, utente.getName());
+        });
+    }
+
+    @Override
+    public EsitoBatch<String> deleteAll(List<String> usernames, int dimensioneChunk) throws SQLException {
+        String sql = "DELETE FROM UTENTE WHERE Username = ?";
+
+        usernames.forEach(MappaIdentita::rimuoviUtente);
+        return BatchWriter.esegui(database, sql, usernames, dimensioneChunk,
+                (stmt, username) -> stmt.setString(1, username));
+    }
 }
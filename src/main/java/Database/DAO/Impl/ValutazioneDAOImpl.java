@@ -7,22 +7,30 @@ import model.Giudice;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Implementazione del DAO per la gestione delle valutazioni nel database PostgreSQL.
  */
 public class ValutazioneDAOImpl implements ValutazioneDAO {
 
-    private Connection connection;
+    private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+    private static final RowMapper.Colonna USERNAME_GIUDICE = COLONNE.aggiungi("Username_giudice");
+    private static final RowMapper.Colonna VALUTAZIONE_GIUDICE = COLONNE.aggiungi("Valutazione_giudice");
+    private static final RowMapper.Colonna ID_DOCUMENTO = COLONNE.aggiungi("ID_documento");
+
+
+    private final ConnessioneDatabase database;
 
     /**
-     * Costruttore che inizializza la connessione al database.
+     * Costruttore che inizializza l'accesso al pool di connessioni del database.
      *
      * @throws SQLException Se si verifica un errore nella connessione
      */
     public ValutazioneDAOImpl() throws SQLException {
-        this.connection = ConnessioneDatabase.getInstance().connection;
+        this.database = ConnessioneDatabase.getInstance();
     }
 
     @Override
@@ -34,7 +42,8 @@ public class ValutazioneDAOImpl implements ValutazioneDAO {
                 ) VALUES (?, ?, ?, ?, ?)
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, idDocumento);
             stmt.setString(2, valutazione.getGiudiceValutante().getName());
             stmt.setString(3, titoloHackathon);
@@ -51,42 +60,33 @@ public class ValutazioneDAOImpl implements ValutazioneDAO {
 
     @Override
     public boolean save(String valutazioneTestuale, int idDocumento, String usernameGiudice, String titoloHackathon) throws SQLException {
-        // Recupera il nome del team dal documento
-        String sqlTeam = """
-                SELECT Nome_team FROM DOCUMENTO WHERE ID_documento = ?
-                """;
-        
-        String nomeTeam = null;
-        try (PreparedStatement stmt = connection.prepareStatement(sqlTeam)) {
-            stmt.setInt(1, idDocumento);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    nomeTeam = rs.getString("Nome_team");
-                }
-            }
-        }
-        
-        if (nomeTeam == null) {
-            throw new SQLException("Documento non trovato con ID: " + idDocumento);
-        }
-        
+        // Il team valutato viene letto dal documento nella stessa istruzione dell'inserimento:
+        // un solo round trip, atomico senza bisogno di una transazione esplicita
         String sql = """
                 INSERT INTO VALUTAZIONE (
-                    ID_documento, Username_giudice, Titolo_hackathon, 
+                    ID_documento, Username_giudice, Titolo_hackathon,
                     Team_valutato, Valutazione_giudice
-                ) VALUES (?, ?, ?, ?, ?)
+                )
+                SELECT d.ID_documento, ?, ?, d.Nome_team, ?
+                FROM DOCUMENTO d
+                WHERE d.ID_documento = ?
+                RETURNING Team_valutato
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, idDocumento);
-            stmt.setString(2, usernameGiudice);
-            stmt.setString(3, titoloHackathon);
-            stmt.setString(4, nomeTeam);
-            stmt.setString(5, valutazioneTestuale);
-            
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
-            
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, usernameGiudice);
+            stmt.setString(2, titoloHackathon);
+            stmt.setString(3, valutazioneTestuale);
+            stmt.setInt(4, idDocumento);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Documento non trovato con ID: " + idDocumento);
+                }
+                return true;
+            }
+
         } catch (SQLException e) {
             throw new SQLException("Errore durante il salvataggio della valutazione: " + e.getMessage(), e);
         }
@@ -101,17 +101,19 @@ public class ValutazioneDAOImpl implements ValutazioneDAO {
                 WHERE v.ID_documento = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, idDocumento);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = COLONNE.riga(rs);
                 while (rs.next()) {
                     // Crea un oggetto Giudice semplificato per la valutazione
                     // Nota: creiamo un Giudice con password vuota per questo scopo
-                    Giudice giudice = new Giudice(rs.getString("Username_giudice"), "", null);
-                    
+                    Giudice giudice = new Giudice(riga.getString(USERNAME_GIUDICE), "", null);
+
                     // Crea la valutazione (senza documento per evitare riferimenti circolari)
-                    Valutazione valutazione = new Valutazione(null, giudice, rs.getString("Valutazione_giudice"));
+                    Valutazione valutazione = new Valutazione(null, giudice, riga.getString(VALUTAZIONE_GIUDICE));
                     valutazioni.add(valutazione);
                 }
             }
@@ -130,7 +132,8 @@ public class ValutazioneDAOImpl implements ValutazioneDAO {
                 WHERE Username_giudice = ? AND ID_documento = ? AND Titolo_hackathon = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, usernameGiudice);
             stmt.setInt(2, idDocumento);
             stmt.setString(3, titoloHackathon);
@@ -155,7 +158,8 @@ public class ValutazioneDAOImpl implements ValutazioneDAO {
                 WHERE Username_giudice = ? AND ID_documento = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, usernameGiudice);
             stmt.setInt(2, idDocumento);
             
@@ -171,6 +175,34 @@ public class ValutazioneDAOImpl implements ValutazioneDAO {
         return false;
     }
 
+    @Override
+    public Set<Integer> getDocumentiValutati(String usernameGiudice, String titoloHackathon) throws SQLException {
+        String sql = """
+                SELECT ID_documento
+                FROM VALUTAZIONE
+                WHERE Username_giudice = ? AND Titolo_hackathon = ?
+                """;
+
+        Set<Integer> documenti = new HashSet<>();
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, usernameGiudice);
+            stmt.setString(2, titoloHackathon);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = COLONNE.riga(rs);
+                while (rs.next()) {
+                    documenti.add(riga.getInt(ID_DOCUMENTO));
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante il recupero dei documenti valutati: " + e.getMessage(), e);
+        }
+        
+        return documenti;
+    }
+
     @Override
     public List<Valutazione> getValutazioniByGiudice(String usernameGiudice, String titoloHackathon) throws SQLException {
         List<Valutazione> valutazioni = new ArrayList<>();
@@ -180,17 +212,19 @@ public class ValutazioneDAOImpl implements ValutazioneDAO {
                 WHERE v.Username_giudice = ? AND v.Titolo_hackathon = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, usernameGiudice);
             stmt.setString(2, titoloHackathon);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = COLONNE.riga(rs);
                 while (rs.next()) {
                     // Crea un oggetto Giudice
                     Giudice giudice = new Giudice(usernameGiudice, "", null);
-                    
+
                     // Crea la valutazione
-                    Valutazione valutazione = new Valutazione(null, giudice, rs.getString("Valutazione_giudice"));
+                    Valutazione valutazione = new Valutazione(null, giudice, riga.getString(VALUTAZIONE_GIUDICE));
                     valutazioni.add(valutazione);
                 }
             }
@@ -3,6 +3,7 @@ package Database.DAO.Impl;
 import Database.ConnessioneDatabase;
 import Database.DAO.VotoDAO;
 import model.Giudice;
+import model.Hackathon;
 import model.Team;
 import model.Voto;
 
@@ -11,22 +12,30 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementazione del DAO per la gestione dei voti nel database PostgreSQL.
  */
 public class VotoDAOImpl implements VotoDAO {
 
-    private Connection connection;
+    private static final RowMapper.Colonne COLONNE = new RowMapper.Colonne();
+    private static final RowMapper.Colonna TEAM_VOTATO = COLONNE.aggiungi("Team_votato");
+    private static final RowMapper.Colonna USERNAME_GIUDICE = COLONNE.aggiungi("Username_giudice");
+    private static final RowMapper.Colonna PUNTEGGIO = COLONNE.aggiungi("Punteggio");
+
+
+    private final ConnessioneDatabase database;
 
     /**
-     * Costruttore che inizializza la connessione al database.
+     * Costruttore che inizializza l'accesso al pool di connessioni del database.
      *
      * @throws SQLException Se si verifica un errore nella connessione
      */
     public VotoDAOImpl() throws SQLException {
-        this.connection = ConnessioneDatabase.getInstance().connection;
+        this.database = ConnessioneDatabase.getInstance();
     }
 
     @Override
@@ -37,13 +46,18 @@ public class VotoDAOImpl implements VotoDAO {
                 ) VALUES (?, ?, ?, ?)
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, usernameGiudice);
             stmt.setString(2, titoloHackathon);
             stmt.setString(3, nomeTeam);
             stmt.setInt(4, punteggio);
             
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                MotoreClassifica.registraVoto(usernameGiudice, titoloHackathon, nomeTeam, punteggio);
+                NotificheCache.pubblica(connection, NotificheCache.Entita.VOTO, titoloHackathon, nomeTeam);
+            }
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -59,7 +73,8 @@ public class VotoDAOImpl implements VotoDAO {
                 WHERE Username_giudice = ? AND Titolo_hackathon = ? AND Team_votato = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, usernameGiudice);
             stmt.setString(2, titoloHackathon);
             stmt.setString(3, nomeTeam);
@@ -76,6 +91,34 @@ public class VotoDAOImpl implements VotoDAO {
         return false;
     }
 
+    @Override
+    public Map<String, Integer> getTeamVotati(String usernameGiudice, String titoloHackathon) throws SQLException {
+        String sql = """
+                SELECT Team_votato, Punteggio
+                FROM VOTO
+                WHERE Username_giudice = ? AND Titolo_hackathon = ?
+                """;
+
+        Map<String, Integer> teamVotati = new HashMap<>();
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, usernameGiudice);
+            stmt.setString(2, titoloHackathon);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = COLONNE.riga(rs);
+                while (rs.next()) {
+                    teamVotati.put(riga.getString(TEAM_VOTATO), riga.getInt(PUNTEGGIO));
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Errore durante il recupero dei team votati: " + e.getMessage(), e);
+        }
+        
+        return teamVotati;
+    }
+
     @Override
     public List<Voto> getVotiByGiudice(String usernameGiudice, String titoloHackathon) throws SQLException {
         List<Voto> voti = new ArrayList<>();
@@ -85,18 +128,18 @@ public class VotoDAOImpl implements VotoDAO {
                 WHERE v.Username_giudice = ? AND v.Titolo_hackathon = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, usernameGiudice);
             stmt.setString(2, titoloHackathon);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = COLONNE.riga(rs);
+                // Un solo giudice per tutti i voti e i team canonici della sessione
+                Giudice giudice = new Giudice(usernameGiudice, "", MappaIdentita.hackathon(titoloHackathon));
                 while (rs.next()) {
-                    // Crea oggetti semplificati per il voto
-                    Giudice giudice = new Giudice(usernameGiudice, "", null);
-                    Team team = new Team(rs.getString("Team_votato"));
-                    
-                    Voto voto = new Voto(team, giudice, rs.getInt("Punteggio"));
-                    voti.add(voto);
+                    Team team = MappaIdentita.team(titoloHackathon, riga.getString(TEAM_VOTATO));
+                    voti.add(Voto.registrato(team, giudice, riga.getInt(PUNTEGGIO)));
                 }
             }
         } catch (SQLException e) {
@@ -115,18 +158,19 @@ public class VotoDAOImpl implements VotoDAO {
                 WHERE v.Team_votato = ? AND v.Titolo_hackathon = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, nomeTeam);
             stmt.setString(2, titoloHackathon);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Riga riga = COLONNE.riga(rs);
+                // Un solo team canonico per tutti i voti; ogni riga è il voto di un giudice diverso
+                Hackathon hackathon = MappaIdentita.hackathon(titoloHackathon);
+                Team team = MappaIdentita.team(hackathon, nomeTeam);
                 while (rs.next()) {
-                    // Crea oggetti semplificati per il voto
-                    Giudice giudice = new Giudice(rs.getString("Username_giudice"), "", null);
-                    Team team = new Team(nomeTeam);
-                    
-                    Voto voto = new Voto(team, giudice, rs.getInt("Punteggio"));
-                    voti.add(voto);
+                    Giudice giudice = new Giudice(riga.getString(USERNAME_GIUDICE), "", hackathon);
+                    voti.add(Voto.registrato(team, giudice, riga.getInt(PUNTEGGIO)));
                 }
             }
         } catch (SQLException e) {
@@ -0,0 +1,47 @@
+package Database.DAO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+
+/**
+ * Interfaccia DAO per l'importazione massiva di partecipanti da file CSV.
+ * I file vengono caricati con il comando COPY di PostgreSQL in tabelle di appoggio
+ * e poi uniti alle tabelle definitive; le righe non valide vengono scartate
+ * e riportate nell'esito senza interrompere l'importazione.
+ *
+ * Tutti i file devono avere una riga di intestazione e le colonne nell'ordine indicato.
+ */
+public interface ImportazioneDAO {
+
+    /**
+     * Importa utenti da un CSV con colonne: username, password.
+     *
+     * @param csv Il contenuto del file CSV
+     * @return L'esito dell'importazione
+     * @throws SQLException Se si verifica un errore non legato alle singole righe
+     * @throws IOException Se si verifica un errore nella lettura del file
+     */
+    EsitoImportazione importaUtenti(Reader csv) throws SQLException, IOException;
+
+    /**
+     * Importa team da un CSV con colonne: nome_team, titolo_hackathon, punteggio_finale (opzionale).
+     *
+     * @param csv Il contenuto del file CSV
+     * @return L'esito dell'importazione
+     * @throws SQLException Se si verifica un errore non legato alle singole righe
+     * @throws IOException Se si verifica un errore nella lettura del file
+     */
+    EsitoImportazione importaTeam(Reader csv) throws SQLException, IOException;
+
+    /**
+     * Importa membership da un CSV con colonne: username, nome_team, titolo_hackathon,
+     * data_adesione (opzionale, formato AAAA-MM-GG, predefinita la data corrente).
+     *
+     * @param csv Il contenuto del file CSV
+     * @return L'esito dell'importazione
+     * @throws SQLException Se si verifica un errore non legato alle singole righe
+     * @throws IOException Se si verifica un errore nella lettura del file
+     */
+    EsitoImportazione importaMembership(Reader csv) throws SQLException, IOException;
+}
@@ -0,0 +1,48 @@
+package Database.DAO;
+
+import java.time.LocalDate;
+
+/**
+ * Hackathon di cui un utente è giudice, con le date dell'evento.
+ */
+public class IncaricoGiudice {
+
+    private final String titoloHackathon;
+    private final String sede;
+    private final LocalDate dataInizio;
+    private final LocalDate dataFine;
+
+    /**
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param sede La sede dell'evento
+     * @param dataInizio La data di inizio dell'evento
+     * @param dataFine La data di fine dell'evento
+     */
+    public IncaricoGiudice(String titoloHackathon, String sede, LocalDate dataInizio, LocalDate dataFine) {
+        this.titoloHackathon = titoloHackathon;
+        this.sede = sede;
+        this.dataInizio = dataInizio;
+        this.dataFine = dataFine;
+    }
+
+    public String getTitoloHackathon() {
+        return titoloHackathon;
+    }
+
+    public String getSede() {
+        return sede;
+    }
+
+    public LocalDate getDataInizio() {
+        return dataInizio;
+    }
+
+    public LocalDate getDataFine() {
+        return dataFine;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s - %s (%s - %s)", titoloHackathon, sede, dataInizio, dataFine);
+    }
+}
@@ -46,13 +46,33 @@ public interface InvitoGiudiceDAO {
      */
     List<String> getHackathonAsGiudice(String username) throws SQLException;
     
+    /**
+     * Recupera tutte le hackathon di cui un utente è giudice, con sede e date dell'evento.
+     *
+     * @param username Il nome utente
+     * @return Lista degli incarichi, dal più recente
+     * @throws SQLException Se si verifica un errore durante l'operazione
+     */
+    List<IncaricoGiudice> getIncarichiGiudice(String username) throws SQLException;
+    
+    /**
+     * Verifica con un'unica query se le date di un hackathon si sovrappongono
+     * a quelle di un evento di cui l'utente è già giudice.
+     *
+     * @param username Il nome utente
+     * @param titoloHackathon Il titolo dell'hackathon candidato
+     * @return true se esiste almeno un conflitto di date
+     * @throws SQLException Se l'hackathon non esiste o si verifica un errore durante l'operazione
+     */
+    boolean hasConflittoDate(String username, String titoloHackathon) throws SQLException;
+    
     /**
      * Crea un nuovo invito a giudice.
      *
      * @param username Il nome utente da invitare
      * @param titoloHackathon Il titolo dell'hackathon
-     * @return true se l'invito è stato creato con successo, false altrimenti
-     * @throws SQLException Se si verifica un errore durante l'operazione
+     * @return true se l'invito è stato creato, false se l'utente era già stato invitato
+     * @throws SQLException Se l'hackathon non esiste o si verifica un errore durante l'operazione
      */
     boolean creaInvito(String username, String titoloHackathon) throws SQLException;
     
@@ -62,9 +82,22 @@ public interface InvitoGiudiceDAO {
      * @param usernameOrganizzatore Il nome utente dell'organizzatore che invia l'invito
      * @param username Il nome utente da invitare
      * @param titoloHackathon Il titolo dell'hackathon
-     * @return true se l'invito è stato creato con successo, false altrimenti
-     * @throws SQLException Se si verifica un errore durante l'operazione
+     * @return true se l'invito è stato creato, false se l'utente era già stato invitato
+     * @throws SQLException Se l'hackathon non esiste o si verifica un errore durante l'operazione
      * @throws SecurityException Se l'organizzatore non è autorizzato per questo hackathon
      */
     boolean creaInvitoConVerifica(String usernameOrganizzatore, String username, String titoloHackathon) throws SQLException, SecurityException;
+
+    /**
+     * Invita più utenti come giudici di un hackathon con un'unica istruzione,
+     * verificando l'autorizzazione dell'organizzatore. Gli utenti già invitati sono ignorati.
+     *
+     * @param usernameOrganizzatore Il nome utente dell'organizzatore che invia gli inviti
+     * @param usernames I nomi utente da invitare
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return I nomi utente per cui è stato effettivamente creato un invito
+     * @throws SQLException Se l'hackathon non esiste o si verifica un errore durante l'operazione
+     * @throws SecurityException Se l'organizzatore non è autorizzato per questo hackathon
+     */
+    List<String> creaInviti(String usernameOrganizzatore, List<String> usernames, String titoloHackathon) throws SQLException, SecurityException;
 }
@@ -11,6 +11,39 @@ import java.util.List;
  * Non utilizza un modello Membership specifico, ma gestisce direttamente i dati.
  */
 public interface MembershipDAO {
+
+    /**
+     * Riga della tabella MEMBERSHIP, usata per le operazioni batch.
+     */
+    public static class Membership {
+        private final String username;
+        private final String nomeTeam;
+        private final String titoloHackathon;
+        private final LocalDate dataAdesione;
+
+        public Membership(String username, String nomeTeam, String titoloHackathon, LocalDate dataAdesione) {
+            this.username = username;
+            this.nomeTeam = nomeTeam;
+            this.titoloHackathon = titoloHackathon;
+            this.dataAdesione = dataAdesione;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getNomeTeam() {
+            return nomeTeam;
+        }
+
+        public String getTitoloHackathon() {
+            return titoloHackathon;
+        }
+
+        public LocalDate getDataAdesione() {
+            return dataAdesione;
+        }
+    }
     
     /**
      * Aggiunge un utente a un team (crea una nuova membership).
@@ -102,4 +135,16 @@ public interface MembershipDAO {
      * @throws SQLException Se si verifica un errore durante l'operazione
      */
     Team getTeamForUserAndHackathon(String username, String titoloHackathon) throws SQLException;
+    
+    /**
+     * Aggiunge più utenti ai rispettivi team in modalità batch.
+     * Una membership non valida (ad esempio rifiutata da un vincolo o da un trigger)
+     * non interrompe l'inserimento delle altre: l'esito di ogni riga è riportato nel risultato.
+     *
+     * @param memberships Le membership da creare
+     * @param dimensioneChunk Numero di righe per blocco
+     * @return L'esito di ogni membership
+     * @throws SQLException Se si verifica un errore non legato alle singole righe
+     */
+    EsitoBatch<Membership> addUsersToTeams(List<Membership> memberships, int dimensioneChunk) throws SQLException;
 }
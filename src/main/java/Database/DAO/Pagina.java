@@ -0,0 +1,99 @@
+package Database.DAO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pagina di risultati di una query paginata con keyset (seek) pagination.
+ *
+ * Invece di un OFFSET, la pagina successiva viene richiesta passando il token di continuazione,
+ * che codifica la chiave di ordinamento dell'ultimo elemento restituito: la query riparte
+ * direttamente da quel punto dell'indice, quindi le pagine profonde costano quanto la prima.
+ * Il token è opaco per il chiamante e va solo ripassato al DAO.
+ *
+ * @param <T> Il tipo degli elementi della pagina
+ */
+public class Pagina<T> {
+
+    private static final String SEPARATORE = "\u001F";
+
+    private final List<T> elementi;
+    private final String tokenSuccessivo;
+
+    /**
+     * @param elementi Gli elementi della pagina
+     * @param tokenSuccessivo Il token per la pagina successiva, null se questa è l'ultima
+     */
+    public Pagina(List<T> elementi, String tokenSuccessivo) {
+        this.elementi = Collections.unmodifiableList(new ArrayList<>(elementi));
+        this.tokenSuccessivo = tokenSuccessivo;
+    }
+
+    /**
+     * @return Gli elementi della pagina
+     */
+    public List<T> getElementi() {
+        return elementi;
+    }
+
+    /**
+     * @return Il token da passare per ottenere la pagina successiva, null se non ci sono altre pagine
+     */
+    public String getTokenSuccessivo() {
+        return tokenSuccessivo;
+    }
+
+    /**
+     * @return true se esistono altre pagine dopo questa
+     */
+    public boolean haPaginaSuccessiva() {
+        return tokenSuccessivo != null;
+    }
+
+    /**
+     * Codifica i valori della chiave di ordinamento in un token opaco.
+     *
+     * @param valori I valori della chiave dell'ultimo elemento della pagina
+     * @return Il token di continuazione
+     */
+    public static String codificaToken(String... valori) {
+        String chiave = String.join(SEPARATORE, valori);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(chiave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token di continuazione.
+     *
+     * @param token Il token ricevuto dal chiamante
+     * @param numeroValori Il numero di valori attesi nella chiave
+     * @return I valori della chiave
+     * @throws IllegalArgumentException Se il token non è valido
+     */
+    public static String[] decodificaToken(String token, int numeroValori) {
+        try {
+            String chiave = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] valori = chiave.split(SEPARATORE, -1);
+            if (valori.length != numeroValori) {
+                throw new IllegalArgumentException("Token di paginazione non valido");
+            }
+            return valori;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Token di paginazione non valido", e);
+        }
+    }
+
+    /**
+     * Verifica la dimensione di pagina richiesta.
+     *
+     * @param dimensione Il numero massimo di elementi per pagina
+     * @throws IllegalArgumentException Se la dimensione non è positiva
+     */
+    public static void verificaDimensione(int dimensione) {
+        if (dimensione <= 0) {
+            throw new IllegalArgumentException("La dimensione della pagina deve essere positiva");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package Database.DAO;
+
+/**
+ * Riga della classifica di un hackathon.
+ *
+ * I team sono ordinati per punteggio totale (somma dei voti dei giudici); a parità di punteggio
+ * precede il team con il voto singolo più alto. Se anche questo coincide i team sono ex aequo
+ * e condividono la stessa posizione, mentre l'ordine di visualizzazione segue il nome del team.
+ */
+public class RigaClassifica {
+
+    private final int posizione;
+    private final String nomeTeam;
+    private final int punteggio;
+    private final int numeroVoti;
+    private final int votoMassimo;
+    private final boolean exAequo;
+
+    /**
+     * @param posizione La posizione in classifica, a partire da 1
+     * @param nomeTeam Il nome del team
+     * @param punteggio La somma dei voti ricevuti
+     * @param numeroVoti Il numero di voti ricevuti
+     * @param votoMassimo Il voto singolo più alto ricevuto, usato per lo spareggio
+     * @param exAequo true se almeno un altro team condivide la stessa posizione
+     */
+    public RigaClassifica(int posizione, String nomeTeam, int punteggio, int numeroVoti,
+                          int votoMassimo, boolean exAequo) {
+        this.posizione = posizione;
+        this.nomeTeam = nomeTeam;
+        this.punteggio = punteggio;
+        this.numeroVoti = numeroVoti;
+        this.votoMassimo = votoMassimo;
+        this.exAequo = exAequo;
+    }
+
+    public int getPosizione() {
+        return posizione;
+    }
+
+    public String getNomeTeam() {
+        return nomeTeam;
+    }
+
+    public int getPunteggio() {
+        return punteggio;
+    }
+
+    public int getNumeroVoti() {
+        return numeroVoti;
+    }
+
+    public int getVotoMassimo() {
+        return votoMassimo;
+    }
+
+    public boolean isExAequo() {
+        return exAequo;
+    }
+
+    /**
+     * @return La media dei voti ricevuti, 0 se il team non ha ancora voti
+     */
+    public double getMedia() {
+        return numeroVoti == 0 ? 0 : (double) punteggio / numeroVoti;
+    }
+
+    @Override
+    public String toString() {
+        return posizione + " " + nomeTeam + " " + punteggio;
+    }
+}
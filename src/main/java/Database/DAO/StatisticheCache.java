@@ -0,0 +1,69 @@
+package Database.DAO;
+
+/**
+ * Istantanea delle statistiche di una cache dei DAO.
+ */
+public class StatisticheCache {
+
+    private final String nome;
+    private final long successi;
+    private final long mancati;
+    private final long invalidazioni;
+    private final long sfratti;
+    private final int dimensione;
+
+    /**
+     * @param nome Il nome della cache
+     * @param successi Le letture servite dalla cache
+     * @param mancati Le letture che hanno richiesto il database
+     * @param invalidazioni Le invalidazioni dovute a scritture
+     * @param sfratti Le voci rimosse per il limite di dimensione
+     * @param dimensione Il numero di voci attualmente in cache
+     */
+    public StatisticheCache(String nome, long successi, long mancati, long invalidazioni, long sfratti, int dimensione) {
+        this.nome = nome;
+        this.successi = successi;
+        this.mancati = mancati;
+        this.invalidazioni = invalidazioni;
+        this.sfratti = sfratti;
+        this.dimensione = dimensione;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public long getSuccessi() {
+        return successi;
+    }
+
+    public long getMancati() {
+        return mancati;
+    }
+
+    public long getInvalidazioni() {
+        return invalidazioni;
+    }
+
+    public long getSfratti() {
+        return sfratti;
+    }
+
+    public int getDimensione() {
+        return dimensione;
+    }
+
+    /**
+     * @return La frazione di letture servite dalla cache, tra 0 e 1; 0 se non ci sono state letture
+     */
+    public double getTassoSuccesso() {
+        long letture = successi + mancati;
+        return letture == 0 ? 0 : (double) successi / letture;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d voci, %.1f%% successi (%d/%d), %d invalidazioni, %d sfratti",
+                nome, dimensione, getTassoSuccesso() * 100, successi, successi + mancati, invalidazioni, sfratti);
+    }
+}
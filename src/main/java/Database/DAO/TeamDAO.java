@@ -48,6 +48,64 @@ public interface TeamDAO extends GenericDAO<Team, TeamDAO.TeamKey> {
         }
     }
     
+    /**
+     * Istantanea di un team con i suoi membri, usata per mostrare le liste di team
+     * senza ulteriori accessi al database.
+     */
+    public static class RosterTeam {
+        private final String nomeTeam;
+        private final String titoloHackathon;
+        private final int punteggioFinale;
+        private final List<String> membri;
+
+        public RosterTeam(String nomeTeam, String titoloHackathon, int punteggioFinale, List<String> membri) {
+            this.nomeTeam = nomeTeam;
+            this.titoloHackathon = titoloHackathon;
+            this.punteggioFinale = punteggioFinale;
+            this.membri = List.copyOf(membri);
+        }
+
+        public String getNomeTeam() {
+            return nomeTeam;
+        }
+
+        public String getTitoloHackathon() {
+            return titoloHackathon;
+        }
+
+        /**
+         * @return Il punteggio finale, 0 se non ancora assegnato
+         */
+        public int getPunteggioFinale() {
+            return punteggioFinale;
+        }
+
+        /**
+         * @return Gli username dei membri in ordine alfabetico
+         */
+        public List<String> getMembri() {
+            return membri;
+        }
+
+        public int getNumeroMembri() {
+            return membri.size();
+        }
+
+        @Override
+        public String toString() {
+            return nomeTeam;
+        }
+    }
+
+    /**
+     * Recupera tutti i team di un hackathon con punteggio e membri in un'unica query aggregata.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return L'istantanea dei team ordinata per nome
+     * @throws SQLException Se si verifica un errore durante l'operazione
+     */
+    List<RosterTeam> getRosterByHackathon(String titoloHackathon) throws SQLException;
+
     /**
      * Trova tutti i team partecipanti a un determinato hackathon.
      *
@@ -56,6 +114,18 @@ public interface TeamDAO extends GenericDAO<Team, TeamDAO.TeamKey> {
      * @throws SQLException Se si verifica un errore durante l'operazione
      */
     List<Team> findByHackathon(String titoloHackathon) throws SQLException;
+
+    /**
+     * Recupera una pagina dei team di un hackathon, ordinati per nome.
+     * La paginazione è a keyset su Nome_team.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param dimensionePagina Il numero massimo di team nella pagina
+     * @param token Il token restituito dalla pagina precedente, null per la prima pagina
+     * @return La pagina di team
+     * @throws SQLException Se si verifica un errore durante l'operazione
+     */
+    Pagina<Team> findByHackathon(String titoloHackathon, int dimensionePagina, String token) throws SQLException;
     
     /**
      * Trova il team a cui appartiene un determinato utente per un hackathon specifico.
@@ -98,6 +168,19 @@ public interface TeamDAO extends GenericDAO<Team, TeamDAO.TeamKey> {
      */
     boolean updatePunteggioFinale(String nomeTeam, String titoloHackathon, int punteggioFinale) throws SQLException;
     
+    /**
+     * Cerca i team di un hackathon con il nome più simile al testo, tollerando errori di battitura
+     * (somiglianza a trigrammi di pg_trgm). I nomi che contengono il testo sono sempre trovati.
+     * Se pg_trgm non è installata vengono trovati solo questi, in ordine alfabetico.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon in cui cercare
+     * @param testo Il testo cercato
+     * @param limite Il numero massimo di risultati
+     * @return I team trovati, dal più simile; vuota se il testo è vuoto
+     * @throws SQLException Se si verifica un errore durante l'accesso al database
+     */
+    List<Team> cercaTeamSimili(String titoloHackathon, String testo, int limite) throws SQLException;
+
     /**
      * Cerca team il cui nome contiene il testo specificato (ricerca LIKE).
      * 
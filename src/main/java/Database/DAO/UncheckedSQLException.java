@@ -0,0 +1,26 @@
+package Database.DAO;
+
+import java.sql.SQLException;
+
+/**
+ * Eccezione non controllata che avvolge una SQLException.
+ * Viene lanciata dagli Stream restituiti dai DAO, che non possono propagare eccezioni controllate
+ * durante la lettura delle righe.
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    /**
+     * @param cause La SQLException originale
+     */
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    /**
+     * @return La SQLException originale
+     */
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -28,6 +28,17 @@ public interface UtenteDAO extends GenericDAO<Utente, String> {
      * @throws SQLException Se si verifica un errore durante l'operazione
      */
     Utente login(String username, String password) throws SQLException;
+
+    /**
+     * Recupera una pagina di utenti ordinati per username.
+     * La paginazione è a keyset su Username.
+     *
+     * @param dimensionePagina Il numero massimo di utenti nella pagina
+     * @param token Il token restituito dalla pagina precedente, null per la prima pagina
+     * @return La pagina di utenti
+     * @throws SQLException Se si verifica un errore durante l'operazione
+     */
+    Pagina<Utente> findAll(int dimensionePagina, String token) throws SQLException;
     
     /**
      * Trova tutti gli utenti che partecipano a un determinato hackathon.
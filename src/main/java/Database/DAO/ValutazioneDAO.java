@@ -3,6 +3,7 @@ package Database.DAO;
 import model.Valutazione;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Interfaccia DAO per la gestione delle valutazioni dei documenti.
@@ -63,6 +64,16 @@ public interface ValutazioneDAO {
      */
     boolean hasGiudiceValutatoDocumento(String usernameGiudice, int idDocumento) throws SQLException;
     
+    /**
+     * Recupera in un'unica query gli ID dei documenti di un hackathon già valutati da un giudice.
+     *
+     * @param usernameGiudice Username del giudice
+     * @param titoloHackathon Titolo dell'hackathon
+     * @return Insieme modificabile degli ID dei documenti valutati
+     * @throws SQLException Se si verifica un errore durante l'operazione
+     */
+    Set<Integer> getDocumentiValutati(String usernameGiudice, String titoloHackathon) throws SQLException;
+    
     /**
      * Recupera tutte le valutazioni effettuate da un giudice per un hackathon.
      *
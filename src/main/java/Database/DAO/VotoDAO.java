@@ -4,6 +4,7 @@ import model.Voto;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaccia DAO per la gestione dei voti nel database.
@@ -33,6 +34,16 @@ public interface VotoDAO {
      */
     boolean hasGiudiceVotatoTeam(String usernameGiudice, String titoloHackathon, String nomeTeam) throws SQLException;
     
+    /**
+     * Recupera in un'unica query i team di un hackathon già votati da un giudice.
+     *
+     * @param usernameGiudice Username del giudice
+     * @param titoloHackathon Titolo dell'hackathon
+     * @return Mappa modificabile dal nome del team al punteggio assegnato
+     * @throws SQLException Se si verifica un errore durante l'operazione
+     */
+    Map<String, Integer> getTeamVotati(String usernameGiudice, String titoloHackathon) throws SQLException;
+    
     /**
      * Recupera tutti i voti di un giudice per un hackathon.
      *
@@ -0,0 +1,64 @@
+package Database;
+
+import java.sql.SQLException;
+
+/**
+ * Template per eseguire più operazioni dei DAO in un'unica transazione.
+ * Se il callback termina normalmente la transazione viene confermata con un solo commit,
+ * se lancia un'eccezione viene annullata: non restano scritture a metà.
+ *
+ * Se il thread corrente ha già una transazione attiva, il callback partecipa a quella
+ * e il commit resta a carico di chi l'ha aperta.
+ *
+ * Esempio:
+ * <pre>
+ *     TransactionTemplate.esegui(tx -&gt; {
+ *         teamDAO.save(team);
+ *         return membershipDAO.addUserToTeam(...);
+ *     });
+ * </pre>
+ */
+public final class TransactionTemplate {
+
+    /**
+     * Operazione da eseguire all'interno di una transazione.
+     *
+     * @param <T> Il tipo del risultato
+     */
+    @FunctionalInterface
+    public interface TransactionCallback<T> {
+
+        /**
+         * Esegue le operazioni della transazione.
+         *
+         * @param tx La transazione attiva, utile per creare savepoint
+         * @return Il risultato delle operazioni
+         * @throws SQLException Se un'operazione fallisce (la transazione viene annullata)
+         */
+        T esegui(Transazione tx) throws SQLException;
+    }
+
+    private TransactionTemplate() {
+    }
+
+    /**
+     * Esegue il callback in una transazione, confermandola o annullandola automaticamente.
+     *
+     * @param callback Le operazioni da eseguire
+     * @param <T> Il tipo del risultato
+     * @return Il risultato restituito dal callback
+     * @throws SQLException Se una delle operazioni o il commit falliscono
+     */
+    public static <T> T esegui(TransactionCallback<T> callback) throws SQLException {
+        Transazione esistente = Transazione.corrente();
+        if (esistente != null) {
+            return callback.esegui(esistente);
+        }
+
+        try (Transazione tx = ConnessioneDatabase.getInstance().iniziaTransazione()) {
+            T risultato = callback.esegui(tx);
+            tx.commit();
+            return risultato;
+        }
+    }
+}
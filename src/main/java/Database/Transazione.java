@@ -0,0 +1,240 @@
+package Database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transazione esplicita su una singola connessione del pool.
+ * Finché la transazione è aperta, la connessione è associata al thread corrente:
+ * tutte le operazioni dei DAO eseguite dallo stesso thread (tramite
+ * {@link ConnessioneDatabase#getConnection()}) partecipano alla stessa transazione
+ * e vengono confermate con un unico commit.
+ *
+ * Uso tipico:
+ * <pre>
+ *     try (Transazione tx = ConnessioneDatabase.getInstance().iniziaTransazione()) {
+ *         teamDAO.save(team);
+ *         membershipDAO.addUserToTeam(...);
+ *         tx.commit();
+ *     } // se commit() non è stato chiamato, close() esegue il rollback
+ * </pre>
+ *
+ * Per i casi più comuni è preferibile {@link TransactionTemplate}.
+ *
+ * Le azioni registrate con {@link #dopoCommit(Runnable)} vengono eseguite dopo il commit,
+ * quando le modifiche sono visibili agli altri thread, e scartate in caso di rollback.
+ */
+public class Transazione implements AutoCloseable {
+
+    private static final ThreadLocal<Transazione> CORRENTE = new ThreadLocal<>();
+
+    private final Connection connection;
+    private final Connection connessioneCondivisa;
+    private final List<Runnable> azioniDopoCommit = new ArrayList<>();
+    private boolean attiva = true;
+
+    /**
+     * Apre la transazione sulla connessione fornita e la associa al thread corrente.
+     *
+     * @param connection Connessione presa in prestito dal pool
+     * @throws SQLException Se non è possibile disattivare l'auto-commit
+     */
+    Transazione(Connection connection) throws SQLException {
+        if (CORRENTE.get() != null) {
+            throw new IllegalStateException("Esiste già una transazione attiva per questo thread");
+        }
+        this.connection = connection;
+        this.connection.setAutoCommit(false);
+        this.connessioneCondivisa = creaConnessioneCondivisa(connection);
+        CORRENTE.set(this);
+    }
+
+    /**
+     * @return La transazione attiva per il thread corrente, null se non ce n'è una
+     */
+    public static Transazione corrente() {
+        return CORRENTE.get();
+    }
+
+    /**
+     * Registra un'azione da eseguire dopo il commit, ad esempio l'invalidazione di una cache
+     * condivisa: prima del commit un altro thread potrebbe memorizzare di nuovo i dati precedenti.
+     * Se la transazione viene annullata l'azione non viene eseguita.
+     *
+     * @param azione L'azione da eseguire
+     */
+    public void dopoCommit(Runnable azione) {
+        verificaAttiva();
+        azioniDopoCommit.add(azione);
+    }
+
+    /**
+     * Restituisce la connessione della transazione per l'uso nei DAO.
+     * La chiusura di questa connessione non ha effetto: viene rilasciata alla fine della transazione.
+     *
+     * @return La connessione condivisa della transazione
+     */
+    public Connection getConnection() {
+        verificaAttiva();
+        return connessioneCondivisa;
+    }
+
+    /**
+     * Conferma tutte le operazioni eseguite nella transazione e la chiude.
+     *
+     * @throws SQLException Se il commit non va a buon fine
+     */
+    public void commit() throws SQLException {
+        verificaAttiva();
+        boolean confermata = false;
+        try {
+            connection.commit();
+            confermata = true;
+        } finally {
+            try {
+                termina();
+            } finally {
+                if (confermata) {
+                    eseguiAzioniDopoCommit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Annulla tutte le operazioni eseguite nella transazione e la chiude.
+     *
+     * @throws SQLException Se il rollback non va a buon fine
+     */
+    public void rollback() throws SQLException {
+        verificaAttiva();
+        azioniDopoCommit.clear();
+        try {
+            connection.rollback();
+        } finally {
+            termina();
+        }
+    }
+
+    /**
+     * Crea un savepoint all'interno della transazione.
+     *
+     * @param nome Il nome del savepoint
+     * @return Il savepoint creato
+     * @throws SQLException Se non è possibile creare il savepoint
+     */
+    public Savepoint creaSavepoint(String nome) throws SQLException {
+        verificaAttiva();
+        return connection.setSavepoint(nome);
+    }
+
+    /**
+     * Annulla le operazioni eseguite dopo il savepoint indicato, lasciando aperta la transazione.
+     *
+     * @param savepoint Il savepoint a cui tornare
+     * @throws SQLException Se il rollback parziale non va a buon fine
+     */
+    public void rollbackASavepoint(Savepoint savepoint) throws SQLException {
+        verificaAttiva();
+        connection.rollback(savepoint);
+    }
+
+    /**
+     * Rilascia un savepoint non più necessario.
+     *
+     * @param savepoint Il savepoint da rilasciare
+     * @throws SQLException Se il rilascio non va a buon fine
+     */
+    public void rilasciaSavepoint(Savepoint savepoint) throws SQLException {
+        verificaAttiva();
+        connection.releaseSavepoint(savepoint);
+    }
+
+    /**
+     * @return true se la transazione non è ancora stata confermata o annullata
+     */
+    public boolean isAttiva() {
+        return attiva;
+    }
+
+    /**
+     * Chiude la transazione: se non è stata confermata viene annullata.
+     *
+     * @throws SQLException Se il rollback non va a buon fine
+     */
+    @Override
+    public void close() throws SQLException {
+        if (attiva) {
+            rollback();
+        }
+    }
+
+    private void verificaAttiva() {
+        if (!attiva) {
+            throw new IllegalStateException("La transazione è già stata chiusa");
+        }
+    }
+
+    private void eseguiAzioniDopoCommit() {
+        for (Runnable azione : azioniDopoCommit) {
+            try {
+                azione.run();
+            } catch (RuntimeException e) {
+                // Il commit è già avvenuto: un'azione fallita non deve impedire le successive
+                System.err.println("Errore durante un'azione successiva al commit: " + e.getMessage());
+            }
+        }
+        azioniDopoCommit.clear();
+    }
+
+    /**
+     * Dissocia la transazione dal thread e restituisce la connessione al pool.
+     */
+    private void termina() throws SQLException {
+        attiva = false;
+        if (CORRENTE.get() == this) {
+            CORRENTE.remove();
+        }
+        connection.close();
+    }
+
+    /**
+     * Crea un proxy della connessione il cui close() non ha effetto,
+     * così che i DAO possano usare il normale try-with-resources.
+     */
+    private static Connection creaConnessioneCondivisa(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            return null;
+                        case "commit":
+                        case "rollback":
+                        case "setAutoCommit":
+                            if (args == null || args.length == 0 || !(args[0] instanceof Savepoint)) {
+                                throw new SQLException(
+                                        "Il controllo della transazione spetta alla Transazione, non al DAO");
+                            }
+                            break;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,203 @@
+package controller;
+
+import Database.DAO.Impl.NotificheCache;
+import Database.DAO.UtenteDAO;
+import model.Utente;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Elenco degli utenti condiviso da tutta l'applicazione.
+ *
+ * Gli utenti sono cercati per username solo quando servono, invece di leggere all'avvio
+ * l'intera tabella UTENTE. Gli ultimi utenti usati restano in una cache di dimensione
+ * limitata, così che la memoria occupata non cresca con il numero di utenti registrati.
+ *
+ * Il DAO degli utenti è ottenuto da {@link Servizi} al primo utilizzo. Se il database
+ * non è raggiungibile la directory funziona in modalità offline: conosce solo gli utenti
+ * registrati durante la sessione.
+ *
+ * Gli utenti modificati o eliminati da altri client vengono dimenticati alla ricezione
+ * della relativa notifica ({@link NotificheCache}).
+ */
+public class DirectoryUtenti {
+
+    /**
+     * Numero massimo di utenti tenuti in cache.
+     */
+    static final int DIMENSIONE_CACHE = 256;
+
+    private static DirectoryUtenti istanza;
+
+    private final Map<String, Utente> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Utente> eldest) {
+            return size() > DIMENSIONE_CACHE;
+        }
+    };
+    private final List<Utente> utentiOffline = new ArrayList<>();
+
+    private DirectoryUtenti() {
+        NotificheCache.aggiungiAscoltatore((entita, titoloHackathon, username) -> {
+            if (entita == NotificheCache.Entita.UTENTE) {
+                invalida(username);
+            } else if (entita == NotificheCache.Entita.TUTTO) {
+                synchronized (cache) {
+                    cache.clear();
+                }
+            }
+        });
+    }
+
+    /**
+     * @return L'unica istanza della directory, creata al primo utilizzo
+     */
+    public static synchronized DirectoryUtenti getInstance() {
+        if (istanza == null) {
+            istanza = new DirectoryUtenti();
+        }
+        return istanza;
+    }
+
+    /**
+     * @return true se la directory è collegata al database
+     */
+    public boolean isDisponibile() {
+        return Servizi.utenteDAO() != null;
+    }
+
+    /**
+     * Cerca un utente per username, prima nella cache e poi nel database.
+     *
+     * @param username Lo username dell'utente
+     * @return L'utente, null se non esiste
+     * @throws SQLException Se la lettura dal database fallisce
+     */
+    public Utente trova(String username) throws SQLException {
+        synchronized (cache) {
+            Utente utente = cache.get(username);
+            if (utente != null) {
+                return utente;
+            }
+        }
+        UtenteDAO utenteDAO = Servizi.utenteDAO();
+        if (utenteDAO == null) {
+            return trovaOffline(username);
+        }
+        Utente utente = utenteDAO.findByUsername(username);
+        if (utente != null) {
+            ricorda(utente);
+        }
+        return utente;
+    }
+
+    /**
+     * Verifica le credenziali sul database e ricorda l'utente autenticato.
+     * Le credenziali non sono mai verificate sulla cache, che potrebbe contenere
+     * una password cambiata nel frattempo da un altro client.
+     *
+     * @param username Lo username
+     * @param password La password
+     * @return L'utente autenticato, null se le credenziali non sono valide
+     * @throws SQLException Se la verifica sul database fallisce
+     */
+    public Utente login(String username, String password) throws SQLException {
+        UtenteDAO utenteDAO = Servizi.utenteDAO();
+        if (utenteDAO == null) {
+            Utente utente = trovaOffline(username);
+            return utente != null && utente.getLogin(password) ? utente : null;
+        }
+        Utente utente = utenteDAO.login(username, password);
+        if (utente != null) {
+            ricorda(utente);
+        }
+        return utente;
+    }
+
+    /**
+     * Registra un nuovo utente: lo salva nel database, oppure solo in memoria in modalità offline.
+     *
+     * @param utente L'utente da registrare
+     * @return true se l'utente è stato salvato
+     * @throws SQLException Se il salvataggio fallisce
+     */
+    public boolean registra(Utente utente) throws SQLException {
+        UtenteDAO utenteDAO = Servizi.utenteDAO();
+        if (utenteDAO == null) {
+            synchronized (utentiOffline) {
+                utentiOffline.add(utente);
+            }
+            return true;
+        }
+        boolean salvato = utenteDAO.save(utente);
+        if (salvato) {
+            ricorda(utente);
+        }
+        return salvato;
+    }
+
+    /**
+     * Dimentica un utente, ad esempio dopo una modifica o un'eliminazione.
+     *
+     * @param username Lo username dell'utente
+     */
+    public void invalida(String username) {
+        synchronized (cache) {
+            cache.remove(username);
+        }
+    }
+
+    /**
+     * Verifica se esiste almeno un utente registrato, leggendo al più una riga.
+     *
+     * @return true se c'è almeno un utente
+     * @throws SQLException Se la lettura dal database fallisce
+     */
+    public boolean hasUtenti() throws SQLException {
+        UtenteDAO utenteDAO = Servizi.utenteDAO();
+        if (utenteDAO == null) {
+            synchronized (utentiOffline) {
+                return !utentiOffline.isEmpty();
+            }
+        }
+        return !utenteDAO.findAll(1, null).getElementi().isEmpty();
+    }
+
+    /**
+     * Legge l'elenco completo degli utenti. L'elenco non viene tenuto in memoria:
+     * va usato solo per le viste che mostrano davvero tutti gli utenti.
+     *
+     * @return Tutti gli utenti, in ordine di username
+     * @throws SQLException Se la lettura dal database fallisce
+     */
+    public List<Utente> elencoCompleto() throws SQLException {
+        UtenteDAO utenteDAO = Servizi.utenteDAO();
+        if (utenteDAO == null) {
+            synchronized (utentiOffline) {
+                return new ArrayList<>(utentiOffline);
+            }
+        }
+        return utenteDAO.findAll();
+    }
+
+    private void ricorda(Utente utente) {
+        synchronized (cache) {
+            cache.put(utente.getName(), utente);
+        }
+    }
+
+    private Utente trovaOffline(String username) {
+        synchronized (utentiOffline) {
+            for (Utente utente : utentiOffline) {
+                if (utente.getName().equals(username)) {
+                    return utente;
+                }
+            }
+        }
+        return null;
+    }
+}
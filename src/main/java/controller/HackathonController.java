@@ -8,15 +8,21 @@ import java.sql.SQLException;
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import Database.DAO.Impl.OrganizzatoreDAOImpl;
-import Database.DAO.Impl.HackathonDAOImpl;
-import Database.DAO.Impl.UtenteDAOImpl;
-import Database.DAO.Impl.InvitoGiudiceDAOImpl;
-import Database.DAO.Impl.DocumentoDAOImpl;
-import Database.DAO.Impl.MembershipDAOImpl;
-import Database.DAO.Impl.VotoDAOImpl;
-import Database.DAO.Impl.ValutazioneDAOImpl;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import Database.DAO.Async.AsyncDAO;
+import Database.DAO.Async.SqlFunction;
+import Database.DAO.Classifica;
+import Database.DAO.DocumentHeader;
+import Database.DAO.DocumentoTrovato;
+import Database.DAO.HackathonSummary;
+import Database.DAO.IncaricoGiudice;
+import Database.DAO.Pagina;
+import Database.DAO.TeamDAO;
 
 /**
  * La classe HackathonController è il controller principale dell'applicazione.
@@ -31,99 +37,87 @@ import Database.DAO.Impl.ValutazioneDAOImpl;
 public class HackathonController extends UserController {
 
     /**
-     * Controller specializzato per la gestione dei team.
+     * Numero massimo di documenti restituiti da una ricerca.
      */
-    private TeamController teamController;
+    static final int RISULTATI_RICERCA_DOCUMENTI = 200;
 
     /**
-     * Lista degli organizzatori gestiti dal controller.
+     * Numero massimo di team o hackathon restituiti da una ricerca per nome.
      */
-    ArrayList<Organizzatore> listaOrganizzatori;
+    static final int RISULTATI_RICERCA_NOMI = 20;
 
     /**
-     * DAO per l'accesso agli organizzatori nel database.
-     * Può essere utilizzato per operazioni di login e gestione degli organizzatori.
-     */
-    private OrganizzatoreDAOImpl organizzatoreDAO;
-
-    /**
-     * DAO per l'accesso agli hackathon nel database.
-     * Utilizzato per operazioni CRUD sugli hackathon.
-     */
-    private HackathonDAOImpl hackathonDAO;
-
-    /**
-     * DAO per l'accesso agli utenti nel database.
-     */
-    private UtenteDAOImpl utenteDAO;
-
-    /**
-     * DAO per l'accesso agli inviti giudice nel database.
+     * Controller specializzato per la gestione dei team.
      */
-    private InvitoGiudiceDAOImpl invitoGiudiceDAO;
+    private TeamController teamController;
 
     /**
-     * DAO per l'accesso ai documenti nel database.
+     * Organizzatori registrati durante la sessione in modalità offline.
      */
-    private DocumentoDAOImpl documentoDAO;
+    private final ArrayList<Organizzatore> organizzatoriOffline = new ArrayList<>();
 
     /**
-     * DAO per l'accesso alle membership nel database.
+     * Facciata asincrona del controller, usata dalle viste per non bloccare l'Event Dispatch Thread.
      */
-    private MembershipDAOImpl membershipDAO;
+    private final AsyncDAO<HackathonController> asincrono;
 
     /**
-     * DAO per l'accesso ai voti nel database.
+     * Costruttore della classe HackathonController.
+     * Non apre connessioni: i DAO vengono creati al primo utilizzo tramite {@link Servizi}.
      */
-    private VotoDAOImpl votoDAO;
+    public HackathonController() {
+        // Inizializza il controller per i team
+        teamController = new TeamController();
+        asincrono = new AsyncDAO<>(this);
+    }
 
     /**
-     * DAO per l'accesso alle valutazioni nel database.
+     * Esegue un'operazione del controller su un thread virtuale tramite {@link AsyncDAO},
+     * con il suo timeout e l'annullamento delle query se il future viene cancellato.
+     * Il risultato va usato sull'Event Dispatch Thread, ad esempio con
+     * {@code whenCompleteAsync(azione, SwingUtilities::invokeLater)}.
+     *
+     * @param operazione L'operazione da eseguire, ad esempio {@code c -> c.getRosterHackathon(titolo)}
+     * @param <T> Il tipo del risultato
+     * @return Il future con il risultato dell'operazione
      */
-    private ValutazioneDAOImpl valutazioneDAO;
+    public <T> CompletableFuture<T> inBackground(SqlFunction<HackathonController, T> operazione) {
+        return asincrono.submit(operazione);
+    }
 
     /**
-     * Costruttore della classe HackathonController.
-     * Inizializza la lista degli organizzatori, le DAO e i controller specializzati.
+     * Recupera la lista degli organizzatori, letta dal database al momento della richiesta.
+     * In modalità offline restituisce gli organizzatori registrati durante la sessione.
+     *
+     * @return Un ArrayList di oggetti Organizzatore.
      */
-    public HackathonController() {
-        listaOrganizzatori = new ArrayList<>();
-        
-        // Inizializza il controller per i team
-        teamController = new TeamController();
-        
-        try {
-            organizzatoreDAO = new OrganizzatoreDAOImpl();
-            hackathonDAO = new HackathonDAOImpl();
-            utenteDAO = new UtenteDAOImpl();
-            invitoGiudiceDAO = new InvitoGiudiceDAOImpl();
-            documentoDAO = new DocumentoDAOImpl();
-            membershipDAO = new MembershipDAOImpl();
-            votoDAO = new VotoDAOImpl();
-            valutazioneDAO = new ValutazioneDAOImpl();
-            
-            // Carica tutti gli organizzatori dal database all'avvio
-            listaOrganizzatori.addAll(organizzatoreDAO.findAll());
-            System.out.println("HackathonController inizializzato con " + listaOrganizzatori.size() + " organizzatori dal database.");
-        } catch (SQLException e) {
-            System.err.println("Errore durante l'inizializzazione del HackathonController: " + e.getMessage());
-            organizzatoreDAO = null; // Modalità offline
+    public ArrayList<Organizzatore> getListaOrganizzatori() {
+        if (Servizi.organizzatoreDAO() != null) {
             try {
-                hackathonDAO = new HackathonDAOImpl();
-            } catch (SQLException ex) {
-                System.err.println("Errore critico nell'inizializzazione HackathonDAO: " + ex.getMessage());
-                hackathonDAO = null;
+                return new ArrayList<>(Servizi.organizzatoreDAO().findAll());
+            } catch (SQLException e) {
+                System.err.println("Errore durante il recupero degli organizzatori: " + e.getMessage());
             }
         }
+        return new ArrayList<>(organizzatoriOffline);
     }
 
     /**
-     * Recupera la lista degli organizzatori gestiti dal controller.
+     * Cerca gli hackathon per titolo, tollerando errori di battitura.
      *
-     * @return Un ArrayList di oggetti Organizzatore.
+     * @param testo Il testo cercato
+     * @return Al più {@value #RISULTATI_RICERCA_NOMI} hackathon, dal più simile; vuota in caso di errore
      */
-    public ArrayList<Organizzatore> getListaOrganizzatori() {
-        return listaOrganizzatori;
+    public List<Hackathon> cercaHackathon(String testo) {
+        if (Servizi.hackathonDAO() == null) {
+            return new ArrayList<>();
+        }
+        try {
+            return Servizi.hackathonDAO().cercaHackathonSimili(testo, RISULTATI_RICERCA_NOMI);
+        } catch (SQLException e) {
+            System.err.println("Errore nella ricerca degli hackathon: " + e.getMessage());
+            return new ArrayList<>();
+        }
     }
 
     /**
@@ -135,9 +129,9 @@ public class HackathonController extends UserController {
         ArrayList<Hackathon> hList = new ArrayList<>();
 
         // Prova prima a recuperare gli hackathon dal database
-        if (hackathonDAO != null) {
+        if (Servizi.hackathonDAO() != null) {
             try {
-                hList.addAll(hackathonDAO.getAllHackathon());
+                hList.addAll(Servizi.hackathonDAO().getAllHackathon());
                 return hList;
             } catch (SQLException e) {
                 System.err.println("Errore durante il recupero degli hackathon dal database: " + e.getMessage());
@@ -146,7 +140,7 @@ public class HackathonController extends UserController {
         }
 
         // Fallback: recupera gli hackathon dagli oggetti organizzatore in memoria
-        for (Organizzatore o : listaOrganizzatori) {
+        for (Organizzatore o : organizzatoriOffline) {
             hList.addAll(o.getHackathonOrganizzate());
         }
         return hList;
@@ -165,10 +159,9 @@ public class HackathonController extends UserController {
             Organizzatore nuovoOrganizzatore = new Organizzatore(username, password);
             
             // Salva nel database se disponibile
-            if (organizzatoreDAO != null) {
-                boolean salvato = organizzatoreDAO.save(nuovoOrganizzatore);
+            if (Servizi.organizzatoreDAO() != null) {
+                boolean salvato = Servizi.organizzatoreDAO().save(nuovoOrganizzatore);
                 if (salvato) {
-                    listaOrganizzatori.add(nuovoOrganizzatore);
                     System.out.println("Organizzatore salvato nel database: " + username);
                     javax.swing.JOptionPane.showMessageDialog(null, 
                         "Organizzatore creato e salvato con successo nel database!", 
@@ -179,7 +172,7 @@ public class HackathonController extends UserController {
                 }
             } else {
                 // Modalità offline - salva solo in memoria
-                listaOrganizzatori.add(nuovoOrganizzatore);
+                organizzatoriOffline.add(nuovoOrganizzatore);
                 System.out.println("Organizzatore salvato solo in memoria (modalità offline): " + username);
                 javax.swing.JOptionPane.showMessageDialog(null, 
                     "Organizzatore creato in modalità offline (database non disponibile)", 
@@ -203,11 +196,11 @@ public class HackathonController extends UserController {
      */
     public Organizzatore loginOrganizzatore(String username, String password) {
         try {
-            if (organizzatoreDAO != null) {
-                return organizzatoreDAO.login(username, password);
+            if (Servizi.organizzatoreDAO() != null) {
+                return Servizi.organizzatoreDAO().login(username, password);
             } else {
                 // Modalità offline
-                for (Organizzatore o : listaOrganizzatori) {
+                for (Organizzatore o : organizzatoriOffline) {
                     if (o.getName().equals(username) && o.getLogin(password)) {
                         return o;
                     }
@@ -216,7 +209,7 @@ public class HackathonController extends UserController {
         } catch (SQLException e) {
             System.err.println("Errore durante il login: " + e.getMessage());
             // Fallback alla verifica locale
-            for (Organizzatore o : listaOrganizzatori) {
+            for (Organizzatore o : organizzatoriOffline) {
                 try {
                     if (o.getName().equals(username) && o.getLogin(password)) {
                         return o;
@@ -286,7 +279,7 @@ public class HackathonController extends UserController {
                                 LocalDateTime dataInizioEvento, LocalDateTime dataFineEvento,
                                 String descrizioneProblema, int maxNumIscritti, int maxNumMembriTeam) {
 
-        if (hackathonDAO == null) {
+        if (Servizi.hackathonDAO() == null) {
             return CreazioneHackathonRisultato.ERRORE_DAO_NON_DISPONIBILE;
         }
 
@@ -304,7 +297,7 @@ public class HackathonController extends UserController {
                 descrizioneProblema            
             );
 
-            boolean risultato = hackathonDAO.creaHackathon(hackathon);
+            boolean risultato = Servizi.hackathonDAO().creaHackathon(hackathon);
             
             if (risultato) {
                 System.out.println("✅ Hackathon '" + titoloIdentificativo + "' salvato.");
@@ -354,7 +347,7 @@ public class HackathonController extends UserController {
                                 LocalDateTime dataInizioEvento, LocalDateTime dataFineEvento,
                                 String descrizioneProblema, int maxNumIscritti, int maxNumMembriTeam) throws SQLException {
 
-        if (hackathonDAO == null) {
+        if (Servizi.hackathonDAO() == null) {
             throw new SQLException("DAO non disponibile. Impossibile creare l'hackathon.");
         }
 
@@ -375,7 +368,7 @@ public class HackathonController extends UserController {
             );
 
             // Salva nel database PostgreSQL tramite DAO
-            boolean risultato = hackathonDAO.creaHackathon(hackathon);
+            boolean risultato = Servizi.hackathonDAO().creaHackathon(hackathon);
 
             if (risultato) {
                 System.out.println("✅ Hackathon '" + titoloIdentificativo + "' salvato.");
@@ -401,17 +394,52 @@ public class HackathonController extends UserController {
      */
     public List<Hackathon> getHackathonDiOrganizzatore(Organizzatore organizzatore) {
         try {
-            if (hackathonDAO == null) {
+            if (Servizi.hackathonDAO() == null) {
                 System.err.println("DAO non disponibile.");
                 return new ArrayList<>();
             }
-            return hackathonDAO.getHackathonByOrganizzatore(organizzatore.getName());
+            return Servizi.hackathonDAO().getHackathonByOrganizzatore(organizzatore.getName());
         } catch (SQLException e) {
             System.err.println("Errore nel recupero degli hackathon: " + e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    /**
+     * Recupera il riepilogo degli hackathon di un organizzatore, senza le descrizioni.
+     * Da usare per le liste; la descrizione si ottiene con {@link #getDescrizioneHackathon(String)}.
+     *
+     * @param organizzatore L'organizzatore di cui recuperare gli hackathon
+     * @return Lista dei riepiloghi degli hackathon dell'organizzatore
+     */
+    public List<HackathonSummary> getRiepiloghiHackathonDiOrganizzatore(Organizzatore organizzatore) {
+        try {
+            if (Servizi.hackathonDAO() == null) {
+                System.err.println("DAO non disponibile.");
+                return new ArrayList<>();
+            }
+            return Servizi.hackathonDAO().getRiepiloghiByOrganizzatore(organizzatore.getName());
+        } catch (SQLException e) {
+            System.err.println("Errore nel recupero dei riepiloghi degli hackathon: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Recupera la descrizione del problema di un hackathon.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return La descrizione, null se non disponibile
+     */
+    public String getDescrizioneHackathon(String titoloHackathon) {
+        try {
+            return Servizi.hackathonDAO().getDescrizioneProblema(titoloHackathon);
+        } catch (SQLException e) {
+            System.err.println("Errore nel recupero della descrizione dell'hackathon: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Recupera tutti gli hackathon disponibili dal database.
      *
@@ -419,11 +447,11 @@ public class HackathonController extends UserController {
      */
     public List<Hackathon> getTuttiGliHackathon() {
         try {
-            if (hackathonDAO == null) {
+            if (Servizi.hackathonDAO() == null) {
                 System.err.println("DAO non disponibile.");
                 return new ArrayList<>();
             }
-            return hackathonDAO.getAllHackathon();
+            return Servizi.hackathonDAO().getAllHackathon();
         } catch (SQLException e) {
             System.err.println("Errore nel recupero di tutti gli hackathon: " + e.getMessage());
             return new ArrayList<>();
@@ -437,11 +465,11 @@ public class HackathonController extends UserController {
      */
     public List<Hackathon> getHackathonConRegistrazioniAperte() {
         try {
-            if (hackathonDAO == null) {
+            if (Servizi.hackathonDAO() == null) {
                 System.err.println("DAO non disponibile.");
                 return new ArrayList<>();
             }
-            return hackathonDAO.getHackathonConRegistrazioniAperte();
+            return Servizi.hackathonDAO().getHackathonConRegistrazioniAperte();
         } catch (SQLException e) {
             System.err.println("Errore nel recupero degli hackathon con registrazioni aperte: " + e.getMessage());
             return new ArrayList<>();
@@ -456,11 +484,11 @@ public class HackathonController extends UserController {
      */
     public Hackathon getHackathonPerTitolo(String titoloIdentificativo) {
         try {
-            if (hackathonDAO == null) {
+            if (Servizi.hackathonDAO() == null) {
                 System.err.println("DAO non disponibile.");
                 return null;
             }
-            return hackathonDAO.getHackathonByTitolo(titoloIdentificativo);
+            return Servizi.hackathonDAO().getHackathonByTitolo(titoloIdentificativo);
         } catch (SQLException e) {
             System.err.println("Errore nel recupero dell'hackathon: " + e.getMessage());
             return null;
@@ -476,7 +504,7 @@ public class HackathonController extends UserController {
      */
     public List<Utente> getTuttiUtenti() {
         try {
-            return utenteDAO.findAll();
+            return Servizi.utenteDAO().findAll();
         } catch (SQLException e) {
             System.err.println("Errore nel recupero degli utenti: " + e.getMessage());
             return new ArrayList<>();
@@ -495,13 +523,30 @@ public class HackathonController extends UserController {
      */
     public boolean invitaGiudice(String hackathonTitolo, String giudiceUsername, Organizzatore organizzatore) {
         try {
-            return invitoGiudiceDAO.creaInvitoConVerifica(organizzatore.getName(), giudiceUsername, hackathonTitolo);
+            return Servizi.invitoGiudiceDAO().creaInvitoConVerifica(organizzatore.getName(), giudiceUsername, hackathonTitolo);
         } catch (SQLException | SecurityException e) {
             System.err.println("Errore nell'invio dell'invito: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Invia in un'unica operazione gli inviti a più giudici per un hackathon.
+     *
+     * @param hackathonTitolo Il titolo dell'hackathon
+     * @param giudiciUsername I nomi utente dei giudici da invitare
+     * @param organizzatore L'organizzatore che invia gli inviti
+     * @return I nomi utente effettivamente invitati, esclusi quelli già invitati; lista vuota in caso di errore
+     */
+    public List<String> invitaGiudici(String hackathonTitolo, List<String> giudiciUsername, Organizzatore organizzatore) {
+        try {
+            return Servizi.invitoGiudiceDAO().creaInviti(organizzatore.getName(), giudiciUsername, hackathonTitolo);
+        } catch (SQLException | SecurityException e) {
+            System.err.println("Errore nell'invio degli inviti: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
     /**
      * Verifica se un utente ha inviti come giudice.
      *
@@ -510,7 +555,7 @@ public class HackathonController extends UserController {
      */
     public boolean hasInvitiGiudice(Utente utente) {
         try {
-            List<String> inviti = invitoGiudiceDAO.getInvitiByUser(utente.getName());
+            List<String> inviti = Servizi.invitoGiudiceDAO().getInvitiByUser(utente.getName());
             return !inviti.isEmpty();
         } catch (SQLException e) {
             System.err.println("Errore nella verifica degli inviti: " + e.getMessage());
@@ -526,7 +571,7 @@ public class HackathonController extends UserController {
      */
     public List<String> getInvitiGiudice(String username) {
         try {
-            return invitoGiudiceDAO.getInvitiByUser(username);
+            return Servizi.invitoGiudiceDAO().getInvitiByUser(username);
         } catch (SQLException e) {
             System.err.println("Errore nel recupero degli inviti: " + e.getMessage());
             return new ArrayList<>();
@@ -543,13 +588,97 @@ public class HackathonController extends UserController {
      */
     public List<Documento> getDocumentiHackathon(String titoloHackathon) {
         try {
-            return documentoDAO.getDocumentiByHackathon(titoloHackathon);
+            return Servizi.documentoDAO().getDocumentiByHackathon(titoloHackathon);
+        } catch (SQLException e) {
+            System.err.println("Errore nel recupero dei documenti: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Recupera le intestazioni dei documenti di un hackathon, senza il contenuto.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return Lista delle intestazioni dei documenti
+     */
+    public List<DocumentHeader> getIntestazioniDocumentiHackathon(String titoloHackathon) {
+        try {
+            return Servizi.documentoDAO().getIntestazioniByHackathon(titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nel recupero dei documenti: " + e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    /**
+     * Cerca i documenti di un hackathon per parole del titolo e del contenuto, in ordine di rilevanza.
+     * La prima ricerca su un hackathon ne costruisce l'indice; con un testo vuoto l'indice viene
+     * soltanto preparato, così che le ricerche successive rispondano subito.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param testo Il testo cercato
+     * @return Le intestazioni dei documenti trovati, dal più rilevante
+     */
+    public List<DocumentHeader> cercaDocumentiHackathon(String titoloHackathon, String testo) {
+        try {
+            return Servizi.documentoDAO().cercaDocumenti(titoloHackathon, testo, RISULTATI_RICERCA_DOCUMENTI);
+        } catch (SQLException e) {
+            System.err.println("Errore nella ricerca dei documenti: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Cerca i documenti di un hackathon con la ricerca testuale del database, senza scaricarne il contenuto.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param nomeTeam Il nome del team a cui limitare la ricerca, null per tutti i team
+     * @param testo Il testo cercato
+     * @param dimensionePagina Il numero massimo di risultati
+     * @param token Il token della pagina precedente, null per la prima pagina
+     * @return La pagina di risultati con gli estratti evidenziati; vuota in caso di errore
+     */
+    public Pagina<DocumentoTrovato> cercaDocumentiNelDatabase(String titoloHackathon, String nomeTeam, String testo,
+                                                             int dimensionePagina, String token) {
+        try {
+            return Servizi.documentoDAO().cercaDocumentiTestoCompleto(titoloHackathon, nomeTeam, testo, dimensionePagina, token);
+        } catch (SQLException e) {
+            System.err.println("Errore nella ricerca dei documenti: " + e.getMessage());
+            return new Pagina<>(new ArrayList<>(), null);
+        }
+    }
+
+    /**
+     * Recupera le intestazioni dei documenti di un team, senza il contenuto.
+     *
+     * @param nomeTeam Il nome del team
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return Lista delle intestazioni dei documenti del team
+     */
+    public List<DocumentHeader> getIntestazioniDocumentiTeam(String nomeTeam, String titoloHackathon) {
+        try {
+            return Servizi.documentoDAO().getIntestazioniByTeam(nomeTeam, titoloHackathon);
+        } catch (SQLException e) {
+            System.err.println("Errore nel recupero documenti del team: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Recupera un documento completo di contenuto, da usare quando il documento viene aperto.
+     *
+     * @param idDocumento L'ID del documento
+     * @return Il documento, null se non esiste o in caso di errore
+     */
+    public Documento getDocumento(int idDocumento) {
+        try {
+            return Servizi.documentoDAO().findById(idDocumento);
+        } catch (SQLException e) {
+            System.err.println("Errore nel recupero del documento: " + e.getMessage());
+            return null;
+        }
+    }
+
     // ===== METODI PER GESTIONE MEMBERSHIP =====
 
     /**
@@ -560,7 +689,7 @@ public class HackathonController extends UserController {
      */
     public List<String> getNomiTeamHackathon(String titoloHackathon) {
         try {
-            return membershipDAO.getTeamsForHackathon(titoloHackathon);
+            return Servizi.membershipDAO().getTeamsForHackathon(titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nel recupero dei team: " + e.getMessage());
             return new ArrayList<>();
@@ -576,7 +705,7 @@ public class HackathonController extends UserController {
      */
     public List<Utente> getMembriTeam(String nomeTeam, String titoloHackathon) {
         try {
-            return membershipDAO.getTeamMembers(nomeTeam, titoloHackathon);
+            return Servizi.membershipDAO().getTeamMembers(nomeTeam, titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nel recupero dei membri: " + e.getMessage());
             return new ArrayList<>();
@@ -596,7 +725,7 @@ public class HackathonController extends UserController {
      */
     public boolean assegnaVotoFinale(String titoloHackathon, String nomeTeam, int votoFinale, Utente giudice) {
         try {
-            return votoDAO.save(giudice.getName(), titoloHackathon, nomeTeam, votoFinale);
+            return Servizi.votoDAO().save(giudice.getName(), titoloHackathon, nomeTeam, votoFinale);
         } catch (SQLException e) {
             System.err.println("Errore nell'assegnazione del voto: " + e.getMessage());
             // Lancia un'eccezione con messaggio tradotto per l'utente
@@ -618,7 +747,7 @@ public class HackathonController extends UserController {
      */
     public boolean salvaValutazione(Valutazione valutazione, int idDocumento, String nomeTeam, String titoloHackathon) {
         try {
-            return valutazioneDAO.save(valutazione, idDocumento, nomeTeam, titoloHackathon);
+            return Servizi.valutazioneDAO().save(valutazione, idDocumento, nomeTeam, titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nel salvataggio della valutazione: " + e.getMessage());
             return false;
@@ -636,7 +765,7 @@ public class HackathonController extends UserController {
      */
     public boolean salvaValutazioneTestuale(String valutazioneTestuale, int idDocumento, String usernameGiudice, String titoloHackathon) {
         try {
-            return valutazioneDAO.save(valutazioneTestuale, idDocumento, usernameGiudice, titoloHackathon);
+            return Servizi.valutazioneDAO().save(valutazioneTestuale, idDocumento, usernameGiudice, titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nel salvataggio della valutazione: " + e.getMessage());
             return false;
@@ -651,18 +780,39 @@ public class HackathonController extends UserController {
      * @return true se il giudice ha già valutato il documento, false altrimenti
      */
     public boolean hasGiudiceValutatoDocumento(String usernameGiudice, int idDocumento) {
-        if (valutazioneDAO == null) {
+        if (Servizi.valutazioneDAO() == null) {
             return false;
         }
         
         try {
-            return valutazioneDAO.hasGiudiceValutatoDocumento(usernameGiudice, idDocumento);
+            return Servizi.valutazioneDAO().hasGiudiceValutatoDocumento(usernameGiudice, idDocumento);
         } catch (SQLException e) {
             System.err.println("Errore durante il controllo della valutazione: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Recupera gli ID dei documenti di un hackathon già valutati da un giudice.
+     * Pensato per essere caricato una volta dall'interfaccia del giudice e aggiornato localmente.
+     * 
+     * @param usernameGiudice Il nome utente del giudice
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return Insieme modificabile degli ID dei documenti valutati, vuoto in caso di errore
+     */
+    public Set<Integer> getDocumentiValutatiDaGiudice(String usernameGiudice, String titoloHackathon) {
+        if (Servizi.valutazioneDAO() == null) {
+            return new HashSet<>();
+        }
+        
+        try {
+            return Servizi.valutazioneDAO().getDocumentiValutati(usernameGiudice, titoloHackathon);
+        } catch (SQLException e) {
+            System.err.println("Errore durante il recupero dei documenti valutati: " + e.getMessage());
+            return new HashSet<>();
+        }
+    }
+
     // ===== METODI AGGIUNTIVI PER GESTIONE INVITI =====
 
     /**
@@ -684,7 +834,7 @@ public class HackathonController extends UserController {
      */
     public AccettazioneInvitoRisultato accettaInvitoDettagliato(String username, String titoloHackathon) {
         try {
-            boolean risultato = invitoGiudiceDAO.accettaInvito(username, titoloHackathon);
+            boolean risultato = Servizi.invitoGiudiceDAO().accettaInvito(username, titoloHackathon);
             return risultato ? AccettazioneInvitoRisultato.SUCCESSO : AccettazioneInvitoRisultato.ERRORE_GENERICO;
         } catch (SQLException e) {
             String errorMessage = e.getMessage();
@@ -720,48 +870,19 @@ public class HackathonController extends UserController {
      */
     public boolean puoAccettareInvito(String username, String titoloHackathon) {
         try {
-            // Ottieni le date dell'hackathon corrente
-            Hackathon hackathonCorrente = getHackathonPerTitolo(titoloHackathon);
-            if (hackathonCorrente == null) {
+            // Un'unica query, indipendente dal numero di eventi di cui l'utente è giudice
+            if (Servizi.invitoGiudiceDAO().hasConflittoDate(username, titoloHackathon)) {
+                System.out.println("⚠️ Conflitto rilevato: " + username + 
+                                 " è già giudice per un hackathon con date sovrapposte a '" + titoloHackathon + "'");
                 return false;
             }
             
-            // Ottieni tutti gli hackathon per cui l'utente è già giudice
-            List<String> hackathonAsGiudice = getHackathonAsGiudice(username);
-            
-            // Verifica sovrapposizioni con gli hackathon esistenti
-            for (String hackathonTitolo : hackathonAsGiudice) {
-                Hackathon hackathonEsistente = getHackathonPerTitolo(hackathonTitolo);
-                if (hackathonEsistente != null) {
-                    // Controlla sovrapposizione date
-                    if (dateSiSovrappongono(hackathonCorrente, hackathonEsistente)) {
-                        System.out.println("⚠️ Conflitto rilevato: " + username + 
-                                         " è già giudice per '" + hackathonTitolo + 
-                                         "' con date sovrapposte a '" + titoloHackathon + "'");
-                        return false;
-                    }
-                }
-            }
-            
             return true;
         } catch (Exception e) {
             System.err.println("Errore nella verifica dell'invito: " + e.getMessage());
             return false;
         }
     }
-    
-    /**
-     * Verifica se due hackathon hanno date sovrapposte.
-     *
-     * @param hackathon1 Primo hackathon
-     * @param hackathon2 Secondo hackathon
-     * @return true se le date si sovrappongono, false altrimenti
-     */
-    private boolean dateSiSovrappongono(Hackathon hackathon1, Hackathon hackathon2) {
-        // Un hackathon inizia prima che l'altro finisca E finisce dopo che l'altro inizia
-        return hackathon1.getDataInizio().isBefore(hackathon2.getDataFine()) &&
-               hackathon1.getDataFine().isAfter(hackathon2.getDataInizio());
-    }
 
     /**
      * Accetta un invito per un hackathon (versione legacy).
@@ -831,7 +952,7 @@ public class HackathonController extends UserController {
      */
     public boolean rifiutaInvito(String username, String titoloHackathon) {
         try {
-            return invitoGiudiceDAO.rifiutaInvito(username, titoloHackathon);
+            return Servizi.invitoGiudiceDAO().rifiutaInvito(username, titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nel rifiuto dell'invito: " + e.getMessage());
             return false;
@@ -846,7 +967,22 @@ public class HackathonController extends UserController {
      */
     public List<String> getHackathonAsGiudice(String username) {
         try {
-            return invitoGiudiceDAO.getHackathonAsGiudice(username);
+            return Servizi.invitoGiudiceDAO().getHackathonAsGiudice(username);
+        } catch (SQLException e) {
+            System.err.println("Errore nel recupero degli hackathon come giudice: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Recupera gli hackathon per cui un utente è giudice, con sede e date dell'evento.
+     *
+     * @param username Il nome utente del giudice
+     * @return Lista degli incarichi dell'utente
+     */
+    public List<IncaricoGiudice> getIncarichiGiudice(String username) {
+        try {
+            return Servizi.invitoGiudiceDAO().getIncarichiGiudice(username);
         } catch (SQLException e) {
             System.err.println("Errore nel recupero degli hackathon come giudice: " + e.getMessage());
             return new ArrayList<>();
@@ -861,7 +997,7 @@ public class HackathonController extends UserController {
      */
     public boolean salvaDocumento(Documento documento) {
         try {
-            return documentoDAO.save(documento);
+            return Servizi.documentoDAO().save(documento);
         } catch (SQLException e) {
             System.err.println("Errore nel salvataggio del documento: " + e.getMessage());
             return false;
@@ -869,17 +1005,49 @@ public class HackathonController extends UserController {
     }
 
     /**
-     * Genera la classifica finale di un hackathon.
+     * Ottiene la classifica di un hackathon, provvisoria o definitiva.
      *
      * @param titoloHackathon Il titolo dell'hackathon
-     * @return Stringa con la classifica generata
+     * @return La classifica, null in caso di errore
      */
-    public String generaClassificaHackathon(String titoloHackathon) {
+    public Classifica getClassificaHackathon(String titoloHackathon) {
         try {
-            return hackathonDAO.generaClassificaHackathon(titoloHackathon);
+            return Servizi.hackathonDAO().getClassifica(titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nella generazione della classifica: " + e.getMessage());
-            return "Errore nella generazione della classifica: " + e.getMessage();
+            return null;
+        }
+    }
+
+    /**
+     * Ottiene la posizione attuale di un team nella classifica del suo hackathon.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param nomeTeam Il nome del team
+     * @return La posizione del team a partire da 1, -1 se non disponibile
+     */
+    public int getPosizioneTeam(String titoloHackathon, String nomeTeam) {
+        try {
+            return Servizi.hackathonDAO().getPosizioneTeam(titoloHackathon, nomeTeam);
+        } catch (SQLException e) {
+            System.err.println("Errore nel calcolo della posizione del team: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Chiude la classifica di un hackathon terminato, salvando quella finale nel database.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param organizzatore L'organizzatore dell'hackathon
+     * @return Il testo della classifica salvata, null in caso di errore
+     */
+    public String salvaClassificaDefinitiva(String titoloHackathon, Organizzatore organizzatore) {
+        try {
+            return Servizi.hackathonDAO().salvaClassificaDefinitiva(titoloHackathon, organizzatore.getName());
+        } catch (SQLException | SecurityException e) {
+            System.err.println("Errore nel salvataggio della classifica definitiva: " + e.getMessage());
+            return null;
         }
     }
 
@@ -892,7 +1060,7 @@ public class HackathonController extends UserController {
      */
     public List<Documento> getDocumentiByTeam(String nomeTeam, String titoloHackathon) {
         try {
-            return documentoDAO.getDocumentiByTeam(nomeTeam, titoloHackathon);
+            return Servizi.documentoDAO().getDocumentiByTeam(nomeTeam, titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nel recupero documenti del team: " + e.getMessage());
             return new ArrayList<>();
@@ -907,7 +1075,7 @@ public class HackathonController extends UserController {
      */
     public boolean isHackathonTerminato(String titoloHackathon) {
         try {
-            return hackathonDAO.isHackathonTerminato(titoloHackathon);
+            return Servizi.hackathonDAO().isHackathonTerminato(titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nella verifica dello stato hackathon: " + e.getMessage());
             return false;
@@ -924,13 +1092,30 @@ public class HackathonController extends UserController {
      */
     public boolean hasGiudiceVotatoTeam(String usernameGiudice, String titoloHackathon, String nomeTeam) {
         try {
-            return votoDAO.hasGiudiceVotatoTeam(usernameGiudice, titoloHackathon, nomeTeam);
+            return Servizi.votoDAO().hasGiudiceVotatoTeam(usernameGiudice, titoloHackathon, nomeTeam);
         } catch (SQLException e) {
             System.err.println("Errore nella verifica del voto: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Recupera i team di un hackathon già votati da un giudice, con il punteggio assegnato.
+     * Pensato per essere caricato una volta dall'interfaccia del giudice e aggiornato localmente.
+     *
+     * @param usernameGiudice Il nome utente del giudice
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return Mappa modificabile dal nome del team al punteggio, vuota in caso di errore
+     */
+    public Map<String, Integer> getTeamVotatiDaGiudice(String usernameGiudice, String titoloHackathon) {
+        try {
+            return Servizi.votoDAO().getTeamVotati(usernameGiudice, titoloHackathon);
+        } catch (SQLException e) {
+            System.err.println("Errore nel recupero dei team votati: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
     // ===== METODI DELEGATI AL TEAM CONTROLLER =====
 
     /**
@@ -971,6 +1156,27 @@ public class HackathonController extends UserController {
         return teamController.getTeamsByHackathon(titoloHackathon);
     }
 
+    /**
+     * Ottiene l'istantanea dei team di un hackathon con punteggi e membri delegando al TeamController.
+     * 
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return Lista dei team con i loro membri
+     */
+    public List<TeamDAO.RosterTeam> getRosterHackathon(String titoloHackathon) {
+        return teamController.getRosterHackathon(titoloHackathon);
+    }
+
+    /**
+     * Cerca i team di un hackathon per nome, tollerando errori di battitura, delegando al TeamController.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param testo Il testo cercato
+     * @return Al più {@value #RISULTATI_RICERCA_NOMI} team, dal più simile
+     */
+    public List<Team> cercaTeam(String titoloHackathon, String testo) {
+        return teamController.cercaTeam(titoloHackathon, testo, RISULTATI_RICERCA_NOMI);
+    }
+
     /**
      * Ottiene il numero di membri di un team delegando al TeamController.
      * 
@@ -1027,7 +1233,7 @@ public class HackathonController extends UserController {
      */
     public List<Team> getTeamsByUser(String nomeUtente) {
         try {
-            return membershipDAO.getTeamsByUser(nomeUtente);
+            return Servizi.membershipDAO().getTeamsByUser(nomeUtente);
         } catch (SQLException e) {
             System.err.println("Errore nel recupero dei team dell'utente: " + e.getMessage());
             return new ArrayList<>();
@@ -1043,7 +1249,7 @@ public class HackathonController extends UserController {
      */
     public boolean isUserInTeamForHackathon(String nomeUtente, String titoloHackathon) {
         try {
-            return membershipDAO.isUserInTeamForHackathon(nomeUtente, titoloHackathon);
+            return Servizi.membershipDAO().isUserInTeamForHackathon(nomeUtente, titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nella verifica membership utente: " + e.getMessage());
             return false;
@@ -1060,7 +1266,7 @@ public class HackathonController extends UserController {
      */
     public boolean rimuoviUtenteDaTeam(String nomeUtente, String nomeTeam, String titoloHackathon) {
         try {
-            return membershipDAO.removeUserFromTeam(nomeUtente, nomeTeam, titoloHackathon);
+            return Servizi.membershipDAO().removeUserFromTeam(nomeUtente, nomeTeam, titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nella rimozione dell'utente dal team: " + e.getMessage());
             return false;
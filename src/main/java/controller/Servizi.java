@@ -0,0 +1,179 @@
+package controller;
+
+import Database.ConnessioneDatabase;
+import Database.DAO.Impl.DocumentoDAOImpl;
+import Database.DAO.Impl.HackathonDAOImpl;
+import Database.DAO.Impl.InvitoGiudiceDAOImpl;
+import Database.DAO.Impl.MembershipDAOImpl;
+import Database.DAO.Impl.NotificheCache;
+import Database.DAO.Impl.OrganizzatoreDAOImpl;
+import Database.DAO.Impl.TeamDAOImpl;
+import Database.DAO.Impl.UtenteDAOImpl;
+import Database.DAO.Impl.ValutazioneDAOImpl;
+import Database.DAO.Impl.VotoDAOImpl;
+import utilities.TempiAvvio;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Registro dei servizi condivisi dai controller.
+ *
+ * Ogni DAO viene creato al primo utilizzo invece che nel costruttore dei controller,
+ * così che la prima finestra compaia senza aspettare il database. Dopo che la finestra
+ * è visibile {@link #riscaldaInBackground()} crea i servizi su un thread separato,
+ * in modo che il primo clic dell'utente li trovi già pronti, e avvia l'ascolto delle
+ * modifiche fatte da altri client ({@link NotificheCache}).
+ *
+ * Se la creazione di un servizio fallisce il servizio resta non disponibile per tutta
+ * la sessione e i metodi di accesso restituiscono null (modalità offline), come accadeva
+ * quando i controller creavano i DAO nel costruttore. Se non è disponibile il servizio
+ * degli utenti l'utente viene avvisato, una sola volta, che l'applicazione funzionerà in
+ * modalità offline.
+ */
+public final class Servizi {
+
+    /**
+     * Crea l'istanza di un servizio.
+     *
+     * @param <T> Il tipo del servizio
+     */
+    @FunctionalInterface
+    interface Fabbrica<T> {
+        T crea() throws SQLException;
+    }
+
+    /**
+     * Servizio creato al primo utilizzo, al più una volta.
+     *
+     * @param <T> Il tipo del servizio
+     */
+    static final class Servizio<T> {
+        private final String nome;
+        private final Fabbrica<T> fabbrica;
+        private final Consumer<SQLException> seNonDisponibile;
+        private volatile T istanza;
+        private volatile boolean nonDisponibile;
+
+        Servizio(String nome, Fabbrica<T> fabbrica) {
+            this(nome, fabbrica, null);
+        }
+
+        /**
+         * @param seNonDisponibile Chiamato una sola volta se la creazione del servizio fallisce
+         */
+        Servizio(String nome, Fabbrica<T> fabbrica, Consumer<SQLException> seNonDisponibile) {
+            this.nome = nome;
+            this.fabbrica = fabbrica;
+            this.seNonDisponibile = seNonDisponibile;
+        }
+
+        /**
+         * @return L'istanza del servizio, null se non è stato possibile crearla
+         */
+        T get() {
+            T corrente = istanza;
+            if (corrente != null || nonDisponibile) {
+                return corrente;
+            }
+            synchronized (this) {
+                if (istanza == null && !nonDisponibile) {
+                    long inizio = System.nanoTime();
+                    try {
+                        istanza = fabbrica.crea();
+                    } catch (SQLException e) {
+                        System.err.println("Servizio " + nome + " non disponibile (modalità offline): " + e.getMessage());
+                        nonDisponibile = true;
+                        if (seNonDisponibile != null) {
+                            seNonDisponibile.accept(e);
+                        }
+                    }
+                    TempiAvvio.registra(nome, System.nanoTime() - inizio);
+                }
+                return istanza;
+            }
+        }
+    }
+
+    private static final Servizio<OrganizzatoreDAOImpl> ORGANIZZATORI = new Servizio<>("OrganizzatoreDAO", OrganizzatoreDAOImpl::new);
+    private static final Servizio<HackathonDAOImpl> HACKATHON = new Servizio<>("HackathonDAO", HackathonDAOImpl::new);
+    private static final Servizio<UtenteDAOImpl> UTENTI = new Servizio<>("UtenteDAO", UtenteDAOImpl::new,
+            UserController::avvisaModalitaOffline);
+    private static final Servizio<InvitoGiudiceDAOImpl> INVITI_GIUDICE = new Servizio<>("InvitoGiudiceDAO", InvitoGiudiceDAOImpl::new);
+    private static final Servizio<DocumentoDAOImpl> DOCUMENTI = new Servizio<>("DocumentoDAO", DocumentoDAOImpl::new);
+    private static final Servizio<MembershipDAOImpl> MEMBERSHIP = new Servizio<>("MembershipDAO", MembershipDAOImpl::new);
+    private static final Servizio<VotoDAOImpl> VOTI = new Servizio<>("VotoDAO", VotoDAOImpl::new);
+    private static final Servizio<ValutazioneDAOImpl> VALUTAZIONI = new Servizio<>("ValutazioneDAO", ValutazioneDAOImpl::new);
+    private static final Servizio<TeamDAOImpl> TEAM = new Servizio<>("TeamDAO", TeamDAOImpl::new);
+
+    private static final List<Servizio<?>> TUTTI = List.of(
+            HACKATHON, UTENTI, ORGANIZZATORI, TEAM, MEMBERSHIP,
+            INVITI_GIUDICE, DOCUMENTI, VOTI, VALUTAZIONI);
+
+    private static Thread riscaldamento;
+
+    private Servizi() {
+    }
+
+    static OrganizzatoreDAOImpl organizzatoreDAO() {
+        return ORGANIZZATORI.get();
+    }
+
+    static HackathonDAOImpl hackathonDAO() {
+        return HACKATHON.get();
+    }
+
+    static UtenteDAOImpl utenteDAO() {
+        return UTENTI.get();
+    }
+
+    static InvitoGiudiceDAOImpl invitoGiudiceDAO() {
+        return INVITI_GIUDICE.get();
+    }
+
+    static DocumentoDAOImpl documentoDAO() {
+        return DOCUMENTI.get();
+    }
+
+    static MembershipDAOImpl membershipDAO() {
+        return MEMBERSHIP.get();
+    }
+
+    static VotoDAOImpl votoDAO() {
+        return VOTI.get();
+    }
+
+    static ValutazioneDAOImpl valutazioneDAO() {
+        return VALUTAZIONI.get();
+    }
+
+    static TeamDAOImpl teamDAO() {
+        return TEAM.get();
+    }
+
+    /**
+     * Avvia, una sola volta, la creazione di tutti i servizi su un thread in background.
+     * Va chiamato dopo che la prima finestra è visibile.
+     */
+    public static synchronized void riscaldaInBackground() {
+        if (riscaldamento != null) {
+            return;
+        }
+        riscaldamento = new Thread(() -> {
+            long inizio = System.nanoTime();
+            try {
+                // Le cache condivise restano allineate con le scritture degli altri client
+                NotificheCache.avvia(ConnessioneDatabase.getInstance());
+            } catch (SQLException e) {
+                System.err.println("Riscaldamento: database non raggiungibile: " + e.getMessage());
+            }
+            for (Servizio<?> servizio : TUTTI) {
+                servizio.get();
+            }
+            TempiAvvio.registra("Riscaldamento completato", System.nanoTime() - inizio);
+        }, "riscaldamento-servizi");
+        riscaldamento.setDaemon(true);
+        riscaldamento.start();
+    }
+}
@@ -1,10 +1,11 @@
 package controller;
 
+import Database.TransactionTemplate;
+import Database.DAO.TeamDAO;
 import Database.DAO.Impl.TeamDAOImpl;
 import Database.DAO.Impl.MembershipDAOImpl;
 import model.*;
 
-import javax.swing.*;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
@@ -15,27 +16,10 @@ import java.util.List;
  */
 public class TeamController {
     
-    private TeamDAOImpl teamDAO;
-    private MembershipDAOImpl membershipDAO;
-    
     /**
-     * Costruttore che inizializza le DAO necessarie.
+     * Costruttore. Le DAO vengono create al primo utilizzo tramite {@link Servizi}.
      */
     public TeamController() {
-        try {
-            this.teamDAO = new TeamDAOImpl();
-            this.membershipDAO = new MembershipDAOImpl();
-            System.out.println("TeamController inizializzato correttamente.");
-        } catch (SQLException e) {
-            System.err.println("Errore durante l'inizializzazione del TeamController: " + e.getMessage());
-            JOptionPane.showMessageDialog(null, 
-                "Errore di connessione al database per la gestione dei team.\n" + 
-                "Errore: " + e.getMessage(), 
-                "Avviso Database", 
-                JOptionPane.WARNING_MESSAGE);
-            this.teamDAO = null;
-            this.membershipDAO = null;
-        }
     }
     
     /**
@@ -56,35 +40,41 @@ public class TeamController {
             throw new IllegalArgumentException("Tutti i parametri sono obbligatori");
         }
         
-        if (teamDAO == null || membershipDAO == null) {
+        if (Servizi.teamDAO() == null || Servizi.membershipDAO() == null) {
             throw new IllegalStateException("Servizio non disponibile - errore di connessione al database");
         }
         
         try {
-            // Verifica se l'utente è già in un team per questo hackathon
-            if (membershipDAO.isUserInTeamForHackathon(utente.getName(), hackathon.getTitoloIdentificativo())) {
-                throw new IllegalStateException("L'utente è già membro di un team per questo hackathon");
-            }
-            
-            // 1. Crea il team
-            Team nuovoTeam = new Team(hackathon, nomeTeam);
-            boolean teamCreato = teamDAO.save(nuovoTeam);
-            
-            if (!teamCreato) {
-                throw new IllegalArgumentException("Impossibile creare il team nel database");
-            }
-            
-            // 2. Aggiunge l'utente al team
-            boolean membershipCreata = membershipDAO.addUserToTeam(
-                utente.getName(), 
-                nomeTeam, 
-                hackathon.getTitoloIdentificativo(), 
-                LocalDate.now()
-            );
-            
-            if (!membershipCreata) {
-                throw new IllegalArgumentException("Impossibile aggiungere l'utente al team");
-            }
+            // Verifica, creazione del team e prima membership in un'unica transazione:
+            // se uno dei passi fallisce non resta un team senza membri
+            Team nuovoTeam = TransactionTemplate.esegui(tx -> {
+                // Verifica se l'utente è già in un team per questo hackathon
+                if (Servizi.membershipDAO().isUserInTeamForHackathon(utente.getName(), hackathon.getTitoloIdentificativo())) {
+                    throw new IllegalStateException("L'utente è già membro di un team per questo hackathon");
+                }
+
+                // 1. Crea il team
+                Team team = new Team(hackathon, nomeTeam);
+                boolean teamCreato = Servizi.teamDAO().save(team);
+
+                if (!teamCreato) {
+                    throw new IllegalArgumentException("Impossibile creare il team nel database");
+                }
+
+                // 2. Aggiunge l'utente al team
+                boolean membershipCreata = Servizi.membershipDAO().addUserToTeam(
+                    utente.getName(),
+                    nomeTeam,
+                    hackathon.getTitoloIdentificativo(),
+                    LocalDate.now()
+                );
+
+                if (!membershipCreata) {
+                    throw new IllegalArgumentException("Impossibile aggiungere l'utente al team");
+                }
+
+                return team;
+            });
             
             System.out.println("Team '" + nomeTeam + "' creato con successo per l'hackathon '" + 
                              hackathon.getTitoloIdentificativo() + "' con l'utente '" + utente.getName() + "'");
@@ -121,27 +111,30 @@ public class TeamController {
             throw new IllegalArgumentException("Utente e team sono obbligatori");
         }
         
-        if (membershipDAO == null) {
+        if (Servizi.membershipDAO() == null) {
             throw new IllegalStateException("Servizio non disponibile - errore di connessione al database");
         }
         
         try {
-            // Verifica se l'utente è già in un team per questo hackathon
-            if (membershipDAO.isUserInTeamForHackathon(utente.getName(), team.getHackathon().getTitoloIdentificativo())) {
-                throw new IllegalStateException("L'utente è già membro di un team per questo hackathon");
-            }
-            
-            // Aggiunge l'utente al team
-            boolean membershipCreata = membershipDAO.addUserToTeam(
-                utente.getName(), 
-                team.getNomeTeam(), 
-                team.getHackathon().getTitoloIdentificativo(), 
-                LocalDate.now()
-            );
-            
-            if (!membershipCreata) {
-                throw new IllegalArgumentException("Impossibile aggiungere l'utente al team");
-            }
+            TransactionTemplate.esegui(tx -> {
+                // Verifica se l'utente è già in un team per questo hackathon
+                if (Servizi.membershipDAO().isUserInTeamForHackathon(utente.getName(), team.getHackathon().getTitoloIdentificativo())) {
+                    throw new IllegalStateException("L'utente è già membro di un team per questo hackathon");
+                }
+
+                // Aggiunge l'utente al team
+                boolean membershipCreata = Servizi.membershipDAO().addUserToTeam(
+                    utente.getName(),
+                    team.getNomeTeam(),
+                    team.getHackathon().getTitoloIdentificativo(),
+                    LocalDate.now()
+                );
+
+                if (!membershipCreata) {
+                    throw new IllegalArgumentException("Impossibile aggiungere l'utente al team");
+                }
+                return null;
+            });
             
             System.out.println("Utente '" + utente.getName() + "' aggiunto al team '" + team.getNomeTeam() + "'");
             
@@ -164,18 +157,58 @@ public class TeamController {
      * @return Lista di team per l'hackathon o null in caso di errore
      */
     public List<Team> getTeamsByHackathon(String titoloHackathon) {
-        if (teamDAO == null) {
+        if (Servizi.teamDAO() == null) {
             return null;
         }
         
         try {
-            return teamDAO.findByHackathon(titoloHackathon);
+            return Servizi.teamDAO().findByHackathon(titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore durante il recupero dei team per l'hackathon '" + titoloHackathon + "': " + e.getMessage());
             return null;
         }
     }
     
+    /**
+     * Cerca i team di un hackathon per nome, tollerando errori di battitura.
+     *
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @param testo Il testo cercato
+     * @param limite Il numero massimo di risultati
+     * @return I team trovati, dal più simile; vuota in caso di errore
+     */
+    public List<Team> cercaTeam(String titoloHackathon, String testo, int limite) {
+        if (Servizi.teamDAO() == null) {
+            return List.of();
+        }
+
+        try {
+            return Servizi.teamDAO().cercaTeamSimili(titoloHackathon, testo, limite);
+        } catch (SQLException e) {
+            System.err.println("Errore durante la ricerca dei team: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Ottiene l'istantanea dei team di un hackathon con punteggi e membri, in un'unica query.
+     * 
+     * @param titoloHackathon Il titolo dell'hackathon
+     * @return Lista dei team con i loro membri, vuota in caso di errore
+     */
+    public List<TeamDAO.RosterTeam> getRosterHackathon(String titoloHackathon) {
+        if (Servizi.teamDAO() == null) {
+            return List.of();
+        }
+        
+        try {
+            return Servizi.teamDAO().getRosterByHackathon(titoloHackathon);
+        } catch (SQLException e) {
+            System.err.println("Errore durante il recupero del roster per l'hackathon '" + titoloHackathon + "': " + e.getMessage());
+            return List.of();
+        }
+    }
+    
     /**
      * Ottiene il numero di membri di un team.
      * 
@@ -184,12 +217,12 @@ public class TeamController {
      * @return Numero di membri del team
      */
     public int getNumeroMembriTeam(String nomeTeam, String titoloHackathon) {
-        if (membershipDAO == null) {
+        if (Servizi.membershipDAO() == null) {
             return 0;
         }
         
         try {
-            return membershipDAO.countTeamMembers(nomeTeam, titoloHackathon);
+            return Servizi.membershipDAO().countTeamMembers(nomeTeam, titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore durante il conteggio dei membri del team '" + nomeTeam + "': " + e.getMessage());
             return 0;
@@ -207,7 +240,7 @@ public class TeamController {
      */
     public int contaMembriTeam(String nomeTeam, String titoloHackathon) {
         try {
-            return teamDAO.countMembers(nomeTeam, titoloHackathon);
+            return Servizi.teamDAO().countMembers(nomeTeam, titoloHackathon);
         } catch (SQLException e) {
             System.err.println("Errore nel conteggio membri team: " + e.getMessage());
             return 0; // Ritorna 0 in caso di errore
@@ -224,6 +257,9 @@ public class TeamController {
      */
     public boolean puoUtenterUnirsiAlTeam(Team team, Utente utente) {
         try {
+            if (team.getHackathon().isRiferimento()) {
+                return false; // Dati dell'evento non disponibili (hackathon eliminato)
+            }
             // Verifica se il periodo di registrazione è ancora aperto
             LocalDate dataFineRegistrazione = team.getHackathon().getDataFineRegistrazioni().toLocalDate();
             if (LocalDate.now().isAfter(dataFineRegistrazione)) {
@@ -231,7 +267,7 @@ public class TeamController {
             }
 
             // Verifica se l'utente è già in un team per questo hackathon
-            String teamCorrente = membershipDAO.getUserTeamForHackathon(
+            String teamCorrente = Servizi.membershipDAO().getUserTeamForHackathon(
                 utente.getName(), team.getHackathon().getTitoloIdentificativo());
 
             if (teamCorrente != null) {
@@ -239,7 +275,7 @@ public class TeamController {
             }
 
             // Verifica se il team è al completo
-            int membri = teamDAO.countMembers(
+            int membri = Servizi.teamDAO().countMembers(
                 team.getNomeTeam(),
                 team.getHackathon().getTitoloIdentificativo()
             );
@@ -269,11 +305,11 @@ public class TeamController {
      * Espone le DAO per operazioni semplici che non richiedono coordinamento.
      */
     public TeamDAOImpl getTeamDAO() {
-        return teamDAO;
+        return Servizi.teamDAO();
     }
     
     public MembershipDAOImpl getMembershipDAO() {
-        return membershipDAO;
+        return Servizi.membershipDAO();
     }
 
     /**
@@ -282,7 +318,7 @@ public class TeamController {
      */
     public String getTeamCorrenteUtente(String nomeUtente, String titoloHackathon) {
         try {
-            return membershipDAO.getUserTeamForHackathon(nomeUtente, titoloHackathon);
+            return Servizi.membershipDAO().getUserTeamForHackathon(nomeUtente, titoloHackathon);
         } catch (SQLException e) {
             return null; // Ritorna null se non ha team o in caso di errore
         }
@@ -294,7 +330,7 @@ public class TeamController {
      */
     public List<Team> getAllTeamsSafe() {
         try {
-            return teamDAO.findAll();
+            return Servizi.teamDAO().findAll();
         } catch (SQLException e) {
             return new java.util.ArrayList<>(); // Restituisce lista vuota in caso di errore
         }
@@ -1,45 +1,52 @@
 package controller;
 import model.*;
-import Database.DAO.Impl.UtenteDAOImpl;
 
 import javax.swing.*;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * La classe UserController gestisce una lista di utenti e fornisce metodi per la gestione degli utenti,
+ * La classe UserController fornisce metodi per la gestione degli utenti,
  * come l'aggiunta di nuovi utenti e la verifica delle credenziali di accesso.
- * Ora integrata con il database PostgreSQL.
+ * Gli utenti sono letti su richiesta tramite la {@link DirectoryUtenti} condivisa,
+ * senza caricare all'avvio l'intera tabella degli utenti.
  */
 public class UserController {
-    private ArrayList<Utente> listaUtenti; // Lista degli utenti gestiti dal controller (cache locale).
-    private UtenteDAOImpl utenteDAO; // DAO per l'accesso al database.
+    private final DirectoryUtenti directory; // Elenco condiviso degli utenti, con cache limitata.
+    private static final AtomicBoolean avvisoOfflineMostrato = new AtomicBoolean(); // L'avviso di modalità offline viene mostrato una volta.
 
     /**
      * Costruttore della classe UserController.
-     * Inizializza la lista degli utenti e la connessione al database.
+     * Collega il controller alla directory degli utenti condivisa, senza aprire connessioni:
+     * il database viene contattato alla prima operazione.
      */
     public UserController()
     {
-        listaUtenti = new ArrayList<>();
-        try {
-            utenteDAO = new UtenteDAOImpl();
-            // Carica tutti gli utenti dal database all'avvio
-            listaUtenti.addAll(utenteDAO.findAll());
-            System.out.println("Controller inizializzato con " + listaUtenti.size() + " utenti dal database.");
-        } catch (SQLException e) {
-            System.err.println("Errore durante l'inizializzazione del Controller: " + e.getMessage());
-            JOptionPane.showMessageDialog(null, 
-                "Errore di connessione al database. L'applicazione funzionerà in modalità offline.\n" + 
-                "Errore: " + e.getMessage(), 
-                "Avviso Database", 
-                JOptionPane.WARNING_MESSAGE);
-            utenteDAO = null; // Modalità offline
+        directory = DirectoryUtenti.getInstance();
+    }
+
+    /**
+     * Avvisa l'utente che il database non è raggiungibile e che l'applicazione funzionerà
+     * in modalità offline. Viene chiamato quando il servizio degli utenti non può essere
+     * creato, durante il riscaldamento o al primo utilizzo; l'avviso compare una sola volta.
+     *
+     * @param e L'errore di connessione
+     */
+    static void avvisaModalitaOffline(SQLException e) {
+        if (!avvisoOfflineMostrato.compareAndSet(false, true)) {
+            return;
         }
+        System.err.println("Errore durante l'inizializzazione del Controller: " + e.getMessage());
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null,
+                "Errore di connessione al database. L'applicazione funzionerà in modalità offline.\n" +
+                "Errore: " + e.getMessage(),
+                "Avviso Database",
+                JOptionPane.WARNING_MESSAGE));
     }
 
     /**
-     * Aggiunge un nuovo utente alla lista e lo salva nel database.
+     * Aggiunge un nuovo utente e lo salva nel database.
      *
      * @param username Il nome utente del nuovo utente.
      * @param password La password del nuovo utente.
@@ -49,22 +56,18 @@ public class UserController {
         try {
             Utente nuovoUtente = new Utente(username, password);
             
-            // Salva nel database se disponibile
-            if (utenteDAO != null) {
-                boolean salvato = utenteDAO.save(nuovoUtente);
-                if (salvato) {
-                    listaUtenti.add(nuovoUtente);
-                    System.out.println("Utente salvato nel database: " + username);
-                    JOptionPane.showMessageDialog(null, 
-                        "Utente creato e salvato con successo nel database!", 
-                        "Successo", 
-                        JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    throw new IllegalArgumentException("Errore durante il salvataggio nel database");
-                }
+            if (!directory.registra(nuovoUtente)) {
+                throw new IllegalArgumentException("Errore durante il salvataggio nel database");
+            }
+
+            if (directory.isDisponibile()) {
+                System.out.println("Utente salvato nel database: " + username);
+                JOptionPane.showMessageDialog(null, 
+                    "Utente creato e salvato con successo nel database!", 
+                    "Successo", 
+                    JOptionPane.INFORMATION_MESSAGE);
             } else {
-                // Modalità offline - salva solo in memoria
-                listaUtenti.add(nuovoUtente);
+                // Modalità offline - l'utente resta solo in memoria
                 System.out.println("Utente salvato solo in memoria (modalità offline): " + username);
                 JOptionPane.showMessageDialog(null, 
                     "Utente creato in modalità offline (database non disponibile)", 
@@ -90,70 +93,53 @@ public class UserController {
      * @return true se le credenziali sono valide, false altrimenti.
      */
     public boolean checkLogin(String user, String password)
+    {
+        return loginUtente(user, password) != null;
+    }
+
+    /**
+     * Recupera l'elenco completo degli utenti dal database.
+     * L'elenco non viene conservato: da usare solo per le viste che mostrano tutti gli utenti.
+     *
+     * @return Un ArrayList di oggetti Utente, vuoto in caso di errore.
+     */
+    public ArrayList<Utente> getListaUtenti()
     {
         try {
-            // Prima prova a verificare nel database se disponibile
-            if (utenteDAO != null) {
-                Utente utenteTrovato = utenteDAO.login(user, password);
-                if (utenteTrovato != null) {
-                    System.out.println("Login riuscito dal database per: " + user);
-                    return true;
-                }
-            } else {
-                // Modalità offline - verifica nella cache locale
-                for(Utente u : listaUtenti) {
-                    try {
-                        if(u.getName().equals(user) && u.getLogin(password)) {
-                            System.out.println("Login riuscito dalla cache locale per: " + user);
-                            return true;
-                        }
-                    }
-                    catch(IllegalArgumentException e) {
-                        JOptionPane.showMessageDialog(JOptionPane.getRootFrame(), e);
-                    }
-                }
-            }
+            return new ArrayList<>(directory.elencoCompleto());
         } catch (SQLException e) {
-            System.err.println("Errore durante il login dal database: " + e.getMessage());
-            // Fallback alla verifica locale
-            for(Utente u : listaUtenti) {
-                try {
-                    if(u.getName().equals(user) && u.getLogin(password)) {
-                        System.out.println("Login riuscito dalla cache locale (fallback) per: " + user);
-                        return true;
-                    }
-                }
-                catch(IllegalArgumentException e2) {
-                    JOptionPane.showMessageDialog(JOptionPane.getRootFrame(), e2);
-                }
-            }
+            System.err.println("Errore durante il recupero degli utenti: " + e.getMessage());
+            return new ArrayList<>();
         }
-        
-        System.out.println("Login fallito per: " + user);
-        return false;
     }
 
     /**
-     * Recupera la lista degli utenti gestiti dal controller.
-     * Sincronizza con il database se disponibile.
+     * Verifica se esiste almeno un utente registrato, senza leggere l'intero elenco.
      *
-     * @return Un ArrayList di oggetti Utente.
+     * @return true se c'è almeno un utente, false altrimenti o in caso di errore
      */
-    public ArrayList<Utente> getListaUtenti()
-    {
+    public boolean hasUtenti() {
         try {
-            // Aggiorna la cache locale dal database se disponibile
-            if (utenteDAO != null) {
-                listaUtenti.clear();
-                listaUtenti.addAll(utenteDAO.findAll());
-                System.out.println("Lista utenti sincronizzata dal database: " + listaUtenti.size() + " utenti");
-            }
+            return directory.hasUtenti();
         } catch (SQLException e) {
-            System.err.println("Errore durante la sincronizzazione degli utenti: " + e.getMessage());
-            // Continua con la cache locale
+            System.err.println("Errore durante la verifica degli utenti: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Cerca un utente per nome utente.
+     *
+     * @param username Il nome utente
+     * @return L'utente, null se non esiste o in caso di errore
+     */
+    public Utente getUtente(String username) {
+        try {
+            return directory.trova(username);
+        } catch (SQLException e) {
+            System.err.println("Errore durante la ricerca dell'utente: " + e.getMessage());
+            return null;
         }
-        
-        return listaUtenti;
     }
     
     /**
@@ -165,29 +151,16 @@ public class UserController {
      */
     public Utente loginUtente(String username, String password) {
         try {
-            if (utenteDAO != null) {
-                return utenteDAO.login(username, password);
+            Utente utente = directory.login(username, password);
+            if (utente != null) {
+                System.out.println("Login riuscito per: " + username);
             } else {
-                // Modalità offline
-                for (Utente u : listaUtenti) {
-                    if (u.getName().equals(username) && u.getLogin(password)) {
-                        return u;
-                    }
-                }
+                System.out.println("Login fallito per: " + username);
             }
-        } catch (SQLException e) {
+            return utente;
+        } catch (SQLException | IllegalArgumentException e) {
             System.err.println("Errore durante il login: " + e.getMessage());
-            // Fallback alla verifica locale
-            for (Utente u : listaUtenti) {
-                try {
-                    if (u.getName().equals(username) && u.getLogin(password)) {
-                        return u;
-                    }
-                } catch (IllegalArgumentException ex) {
-                    // Continua con il prossimo utente
-                }
-            }
+            return null;
         }
-        return null;
     }
-}
\ No newline at end of file
+}
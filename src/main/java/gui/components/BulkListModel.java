@@ -0,0 +1,215 @@
+package gui.components;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Modello per liste con molti elementi, basato su un array e aggiornato in blocco.
+ *
+ * A differenza di {@link DefaultListModel}, che notifica la lista a ogni {@code addElement},
+ * {@link #setAll(Collection)} sostituisce tutti gli elementi con una sola notifica, così che
+ * la lista venga ridisegnata una volta sola. Il modello può mostrare una vista filtrata e
+ * ordinata degli elementi senza modificarli ({@link #setFiltro(Predicate)},
+ * {@link #setOrdinamento(Comparator)}).
+ *
+ * Per le liste molto lunghe va usato insieme a {@link #usaCelleFisse}: senza dimensioni fisse
+ * delle celle la JList misura ogni elemento con il renderer a ogni aggiornamento.
+ *
+ * @param <T> Il tipo degli elementi della lista
+ */
+public class BulkListModel<T> extends AbstractListModel<T> {
+
+    private static final Object[] VUOTO = new Object[0];
+
+    // Tutti gli elementi, nell'ordine in cui sono stati impostati
+    private Object[] elementi = VUOTO;
+    // Gli elementi mostrati: coincide con elementi se non ci sono filtro e ordinamento
+    private Object[] visibili = VUOTO;
+    private Predicate<? super T> filtro;
+    private Comparator<? super T> ordinamento;
+
+    /**
+     * Crea un modello vuoto.
+     */
+    public BulkListModel() {
+    }
+
+    /**
+     * Crea un modello con gli elementi indicati.
+     *
+     * @param elementi Gli elementi iniziali
+     */
+    public BulkListModel(Collection<? extends T> elementi) {
+        setAll(elementi);
+    }
+
+    @Override
+    public int getSize() {
+        return visibili.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getElementAt(int index) {
+        return (T) visibili[index];
+    }
+
+    /**
+     * Sostituisce tutti gli elementi del modello. La lista riceve una sola notifica di modifica,
+     * più una di rimozione per le righe finali se gli elementi visibili diminuiscono: senza di
+     * essa la selezione della lista potrebbe restare su righe non più esistenti.
+     *
+     * @param nuoviElementi I nuovi elementi, null per svuotare il modello
+     */
+    public void setAll(Collection<? extends T> nuoviElementi) {
+        elementi = nuoviElementi == null || nuoviElementi.isEmpty() ? VUOTO : nuoviElementi.toArray();
+        aggiornaVista();
+    }
+
+    /**
+     * Rimuove tutti gli elementi del modello.
+     */
+    public void clear() {
+        setAll(null);
+    }
+
+    /**
+     * Imposta il filtro degli elementi mostrati. Gli elementi esclusi restano nel modello
+     * e tornano visibili rimuovendo il filtro.
+     *
+     * @param filtro Il filtro, null per mostrare tutti gli elementi
+     */
+    public void setFiltro(Predicate<? super T> filtro) {
+        this.filtro = filtro;
+        aggiornaVista();
+    }
+
+    /**
+     * Imposta l'ordinamento degli elementi mostrati. L'ordinamento è stabile: gli elementi
+     * equivalenti restano nell'ordine in cui sono stati impostati.
+     *
+     * @param ordinamento Il criterio di ordinamento, null per l'ordine di inserimento
+     */
+    public void setOrdinamento(Comparator<? super T> ordinamento) {
+        this.ordinamento = ordinamento;
+        aggiornaVista();
+    }
+
+    /**
+     * @return Il numero di elementi mostrati
+     */
+    public int size() {
+        return visibili.length;
+    }
+
+    /**
+     * @return true se non ci sono elementi mostrati
+     */
+    public boolean isEmpty() {
+        return visibili.length == 0;
+    }
+
+    /**
+     * Cerca un elemento tra quelli mostrati.
+     *
+     * @param elemento L'elemento da cercare
+     * @return La posizione dell'elemento nella lista, -1 se non è mostrato
+     */
+    public int indexOf(Object elemento) {
+        for (int i = 0; i < visibili.length; i++) {
+            if (visibili[i] == null ? elemento == null : visibili[i].equals(elemento)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Tutti gli elementi del modello, compresi quelli esclusi dal filtro, in sola lettura
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> getTutti() {
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(elementi));
+    }
+
+    /**
+     * Ricalcola gli elementi mostrati applicando filtro e ordinamento e notifica la lista.
+     */
+    @SuppressWarnings("unchecked")
+    private void aggiornaVista() {
+        Object[] nuoviVisibili = elementi;
+        if (filtro != null) {
+            Object[] filtrati = new Object[elementi.length];
+            int trovati = 0;
+            for (Object elemento : elementi) {
+                if (filtro.test((T) elemento)) {
+                    filtrati[trovati++] = elemento;
+                }
+            }
+            nuoviVisibili = Arrays.copyOf(filtrati, trovati);
+        }
+        if (ordinamento != null) {
+            if (nuoviVisibili == elementi) {
+                nuoviVisibili = elementi.clone();
+            }
+            Arrays.sort(nuoviVisibili, (a, b) -> ordinamento.compare((T) a, (T) b));
+        }
+
+        int vecchiaDimensione = visibili.length;
+        visibili = nuoviVisibili;
+        if (visibili.length < vecchiaDimensione) {
+            fireIntervalRemoved(this, visibili.length, vecchiaDimensione - 1);
+        }
+        if (visibili.length > 0) {
+            fireContentsChanged(this, 0, visibili.length - 1);
+        }
+    }
+
+    /**
+     * Imposta larghezza e altezza fisse delle celle di una lista, misurando con il renderer
+     * della lista solo l'elemento con il testo più lungo. Le dimensioni già fissate sulla
+     * lista vengono mantenute. Va chiamato dopo aver impostato il renderer.
+     *
+     * L'elemento viene misurato come se fosse l'ultima riga della lista, così che un renderer
+     * che mostra anche la posizione (ad esempio "%d. %s") riceva il numero più largo.
+     *
+     * @param lista La lista da configurare
+     * @param elementi Gli elementi tra cui scegliere quello da misurare
+     * @param testo Funzione che estrae il testo mostrato per un elemento
+     */
+    public static <E> void usaCelleFisse(JList<E> lista, Collection<? extends E> elementi,
+                                         Function<? super E, String> testo) {
+        E prototipo = null;
+        int lunghezzaMassima = -1;
+        for (E elemento : elementi) {
+            String testoElemento = testo.apply(elemento);
+            int lunghezza = testoElemento != null ? testoElemento.length() : 0;
+            if (lunghezza > lunghezzaMassima) {
+                prototipo = elemento;
+                lunghezzaMassima = lunghezza;
+            }
+        }
+        if (prototipo == null) {
+            return;
+        }
+
+        // Il modello può essere ancora vuoto e venire riempito dopo con gli stessi elementi
+        int ultimaRiga = Math.max(lista.getModel().getSize(), elementi.size()) - 1;
+        Component cella = lista.getCellRenderer()
+                .getListCellRendererComponent(lista, prototipo, ultimaRiga, false, false);
+        Dimension dimensione = cella.getPreferredSize();
+        if (lista.getFixedCellWidth() < 0) {
+            lista.setFixedCellWidth(dimensione.width);
+        }
+        if (lista.getFixedCellHeight() < 0) {
+            lista.setFixedCellHeight(dimensione.height);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package gui.dialogs;
 
+import Database.DAO.DocumentHeader;
 import controller.HackathonController;
+import gui.components.BulkListModel;
 import gui.components.ModernButton;
 import model.*;
 import utilities.DynamicSearchHelper;
@@ -10,6 +12,7 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.List;
+import java.util.Set;
 
 /**
  * La classe CercaDocumentoDialog rappresenta un'interfaccia grafica per consentire a un giudice di cercare
@@ -17,11 +20,11 @@ import java.util.List;
  */
 public class CercaDocumentoDialog {
     private JTextField titoloDocumentoField; // Campo di testo per inserire il titolo del documento.
-    private JList<Documento> documentoList; // Lista per mostrare i documenti trovati.
-    private DefaultListModel<Documento> listModel; // Modello per la lista dei documenti.
+    private JList<DocumentHeader> documentoList; // Lista per mostrare i documenti trovati.
+    private BulkListModel<DocumentHeader> listModel; // Modello per la lista dei documenti.
     private ModernButton btnSeleziona; // Pulsante per confermare la selezione del documento.
     private JLabel infoLabel; // Label per mostrare informazioni sui risultati.
-    private DynamicSearchHelper<Documento> searchHelper; // Helper per la ricerca dinamica.
+    private DynamicSearchHelper<DocumentHeader> searchHelper; // Helper per la ricerca dinamica.
 
     /**
      * Costruttore della classe CercaDocumentoDialog.
@@ -30,13 +33,15 @@ public class CercaDocumentoDialog {
      * @param titoloHackathon Il titolo dell'hackathon per filtrare i documenti.
      * @param giudice Il giudice che sta effettuando la ricerca.
      * @param hackathonController Il controller per gestire i documenti.
+     * @param documentiValutati Gli ID dei documenti già valutati dal giudice, condivisi con la vista del giudice.
      * @param callback Callback da chiamare quando un documento viene selezionato.
      */
     public CercaDocumentoDialog(JFrame parentFrame, String titoloHackathon, Utente giudice, 
-                               HackathonController hackathonController, DocumentoSelectionCallback callback) {
+                               HackathonController hackathonController, Set<Integer> documentiValutati,
+                               DocumentoSelectionCallback callback) {
 
-        // Ottiene tutti i documenti dall'hackathon tramite il controller
-        List<Documento> documentiDisponibili = hackathonController.getDocumentiHackathon(titoloHackathon);
+        // Ottiene le intestazioni dei documenti dell'hackathon: il contenuto non serve per la scelta
+        List<DocumentHeader> documentiDisponibili = hackathonController.getIntestazioniDocumentiHackathon(titoloHackathon);
         
         if (documentiDisponibili == null || documentiDisponibili.isEmpty()) {
             JOptionPane.showMessageDialog(parentFrame,
@@ -66,9 +71,9 @@ public class CercaDocumentoDialog {
         // Pannello per la ricerca
         JPanel searchPanel = new JPanel(new BorderLayout(5, 5));
         searchPanel.setBorder(BorderFactory.createTitledBorder("Ricerca Documento"));
-        searchPanel.add(new JLabel("Cerca Titolo:"), BorderLayout.WEST);
+        searchPanel.add(new JLabel("Cerca:"), BorderLayout.WEST);
         titoloDocumentoField = new JTextField(25);
-        titoloDocumentoField.setToolTipText("Digita per cercare documenti in tempo reale");
+        titoloDocumentoField.setToolTipText("Digita parole del titolo o del contenuto per cercare documenti in tempo reale");
         searchPanel.add(titoloDocumentoField, BorderLayout.CENTER);
 
         // Pannello centrale per la lista dei documenti
@@ -76,12 +81,12 @@ public class CercaDocumentoDialog {
         centerPanel.setBorder(BorderFactory.createTitledBorder("Documenti Disponibili"));
 
         // Inizializza la lista e il modello
-        listModel = new DefaultListModel<>();
+        listModel = new BulkListModel<>();
         documentoList = new JList<>(listModel);
         documentoList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 
         // Renderer personalizzato per la lista
-        documentoList.setCellRenderer(new DocumentoListCellRenderer(hackathonController, giudice));
+        documentoList.setCellRenderer(new DocumentoListCellRenderer(documentiValutati));
 
         // ScrollPane per la lista
         JScrollPane listScrollPane = new JScrollPane(documentoList);
@@ -113,6 +118,12 @@ public class CercaDocumentoDialog {
 
         dialog.setContentPane(mainPanel);
 
+        // Prepara l'indice di ricerca mentre il giudice legge l'elenco
+        Thread preparazioneIndice = new Thread(
+            () -> hackathonController.cercaDocumentiHackathon(titoloHackathon, ""), "indice-documenti");
+        preparazioneIndice.setDaemon(true);
+        preparazioneIndice.start();
+
         // Inizializza l'helper per la ricerca dinamica
         searchHelper = new DynamicSearchHelper<>(
             titoloDocumentoField,
@@ -120,15 +131,17 @@ public class CercaDocumentoDialog {
             listModel,
             infoLabel,
             documentiDisponibili,
-            documento -> documento.getTitle(), // Estrae il titolo per la ricerca
+            DocumentHeader::getTitolo,
+            // Ricerca per titolo e contenuto sull'indice dei documenti, in ordine di rilevanza
+            testo -> hackathonController.cercaDocumentiHackathon(titoloHackathon, testo),
             () -> {
                 // Callback per quando la selezione cambia
-                Documento documentoSelezionato = documentoList.getSelectedValue();
+                DocumentHeader documentoSelezionato = documentoList.getSelectedValue();
                 if (documentoSelezionato != null) {
                     infoLabel.setText(String.format(
                         "<html><b>Documento selezionato:</b> %s<br><b>Team:</b> %s<br><b>Stato:</b> Pronto per la valutazione</html>",
-                        documentoSelezionato.getTitle(),
-                        documentoSelezionato.getSource().getNomeTeam()
+                        documentoSelezionato.getTitolo(),
+                        documentoSelezionato.getNomeTeam()
                     ));
                     infoLabel.setBackground(new Color(200, 200, 255)); // Blu chiaro
                     btnSeleziona.setEnabled(true);
@@ -142,7 +155,7 @@ public class CercaDocumentoDialog {
         btnSeleziona.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                Documento documentoSelezionato = searchHelper.getSelectedItem();
+                DocumentHeader documentoSelezionato = searchHelper.getSelectedItem();
                 if (documentoSelezionato == null) {
                     JOptionPane.showMessageDialog(dialog, "Seleziona un documento dalla lista!",
                             "Errore", JOptionPane.ERROR_MESSAGE);
@@ -158,6 +171,9 @@ public class CercaDocumentoDialog {
                 // Chiude il dialog solo se il callback lo richiede
                 if (chiudiDialog) {
                     dialog.dispose();
+                } else {
+                    // Lo stato di valutazione potrebbe essere cambiato
+                    documentoList.repaint();
                 }
             }
         });
@@ -182,7 +198,7 @@ public class CercaDocumentoDialog {
          * @param documento Il documento selezionato
          * @return true se il dialog deve essere chiuso, false per mantenerlo aperto
          */
-        boolean onDocumentoSelected(Documento documento);
+        boolean onDocumentoSelected(DocumentHeader documento);
     }
 }
 
@@ -191,12 +207,10 @@ public class CercaDocumentoDialog {
  */
 class DocumentoListCellRenderer extends DefaultListCellRenderer {
     
-    private HackathonController hackathonController;
-    private Utente giudice;
+    private final Set<Integer> documentiValutati;
     
-    public DocumentoListCellRenderer(HackathonController hackathonController, Utente giudice) {
-        this.hackathonController = hackathonController;
-        this.giudice = giudice;
+    public DocumentoListCellRenderer(Set<Integer> documentiValutati) {
+        this.documentiValutati = documentiValutati;
     }
     
     @Override
@@ -204,24 +218,19 @@ class DocumentoListCellRenderer extends DefaultListCellRenderer {
                                                   boolean isSelected, boolean cellHasFocus) {
         super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
 
-        if (value instanceof Documento) {
-            Documento documento = (Documento) value;
+        if (value instanceof DocumentHeader) {
+            DocumentHeader documento = (DocumentHeader) value;
             
-            // Controlla se il documento è già stato valutato dal giudice
-            boolean giaValutato = false;
-            if (hackathonController != null && giudice != null) {
-                giaValutato = hackathonController.hasGiudiceValutatoDocumento(
-                    giudice.getName(), 
-                    documento.getIdDocumento()
-                );
-            }
+            // Controlla se il documento è già stato valutato dal giudice, senza accedere al database
+            boolean giaValutato = documentiValutati != null
+                && documentiValutati.contains(documento.getIdDocumento());
 
             // Testo da mostrare con informazioni dettagliate
             String status = giaValutato ? " ✓ VALUTATO" : "";
             setText(String.format("<html><b>%s</b>%s<br><small>Team: %s</small></html>",
-                documento.getTitle(),
+                documento.getTitolo(),
                 status,
-                documento.getSource().getNomeTeam()));
+                documento.getNomeTeam()));
 
             // Imposta colori in base allo stato
             if (giaValutato) {
@@ -241,9 +250,9 @@ class DocumentoListCellRenderer extends DefaultListCellRenderer {
             String tooltipStatus = giaValutato ? "<br><b>Stato:</b> Già valutato da te" : "<br><b>Stato:</b> Non ancora valutato";
             setToolTipText(String.format(
                 "<html><b>Titolo:</b> %s<br><b>Team:</b> %s<br><b>Hackathon:</b> %s%s</html>",
-                documento.getTitle(),
-                documento.getSource().getNomeTeam(),
-                documento.getSource().getHackathon().getTitoloIdentificativo(),
+                documento.getTitolo(),
+                documento.getNomeTeam(),
+                documento.getTitoloHackathon(),
                 tooltipStatus
             ));
         }
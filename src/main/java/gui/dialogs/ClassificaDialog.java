@@ -1,5 +1,7 @@
 package gui.dialogs;
 
+import Database.DAO.Classifica;
+import Database.DAO.RigaClassifica;
 import controller.HackathonController;
 import gui.components.ModernButton;
 import model.Team;
@@ -138,17 +140,20 @@ public class ClassificaDialog extends JDialog {
         classificaArea.setText("Caricamento classifica in corso...\n\nAttendi un momento...");
         
         // Esegue il caricamento in background per non bloccare l'UI
-        SwingWorker<String, Void> worker = new SwingWorker<String, Void>() {
+        SwingWorker<Classifica, Void> worker = new SwingWorker<Classifica, Void>() {
             @Override
-            protected String doInBackground() throws Exception {
-                return hackathonController.generaClassificaHackathon(team.getHackathon().getTitoloIdentificativo());
+            protected Classifica doInBackground() throws Exception {
+                return hackathonController.getClassificaHackathon(team.getHackathon().getTitoloIdentificativo());
             }
             
             @Override
             protected void done() {
                 try {
-                    String risultatoClassifica = get();
-                    displayClassifica(risultatoClassifica);
+                    Classifica classifica = get();
+                    if (classifica == null) {
+                        throw new IllegalStateException("Impossibile calcolare la classifica");
+                    }
+                    displayClassifica(classifica);
                 } catch (Exception ex) {
                     classificaArea.setText("ERRORE NEL CARICAMENTO DELLA CLASSIFICA\n\n" +
                                          "Dettagli errore: " + ex.getMessage() + "\n\n" +
@@ -160,81 +165,74 @@ public class ClassificaDialog extends JDialog {
         worker.execute();
     }
     
-    private void displayClassifica(String risultatoClassifica) {
+    private void displayClassifica(Classifica classifica) {
         StringBuilder sb = new StringBuilder();
         
         String hackathonTitle = team.getHackathon().getTitoloIdentificativo();
         sb.append("CLASSIFICA HACKATHON: ").append(hackathonTitle).append("\n");
         sb.append("═".repeat(65)).append("\n\n");
         
-        // Verifica se il risultato è un errore
-        if (risultatoClassifica.startsWith("Errore:")) {
-            sb.append("ATTENZIONE: ").append(risultatoClassifica).append("\n\n");
-            
-            if (risultatoClassifica.contains("prima della fine dell'hackathon")) {
-                sb.append("INFO: La classifica sarà disponibile al termine dell'hackathon.\n");
-                sb.append("Data fine evento: ").append(team.getHackathon().getDataFine()).append("\n");
-            } else if (risultatoClassifica.contains("Mancano") && risultatoClassifica.contains("voti")) {
-                sb.append("INFO: I giudici stanno ancora valutando i team.\n");
-                sb.append("La classifica sarà disponibile quando tutti i voti saranno stati espressi.\n");
-            }
-        } else {
-            // Classifica generata con successo
+        if (classifica.isDefinitiva()) {
             sb.append("Ecco la classifica finale!\n\n");
+        } else if (!classifica.isHackathonTerminato()) {
+            sb.append("ATTENZIONE: Classifica provvisoria, l'hackathon non è ancora terminato.\n");
+            sb.append("INFO: La classifica definitiva sarà disponibile al termine dell'hackathon.\n");
+            sb.append("Data fine evento: ").append(team.getHackathon().getDataFine()).append("\n\n");
+        } else {
+            sb.append("ATTENZIONE: Classifica provvisoria, mancano ")
+              .append(classifica.getVotiMancanti()).append(" voti.\n");
+            sb.append("INFO: I giudici stanno ancora valutando i team.\n");
+            sb.append("La classifica definitiva sarà disponibile quando tutti i voti saranno stati espressi.\n\n");
+        }
+        
+        RigaClassifica rigaTeamCorrente = null;
+        
+        for (RigaClassifica riga : classifica.getRighe()) {
+            int posizione = riga.getPosizione();
+            boolean isTeamCorrente = riga.getNomeTeam().equals(team.getNomeTeam());
+            if (isTeamCorrente) {
+                rigaTeamCorrente = riga;
+            }
             
-            String[] righeClassifica = risultatoClassifica.split("\n");
-            int posizioneTeamCorrente = -1;
-            
-            for (int i = 0; i < righeClassifica.length; i++) {
-                String riga = righeClassifica[i];
-                if (riga.trim().isEmpty()) continue;
-                
-                String[] parti = riga.trim().split(" ");
-                if (parti.length >= 3) {
-                    int posizione = Integer.parseInt(parti[0]);
-                    String nomeTeam = parti[1];
-                    String punteggio = parti[2];
-                    
-                    boolean isTeamCorrente = nomeTeam.equals(team.getNomeTeam());
-                    if (isTeamCorrente) {
-                        posizioneTeamCorrente = posizione;
-                    }
-                    
-                    String icona = "";
-                    if (posizione == 1) {
-                        icona = "[1°] ";
-                    } else if (posizione == 2) {
-                        icona = "[2°] ";
-                    } else if (posizione == 3) {
-                        icona = "[3°] ";
-                    } else {
-                        icona = "     ";
-                    }
-                    
-                    String prefisso = isTeamCorrente ? "→ " : "  ";
-                    String suffisso = isTeamCorrente ? " ← IL TUO TEAM" : "";
-                    
-                    sb.append(String.format("%s%s%d°. %-22s Punteggio: %s%s\n", 
-                        prefisso, icona, posizione, nomeTeam, punteggio, suffisso));
-                }
+            String icona;
+            if (posizione == 1) {
+                icona = "[1°] ";
+            } else if (posizione == 2) {
+                icona = "[2°] ";
+            } else if (posizione == 3) {
+                icona = "[3°] ";
+            } else {
+                icona = "     ";
             }
             
-            sb.append("\n").append("═".repeat(65)).append("\n");
+            String prefisso = isTeamCorrente ? "→ " : "  ";
+            String suffisso = isTeamCorrente ? " ← IL TUO TEAM" : "";
+            String exAequo = riga.isExAequo() ? " (ex aequo)" : "";
             
-            // Messaggio personalizzato in base alla posizione
-            if (posizioneTeamCorrente > 0) {
-                if (posizioneTeamCorrente == 1) {
-                    sb.append("CONGRATULAZIONI! Il vostro team è al PRIMO POSTO!\n");
-                } else if (posizioneTeamCorrente <= 3) {
-                    sb.append("Ottimo lavoro! Il vostro team è sul podio!\n");
-                } else {
-                    sb.append("Buon lavoro! Posizione del vostro team: ").append(posizioneTeamCorrente).append("°\n");
-                }
+            sb.append(String.format("%s%s%d°. %-22s Punteggio: %d (%d voti, max %d)%s%s\n",
+                prefisso, icona, posizione, riga.getNomeTeam(), riga.getPunteggio(),
+                riga.getNumeroVoti(), riga.getVotoMassimo(), exAequo, suffisso));
+        }
+        
+        sb.append("\n").append("═".repeat(65)).append("\n");
+        
+        // Messaggio personalizzato in base alla posizione
+        if (rigaTeamCorrente != null && classifica.isDefinitiva()) {
+            int posizioneTeamCorrente = rigaTeamCorrente.getPosizione();
+            if (posizioneTeamCorrente == 1) {
+                sb.append("CONGRATULAZIONI! Il vostro team è al PRIMO POSTO!\n");
+            } else if (posizioneTeamCorrente <= 3) {
+                sb.append("Ottimo lavoro! Il vostro team è sul podio!\n");
+            } else {
+                sb.append("Buon lavoro! Posizione del vostro team: ").append(posizioneTeamCorrente).append("°\n");
             }
-            
-            sb.append("Totale team partecipanti: ").append(righeClassifica.length).append("\n");
+        } else if (rigaTeamCorrente != null) {
+            sb.append("Posizione provvisoria del vostro team: ").append(rigaTeamCorrente.getPosizione()).append("°\n");
         }
         
+        sb.append("A parità di punteggio precede il team con il voto singolo più alto.\n");
+        sb.append("Totale team partecipanti: ").append(classifica.getRighe().size()).append("\n");
+        
         classificaArea.setText(sb.toString());
         classificaArea.setCaretPosition(0);
     }
@@ -1,6 +1,9 @@
 package gui.dialogs;
 
+import Database.DAO.HackathonSummary;
+import Database.DAO.TeamDAO;
 import controller.HackathonController;
+import gui.components.BulkListModel;
 import gui.components.ModernButton;
 import model.*;
 import utilities.DynamicSearchHelper;
@@ -24,9 +27,45 @@ public class HackathonInfoDialog {
      */
     public static void mostraDialog(JFrame parentFrame, Hackathon hackathon, 
                                    HackathonController hackathonController) {
+        JPanel infoPanel = creaSchemaInformazioni(
+            hackathon.getTitoloIdentificativo(),
+            hackathon.getDescrizioneProblema(),
+            hackathon.getDataInizio().toString(),
+            hackathon.getDataFine().toString(),
+            hackathon.getSede(),
+            hackathon.getMaxNumIscritti(),
+            hackathon.getOrganizzatore()
+        );
+        mostraDialog(parentFrame, hackathon.getTitoloIdentificativo(), infoPanel, hackathonController);
+    }
+    
+    /**
+     * Mostra un dialog con le informazioni complete dell'hackathon a partire dal suo riepilogo.
+     * La descrizione del problema, esclusa dal riepilogo, viene caricata solo ora.
+     * 
+     * @param parentFrame Frame genitore
+     * @param riepilogo Il riepilogo dell'hackathon selezionato in una lista
+     * @param hackathonController Controller principale per tutte le operazioni
+     */
+    public static void mostraDialog(JFrame parentFrame, HackathonSummary riepilogo, 
+                                   HackathonController hackathonController) {
+        JPanel infoPanel = creaSchemaInformazioni(
+            riepilogo.getTitoloIdentificativo(),
+            hackathonController.getDescrizioneHackathon(riepilogo.getTitoloIdentificativo()),
+            riepilogo.getDataInizio().toString(),
+            riepilogo.getDataFine().toString(),
+            riepilogo.getSede(),
+            riepilogo.getMaxNumIscritti(),
+            riepilogo.getOrganizzatore()
+        );
+        mostraDialog(parentFrame, riepilogo.getTitoloIdentificativo(), infoPanel, hackathonController);
+    }
+    
+    private static void mostraDialog(JFrame parentFrame, String titoloHackathon, JPanel infoPanel,
+                                     HackathonController hackathonController) {
         
         // Crea il dialog modale
-        JDialog dialog = new JDialog(parentFrame, "Dettagli Hackathon - " + hackathon.getTitoloIdentificativo(), true);
+        JDialog dialog = new JDialog(parentFrame, "Dettagli Hackathon - " + titoloHackathon, true);
         dialog.setSize(650, 450);
         dialog.setLocationRelativeTo(parentFrame);
         
@@ -34,11 +73,10 @@ public class HackathonInfoDialog {
         JTabbedPane tabbedPane = new JTabbedPane();
         
         // === SCHEDA 1: INFORMAZIONI HACKATHON ===
-        JPanel infoPanel = creaSchemaInformazioni(hackathon);
         tabbedPane.addTab("📋 Informazioni", infoPanel);
         
         // === SCHEDA 2: TEAM PARTECIPANTI ===
-        JPanel teamPanel = creaSchemaTeam(hackathon, hackathonController, dialog);
+        JPanel teamPanel = creaSchemaTeam(titoloHackathon, hackathonController, dialog);
         tabbedPane.addTab("👥 Team Partecipanti", teamPanel);
         
         // Pannello inferiore con pulsante di chiusura
@@ -58,12 +96,14 @@ public class HackathonInfoDialog {
     /**
      * Crea il pannello con le informazioni generali dell'hackathon.
      */
-    private static JPanel creaSchemaInformazioni(Hackathon hackathon) {
+    private static JPanel creaSchemaInformazioni(String titolo, String descrizione, String dataInizio,
+                                                 String dataFine, String sede, int maxIscritti,
+                                                 String organizzatore) {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         
         // Titolo principale
-        JLabel titleLabel = new JLabel("🏆 " + hackathon.getTitoloIdentificativo(), JLabel.CENTER);
+        JLabel titleLabel = new JLabel("🏆 " + titolo, JLabel.CENTER);
         titleLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 24));
         titleLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 20, 0));
         
@@ -74,12 +114,12 @@ public class HackathonInfoDialog {
         gbc.insets = new Insets(8, 10, 8, 10);
         
         // Riga per riga le informazioni
-        addInfoRow(detailsPanel, gbc, 0, "📝 Descrizione:", hackathon.getDescrizioneProblema());
-        addInfoRow(detailsPanel, gbc, 1, "📅 Data Inizio:", hackathon.getDataInizio().toString());
-        addInfoRow(detailsPanel, gbc, 2, "📅 Data Fine:", hackathon.getDataFine().toString());
-        addInfoRow(detailsPanel, gbc, 3, "📍 Sede:", hackathon.getSede());
-        addInfoRow(detailsPanel, gbc, 4, "👥 Max Partecipanti:", String.valueOf(hackathon.getMaxNumIscritti()));
-        addInfoRow(detailsPanel, gbc, 5, "🔧 Organizzatore:", hackathon.getOrganizzatore());
+        addInfoRow(detailsPanel, gbc, 0, "📝 Descrizione:", descrizione);
+        addInfoRow(detailsPanel, gbc, 1, "📅 Data Inizio:", dataInizio);
+        addInfoRow(detailsPanel, gbc, 2, "📅 Data Fine:", dataFine);
+        addInfoRow(detailsPanel, gbc, 3, "📍 Sede:", sede);
+        addInfoRow(detailsPanel, gbc, 4, "👥 Max Partecipanti:", String.valueOf(maxIscritti));
+        addInfoRow(detailsPanel, gbc, 5, "🔧 Organizzatore:", organizzatore);
         
         panel.add(titleLabel, BorderLayout.NORTH);
         panel.add(detailsPanel, BorderLayout.CENTER);
@@ -90,18 +130,14 @@ public class HackathonInfoDialog {
     /**
      * Crea il pannello con i team partecipanti e ricerca dinamica.
      */
-    private static JPanel creaSchemaTeam(Hackathon hackathon, HackathonController hackathonController, 
+    private static JPanel creaSchemaTeam(String titoloHackathon, HackathonController hackathonController, 
                                         JDialog parentDialog) {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
         
-        // Recupera i team partecipanti
-        List<Team> teamList;
-        try {
-            teamList = hackathonController.getTeamsByHackathon(hackathon.getTitoloIdentificativo());
-        } catch (Exception e) {
-            teamList = List.of();
-        }
+        // Recupera in un'unica query i team con punteggi e membri: i renderer
+        // e i dettagli leggono da questa istantanea senza accedere al database
+        List<TeamDAO.RosterTeam> teamList = hackathonController.getRosterHackathon(titoloHackathon);
         
         // Pannello per la ricerca
         JPanel searchPanel = new JPanel(new BorderLayout(5, 5));
@@ -116,8 +152,8 @@ public class HackathonInfoDialog {
         centerPanel.setBorder(BorderFactory.createTitledBorder("Team Partecipanti (" + teamList.size() + ")"));
         
         // Lista e modello
-        DefaultListModel<Team> listModel = new DefaultListModel<>();
-        JList<Team> teamJList = new JList<>(listModel);
+        BulkListModel<TeamDAO.RosterTeam> listModel = new BulkListModel<>();
+        JList<TeamDAO.RosterTeam> teamJList = new JList<>(listModel);
         teamJList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         
         // Renderer personalizzato per i team
@@ -126,17 +162,16 @@ public class HackathonInfoDialog {
             public Component getListCellRendererComponent(JList<?> list, Object value, int index,
                     boolean isSelected, boolean cellHasFocus) {
                 super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-                if (value instanceof Team) {
-                    Team team = (Team) value;
-                    // Ottieni il numero di membri direttamente dal database
-                    int numMembri = hackathonController.getNumeroMembriTeam(team.getNomeTeam(), hackathon.getTitoloIdentificativo());
+                if (value instanceof TeamDAO.RosterTeam) {
+                    TeamDAO.RosterTeam team = (TeamDAO.RosterTeam) value;
+                    int numMembri = team.getNumeroMembri();
                     
                     // Ottieni il punteggio finale
                     String punteggio;
-                    if (team.getVotoFinale() == 0) {
+                    if (team.getPunteggioFinale() == 0) {
                         punteggio = "Non assegnato";
                     } else {
-                        punteggio = String.valueOf(team.getVotoFinale()) + " punti";
+                        punteggio = String.valueOf(team.getPunteggioFinale()) + " punti";
                     }
                     
                     setText("👥 " + team.getNomeTeam() + " (" + numMembri + " membri) - Punteggio: " + punteggio);
@@ -162,18 +197,18 @@ public class HackathonInfoDialog {
         buttonPanel.add(btnDettagliTeam);
         
         // Inizializza l'helper per la ricerca dinamica
-        DynamicSearchHelper<Team> searchHelper = new DynamicSearchHelper<>(
+        DynamicSearchHelper<TeamDAO.RosterTeam> searchHelper = new DynamicSearchHelper<>(
             searchField,
             teamJList,
             listModel,
             infoLabel,
             teamList,
-            team -> team.getNomeTeam(), // Estrae il nome per la ricerca
+            TeamDAO.RosterTeam::getNomeTeam, // Estrae il nome per la ricerca
             () -> {
                 // Callback per quando la selezione cambia
-                Team selectedTeam = teamJList.getSelectedValue();
+                TeamDAO.RosterTeam selectedTeam = teamJList.getSelectedValue();
                 if (selectedTeam != null) {
-                    int numMembri = hackathonController.getNumeroMembriTeam(selectedTeam.getNomeTeam(), hackathon.getTitoloIdentificativo());
+                    int numMembri = selectedTeam.getNumeroMembri();
                     infoLabel.setText(String.format(
                         "Team selezionato: %s (%d membri)",
                         selectedTeam.getNomeTeam(),
@@ -189,9 +224,9 @@ public class HackathonInfoDialog {
         
         // Listener per il pulsante dettagli team
         btnDettagliTeam.addActionListener(e -> {
-            Team selectedTeam = searchHelper.getSelectedItem();
+            TeamDAO.RosterTeam selectedTeam = searchHelper.getSelectedItem();
             if (selectedTeam != null) {
-                mostraDettagliTeam(parentDialog, selectedTeam, hackathonController);
+                mostraDettagliTeam(parentDialog, selectedTeam);
             }
         });
         
@@ -206,7 +241,7 @@ public class HackathonInfoDialog {
     /**
      * Mostra un dialog con i dettagli di un team specifico.
      */
-    private static void mostraDettagliTeam(JDialog parentDialog, Team team, HackathonController hackathonController) {
+    private static void mostraDettagliTeam(JDialog parentDialog, TeamDAO.RosterTeam team) {
         JDialog teamDialog = new JDialog(parentDialog, "Dettagli Team - " + team.getNomeTeam(), true);
         teamDialog.setSize(450, 350);
         teamDialog.setLocationRelativeTo(parentDialog);
@@ -225,40 +260,26 @@ public class HackathonInfoDialog {
         gbc.anchor = GridBagConstraints.WEST;
         gbc.insets = new Insets(5, 10, 5, 10);
         
-        addInfoRow(infoPanel, gbc, 0, "🏆 Hackathon:", 
-                  team.getHackathon() != null ? team.getHackathon().getTitoloIdentificativo() : "N/A");
-        
-        // Ottieni il numero di membri direttamente dal database
-        int numMembri = hackathonController.getNumeroMembriTeam(team.getNomeTeam(), 
-            team.getHackathon() != null ? team.getHackathon().getTitoloIdentificativo() : "");
-        addInfoRow(infoPanel, gbc, 1, "👥 Numero Membri:", String.valueOf(numMembri));
+        addInfoRow(infoPanel, gbc, 0, "🏆 Hackathon:", team.getTitoloHackathon());
+        addInfoRow(infoPanel, gbc, 1, "👥 Numero Membri:", String.valueOf(team.getNumeroMembri()));
         
         // Aggiungi il punteggio finale
         String punteggio;
-        if (team.getVotoFinale() == 0) {
+        if (team.getPunteggioFinale() == 0) {
             punteggio = "Non ancora assegnato";
         } else {
-            punteggio = String.valueOf(team.getVotoFinale()) + " punti";
+            punteggio = String.valueOf(team.getPunteggioFinale()) + " punti";
         }
         addInfoRow(infoPanel, gbc, 2, "🏆 Punteggio Finale:", punteggio);
         
-        // Lista dei membri - caricata dal database
+        // Lista dei membri
         JPanel membersPanel = new JPanel(new BorderLayout(5, 5));
         membersPanel.setBorder(BorderFactory.createTitledBorder("Membri del Team"));
         
         DefaultListModel<String> memberListModel = new DefaultListModel<>();
-        try {
-            // Carica i membri dal database usando il controller
-            java.util.List<Utente> membri = hackathonController.getMembriTeam(
-                team.getNomeTeam(), 
-                team.getHackathon() != null ? team.getHackathon().getTitoloIdentificativo() : ""
-            );
-            
-            for (Utente membro : membri) {
-                memberListModel.addElement(membro.getName());
-            }
-        } catch (Exception e) {
-            memberListModel.addElement("Errore nel caricamento dei membri");
+        // I membri sono già presenti nell'istantanea del team
+        for (String membro : team.getMembri()) {
+            memberListModel.addElement(membro);
         }
         
         JList<String> memberList = new JList<>(memberListModel);
@@ -1,6 +1,9 @@
 package gui.dialogs;
 
+import Database.DAO.Async.AsyncDAO;
+import Database.DAO.TeamDAO;
 import controller.HackathonController;
+import gui.components.BulkListModel;
 import gui.components.ModernButton;
 import model.Team;
 import model.Utente;
@@ -8,7 +11,11 @@ import utilities.DynamicSearchHelper;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Dialogo per mostrare e cercare team di un hackathon - Stile coerente con HackathonInfoDialog.
@@ -59,13 +66,8 @@ public class TeamListDialog {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
         
-        // Recupera i team partecipanti
-        List<Team> teamList;
-        try {
-            teamList = hackathonController.getTeamsByHackathon(titoloHackathon);
-        } catch (Exception e) {
-            teamList = List.of();
-        }
+        // La lista si riempie quando l'istantanea dei team è stata letta (vedi in fondo)
+        List<TeamDAO.RosterTeam> teamList = new ArrayList<>();
         
         // Pannello per la ricerca
         JPanel searchPanel = new JPanel(new BorderLayout(5, 5));
@@ -77,11 +79,11 @@ public class TeamListDialog {
         
         // Pannello centrale per la lista dei team
         JPanel centerPanel = new JPanel(new BorderLayout(5, 5));
-        centerPanel.setBorder(BorderFactory.createTitledBorder("Team Partecipanti (" + teamList.size() + ")"));
+        centerPanel.setBorder(BorderFactory.createTitledBorder("Team Partecipanti"));
         
         // Lista e modello
-        DefaultListModel<Team> listModel = new DefaultListModel<>();
-        JList<Team> teamJList = new JList<>(listModel);
+        BulkListModel<TeamDAO.RosterTeam> listModel = new BulkListModel<>();
+        JList<TeamDAO.RosterTeam> teamJList = new JList<>(listModel);
         teamJList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         
         // Renderer personalizzato per i team - IDENTICO a HackathonInfoDialog
@@ -90,17 +92,16 @@ public class TeamListDialog {
             public Component getListCellRendererComponent(JList<?> list, Object value, int index,
                     boolean isSelected, boolean cellHasFocus) {
                 super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-                if (value instanceof Team) {
-                    Team team = (Team) value;
-                    // Ottieni il numero di membri direttamente dal database
-                    int numMembri = hackathonController.getNumeroMembriTeam(team.getNomeTeam(), titoloHackathon);
+                if (value instanceof TeamDAO.RosterTeam) {
+                    TeamDAO.RosterTeam team = (TeamDAO.RosterTeam) value;
+                    int numMembri = team.getNumeroMembri();
                     
                     // Ottieni il punteggio finale
                     String punteggio;
-                    if (team.getVotoFinale() == 0) {
+                    if (team.getPunteggioFinale() == 0) {
                         punteggio = "Non assegnato";
                     } else {
-                        punteggio = String.valueOf(team.getVotoFinale()) + " punti";
+                        punteggio = String.valueOf(team.getPunteggioFinale()) + " punti";
                     }
                     
                     setText("👥 " + team.getNomeTeam() + " (" + numMembri + " membri) - Punteggio: " + punteggio);
@@ -126,18 +127,18 @@ public class TeamListDialog {
         buttonPanel.add(btnDettagliTeam);
         
         // Inizializza l'helper per la ricerca dinamica - IDENTICO a HackathonInfoDialog
-        DynamicSearchHelper<Team> searchHelper = new DynamicSearchHelper<>(
+        DynamicSearchHelper<TeamDAO.RosterTeam> searchHelper = new DynamicSearchHelper<>(
             searchField,
             teamJList,
             listModel,
             infoLabel,
             teamList,
-            team -> team.getNomeTeam(), // Estrae il nome per la ricerca
+            TeamDAO.RosterTeam::getNomeTeam, // Estrae il nome per la ricerca
             () -> {
                 // Callback per quando la selezione cambia
-                Team selectedTeam = teamJList.getSelectedValue();
+                TeamDAO.RosterTeam selectedTeam = teamJList.getSelectedValue();
                 if (selectedTeam != null) {
-                    int numMembri = hackathonController.getNumeroMembriTeam(selectedTeam.getNomeTeam(), titoloHackathon);
+                    int numMembri = selectedTeam.getNumeroMembri();
                     infoLabel.setText(String.format(
                         "Team selezionato: %s (%d membri)",
                         selectedTeam.getNomeTeam(),
@@ -153,9 +154,33 @@ public class TeamListDialog {
         
         // Listener per il pulsante dettagli team
         btnDettagliTeam.addActionListener(e -> {
-            Team selectedTeam = searchHelper.getSelectedItem();
+            TeamDAO.RosterTeam selectedTeam = searchHelper.getSelectedItem();
             if (selectedTeam != null) {
-                mostraDettagliTeam(parentDialog, selectedTeam, hackathonController);
+                mostraDettagliTeam(parentDialog, selectedTeam);
+            }
+        });
+        
+        // Recupera in un'unica query, fuori dall'EDT, i team con punteggi e membri: i renderer
+        // e i dettagli leggono da questa istantanea senza accedere al database
+        infoLabel.setText("Caricamento dei team...");
+        CompletableFuture<List<TeamDAO.RosterTeam>> caricamento =
+                hackathonController.inBackground(c -> c.getRosterHackathon(titoloHackathon));
+        caricamento.whenCompleteAsync((roster, errore) -> {
+            if (errore != null) {
+                if (!caricamento.isCancelled()) {
+                    infoLabel.setText("Errore nel caricamento dei team: " + AsyncDAO.causa(errore).getMessage());
+                }
+                return;
+            }
+            centerPanel.setBorder(BorderFactory.createTitledBorder("Team Partecipanti (" + roster.size() + ")"));
+            searchHelper.updateAllItems(roster);
+        }, SwingUtilities::invokeLater);
+
+        // Se il dialog viene chiuso prima, la lettura viene annullata
+        parentDialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                caricamento.cancel(true);
             }
         });
         
@@ -170,7 +195,7 @@ public class TeamListDialog {
     /**
      * Mostra un dialog con i dettagli di un team specifico - IDENTICO a HackathonInfoDialog.
      */
-    private static void mostraDettagliTeam(JDialog parentDialog, Team team, HackathonController hackathonController) {
+    private static void mostraDettagliTeam(JDialog parentDialog, TeamDAO.RosterTeam team) {
         JDialog teamDialog = new JDialog(parentDialog, "Dettagli Team - " + team.getNomeTeam(), true);
         teamDialog.setSize(450, 350);
         teamDialog.setLocationRelativeTo(parentDialog);
@@ -189,40 +214,26 @@ public class TeamListDialog {
         gbc.anchor = GridBagConstraints.WEST;
         gbc.insets = new Insets(5, 10, 5, 10);
         
-        addInfoRow(infoPanel, gbc, 0, "🏆 Hackathon:", 
-                  team.getHackathon() != null ? team.getHackathon().getTitoloIdentificativo() : "N/A");
-        
-        // Ottieni il numero di membri direttamente dal database
-        int numMembri = hackathonController.getNumeroMembriTeam(team.getNomeTeam(), 
-            team.getHackathon() != null ? team.getHackathon().getTitoloIdentificativo() : "");
-        addInfoRow(infoPanel, gbc, 1, "👥 Numero Membri:", String.valueOf(numMembri));
+        addInfoRow(infoPanel, gbc, 0, "🏆 Hackathon:", team.getTitoloHackathon());
+        addInfoRow(infoPanel, gbc, 1, "👥 Numero Membri:", String.valueOf(team.getNumeroMembri()));
         
         // Aggiungi il punteggio finale
         String punteggio;
-        if (team.getVotoFinale() == 0) {
+        if (team.getPunteggioFinale() == 0) {
             punteggio = "Non ancora assegnato";
         } else {
-            punteggio = String.valueOf(team.getVotoFinale()) + " punti";
+            punteggio = String.valueOf(team.getPunteggioFinale()) + " punti";
         }
         addInfoRow(infoPanel, gbc, 2, "🏆 Punteggio Finale:", punteggio);
         
-        // Lista dei membri - caricata dal database
+        // Lista dei membri
         JPanel membersPanel = new JPanel(new BorderLayout(5, 5));
         membersPanel.setBorder(BorderFactory.createTitledBorder("Membri del Team"));
         
         DefaultListModel<String> memberListModel = new DefaultListModel<>();
-        try {
-            // Carica i membri dal database usando il controller
-            List<Utente> membri = hackathonController.getMembriTeam(
-                team.getNomeTeam(), 
-                team.getHackathon() != null ? team.getHackathon().getTitoloIdentificativo() : ""
-            );
-            
-            for (Utente membro : membri) {
-                memberListModel.addElement(membro.getName());
-            }
-        } catch (Exception e) {
-            memberListModel.addElement("Errore nel caricamento dei membri");
+        // I membri sono già presenti nell'istantanea del team
+        for (String membro : team.getMembri()) {
+            memberListModel.addElement(membro);
         }
         
         JList<String> memberList = new JList<>(memberListModel);
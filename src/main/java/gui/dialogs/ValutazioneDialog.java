@@ -9,6 +9,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.Set;
 
 /**
  * Dialog per la valutazione testuale di un documento da parte di un giudice.
@@ -19,6 +20,7 @@ public class ValutazioneDialog extends JDialog {
     private final Documento documento;
     private final Giudice giudice;
     private final HackathonController hackathonController;
+    private final Set<Integer> documentiValutati;
     private JTextArea textAreaGiudizio;
     private ModernButton buttonSalva;
     private ModernButton buttonAnnulla;
@@ -30,12 +32,15 @@ public class ValutazioneDialog extends JDialog {
      * @param documento  Documento da valutare
      * @param giudice    Giudice che effettua la valutazione
      * @param hackathonController Controller per operazioni business
+     * @param documentiValutati ID dei documenti già valutati dal giudice; viene aggiornato dopo il salvataggio
      */
-    public ValutazioneDialog(JFrame parent, Documento documento, Giudice giudice, HackathonController hackathonController) {
+    public ValutazioneDialog(JFrame parent, Documento documento, Giudice giudice, HackathonController hackathonController,
+                             Set<Integer> documentiValutati) {
         super(parent, "Valutazione Documento", true);
         this.documento = documento;
         this.giudice = giudice;
         this.hackathonController = hackathonController;
+        this.documentiValutati = documentiValutati;
         
         initializeComponents();
         layoutComponents();
@@ -139,7 +144,7 @@ public class ValutazioneDialog extends JDialog {
         
         try {
             // Controlla se il giudice ha già valutato questo documento
-            if (hackathonController.hasGiudiceValutatoDocumento(giudice.getName(), documento.getIdDocumento())) {
+            if (documentiValutati.contains(documento.getIdDocumento())) {
                 JOptionPane.showMessageDialog(this, 
                     "Hai già valutato questo documento.", 
                     "Attenzione", 
@@ -152,6 +157,7 @@ public class ValutazioneDialog extends JDialog {
                                                 giudice.getName(), titoloHackathon);
             
             if (successValutazione) {
+                documentiValutati.add(documento.getIdDocumento());
                 JOptionPane.showMessageDialog(this, 
                     "Valutazione salvata con successo!", 
                     "Successo", 
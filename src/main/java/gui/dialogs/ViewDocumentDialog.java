@@ -1,5 +1,7 @@
 package gui.dialogs;
 
+import Database.DAO.DocumentHeader;
+import controller.HackathonController;
 import gui.components.ModernButton;
 import model.Documento;
 
@@ -28,6 +30,23 @@ public class ViewDocumentDialog extends JDialog {
         setVisible(true);
     }
     
+    /**
+     * Apre il documento a partire dalla sua intestazione, caricandone il contenuto solo ora.
+     *
+     * @param parent Frame genitore
+     * @param intestazione L'intestazione del documento selezionato in una lista
+     * @param hackathonController Controller per il recupero del documento
+     */
+    public static void mostra(JFrame parent, DocumentHeader intestazione, HackathonController hackathonController) {
+        Documento documento = hackathonController.getDocumento(intestazione.getIdDocumento());
+        if (documento == null) {
+            MessageDialog.showErrorMessage(parent,
+                "Impossibile caricare il documento '" + intestazione.getTitolo() + "'.");
+            return;
+        }
+        new ViewDocumentDialog(parent, documento);
+    }
+    
     private void initializeComponents() {
         // Panel principale con gradiente
         JPanel mainPanel = new JPanel(new BorderLayout(15, 15)) {
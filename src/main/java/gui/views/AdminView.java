@@ -5,7 +5,9 @@ import model.Organizzatore;
 import model.Utente;
 import gui.views.CreaHackathonForm;
 import gui.dialogs.HackathonInfoDialog;
+import gui.components.BulkListModel;
 import controller.HackathonController;
+import Database.DAO.Async.AsyncDAO;
 import utilities.DynamicSearchHelper;
 
 import javax.swing.*;
@@ -17,6 +19,7 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * La classe AdminView rappresenta l'interfaccia grafica per l'amministratore/organizzatore.
@@ -228,11 +231,32 @@ public class AdminView {
      */
     private void loadHackathonList(Organizzatore adminLogged, HackathonController hackathonController) {
         hackathonContentPanel.removeAll();
+        JLabel caricamentoLabel = new JLabel("Caricamento degli hackathon...");
+        caricamentoLabel.setFont(new Font("Segoe UI", Font.ITALIC, 14));
+        caricamentoLabel.setForeground(new Color(107, 114, 128));
+        hackathonContentPanel.add(caricamentoLabel);
+
+        // La lettura avviene fuori dall'EDT, la lista viene mostrata quando è pronta
+        hackathonController.inBackground(c -> c.getHackathonDiOrganizzatore(adminLogged))
+                .whenCompleteAsync((hackathons, errore) -> mostraHackathonList(hackathons, errore, adminLogged, hackathonController),
+                        SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Mostra la lista degli hackathon dell'organizzatore, o l'errore del caricamento.
+     */
+    private void mostraHackathonList(List<Hackathon> hackathons, Throwable errore, Organizzatore adminLogged,
+                                     HackathonController hackathonController) {
+        hackathonContentPanel.removeAll();
         
         try {
-            List<Hackathon> hackathons = hackathonController.getHackathonDiOrganizzatore(adminLogged);
-            
-            if (hackathons.isEmpty()) {
+            if (errore != null) {
+                JLabel errorLabel = new JLabel("Errore nel caricamento degli hackathon: "
+                        + AsyncDAO.causa(errore).getMessage());
+                errorLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+                errorLabel.setForeground(Color.RED);
+                hackathonContentPanel.add(errorLabel);
+            } else if (hackathons.isEmpty()) {
                 JLabel noHackathonLabel = new JLabel("Nessun hackathon trovato. Crea il tuo primo hackathon!");
                 noHackathonLabel.setFont(new Font("Segoe UI", Font.ITALIC, 16));
                 noHackathonLabel.setForeground(new Color(107, 114, 128));
@@ -242,7 +266,7 @@ public class AdminView {
                 hackathonContentPanel.add(Box.createVerticalGlue());
             } else {
                 for (Hackathon hackathon : hackathons) {
-                    JPanel hackathonPanel = createHackathonCard(hackathon, hackathonController);
+                    JPanel hackathonPanel = createHackathonCard(hackathon, adminLogged, hackathonController);
                     hackathonContentPanel.add(hackathonPanel);
                     hackathonContentPanel.add(Box.createVerticalStrut(10));
                 }
@@ -260,8 +284,9 @@ public class AdminView {
     
     /**
      * Crea una card per un hackathon.
+     * Per gli hackathon terminati la card permette di salvare la classifica finale.
      */
-    private JPanel createHackathonCard(Hackathon hackathon, HackathonController hackathonController) {
+    private JPanel createHackathonCard(Hackathon hackathon, Organizzatore adminLogged, HackathonController hackathonController) {
         JPanel card = new JPanel(new BorderLayout(10, 5));
         card.setBackground(Color.WHITE);
         card.setBorder(BorderFactory.createCompoundBorder(
@@ -298,8 +323,22 @@ public class AdminView {
             HackathonInfoDialog.mostraDialog(frameAdminView, hackathon, hackathonController);
         });
         
+        JPanel actionsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
+        actionsPanel.setOpaque(false);
+
+        if (hackathon.getDataFine().toLocalDate().isBefore(java.time.LocalDate.now())) {
+            JButton classificaButton = new JButton("Classifica finale");
+            classificaButton.setFont(new Font("Segoe UI", Font.BOLD, 12));
+            classificaButton.setPreferredSize(new Dimension(140, 30));
+            applyModernButtonStyle(classificaButton, "primary");
+            classificaButton.addActionListener(e ->
+                salvaClassificaDefinitiva(hackathon, adminLogged, hackathonController, classificaButton));
+            actionsPanel.add(classificaButton);
+        }
+        actionsPanel.add(detailsButton);
+        
         card.add(infoPanel, BorderLayout.CENTER);
-        card.add(detailsButton, BorderLayout.EAST);
+        card.add(actionsPanel, BorderLayout.EAST);
         
         // Effetto hover
         card.addMouseListener(new MouseAdapter() {
@@ -319,14 +358,77 @@ public class AdminView {
         return card;
     }
     
+    /**
+     * Salva la classifica finale di un hackathon terminato, dopo conferma dell'organizzatore.
+     * È l'unico punto in cui la classifica viene scritta nel database.
+     */
+    private void salvaClassificaDefinitiva(Hackathon hackathon, Organizzatore adminLogged,
+                                           HackathonController hackathonController, JButton classificaButton) {
+        int conferma = JOptionPane.showConfirmDialog(frameAdminView,
+            "Salvare la classifica finale di '" + hackathon.getTitoloIdentificativo() + "'?\n" +
+            "La classifica verrà calcolata e salvata nel database.",
+            "Classifica finale",
+            JOptionPane.YES_NO_OPTION);
+        if (conferma != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        classificaButton.setEnabled(false);
+        hackathonController.inBackground(c -> c.salvaClassificaDefinitiva(hackathon.getTitoloIdentificativo(), adminLogged))
+            .whenCompleteAsync((testo, errore) -> {
+                classificaButton.setEnabled(true);
+                if (errore != null || testo == null) {
+                    JOptionPane.showMessageDialog(frameAdminView,
+                        "Impossibile salvare la classifica finale." +
+                        (errore != null ? "\n" + AsyncDAO.causa(errore).getMessage() : ""),
+                        "Errore",
+                        JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                JTextArea classificaArea = new JTextArea(testo, 12, 40);
+                classificaArea.setEditable(false);
+                JOptionPane.showMessageDialog(frameAdminView,
+                    new JScrollPane(classificaArea),
+                    "Classifica finale salvata",
+                    JOptionPane.INFORMATION_MESSAGE);
+            }, SwingUtilities::invokeLater);
+    }
+    
     /**
      * Metodo per invitare un giudice.
      */
     private void invitaGiudice(Organizzatore adminLogged, HackathonController hackathonController) {
+        invitaGiudiceButton.setEnabled(false);
+
+        // Utenti e hackathon dell'organizzatore vengono letti insieme, fuori dall'EDT
+        CompletableFuture<List<Utente>> utenti = hackathonController.inBackground(HackathonController::getTuttiUtenti);
+        CompletableFuture<List<Hackathon>> hackathons =
+                hackathonController.inBackground(c -> c.getHackathonDiOrganizzatore(adminLogged));
+        utenti.thenCombine(hackathons, DatiInvito::new).whenCompleteAsync((dati, errore) -> {
+            invitaGiudiceButton.setEnabled(true);
+            if (errore != null) {
+                JOptionPane.showMessageDialog(frameAdminView, 
+                    "Errore nel recupero degli utenti: " + AsyncDAO.causa(errore).getMessage(), 
+                    "Errore", 
+                    JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            scegliGiudiceDaInvitare(dati.utenti(), dati.hackathon(), adminLogged, hackathonController);
+        }, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Utenti e hackathon letti per l'invito di un giudice.
+     */
+    private record DatiInvito(List<Utente> utenti, List<Hackathon> hackathon) {
+    }
+
+    /**
+     * Fa scegliere all'organizzatore l'hackathon e l'utente da invitare come giudice e invia l'invito.
+     */
+    private void scegliGiudiceDaInvitare(List<Utente> tuttiUtenti, List<Hackathon> hackathonList,
+                                         Organizzatore adminLogged, HackathonController hackathonController) {
         try {
-            // Recupera tutti gli utenti dal database tramite il controller
-            List<Utente> tuttiUtenti = hackathonController.getTuttiUtenti();
-            
             if (tuttiUtenti.isEmpty()) {
                 JOptionPane.showMessageDialog(frameAdminView, 
                     "Non ci sono utenti registrati nel sistema.", 
@@ -335,9 +437,6 @@ public class AdminView {
                 return;
             }
             
-            // Recupera gli hackathon dell'organizzatore
-            List<Hackathon> hackathonList = hackathonController.getHackathonDiOrganizzatore(adminLogged);
-            
             if (hackathonList.isEmpty()) {
                 JOptionPane.showMessageDialog(frameAdminView, 
                     "Devi prima creare un hackathon per poter invitare giudici.", 
@@ -360,25 +459,25 @@ public class AdminView {
                 return; // Utente ha cancellato o non selezionato
             }
             
-            // Invia l'invito tramite il controller
-            boolean invitato = hackathonController.invitaGiudice(
+            // Invia l'invito tramite il controller, fuori dall'EDT
+            hackathonController.inBackground(c -> c.invitaGiudice(
                 hackathonSelezionato.getTitoloIdentificativo(), 
                 utenteSelezionato.getName(), 
                 adminLogged
-            );
-                
-            if (invitato) {
-                JOptionPane.showMessageDialog(frameAdminView, 
-                    "Invito inviato con successo a " + utenteSelezionato.getName() + 
-                    " per l'hackathon \"" + hackathonSelezionato.getTitoloIdentificativo() + "\"!", 
-                    "Invito inviato", 
-                    JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(frameAdminView, 
-                    "Errore nell'invio dell'invito. L'utente potrebbe essere già stato invitato.", 
-                    "Errore invito", 
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            )).whenCompleteAsync((invitato, errore) -> {
+                if (errore == null && invitato) {
+                    JOptionPane.showMessageDialog(frameAdminView, 
+                        "Invito inviato con successo a " + utenteSelezionato.getName() + 
+                        " per l'hackathon \"" + hackathonSelezionato.getTitoloIdentificativo() + "\"!", 
+                        "Invito inviato", 
+                        JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(frameAdminView, 
+                        "Errore nell'invio dell'invito. L'utente potrebbe essere già stato invitato.", 
+                        "Errore invito", 
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }, SwingUtilities::invokeLater);
             
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(frameAdminView, 
@@ -418,7 +517,7 @@ public class AdminView {
         centerPanel.setBorder(BorderFactory.createTitledBorder("Utenti Disponibili"));
         
         // Lista e modello
-        DefaultListModel<Utente> listModel = new DefaultListModel<>();
+        BulkListModel<Utente> listModel = new BulkListModel<>();
         JList<Utente> utenteList = new JList<>(listModel);
         utenteList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         
@@ -435,6 +534,7 @@ public class AdminView {
                 return this;
             }
         });
+        BulkListModel.usaCelleFisse(utenteList, utenti, Utente::getName);
         
         JScrollPane listScrollPane = new JScrollPane(utenteList);
         listScrollPane.setPreferredSize(new Dimension(400, 250));
@@ -761,7 +861,7 @@ public class AdminView {
         mainPanel.add(topPanel, BorderLayout.NORTH);
         
         // Lista degli hackathon
-        DefaultListModel<Hackathon> listModel = new DefaultListModel<>();
+        BulkListModel<Hackathon> listModel = new BulkListModel<>();
         JList<Hackathon> hackathonListComponent = new JList<>(listModel);
         hackathonListComponent.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         
@@ -784,6 +884,7 @@ public class AdminView {
                 return this;
             }
         });
+        BulkListModel.usaCelleFisse(hackathonListComponent, hackathonList, Hackathon::getTitoloIdentificativo);
         
         JScrollPane listScrollPane = new JScrollPane(hackathonListComponent);
         listScrollPane.setBorder(BorderFactory.createTitledBorder("Hackathon Disponibili"));
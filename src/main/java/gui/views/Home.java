@@ -1,6 +1,9 @@
 package gui.views;
 
+import Database.DAO.HackathonSummary;
 import controller.HackathonController;
+import controller.Servizi;
+import gui.components.BulkListModel;
 import gui.components.ModernButton;
 import model.*;
 
@@ -11,6 +14,7 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import gui.dialogs.HackathonInfoDialog;
+import utilities.TempiAvvio;
 import java.util.List;
 
 /**
@@ -81,6 +85,10 @@ public class Home {
                 }
                 
                 frame.setVisible(true);
+
+                // Con la finestra già visibile: rapporto dei tempi di avvio e creazione dei servizi in background
+                TempiAvvio.primoFrameVisibile();
+                Servizi.riscaldaInBackground();
             } catch (Exception e) {
                 e.printStackTrace();
                 System.err.println("Errore durante l'inizializzazione dell'applicazione: " + e.getMessage());
@@ -323,14 +331,10 @@ public class Home {
         JPanel headerPanel = createDashboardHeader();
         
         // Lista degli utenti
-        DefaultListModel<Utente> userListModel = new DefaultListModel<>();
+        List<Utente> utenti = hackathonController.getListaUtenti();
+        BulkListModel<Utente> userListModel = new BulkListModel<>(utenti);
         JList<Utente> userList = new JList<>(userListModel);
         
-        // Popola la lista
-        for (Utente user : hackathonController.getListaUtenti()) {
-            userListModel.addElement(user);
-        }
-        
         // Stile della lista
         userList.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         userList.setBackground(new Color(255, 255, 255));
@@ -352,6 +356,7 @@ public class Home {
                 return this;
             }
         });
+        BulkListModel.usaCelleFisse(userList, utenti, Utente::getName);
         
         JScrollPane listScrollPane = new JScrollPane(userList);
         listScrollPane.setBorder(BorderFactory.createTitledBorder("Utenti Registrati (" + userListModel.size() + ")"));
@@ -464,12 +469,13 @@ public class Home {
         headerPanel.add(backButton);
         
         // Lista delle hackathon
-        List<Hackathon> hackathons = hackathonController.getHackathonDiOrganizzatore(organizzatore);
-        DefaultListModel<Hackathon> hackathonListModel = new DefaultListModel<>();
-        JList<Hackathon> hackathonList = new JList<>(hackathonListModel);
+        // Solo i riepiloghi: la descrizione viene caricata all'apertura dei dettagli
+        List<HackathonSummary> hackathons = hackathonController.getRiepiloghiHackathonDiOrganizzatore(organizzatore);
+        DefaultListModel<HackathonSummary> hackathonListModel = new DefaultListModel<>();
+        JList<HackathonSummary> hackathonList = new JList<>(hackathonListModel);
         
         // Popola la lista
-        for (Hackathon hackathon : hackathons) {
+        for (HackathonSummary hackathon : hackathons) {
             hackathonListModel.addElement(hackathon);
         }
         
@@ -487,12 +493,12 @@ public class Home {
             public Component getListCellRendererComponent(JList<?> list, Object value, int index,
                     boolean isSelected, boolean cellHasFocus) {
                 super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-                if (value instanceof Hackathon) {
-                    Hackathon hackathon = (Hackathon) value;
+                if (value instanceof HackathonSummary) {
+                    HackathonSummary hackathon = (HackathonSummary) value;
                     setText(String.format("<html><b>%s</b><br><small>%s - %s</small></html>", 
                         hackathon.getTitoloIdentificativo(), 
                         hackathon.getSede(),
-                        hackathon.getDataInizio().toLocalDate()));
+                        hackathon.getDataInizio()));
                 }
                 return this;
             }
@@ -503,7 +509,7 @@ public class Home {
             @Override
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2) {
-                    Hackathon selectedHackathon = hackathonList.getSelectedValue();
+                    HackathonSummary selectedHackathon = hackathonList.getSelectedValue();
                     if (selectedHackathon != null) {
                         HackathonInfoDialog.mostraDialog(frame, selectedHackathon, hackathonController);
                     }
@@ -731,7 +737,7 @@ public class Home {
         stampaUtentiBtn.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if(hackathonController.getListaUtenti().isEmpty()) {
+                if(!hackathonController.hasUtenti()) {
                     JOptionPane.showMessageDialog(frame, 
                         "Lista Utenti vuota.\nNessun utente è attualmente registrato nel sistema.", 
                         "Informazione", JOptionPane.INFORMATION_MESSAGE);
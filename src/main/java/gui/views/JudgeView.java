@@ -1,5 +1,7 @@
 package gui.views;
 
+import Database.DAO.Async.AsyncDAO;
+import Database.DAO.DocumentHeader;
 import controller.HackathonController;
 import gui.dialogs.*;
 import model.Utente;
@@ -13,7 +15,11 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * La classe JudgeView rappresenta l'interfaccia grafica per la gestione delle funzionalità da giudice.
@@ -34,6 +40,13 @@ public class JudgeView {
     // Controller per gestire la logica di business
     private HackathonController hackathonController;
 
+    // Stato del giudice caricato in background e aggiornato dopo ogni valutazione o voto.
+    // Le istanze non cambiano: i dialog ricevono gli stessi insiemi della vista.
+    private final Set<Integer> documentiValutati = new HashSet<>();
+    private final Map<String, Integer> teamVotati = new HashMap<>();
+
+    private record StatoGiudice(Set<Integer> documentiValutati, Map<String, Integer> teamVotati) {}
+
     /**
      * Costruttore della classe JudgeView.
      * 
@@ -51,7 +64,7 @@ public class JudgeView {
         if (this.hackathonController == null) {
             throw new IllegalStateException("HackathonController non può essere null");
         }
-        
+
         judgeViewFrame = new JFrame("Hackathon Management - Area Giudice");
         
         // Crea l'interfaccia moderna invece di usare solo il form
@@ -74,9 +87,33 @@ public class JudgeView {
         
         // Carica le informazioni iniziali
         caricaInformazioniIniziali();
+        caricaStatoGiudice();
         
         judgeViewFrame.setVisible(true);
     }
+
+    /**
+     * Carica in background i documenti valutati e i team votati dal giudice.
+     * Fino al termine i pulsanti che ne dipendono restano disabilitati.
+     */
+    private void caricaStatoGiudice() {
+        mostraDocumentiButton.setEnabled(false);
+        assegnaVotoFinaleButton.setEnabled(false);
+        hackathonController.inBackground(c -> new StatoGiudice(
+                c.getDocumentiValutatiDaGiudice(giudice.getName(), titoloHackathon),
+                c.getTeamVotatiDaGiudice(giudice.getName(), titoloHackathon)))
+            .whenCompleteAsync((stato, errore) -> {
+                if (errore != null) {
+                    MessageDialog.showErrorMessage(judgeViewFrame,
+                        "Errore durante il caricamento delle valutazioni:\n" + AsyncDAO.causa(errore).getMessage());
+                    return;
+                }
+                documentiValutati.addAll(stato.documentiValutati());
+                teamVotati.putAll(stato.teamVotati());
+                mostraDocumentiButton.setEnabled(true);
+                assegnaVotoFinaleButton.setEnabled(true);
+            }, SwingUtilities::invokeLater);
+    }
     
     /**
      * Crea l'interfaccia moderna con header stilizzato.
@@ -249,54 +286,28 @@ public class JudgeView {
      */
     private void mostraDocumentiHackathon() {
         try {
-            // Usa il controller già disponibile nella classe
-            List<Documento> documenti = hackathonController.getDocumentiHackathon(titoloHackathon);
-
-            if (documenti == null || documenti.isEmpty()) {
-                MessageDialog.showInfoMessage(judgeViewFrame,
-                    "Nessun documento trovato per questo hackathon.\n" +
-                    "I team potrebbero non aver ancora caricato documenti.");
-                return;
-            }
-
-            // Apri il dialog di ricerca documento con ricerca dinamica
-            new CercaDocumentoDialog(judgeViewFrame, titoloHackathon, giudice, hackathonController, 
+            // Apri il dialog di ricerca documento con ricerca dinamica;
+            // il dialog carica le intestazioni e gestisce il caso senza documenti
+            new CercaDocumentoDialog(judgeViewFrame, titoloHackathon, giudice, hackathonController, documentiValutati,
                 new CercaDocumentoDialog.DocumentoSelectionCallback() {
                 @Override
-                public boolean onDocumentoSelected(Documento docDaValutare) {
+                public boolean onDocumentoSelected(DocumentHeader intestazione) {
                     try {
-                        // Controlla se il giudice ha già valutato questo documento tramite il controller
-                        boolean giaValutato = hackathonController.hasGiudiceValutatoDocumento(
-                            giudice.getName(), 
-                            docDaValutare.getIdDocumento()
-                        );
+                        // Controlla se il giudice ha già valutato questo documento
+                        boolean giaValutato = documentiValutati.contains(intestazione.getIdDocumento());
                         
                         if (giaValutato) {
                             MessageDialog.showInfoMessage(judgeViewFrame, 
                                 "Hai già valutato questo documento.\nSeleziona un altro documento per continuare.");
                             return false; // Non chiude il dialog, permette di selezionare altri documenti
                         }
-                        
-                        // Crea il giudice dal modello esistente
-                        model.Giudice giudiceModel = new model.Giudice(
-                            giudice.getName(),
-                            giudice.getPassword(),
-                            docDaValutare.getSource().getHackathon()
-                        );
-
-                        // Apri dialog di valutazione
-                        ValutazioneDialog valutazioneDialog = new ValutazioneDialog(
-                            judgeViewFrame,
-                            docDaValutare,
-                            giudiceModel,
-                            hackathonController
-                        );
-                        valutazioneDialog.setVisible(true);
-                        
-                        // Il dialog di valutazione è modale, quindi quando si chiude, 
-                        // assumiamo che l'operazione sia completata (successo o annullamento)
-                        // Per ora manteniamo aperto il dialog di ricerca per permettere altre valutazioni
-                        return false; // Non chiude il dialog di ricerca
+
+                        // Il contenuto serve solo ora, per la valutazione: il dialog di ricerca
+                        // resta aperto per permettere altre valutazioni
+                        hackathonController.inBackground(c -> c.getDocumento(intestazione.getIdDocumento()))
+                            .whenCompleteAsync((docDaValutare, errore) -> valutaDocumento(docDaValutare, errore),
+                                SwingUtilities::invokeLater);
+                        return false;
                         
                     } catch (Exception ex) {
                         MessageDialog.showErrorMessage(judgeViewFrame,
@@ -313,6 +324,38 @@ public class JudgeView {
         }
     }
 
+    /**
+     * Apre il dialog di valutazione per un documento caricato in background.
+     *
+     * @param docDaValutare Il documento caricato, o null se non trovato
+     * @param errore L'errore del caricamento, o null
+     */
+    private void valutaDocumento(Documento docDaValutare, Throwable errore) {
+        if (errore != null || docDaValutare == null) {
+            MessageDialog.showErrorMessage(judgeViewFrame,
+                "Impossibile caricare il documento selezionato."
+                    + (errore != null ? "\n" + AsyncDAO.causa(errore).getMessage() : ""));
+            return;
+        }
+
+        // Crea il giudice dal modello esistente
+        model.Giudice giudiceModel = new model.Giudice(
+            giudice.getName(),
+            giudice.getPassword(),
+            docDaValutare.getSource().getHackathon()
+        );
+
+        // Apri dialog di valutazione
+        ValutazioneDialog valutazioneDialog = new ValutazioneDialog(
+            judgeViewFrame,
+            docDaValutare,
+            giudiceModel,
+            hackathonController,
+            documentiValutati
+        );
+        valutazioneDialog.setVisible(true);
+    }
+
     /**
      * Mostra la classifica dell'hackathon utilizzando il dialogo dedicato.
      */
@@ -332,134 +375,182 @@ public class JudgeView {
      * Il voto può essere assegnato solo se l'hackathon è terminato.
      */
     private void aggiungiVotoFinale() {
-        try {
-            System.out.println("DEBUG: Inizio aggiungiVotoFinale per hackathon: " + titoloHackathon);
-            
-            // Verifica che l'hackathon sia terminato
-            if (hackathonController.isHackathonTerminato(titoloHackathon)) {
-                System.out.println("DEBUG: Hackathon terminato, procedo con assegnazione voto");
-
-                // Ottieni tutti i team per questo hackathon
-                List<String> teamNames = hackathonController.getNomiTeamHackathon(titoloHackathon);
-                System.out.println("DEBUG: Trovati " + (teamNames != null ? teamNames.size() : 0) + " team");
-
-                if (teamNames == null || teamNames.isEmpty()) {
-                    MessageDialog.showInfoMessage(judgeViewFrame,
-                        "Non ci sono team registrati per questo hackathon.\n\n" +
-                        "Attendi che dei team si registrino all'evento.");
-                    return;
+        System.out.println("DEBUG: Inizio aggiungiVotoFinale per hackathon: " + titoloHackathon);
+        assegnaVotoFinaleButton.setEnabled(false);
+
+        // Verifica che l'hackathon sia terminato e, solo in quel caso, ottieni i team
+        hackathonController.inBackground(c -> c.isHackathonTerminato(titoloHackathon)
+                ? c.getNomiTeamHackathon(titoloHackathon)
+                : null)
+            .whenCompleteAsync((teamNames, errore) -> {
+                assegnaVotoFinaleButton.setEnabled(true);
+                if (errore != null) {
+                    mostraErroreVoto(AsyncDAO.causa(errore));
+                } else if (teamNames == null) {
+                    // Hackathon non terminato
+                    System.out.println("DEBUG: Hackathon non terminato, mostro warning");
+                    MessageDialog.showWarningMessage(judgeViewFrame,
+                        "L'hackathon '" + titoloHackathon + "' è ancora in corso.\n\n" +
+                        "I voti finali possono essere assegnati solo\n" +
+                        "dopo la conclusione dell'evento.\n\n" +
+                        "Attendi che l'hackathon termini.");
+                } else {
+                    scegliTeamDaVotare(teamNames);
                 }
+            }, SwingUtilities::invokeLater);
+    }
 
-                // Crea un array per la selezione
-                String[] teamArray = teamNames.toArray(new String[0]);
-
-                // Mostra dialog per selezionare il team
-                String teamSelezionato = (String) JOptionPane.showInputDialog(
-                    judgeViewFrame,
-                    "Seleziona il team da votare:",
-                    "Aggiungi Voto Finale",
-                    JOptionPane.QUESTION_MESSAGE,
-                    null,
-                    teamArray,
-                    teamArray[0]
-                );
-
-                System.out.println("DEBUG: Team selezionato: " + teamSelezionato);
-
-                if (teamSelezionato != null) {
-                    // Verifica se il giudice ha già votato questo team
-                    boolean haGiaVotato = hackathonController.hasGiudiceVotatoTeam(giudice.getName(), titoloHackathon, teamSelezionato);
-                    System.out.println("DEBUG: Il giudice ha già votato il team? " + haGiaVotato);
-                    
-                    if (haGiaVotato) {
-                        MessageDialog.showWarningMessage(judgeViewFrame,
-                            "Hai già votato il team '" + teamSelezionato + "'.\n\n" +
-                            "Ogni giudice può votare un team una sola volta.\n" +
-                            "Non è possibile modificare il voto.\n\n" +
-                            "Se c'è un errore, contatta l'amministratore.");
-                        return;
-                    }
+    /**
+     * Chiede al giudice il team da votare e ne carica in background i documenti.
+     *
+     * @param teamNames I nomi dei team dell'hackathon terminato
+     */
+    private void scegliTeamDaVotare(List<String> teamNames) {
+        System.out.println("DEBUG: Trovati " + teamNames.size() + " team");
+
+        if (teamNames.isEmpty()) {
+            MessageDialog.showInfoMessage(judgeViewFrame,
+                "Non ci sono team registrati per questo hackathon.\n\n" +
+                "Attendi che dei team si registrino all'evento.");
+            return;
+        }
 
-                    // Ottieni l'ultimo documento del team
-                    List<Documento> documenti = hackathonController.getDocumentiByTeam(teamSelezionato, titoloHackathon);
-                    System.out.println("DEBUG: Trovati " + (documenti != null ? documenti.size() : 0) + " documenti per il team");
-
-                    if (documenti == null || documenti.isEmpty()) {
-                        System.out.println("DEBUG: Nessun documento trovato, mostro warning");
-                        MessageDialog.showWarningMessage(judgeViewFrame,
-                            "Il team '" + teamSelezionato + "' non ha caricato documenti.\n\n" +
-                            "Non è possibile votare senza documenti da valutare.\n\n" +
-                            "Il team deve caricare almeno un documento.");
-                        return;
-                    }
+        // Crea un array per la selezione
+        String[] teamArray = teamNames.toArray(new String[0]);
 
-                    // Ottieni l'ultimo documento (il più recente)
-                    Documento ultimoDocumento = documenti.get(documenti.size() - 1);
-                    System.out.println("DEBUG: Ultimo documento: " + ultimoDocumento.getTitle());
-
-                    // Mostra dialog moderno per inserire il voto
-                    System.out.println("DEBUG: Apro dialog per inserire voto");
-                    int voto = VotoFinaleDialog.showVotoDialog(
-                        judgeViewFrame, 
-                        teamSelezionato, 
-                        ultimoDocumento.getTitle()
-                    );
-                    System.out.println("DEBUG: Voto inserito: " + voto);
-
-                    if (voto != -1) { // -1 significa annullato
-                        System.out.println("DEBUG: Procedo con salvataggio voto");
-                        try {
-                            // Salva il voto nel database usando il controller
-                            boolean success = hackathonController.assegnaVotoFinale(titoloHackathon, teamSelezionato, voto, giudice);
-                            System.out.println("DEBUG: Risultato salvataggio: " + success);
-
-                            if (success) {
-                                MessageDialog.showSuccessMessage(judgeViewFrame,
-                                    "Voto assegnato con successo!\n" +
-                                    "Team: " + teamSelezionato + "\n" +
-                                    "Voto: " + voto + "/10");
-
-                                // Aggiorna la vista mostrando un messaggio nella text area
-                                if (MENUGIUDICETextArea != null) {
-                                    MENUGIUDICETextArea.append("\n" + "=".repeat(50) + "\n");
-                                    MENUGIUDICETextArea.append("VOTO ASSEGNATO\n");
-                                    MENUGIUDICETextArea.append("Team: " + teamSelezionato + "\n");
-                                    MENUGIUDICETextArea.append("Voto: " + voto + "/10\n");
-                                    MENUGIUDICETextArea.append("Documento valutato: " + ultimoDocumento.getTitle() + "\n");
-                                    MENUGIUDICETextArea.append("=".repeat(50) + "\n");
-                                }
-                            } else {
-                                MessageDialog.showErrorMessage(judgeViewFrame,
-                                    "Il voto non è stato salvato correttamente.\n\n" +
-                                    "Riprova più tardi o contatta l'amministratore.");
-                            }
-                        } catch (RuntimeException dbEx) {
-                            // Gestisce le eccezioni dal database con messaggio già tradotto
-                            System.out.println("DEBUG: Errore database: " + dbEx.getMessage());
-                            MessageDialog.showErrorMessage(judgeViewFrame,
-                                "Errore durante l'assegnazione del voto:\n\n" +
-                                dbEx.getMessage());
-                        }
-                    }
+        // Mostra dialog per selezionare il team
+        String teamSelezionato = (String) JOptionPane.showInputDialog(
+            judgeViewFrame,
+            "Seleziona il team da votare:",
+            "Aggiungi Voto Finale",
+            JOptionPane.QUESTION_MESSAGE,
+            null,
+            teamArray,
+            teamArray[0]
+        );
+
+        System.out.println("DEBUG: Team selezionato: " + teamSelezionato);
+
+        if (teamSelezionato == null) {
+            return;
+        }
+
+        // Verifica se il giudice ha già votato questo team
+        boolean haGiaVotato = teamVotati.containsKey(teamSelezionato);
+        System.out.println("DEBUG: Il giudice ha già votato il team? " + haGiaVotato);
+
+        if (haGiaVotato) {
+            MessageDialog.showWarningMessage(judgeViewFrame,
+                "Hai già votato il team '" + teamSelezionato + "'.\n\n" +
+                "Ogni giudice può votare un team una sola volta.\n" +
+                "Non è possibile modificare il voto.\n\n" +
+                "Se c'è un errore, contatta l'amministratore.");
+            return;
+        }
+
+        assegnaVotoFinaleButton.setEnabled(false);
+        hackathonController.inBackground(c -> c.getIntestazioniDocumentiTeam(teamSelezionato, titoloHackathon))
+            .whenCompleteAsync((documenti, errore) -> {
+                assegnaVotoFinaleButton.setEnabled(true);
+                if (errore != null) {
+                    mostraErroreVoto(AsyncDAO.causa(errore));
+                } else {
+                    votaTeam(teamSelezionato, documenti);
                 }
+            }, SwingUtilities::invokeLater);
+    }
 
-            } else {
-                // Hackathon non terminato
-                System.out.println("DEBUG: Hackathon non terminato, mostro warning");
-                MessageDialog.showWarningMessage(judgeViewFrame,
-                    "L'hackathon '" + titoloHackathon + "' è ancora in corso.\n\n" +
-                    "I voti finali possono essere assegnati solo\n" +
-                    "dopo la conclusione dell'evento.\n\n" +
-                    "Attendi che l'hackathon termini.");
-            }
+    /**
+     * Chiede il voto per l'ultimo documento del team e lo salva in background.
+     *
+     * @param teamSelezionato Il team da votare
+     * @param documenti Le intestazioni dei documenti del team
+     */
+    private void votaTeam(String teamSelezionato, List<DocumentHeader> documenti) {
+        System.out.println("DEBUG: Trovati " + (documenti != null ? documenti.size() : 0) + " documenti per il team");
+
+        if (documenti == null || documenti.isEmpty()) {
+            System.out.println("DEBUG: Nessun documento trovato, mostro warning");
+            MessageDialog.showWarningMessage(judgeViewFrame,
+                "Il team '" + teamSelezionato + "' non ha caricato documenti.\n\n" +
+                "Non è possibile votare senza documenti da valutare.\n\n" +
+                "Il team deve caricare almeno un documento.");
+            return;
+        }
 
-        } catch (Exception ex) {
-            System.out.println("DEBUG: Eccezione catturata: " + ex.getMessage());
-            ex.printStackTrace();
-            String userFriendlyMessage = ErrorMessageTranslator.translateError(ex.getMessage());
-            MessageDialog.showErrorMessage(judgeViewFrame,
-                "Errore durante l'operazione:\n\n" + userFriendlyMessage);
+        // Ottieni l'ultimo documento (il più recente)
+        DocumentHeader ultimoDocumento = documenti.get(documenti.size() - 1);
+        System.out.println("DEBUG: Ultimo documento: " + ultimoDocumento.getTitolo());
+
+        // Mostra dialog moderno per inserire il voto
+        System.out.println("DEBUG: Apro dialog per inserire voto");
+        int voto = VotoFinaleDialog.showVotoDialog(
+            judgeViewFrame, 
+            teamSelezionato, 
+            ultimoDocumento.getTitolo()
+        );
+        System.out.println("DEBUG: Voto inserito: " + voto);
+
+        if (voto == -1) { // -1 significa annullato
+            return;
         }
+
+        System.out.println("DEBUG: Procedo con salvataggio voto");
+        assegnaVotoFinaleButton.setEnabled(false);
+        // Salva il voto nel database usando il controller
+        hackathonController.inBackground(c -> c.assegnaVotoFinale(titoloHackathon, teamSelezionato, voto, giudice))
+            .whenCompleteAsync((success, errore) -> {
+                assegnaVotoFinaleButton.setEnabled(true);
+                if (errore != null) {
+                    Throwable causa = AsyncDAO.causa(errore);
+                    if (causa instanceof RuntimeException dbEx) {
+                        // Gestisce le eccezioni dal database con messaggio già tradotto
+                        System.out.println("DEBUG: Errore database: " + dbEx.getMessage());
+                        MessageDialog.showErrorMessage(judgeViewFrame,
+                            "Errore durante l'assegnazione del voto:\n\n" +
+                            dbEx.getMessage());
+                    } else {
+                        mostraErroreVoto(causa);
+                    }
+                    return;
+                }
+                System.out.println("DEBUG: Risultato salvataggio: " + success);
+
+                if (success) {
+                    teamVotati.put(teamSelezionato, voto);
+                    MessageDialog.showSuccessMessage(judgeViewFrame,
+                        "Voto assegnato con successo!\n" +
+                        "Team: " + teamSelezionato + "\n" +
+                        "Voto: " + voto + "/10");
+
+                    // Aggiorna la vista mostrando un messaggio nella text area
+                    if (MENUGIUDICETextArea != null) {
+                        MENUGIUDICETextArea.append("\n" + "=".repeat(50) + "\n");
+                        MENUGIUDICETextArea.append("VOTO ASSEGNATO\n");
+                        MENUGIUDICETextArea.append("Team: " + teamSelezionato + "\n");
+                        MENUGIUDICETextArea.append("Voto: " + voto + "/10\n");
+                        MENUGIUDICETextArea.append("Documento valutato: " + ultimoDocumento.getTitolo() + "\n");
+                        MENUGIUDICETextArea.append("=".repeat(50) + "\n");
+                    }
+                } else {
+                    MessageDialog.showErrorMessage(judgeViewFrame,
+                        "Il voto non è stato salvato correttamente.\n\n" +
+                        "Riprova più tardi o contatta l'amministratore.");
+                }
+            }, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Mostra un errore imprevisto durante l'assegnazione del voto finale.
+     *
+     * @param errore L'errore, già estratto dalla CompletionException
+     */
+    private void mostraErroreVoto(Throwable errore) {
+        System.out.println("DEBUG: Eccezione catturata: " + errore.getMessage());
+        errore.printStackTrace();
+        String userFriendlyMessage = ErrorMessageTranslator.translateError(errore.getMessage());
+        MessageDialog.showErrorMessage(judgeViewFrame,
+            "Errore durante l'operazione:\n\n" + userFriendlyMessage);
     }
     
     /**
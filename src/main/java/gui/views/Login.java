@@ -324,22 +324,12 @@ public class Login {
                             fieldPassword.requestFocus();
                         }
                     } else {
-                        // Login come utente normale - usa UserController direttamente
-                        UserController userController = new UserController();
-                        boolean loginRiuscito = userController.checkLogin(username, password);
+                        // Login come utente normale: la verifica restituisce direttamente l'utente
+                        Utente utenteLoggato = hackathonController.loginUtente(username, password);
 
-                        if (loginRiuscito) {
+                        if (utenteLoggato != null) {
                             System.out.println("✅ Login riuscito per utente: " + username);
                             
-                            // Recupera l'oggetto utente dalla lista
-                            Utente utenteLoggato = null;
-                            for (Utente u : userController.getListaUtenti()) {
-                                if (u.getName().equals(username)) {
-                                    utenteLoggato = u;
-                                    break;
-                                }
-                            }
-                            
                             JOptionPane.showMessageDialog(logFrame,
                                     "✅ Benvenuto/a, " + username + "!",
                                     "Login Riuscito", 
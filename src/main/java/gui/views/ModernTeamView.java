@@ -1,5 +1,6 @@
 package gui.views;
 
+import Database.DAO.DocumentHeader;
 import controller.HackathonController;
 import gui.components.MembriListCellRenderer;
 import gui.components.ModernButton;
@@ -8,7 +9,6 @@ import gui.dialogs.ConfirmDialog;
 import gui.dialogs.InsertDocumentDialog;
 import gui.dialogs.MessageDialog;
 import gui.dialogs.ViewDocumentDialog;
-import model.Documento;
 import model.Team;
 import model.Utente;
 
@@ -46,7 +46,7 @@ public class ModernTeamView {
     private HackathonController hackathonController;
     
     // Cache per i documenti (per ottimizzare il caricamento)
-    private List<Documento> documentiCache;
+    private List<DocumentHeader> documentiCache;
 
     public ModernTeamView(Team team, Utente userLogged, JFrame parentFrame, HackathonController hackathonController) {
         this.team = team;
@@ -291,10 +291,11 @@ public class ModernTeamView {
     }
     
     private void loadDocumentiAsync() {
-        SwingWorker<java.util.List<Documento>, Void> worker = new SwingWorker<java.util.List<Documento>, Void>() {
+        SwingWorker<java.util.List<DocumentHeader>, Void> worker = new SwingWorker<java.util.List<DocumentHeader>, Void>() {
             @Override
-            protected java.util.List<Documento> doInBackground() throws Exception {
-                return hackathonController.getDocumentiByTeam(
+            protected java.util.List<DocumentHeader> doInBackground() throws Exception {
+                // Solo le intestazioni: il contenuto viene caricato all'apertura del documento
+                return hackathonController.getIntestazioniDocumentiTeam(
                     team.getNomeTeam(),
                     team.getHackathon().getTitoloIdentificativo()
                 );
@@ -325,21 +326,21 @@ public class ModernTeamView {
         membriList.setModel(membriModel);
     }
     
-    private void updateDocumentiTable(java.util.List<Documento> documenti) {
+    private void updateDocumentiTable(java.util.List<DocumentHeader> documenti) {
         documentiTableModel.setRowCount(0);
         
         if (documenti != null && !documenti.isEmpty()) {
             for (var documento : documenti) {
-                String preview = documento.getText();
-                if (preview.length() > 60) {
-                    preview = preview.substring(0, 60) + "...";
+                String preview = documento.getAnteprima() != null ? documento.getAnteprima() : "";
+                if (documento.getDimensione() > preview.length()) {
+                    preview = preview + "...";
                 }
                 preview = preview.replaceAll("\n", " ");
                 
                 Object[] row = {
-                    documento.getTitle(),
+                    documento.getTitolo(),
                     preview,
-                    documento.getText().length() + " caratteri",
+                    documento.getDimensione() + " caratteri",
                     "Visualizza"
                 };
                 documentiTableModel.addRow(row);
@@ -374,8 +375,8 @@ public class ModernTeamView {
                 if (e.getClickCount() == 2) {
                     int selectedRow = documentiTable.getSelectedRow();
                     if (selectedRow >= 0 && documentiCache != null && selectedRow < documentiCache.size()) {
-                        Documento selectedDoc = documentiCache.get(selectedRow);
-                        new ViewDocumentDialog(teamViewFrame, selectedDoc);
+                        DocumentHeader selectedDoc = documentiCache.get(selectedRow);
+                        ViewDocumentDialog.mostra(teamViewFrame, selectedDoc, hackathonController);
                     }
                 }
             }
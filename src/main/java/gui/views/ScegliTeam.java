@@ -1,6 +1,9 @@
 package gui.views;
 
+import Database.DAO.Async.AsyncDAO;
+import Database.DAO.TeamDAO;
 import controller.HackathonController;
+import gui.components.BulkListModel;
 import gui.components.ModernButton;
 import model.*;
 import utilities.DynamicSearchHelper;
@@ -9,8 +12,13 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * La classe ScegliTeam rappresenta un'interfaccia grafica per consentire a un utente di cercare
@@ -20,10 +28,23 @@ public class ScegliTeam {
     private JComboBox<Hackathon> hackathonComboBox; // ComboBox per selezionare un hackathon.
     private JTextField nomeTeamField; // Campo di testo per inserire il nome del team.
     private JList<Team> teamList; // Lista per mostrare i team trovati.
-    private DefaultListModel<Team> listModel; // Modello per la lista dei team.
+    private BulkListModel<Team> listModel; // Modello per la lista dei team.
     private ModernButton btnInvio; // Pulsante per confermare la selezione del team.
     private JLabel infoLabel; // Label per mostrare informazioni sui risultati.
     private DynamicSearchHelper<Team> searchHelper; // Helper per la ricerca dinamica.
+    private TeamListCellRenderer teamRenderer; // Renderer che mostra la disponibilità dei team.
+    private CompletableFuture<?> caricamentoTeam; // Lettura in corso dei team dell'hackathon selezionato.
+
+    /**
+     * Istantanea dei team di un hackathon letta fuori dall'EDT: la lista e la sua
+     * selezione la usano senza accedere al database.
+     *
+     * @param teams I team dell'hackathon
+     * @param membri Il numero di membri di ogni team, per nome
+     * @param teamCorrente Il team dell'utente nell'hackathon, null se non ne ha uno
+     */
+    private record TeamDisponibili(List<Team> teams, Map<String, Integer> membri, String teamCorrente) {
+    }
 
     /**
      * Costruttore della classe ScegliTeam.
@@ -63,13 +84,14 @@ public class ScegliTeam {
         centerPanel.setBorder(BorderFactory.createTitledBorder("Team Disponibili"));
 
         // Inizializza la lista e il modello
-        listModel = new DefaultListModel<>();
+        listModel = new BulkListModel<>();
         teamList = new JList<>(listModel);
         teamList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         teamList.setEnabled(false);
 
         // Renderer personalizzato per la lista
-        teamList.setCellRenderer(new TeamListCellRenderer(hackathonController, userLogged));
+        teamRenderer = new TeamListCellRenderer();
+        teamList.setCellRenderer(teamRenderer);
 
         // ScrollPane per la lista
         JScrollPane listScrollPane = new JScrollPane(teamList);
@@ -104,10 +126,19 @@ public class ScegliTeam {
 
         dialog.setContentPane(mainPanel);
 
-        // Popola il ComboBox con la lista degli hackathon disponibili.
-        for(Hackathon h : hackathonController.getListaHackathon()) {
-            hackathonComboBox.addItem(h);
-        }
+        // Popola il ComboBox con la lista degli hackathon disponibili, letta fuori dall'EDT.
+        hackathonComboBox.setEnabled(false);
+        hackathonController.inBackground(HackathonController::getListaHackathon).whenCompleteAsync((hackathons, errore) -> {
+            hackathonComboBox.setEnabled(true);
+            if (errore != null) {
+                infoLabel.setText("Errore nel caricamento degli hackathon: " + AsyncDAO.causa(errore).getMessage());
+                infoLabel.setBackground(new Color(255, 200, 200)); // Rosso chiaro
+                return;
+            }
+            for (Hackathon h : hackathons) {
+                hackathonComboBox.addItem(h);
+            }
+        }, SwingUtilities::invokeLater);
 
         // Imposta il renderer per visualizzare i titoli degli hackathon nel ComboBox.
         hackathonComboBox.setRenderer(new DefaultListCellRenderer() {
@@ -134,6 +165,11 @@ public class ScegliTeam {
             System.out.println("DEBUG ScegliTeam: Cambiato hackathon a: " + 
                 (hackathonSelezionato != null ? hackathonSelezionato.getTitoloIdentificativo() : "null"));
             
+            // Una lettura ancora in corso per l'hackathon precedente non serve più
+            if (caricamentoTeam != null) {
+                caricamentoTeam.cancel(true);
+            }
+
             if (hackathonSelezionato == null) {
                 listModel.clear();
                 teamList.setEnabled(false);
@@ -144,63 +180,44 @@ public class ScegliTeam {
                 return;
             }
 
-            // Ottieni tutti i team per l'hackathon selezionato
-            List<Team> teamDisponibili = hackathonController.getTeamsByHackathon(hackathonSelezionato.getTitoloIdentificativo());
-            
-            System.out.println("DEBUG ScegliTeam: Trovati " + (teamDisponibili != null ? teamDisponibili.size() : 0) + " team per hackathon: " + hackathonSelezionato.getTitoloIdentificativo());
-            if (teamDisponibili != null) {
-                for (Team t : teamDisponibili) {
-                    System.out.println("  - Team: " + t.getNomeTeam());
+            listModel.clear();
+            teamList.setEnabled(false);
+            btnInvio.setEnabled(false);
+            infoLabel.setText("Caricamento dei team...");
+            infoLabel.setBackground(Color.LIGHT_GRAY);
+
+            // Team, numero di membri e team dell'utente vengono letti insieme fuori dall'EDT
+            String titoloHackathon = hackathonSelezionato.getTitoloIdentificativo();
+            CompletableFuture<TeamDisponibili> caricamento = hackathonController.inBackground(c -> {
+                List<Team> teams = c.getTeamsByHackathon(titoloHackathon);
+                Map<String, Integer> membri = new HashMap<>();
+                for (TeamDAO.RosterTeam roster : c.getRosterHackathon(titoloHackathon)) {
+                    membri.put(roster.getNomeTeam(), roster.getNumeroMembri());
                 }
+                return new TeamDisponibili(teams, membri, c.getTeamCorrenteUtente(userLogged.getName(), titoloHackathon));
+            });
+            caricamentoTeam = caricamento;
+            caricamento.whenCompleteAsync((disponibili, errore) -> {
+                if (caricamento != caricamentoTeam) {
+                    return; // Nel frattempo è stato selezionato un altro hackathon
+                }
+                if (errore != null) {
+                    infoLabel.setText("Errore nel caricamento dei team: " + AsyncDAO.causa(errore).getMessage());
+                    infoLabel.setBackground(new Color(255, 200, 200)); // Rosso chiaro
+                    return;
+                }
+                mostraTeam(disponibili, userLogged);
+            }, SwingUtilities::invokeLater);
             }
-            
-            if (teamDisponibili == null || teamDisponibili.isEmpty()) {
-                listModel.clear();
-                teamList.setEnabled(false);
-                btnInvio.setEnabled(false);
-                infoLabel.setText("Nessun team trovato per questo hackathon");
-                infoLabel.setBackground(new Color(255, 200, 200)); // Rosso chiaro
-                searchHelper = null;
-                nomeTeamField.setText(""); // Reset campo ricerca
-                return;
-            }
+        });
 
-            // Reset del campo di ricerca per evitare confusione
-            nomeTeamField.setText("");
-            
-            // Inizializza sempre un nuovo helper per la ricerca dinamica
-            searchHelper = new DynamicSearchHelper<>(
-                nomeTeamField,
-                teamList,
-                listModel,
-                infoLabel,
-                teamDisponibili,
-                team -> team.getNomeTeam(), // Estrae il nome per la ricerca
-                () -> {
-                    // Callback per quando la selezione cambia
-                    Team teamSelezionato = teamList.getSelectedValue();
-                    if (teamSelezionato != null) {
-                        int numMembri = hackathonController.contaMembriTeam(
-                            teamSelezionato.getNomeTeam(),
-                            teamSelezionato.getHackathon().getTitoloIdentificativo()
-                        );
-
-                        // Controlla se l'utente può unirsi al team
-                        boolean puo_unirsi = hackathonController.puoUtenterUnirsiAlTeam(teamSelezionato, userLogged);
-
-                        infoLabel.setText(String.format(
-                            "<html><b>Team selezionato:</b> %s<br><b>Membri attuali:</b> %d<br><b>Stato:</b> %s</html>",
-                            teamSelezionato.getNomeTeam(),
-                            numMembri,
-                            puo_unirsi ? "Disponibile" : "Non disponibile"
-                        ));
-
-                        btnInvio.setEnabled(puo_unirsi);
-                    } else {
-                        btnInvio.setEnabled(false);
-                    }
+        // Se il dialog viene chiuso prima, la lettura dei team viene annullata
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                if (caricamentoTeam != null) {
+                    caricamentoTeam.cancel(true);
                 }
-            );
             }
         });
 
@@ -215,33 +232,38 @@ public class ScegliTeam {
                     return;
                 }
 
-                try {
-                    // Aggiunge l'utente al team utilizzando hackathonController
-                    hackathonController.aggiungiUtenteATeam(userLogged, teamSelezionato);
-
-                    // Notifica successo
-                    JOptionPane.showMessageDialog(dialog,
-                            "Sei stato aggiunto con successo al team '" + teamSelezionato.getNomeTeam() + "'!",
-                            "Adesione completata", JOptionPane.INFORMATION_MESSAGE);
-
-                    dialog.dispose(); // Chiude solo il dialog, non l'applicazione
-                }
-                catch (IllegalArgumentException ex) {
-                    JOptionPane.showMessageDialog(dialog,
-                            "Errore nell'adesione al team:\n" + ex.getMessage(),
-                            "Errore", JOptionPane.ERROR_MESSAGE);
-                }
-                catch (IllegalStateException ex) {
-                    JOptionPane.showMessageDialog(dialog,
-                            "Operazione non consentita:\n" + ex.getMessage(),
-                            "Avviso", JOptionPane.WARNING_MESSAGE);
-                }
-                catch (Exception ex) {
-                    JOptionPane.showMessageDialog(dialog,
-                            "Errore imprevisto:\n" + ex.getMessage(),
-                            "Errore", JOptionPane.ERROR_MESSAGE);
-                    ex.printStackTrace();
-                }
+                // Aggiunge l'utente al team utilizzando hackathonController, fuori dall'EDT
+                btnInvio.setEnabled(false);
+                hackathonController.inBackground(c -> {
+                    c.aggiungiUtenteATeam(userLogged, teamSelezionato);
+                    return null;
+                }).whenCompleteAsync((nessuno, errore) -> {
+                    Throwable ex = errore != null ? AsyncDAO.causa(errore) : null;
+                    if (ex == null) {
+                        // Notifica successo
+                        JOptionPane.showMessageDialog(dialog,
+                                "Sei stato aggiunto con successo al team '" + teamSelezionato.getNomeTeam() + "'!",
+                                "Adesione completata", JOptionPane.INFORMATION_MESSAGE);
+
+                        dialog.dispose(); // Chiude solo il dialog, non l'applicazione
+                        return;
+                    }
+                    btnInvio.setEnabled(true);
+                    if (ex instanceof IllegalArgumentException) {
+                        JOptionPane.showMessageDialog(dialog,
+                                "Errore nell'adesione al team:\n" + ex.getMessage(),
+                                "Errore", JOptionPane.ERROR_MESSAGE);
+                    } else if (ex instanceof IllegalStateException) {
+                        JOptionPane.showMessageDialog(dialog,
+                                "Operazione non consentita:\n" + ex.getMessage(),
+                                "Avviso", JOptionPane.WARNING_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(dialog,
+                                "Errore imprevisto:\n" + ex.getMessage(),
+                                "Errore", JOptionPane.ERROR_MESSAGE);
+                        ex.printStackTrace();
+                    }
+                }, SwingUtilities::invokeLater);
             }
         });
 
@@ -256,18 +278,111 @@ public class ScegliTeam {
         dialog.setVisible(true);
     }
 
+    /**
+     * Mostra i team letti per l'hackathon selezionato e prepara la ricerca dinamica.
+     */
+    private void mostraTeam(TeamDisponibili disponibili, Utente userLogged) {
+        List<Team> teamDisponibili = disponibili.teams();
+        System.out.println("DEBUG ScegliTeam: Trovati " + (teamDisponibili != null ? teamDisponibili.size() : 0) + " team");
+
+        if (teamDisponibili == null || teamDisponibili.isEmpty()) {
+            listModel.clear();
+            teamList.setEnabled(false);
+            btnInvio.setEnabled(false);
+            infoLabel.setText("Nessun team trovato per questo hackathon");
+            infoLabel.setBackground(new Color(255, 200, 200)); // Rosso chiaro
+            searchHelper = null;
+            nomeTeamField.setText(""); // Reset campo ricerca
+            return;
+        }
+
+        // Reset del campo di ricerca per evitare confusione
+        nomeTeamField.setText("");
+        teamRenderer.aggiorna(disponibili.membri(), disponibili.teamCorrente());
+        teamList.setEnabled(true);
+
+        // Inizializza sempre un nuovo helper per la ricerca dinamica
+        searchHelper = new DynamicSearchHelper<>(
+            nomeTeamField,
+            teamList,
+            listModel,
+            infoLabel,
+            teamDisponibili,
+            team -> team.getNomeTeam(), // Estrae il nome per la ricerca
+            () -> {
+                // Callback per quando la selezione cambia: usa l'istantanea, senza query sull'EDT
+                Team teamSelezionato = teamList.getSelectedValue();
+                if (teamSelezionato != null) {
+                    int numMembri = disponibili.membri().getOrDefault(teamSelezionato.getNomeTeam(), 0);
+
+                    // Controlla se l'utente può unirsi al team
+                    boolean puo_unirsi = teamRenderer.motivoNonDisponibile(teamSelezionato) == null;
+
+                    infoLabel.setText(String.format(
+                        "<html><b>Team selezionato:</b> %s<br><b>Membri attuali:</b> %d<br><b>Stato:</b> %s</html>",
+                        teamSelezionato.getNomeTeam(),
+                        numMembri,
+                        puo_unirsi ? "Disponibile" : "Non disponibile"
+                    ));
+
+                    btnInvio.setEnabled(puo_unirsi);
+                } else {
+                    btnInvio.setEnabled(false);
+                }
+            }
+        );
+    }
+
 }
 
 /**
- * Renderer personalizzato per la lista dei team
+ * Renderer personalizzato per la lista dei team.
+ * Mostra la disponibilità di ogni team a partire dall'istantanea letta con i team
+ * ({@link #aggiorna}), senza accedere al database durante il disegno delle celle.
  */
 class TeamListCellRenderer extends DefaultListCellRenderer {
-    private HackathonController hackathonController;
-    private Utente utente;
+    private static final String GIA_MEMBRO = "Sei già membro di questo team";
 
-    public TeamListCellRenderer(HackathonController hackathonController, Utente utente) {
-        this.hackathonController = hackathonController;
-        this.utente = utente;
+    private Map<String, Integer> membri = Map.of();
+    private String teamCorrente;
+
+    /**
+     * Imposta l'istantanea dei team da mostrare.
+     *
+     * @param membri Il numero di membri di ogni team, per nome
+     * @param teamCorrente Il team dell'utente nell'hackathon, null se non ne ha uno
+     */
+    void aggiorna(Map<String, Integer> membri, String teamCorrente) {
+        this.membri = membri;
+        this.teamCorrente = teamCorrente;
+    }
+
+    /**
+     * Verifica se l'utente può unirsi a un team, con le stesse regole del controller.
+     *
+     * @param team Il team da verificare
+     * @return Il motivo per cui l'utente non può unirsi al team, null se può
+     */
+    String motivoNonDisponibile(Team team) {
+        // Verifica se il periodo di registrazione è ancora aperto
+        if (team.getHackathon().isRiferimento()) {
+            return "Dati dell'hackathon non disponibili";
+        }
+        LocalDate dataFineRegistrazione = team.getHackathon().getDataFineRegistrazioni().toLocalDate();
+        if (LocalDate.now().isAfter(dataFineRegistrazione)) {
+            return "Registrazioni chiuse";
+        }
+
+        // Verifica se l'utente è già in un team per questo hackathon
+        if (teamCorrente != null) {
+            return teamCorrente.equals(team.getNomeTeam()) ? GIA_MEMBRO : "Sei già in un altro team";
+        }
+
+        // Verifica se il team è al completo
+        if (membri.getOrDefault(team.getNomeTeam(), 0) >= team.getHackathon().getMaxMembriTeam()) {
+            return "Team al completo";
+        }
+        return null;
     }
 
     @Override
@@ -278,55 +393,25 @@ class TeamListCellRenderer extends DefaultListCellRenderer {
         if (value instanceof Team) {
             Team team = (Team) value;
 
-            int membri = hackathonController.contaMembriTeam(
-                team.getNomeTeam(),
-                team.getHackathon().getTitoloIdentificativo()
-            );
+            int membriTeam = membri.getOrDefault(team.getNomeTeam(), 0);
             int maxMembri = team.getHackathon().getMaxMembriTeam();
 
             // Testo da mostrare
             setText(String.format("%s (%d/%d membri)",
-                team.getNomeTeam(), membri, maxMembri));
-
-            // Verifica lo stato del team usando il metodo sicuro del controller
-            boolean puo_unirsi = hackathonController.puoUtenterUnirsiAlTeam(team, utente);
-            String motivazione = "";
-
-            // Verifica se il periodo di registrazione è ancora aperto
-            LocalDate dataFineRegistrazione = team.getHackathon().getDataFineRegistrazioni().toLocalDate();
-            if (LocalDate.now().isAfter(dataFineRegistrazione)) {
-                puo_unirsi = false;
-                motivazione = "Registrazioni chiuse";
-            }
-
-            // Verifica se l'utente è già in un team per questo hackathon
-            String teamCorrente = hackathonController.getTeamCorrenteUtente(utente.getName(), team.getHackathon().getTitoloIdentificativo());
+                team.getNomeTeam(), membriTeam, maxMembri));
 
-            if (teamCorrente != null) {
-                puo_unirsi = false;
-                if (teamCorrente.equals(team.getNomeTeam())) {
-                    motivazione = "Sei già membro di questo team";
+            // Imposta colori e tooltip
+            String motivazione = motivoNonDisponibile(team);
+            if (motivazione == null) {
+                setForeground(isSelected ? Color.WHITE : Color.BLACK);
+                setToolTipText("Clicca per selezionare questo team");
+            } else {
+                if (GIA_MEMBRO.equals(motivazione)) {
                     setForeground(isSelected ? Color.WHITE : new Color(0, 100, 0)); // Verde scuro
                 } else {
-                    motivazione = "Sei già in un altro team";
-                }
-            }
-
-            // Verifica se il team è al completo
-            if (membri >= maxMembri && puo_unirsi) {
-                puo_unirsi = false;
-                motivazione = "Team al completo";
-            }
-
-            // Imposta colori e tooltip
-            if (!puo_unirsi) {
-                if (!motivazione.equals("Sei già membro di questo team")) {
                     setForeground(isSelected ? Color.WHITE : Color.GRAY);
                 }
                 setToolTipText(motivazione);
-            } else {
-                setForeground(isSelected ? Color.WHITE : Color.BLACK);
-                setToolTipText("Clicca per selezionare questo team");
             }
         }
 
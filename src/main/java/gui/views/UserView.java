@@ -1,5 +1,6 @@
 package gui.views;
 
+import Database.DAO.IncaricoGiudice;
 import controller.HackathonController;
 import gui.views.CreaTeamForm;
 import model.Utente;
@@ -242,12 +243,12 @@ public class UserView {
             @Override
             public void actionPerformed(ActionEvent e) {
                 try {
-                    List<String> hackathons = hackathonController.getHackathonAsGiudice(userLogged.getName());
+                    List<IncaricoGiudice> hackathons = hackathonController.getIncarichiGiudice(userLogged.getName());
                     
                     if (hackathons != null && !hackathons.isEmpty()) {
-                        String[] hackathonsArray = hackathons.toArray(new String[0]);
+                        IncaricoGiudice[] hackathonsArray = hackathons.toArray(new IncaricoGiudice[0]);
                         
-                        String selectedHackathon = (String) JOptionPane.showInputDialog(
+                        IncaricoGiudice selectedHackathon = (IncaricoGiudice) JOptionPane.showInputDialog(
                             userViewFrame,
                             "Seleziona un hackathon di cui sei giudice:",
                             "Menu Giudice",
@@ -258,8 +259,7 @@ public class UserView {
                         );
                         
                         if (selectedHackathon != null) {
-                            // Estrai il titolo dell'hackathon (prima del primo " - ")
-                            String titoloHackathon = selectedHackathon.split(" - ")[0];
+                            String titoloHackathon = selectedHackathon.getTitoloHackathon();
                             
                             // Apri JudgeView
                             try {
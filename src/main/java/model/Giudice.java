@@ -95,7 +95,7 @@ public class Giudice extends Utente {
 
     /**
      * Assegna un voto a un team.
-     * NOTA: La logica di controllo e generazione classifica è ora gestita dal database.
+     * NOTA: La classifica viene aggiornata dal livello DAO al salvataggio del voto.
      *
      * @param team Il team a cui assegnare il voto.
      * @param voto Il valore numerico del voto (compreso tra 0 e 10).
@@ -108,9 +108,8 @@ public class Giudice extends Utente {
             throw new IllegalArgumentException("Il voto deve essere compreso tra 0 e 10.");
         }
 
-        // La logica di controllo per la fine della votazione e la generazione
-        // della classifica è ora gestita dalla funzione del database:
-        // genera_classifica_hackathon(titolo_hack)
+        // La classifica viene aggiornata al salvataggio del voto
+        // e letta con HackathonDAO.getClassifica(titolo_hack)
 
         return new Voto(team, this, voto);
     }
@@ -14,31 +14,33 @@ public class Hackathon {
     /** Titolo identificativo dell'hackathon (chiave primaria nel DB) */
     private final String titoloIdentificativo;
     /** Organizzatore dell'hackathon */
-    private String organizzatore;
+    private volatile String organizzatore;
     /** Luogo di svolgimento dell'hackathon */
-    private String sede;
+    private volatile String sede;
     /** Data di inizio dell'evento */
-    private LocalDateTime dataInizio;
+    private volatile LocalDateTime dataInizio;
     /** Data di conclusione dell'evento */
-    private LocalDateTime dataFine;
+    private volatile LocalDateTime dataFine;
     /** Data di apertura registrazioni */
-    private LocalDateTime dataInizioRegistrazioni;
+    private volatile LocalDateTime dataInizioRegistrazioni;
     /** Data di chiusura registrazioni */
-    private LocalDateTime dataFineRegistrazioni;
+    private volatile LocalDateTime dataFineRegistrazioni;
 
     //TODO: eliminare titolo, è stabilito come chiave primaria dal DB
     /** Numero massimo di membri per team */
-    private int maxMembriTeam;
+    private volatile int maxMembriTeam;
     /** Numero massimo di partecipanti totali */
-    private int maxNumIscritti;
+    private volatile int maxNumIscritti;
     /** Testo del problema/contest */
-    private String descrizioneProblema;
+    private volatile String descrizioneProblema;
     /** Lista dei giudici assegnati all'evento */
     private ArrayList<Giudice> giudiciEvento;
     /** Numero corrente degli iscritti all'hackathon */
-    private int numIscritti;        //Ricavabile tramite Team
+    private volatile int numIscritti;        //Ricavabile tramite Team
     /** Lista dei team iscritti all'evento che verrà ordinata per punteggio a fine evento */
     private ArrayList<Team> classifica;
+    /** true se l'istanza contiene solo il titolo e i dati dell'evento non sono ancora stati letti */
+    private volatile boolean riferimento;
 
     /**
      * Costruttore principale per creare un nuovo evento Hackathon.
@@ -100,6 +102,62 @@ public class Hackathon {
 
     }
 
+    /**
+     * Costruttore dei riferimenti: solo il titolo, senza dati dell'evento.
+     */
+    private Hackathon(String titoloIdentificativo, boolean riferimento) {
+        this.titoloIdentificativo = titoloIdentificativo;
+        this.riferimento = riferimento;
+        giudiciEvento = new ArrayList<>();
+        this.classifica = new ArrayList<>();
+    }
+
+    /**
+     * Crea un riferimento leggero a un hackathon di cui si conosce solo il titolo.
+     * Usato dai DAO quando una riga cita l'hackathon senza leggerne i dati:
+     * date, sede e limiti restano vuoti finché non viene chiamato {@link #aggiornaDa(Hackathon)}.
+     *
+     * @param titoloIdentificativo Titolo identificativo dell'hackathon
+     * @return Il riferimento all'hackathon
+     */
+    public static Hackathon riferimento(String titoloIdentificativo) {
+        return new Hackathon(titoloIdentificativo, true);
+    }
+
+    /**
+     * @return true se l'istanza è un riferimento con il solo titolo
+     */
+    public boolean isRiferimento() {
+        return riferimento;
+    }
+
+    /**
+     * Copia i dati dell'evento da un'altra istanza dello stesso hackathon,
+     * così che chi possiede già questa istanza veda i dati aggiornati.
+     *
+     * L'istanza è condivisa tra i thread che leggono dal database e l'EDT: i campi sono volatile
+     * e il flag di riferimento è scritto per ultimo, così che chi lo legge false veda tutti i dati.
+     *
+     * @param dati L'hackathon letto dal database
+     * @throws IllegalArgumentException Se i titoli non coincidono
+     */
+    public synchronized void aggiornaDa(Hackathon dati) {
+        if (!titoloIdentificativo.equals(dati.titoloIdentificativo)) {
+            throw new IllegalArgumentException("Titolo dell'hackathon diverso");
+        }
+        this.organizzatore = dati.organizzatore;
+        this.sede = dati.sede;
+        this.dataInizio = dati.dataInizio;
+        this.dataFine = dati.dataFine;
+        this.dataInizioRegistrazioni = dati.dataInizioRegistrazioni;
+        this.dataFineRegistrazioni = dati.dataFineRegistrazioni;
+        this.maxMembriTeam = dati.maxMembriTeam;
+        this.maxNumIscritti = dati.maxNumIscritti;
+        this.descrizioneProblema = dati.descrizioneProblema;
+        this.numIscritti = dati.numIscritti;
+        this.riferimento = dati.riferimento;
+    }
+
     public String getTitoloIdentificativo() {
         return titoloIdentificativo;
     }
@@ -245,5 +303,5 @@ public class Hackathon {
     //
     // - controlloValiditaDataReg(): Gestito dal trigger 'verifica_adesione_valida'.
     // - controlloMaxIscritti(): Gestito dal trigger 'verifica_adesione_valida'.
-    // - ordinaStampaClassifica(): Gestito dalla funzione 'genera_classifica_hackathon'.
+    // - ordinaStampaClassifica(): Gestito da HackathonDAO.getClassifica(), aggiornata a ogni voto.
 }
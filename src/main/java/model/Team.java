@@ -1,5 +1,7 @@
 package model;
 
+import utilities.TestoRicerca;
+
 import java.util.ArrayList;
 /**
  * Classe che rappresenta un team partecipante a un hackathon.
@@ -140,11 +142,13 @@ public class Team {
      * Stampa il documento scelto.
      * @param titolo Titolo del documento da cercare.
      * @return doc Restituisce documento da cercare se il titolo
-     * corrisponde. Altrimenti restituisce null.
+     * corrisponde, senza distinguere maiuscole e accenti. Altrimenti restituisce null.
      */
     public Documento cercaDocumento(String titolo) {
+        // Il testo cercato è normalizzato una sola volta, non a ogni documento
+        String cercato = TestoRicerca.normalizza(titolo);
         for(Documento doc : documentazione) {
-            if(doc.getTitle().toLowerCase().contains(titolo.toLowerCase())) {
+            if(TestoRicerca.normalizza(doc.getTitle()).contains(cercato)) {
                 return doc;
             }
         }
@@ -152,6 +156,15 @@ public class Team {
         return null;
     }
 
+    /**
+     * Imposta il punteggio finale letto dal database, sostituendo quello attuale.
+     *
+     * @param punteggio Il punteggio finale del team
+     */
+    public void impostaVotoFinale(int punteggio) {
+        this.votoFinale = punteggio;
+    }
+
     /**
      * Incrementa il valore del punteggio finale del team.
      *
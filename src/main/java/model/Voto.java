@@ -29,9 +29,29 @@ public class Voto {
      * @param voto           Valore numerico del voto
      */
     public Voto(Team teamGiudicato, Giudice giudiceVotante, int voto) {
+        this(teamGiudicato, giudiceVotante, voto, true);
+    }
+
+    private Voto(Team teamGiudicato, Giudice giudiceVotante, int voto, boolean sommaAlTeam) {
         this.teamGiudicato = teamGiudicato;
         this.giudiceVotante = giudiceVotante;
-        teamGiudicato.setVotoFinale(this.voto = voto);
+        this.voto = voto;
+        if (sommaAlTeam) {
+            teamGiudicato.setVotoFinale(voto);
+        }
+    }
+
+    /**
+     * Crea un voto letto dal database. Il voto è già compreso nel punteggio del team,
+     * quindi non viene sommato: il team può essere l'istanza condivisa della sessione.
+     *
+     * @param teamGiudicato  Team destinatario del voto (non nullo)
+     * @param giudiceVotante Giudice che ha assegnato il voto (non nullo)
+     * @param voto           Valore numerico del voto
+     * @return Il voto
+     */
+    public static Voto registrato(Team teamGiudicato, Giudice giudiceVotante, int voto) {
+        return new Voto(teamGiudicato, giudiceVotante, voto, false);
     }
 
     /**
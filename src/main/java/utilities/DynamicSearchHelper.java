@@ -1,32 +1,106 @@
 package utilities;
 
+import gui.components.BulkListModel;
+
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 /**
  * Utility class per implementare ricerca dinamica in componenti GUI.
  * Fornisce funzionalità comuni per filtrare liste di oggetti in tempo reale
  * mentre l'utente digita in un campo di testo.
- * 
+ *
+ * Il testo di ricerca di ogni elemento viene estratto e normalizzato ({@link TestoRicerca}) una sola
+ * volta, quando la lista viene caricata, e non a ogni tasto. La ricerca parte solo dopo una breve
+ * pausa nella digitazione ({@link #RITARDO_RICERCA_MILLIS}) e il filtro viene eseguito su un thread
+ * in background: una ricerca superata da una più recente viene interrotta e il suo risultato
+ * scartato. Se il nuovo testo contiene quello precedente si filtrano solo i risultati precedenti.
+ * Il modello della lista ({@link BulkListModel}) viene sostituito in un unico passaggio sull'EDT.
+ *
  * @param <T> Il tipo degli oggetti da filtrare nella lista
  */
 public class DynamicSearchHelper<T> {
-    
+
+    /**
+     * Attesa dopo l'ultimo tasto prima di eseguire la ricerca.
+     */
+    static final int RITARDO_RICERCA_MILLIS = 150;
+
+    /**
+     * Ogni quanti elementi il filtro verifica se la ricerca è stata superata da una più recente.
+     */
+    private static final int CONTROLLO_INTERRUZIONE = 4_096;
+
+    /**
+     * Thread condiviso da tutte le ricerche dinamiche: una ricerca alla volta basta,
+     * perché ogni nuova ricerca interrompe quella in corso.
+     */
+    private static final ExecutorService ESECUTORE = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ricerca-dinamica");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Elementi con le relative chiavi di ricerca già normalizzate. Non viene mai modificato:
+     * un aggiornamento della lista crea un nuovo indice.
+     */
+    private static final class Indice<T> {
+        private final List<T> elementi;
+        private final String[] chiavi;
+
+        private Indice(List<T> elementi, Function<T, String> textExtractor) {
+            this.elementi = List.copyOf(elementi);
+            this.chiavi = new String[this.elementi.size()];
+            for (int i = 0; i < chiavi.length; i++) {
+                chiavi[i] = TestoRicerca.normalizza(textExtractor.apply(this.elementi.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Risultato dell'ultimo filtro applicato, da cui partire se il testo successivo lo restringe.
+     */
+    private static final class Risultato<T> {
+        private final Indice<T> indice;
+        private final String testo;
+        private final int[] posizioni;
+
+        private Risultato(Indice<T> indice, String testo, int[] posizioni) {
+            this.indice = indice;
+            this.testo = testo;
+            this.posizioni = posizioni;
+        }
+    }
+
     private final JTextField searchField;
     private final JList<T> resultList;
-    private final DefaultListModel<T> listModel;
+    private final BulkListModel<T> listModel;
     private final JLabel infoLabel;
     private final List<T> allItems;
     private final Function<T, String> textExtractor;
+    private final Function<String, List<T>> ricerca;
     private final Runnable onSelectionChanged;
+    private final Timer ritardo;
+
+    // Stato letto e scritto solo sull'EDT
+    private Indice<T> indice;
+    private Risultato<T> ultimoRisultato;
+    private long ricercheAvviate;
+    private Future<?> ricercaInCorso;
 
     /**
      * Costruttore per DynamicSearchHelper.
-     * 
+     *
      * @param searchField Campo di testo per la ricerca
      * @param resultList Lista che mostra i risultati
      * @param listModel Modello della lista
@@ -35,18 +109,45 @@ public class DynamicSearchHelper<T> {
      * @param textExtractor Funzione per estrarre il testo da cercare dall'oggetto
      * @param onSelectionChanged Callback chiamato quando la selezione cambia
      */
-    public DynamicSearchHelper(JTextField searchField, JList<T> resultList, 
-                             DefaultListModel<T> listModel, JLabel infoLabel,
+    public DynamicSearchHelper(JTextField searchField, JList<T> resultList,
+                             BulkListModel<T> listModel, JLabel infoLabel,
                              List<T> allItems, Function<T, String> textExtractor,
                              Runnable onSelectionChanged) {
+        this(searchField, resultList, listModel, infoLabel, allItems, textExtractor, null, onSelectionChanged);
+    }
+
+    /**
+     * Costruttore per DynamicSearchHelper con una ricerca personalizzata: con un testo non vuoto
+     * la lista mostra, nell'ordine restituito, gli elementi trovati dalla funzione di ricerca
+     * invece di filtrare per sottostringa il testo estratto. La funzione viene chiamata su un
+     * thread in background e può quindi accedere al database.
+     *
+     * @param searchField Campo di testo per la ricerca
+     * @param resultList Lista che mostra i risultati
+     * @param listModel Modello della lista
+     * @param infoLabel Label per informazioni sui risultati
+     * @param allItems Lista completa di tutti gli elementi disponibili
+     * @param textExtractor Funzione per estrarre il testo da cercare dall'oggetto
+     * @param ricerca Funzione che restituisce gli elementi trovati per un testo, null per il filtro per sottostringa
+     * @param onSelectionChanged Callback chiamato quando la selezione cambia
+     */
+    public DynamicSearchHelper(JTextField searchField, JList<T> resultList,
+                             BulkListModel<T> listModel, JLabel infoLabel,
+                             List<T> allItems, Function<T, String> textExtractor,
+                             Function<String, List<T>> ricerca, Runnable onSelectionChanged) {
         this.searchField = searchField;
         this.resultList = resultList;
         this.listModel = listModel;
         this.infoLabel = infoLabel;
         this.allItems = allItems;
         this.textExtractor = textExtractor;
+        this.ricerca = ricerca;
         this.onSelectionChanged = onSelectionChanged;
-        
+        this.indice = new Indice<>(allItems != null ? allItems : List.of(), textExtractor);
+
+        this.ritardo = new Timer(RITARDO_RICERCA_MILLIS, e -> performSearch());
+        this.ritardo.setRepeats(false);
+
         setupDynamicSearch();
         loadAllItems(); // Carica tutti gli elementi all'inizio
     }
@@ -55,21 +156,21 @@ public class DynamicSearchHelper<T> {
      * Configura la ricerca dinamica aggiungendo i listener necessari.
      */
     private void setupDynamicSearch() {
-        // DocumentListener per la ricerca dinamica
+        // DocumentListener per la ricerca dinamica: ogni tasto riavvia l'attesa
         searchField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
             public void insertUpdate(DocumentEvent e) {
-                performSearch();
+                ritardo.restart();
             }
 
             @Override
             public void removeUpdate(DocumentEvent e) {
-                performSearch();
+                ritardo.restart();
             }
 
             @Override
             public void changedUpdate(DocumentEvent e) {
-                performSearch();
+                ritardo.restart();
             }
         });
 
@@ -85,75 +186,142 @@ public class DynamicSearchHelper<T> {
      * Carica tutti gli elementi nella lista all'inizio.
      */
     private void loadAllItems() {
-        SwingUtilities.invokeLater(() -> {
-            listModel.clear();
-            if (allItems != null && !allItems.isEmpty()) {
-                for (T item : allItems) {
-                    listModel.addElement(item);
-                }
-                resultList.setEnabled(true);
-                updateInfoLabel(allItems.size(), false);
-            } else {
-                resultList.setEnabled(false);
-                infoLabel.setText("Nessun elemento disponibile");
-                infoLabel.setBackground(Color.LIGHT_GRAY);
-            }
-        });
+        SwingUtilities.invokeLater(this::mostraTutti);
+    }
+
+    /**
+     * Mostra tutti gli elementi disponibili, interrompendo l'eventuale ricerca in corso.
+     */
+    private void mostraTutti() {
+        interrompiRicercaInCorso();
+        ultimoRisultato = null;
+        sostituisciElementi(indice.elementi);
+        if (!indice.elementi.isEmpty()) {
+            resultList.setEnabled(true);
+            updateInfoLabel(indice.elementi.size(), false);
+        } else {
+            resultList.setEnabled(false);
+            infoLabel.setText("Nessun elemento disponibile");
+            infoLabel.setBackground(Color.LIGHT_GRAY);
+        }
     }
 
     /**
-     * Esegue la ricerca filtrando gli elementi in base al testo inserito.
+     * Avvia la ricerca del testo inserito su un thread in background. Viene chiamato sull'EDT
+     * allo scadere dell'attesa dopo l'ultimo tasto.
      */
     private void performSearch() {
-        SwingUtilities.invokeLater(() -> {
-            String searchText = searchField.getText().trim();
-            
-            listModel.clear();
-            
-            if (searchText.isEmpty()) {
-                // Se non c'è testo di ricerca, mostra tutti gli elementi
-                if (allItems != null) {
-                    for (T item : allItems) {
-                        listModel.addElement(item);
+        String searchText = searchField.getText().trim();
+        if (searchText.isEmpty()) {
+            // Se non c'è testo di ricerca, mostra tutti gli elementi
+            mostraTutti();
+            return;
+        }
+
+        interrompiRicercaInCorso();
+        long numeroRicerca = ++ricercheAvviate;
+        Indice<T> indiceCorrente = indice;
+        Risultato<T> precedente = ultimoRisultato;
+
+        ricercaInCorso = ESECUTORE.submit(() -> {
+            List<T> trovati;
+            Risultato<T> risultato = null;
+            try {
+                if (ricerca != null) {
+                    trovati = ricerca.apply(searchText);
+                    if (trovati == null) {
+                        trovati = List.of();
                     }
-                }
-                if (allItems != null && !allItems.isEmpty()) {
-                    resultList.setEnabled(true);
-                    updateInfoLabel(allItems.size(), false);
                 } else {
-                    resultList.setEnabled(false);
-                    infoLabel.setText("Nessun elemento disponibile");
-                    infoLabel.setBackground(Color.LIGHT_GRAY);
+                    risultato = filtra(indiceCorrente, TestoRicerca.normalizza(searchText), precedente);
+                    if (risultato == null) {
+                        return; // Interrotta da una ricerca più recente
+                    }
+                    trovati = new ArrayList<>(risultato.posizioni.length);
+                    for (int posizione : risultato.posizioni) {
+                        trovati.add(indiceCorrente.elementi.get(posizione));
+                    }
                 }
-                return;
+            } catch (RuntimeException e) {
+                System.err.println("Errore durante la ricerca: " + e.getMessage());
+                trovati = List.of();
             }
 
-            // Filtra gli elementi che contengono il testo cercato
-            int foundCount = 0;
-            if (allItems != null) {
-                for (T item : allItems) {
-                    String itemText = textExtractor.apply(item);
-                    if (itemText != null && itemText.toLowerCase().contains(searchText.toLowerCase())) {
-                        listModel.addElement(item);
-                        foundCount++;
-                    }
+            Risultato<T> daRicordare = risultato;
+            List<T> daMostrare = trovati;
+            SwingUtilities.invokeLater(() -> {
+                // Un risultato superato da una ricerca più recente non viene mostrato
+                if (numeroRicerca == ricercheAvviate) {
+                    ricercaInCorso = null;
+                    mostraRisultati(daMostrare, daRicordare);
                 }
-            }
+            });
+        });
+    }
 
-            if (foundCount > 0) {
-                resultList.setEnabled(true);
-                updateInfoLabel(foundCount, true);
-            } else {
-                resultList.setEnabled(false);
-                infoLabel.setText("Nessun elemento trovato con questo criterio");
-                infoLabel.setBackground(new Color(255, 200, 200)); // Rosso chiaro
+    /**
+     * Filtra gli elementi la cui chiave contiene il testo. Se il testo contiene quello della ricerca
+     * precedente sullo stesso indice, vengono esaminati solo gli elementi trovati allora.
+     *
+     * @return Le posizioni trovate, null se il thread è stato interrotto
+     */
+    private static <T> Risultato<T> filtra(Indice<T> indice, String testo, Risultato<T> precedente) {
+        boolean restringe = precedente != null && precedente.indice == indice && testo.contains(precedente.testo);
+        int candidati = restringe ? precedente.posizioni.length : indice.chiavi.length;
+
+        int[] posizioni = new int[Math.min(candidati, 1_024)];
+        int trovati = 0;
+        for (int i = 0; i < candidati; i++) {
+            if (i % CONTROLLO_INTERRUZIONE == 0 && Thread.currentThread().isInterrupted()) {
+                return null;
             }
-        });
+            int posizione = restringe ? precedente.posizioni[i] : i;
+            if (indice.chiavi[posizione].contains(testo)) {
+                if (trovati == posizioni.length) {
+                    posizioni = Arrays.copyOf(posizioni, Math.min(candidati, trovati * 2));
+                }
+                posizioni[trovati++] = posizione;
+            }
+        }
+        return new Risultato<>(indice, testo, Arrays.copyOf(posizioni, trovati));
+    }
+
+    /**
+     * Mostra i risultati di una ricerca. Viene chiamato sull'EDT.
+     */
+    private void mostraRisultati(List<T> trovati, Risultato<T> risultato) {
+        ultimoRisultato = risultato;
+        sostituisciElementi(trovati);
+
+        if (!trovati.isEmpty()) {
+            resultList.setEnabled(true);
+            updateInfoLabel(trovati.size(), true);
+        } else {
+            resultList.setEnabled(false);
+            infoLabel.setText("Nessun elemento trovato con questo criterio");
+            infoLabel.setBackground(new Color(255, 200, 200)); // Rosso chiaro
+        }
+    }
+
+    /**
+     * Sostituisce il contenuto del modello con una sola notifica, invece che un elemento alla volta.
+     */
+    private void sostituisciElementi(List<T> elementi) {
+        listModel.setAll(elementi);
+    }
+
+    private void interrompiRicercaInCorso() {
+        ritardo.stop();
+        ricercheAvviate++;
+        if (ricercaInCorso != null) {
+            ricercaInCorso.cancel(true);
+            ricercaInCorso = null;
+        }
     }
 
     /**
      * Aggiorna il label informativo con il numero di risultati.
-     * 
+     *
      * @param count Numero di elementi trovati
      * @param isFiltered Se true, indica che i risultati sono filtrati
      */
@@ -169,33 +337,35 @@ public class DynamicSearchHelper<T> {
 
     /**
      * Aggiorna la lista di tutti gli elementi disponibili e ricarica la vista.
-     * 
+     * Le chiavi di ricerca dei nuovi elementi vengono normalizzate subito, una sola volta.
+     *
      * @param newItems Nuova lista di elementi
      */
     public void updateAllItems(List<T> newItems) {
-        System.out.println("DEBUG DynamicSearchHelper: Aggiornamento lista con " + (newItems != null ? newItems.size() : 0) + " elementi");
-        
         // Sostituisce completamente la lista corrente
-        allItems.clear();
-        if (newItems != null) {
-            allItems.addAll(newItems);
-            System.out.println("DEBUG DynamicSearchHelper: Lista aggiornata, ora contiene " + allItems.size() + " elementi");
-        }
-        
-        // Ricarica la vista
-        String currentSearch = searchField.getText().trim();
-        System.out.println("DEBUG DynamicSearchHelper: Testo di ricerca corrente: '" + currentSearch + "'");
-        
-        if (currentSearch.isEmpty()) {
-            loadAllItems();
-        } else {
-            performSearch();
+        if (allItems != null && allItems != newItems) {
+            allItems.clear();
+            if (newItems != null) {
+                allItems.addAll(newItems);
+            }
         }
+        Indice<T> nuovoIndice = new Indice<>(newItems != null ? newItems : List.of(), textExtractor);
+
+        SwingUtilities.invokeLater(() -> {
+            indice = nuovoIndice;
+            // Ricarica la vista
+            if (searchField.getText().trim().isEmpty()) {
+                mostraTutti();
+            } else {
+                interrompiRicercaInCorso();
+                performSearch();
+            }
+        });
     }
 
     /**
      * Ottiene l'elemento attualmente selezionato nella lista.
-     * 
+     *
      * @return L'elemento selezionato o null se nessun elemento è selezionato
      */
     public T getSelectedItem() {
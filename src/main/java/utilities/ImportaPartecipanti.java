@@ -0,0 +1,110 @@
+package utilities;
+
+import Database.ConnessioneDatabase;
+import Database.DAO.EsitoImportazione;
+import Database.DAO.Impl.ImportazioneDAOImpl;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Comando per l'importazione massiva dei partecipanti prima di un evento.
+ *
+ * Uso:
+ * <pre>
+ *     java utilities.ImportaPartecipanti [--utenti utenti.csv] [--team team.csv] [--membership membership.csv]
+ * </pre>
+ *
+ * I file vengono importati nell'ordine utenti, team, membership. Per ogni file con righe
+ * scartate viene scritto accanto un file {@code <nome>.scartate.csv} con il numero del record,
+ * i valori letti e il motivo dello scarto.
+ */
+public class ImportaPartecipanti {
+
+    public static void main(String[] args) {
+        Path utenti = null;
+        Path team = null;
+        Path membership = null;
+
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                stampaUso();
+                return;
+            }
+            switch (args[i]) {
+                case "--utenti" -> utenti = Path.of(args[++i]);
+                case "--team" -> team = Path.of(args[++i]);
+                case "--membership" -> membership = Path.of(args[++i]);
+                default -> {
+                    stampaUso();
+                    return;
+                }
+            }
+        }
+        if (utenti == null && team == null && membership == null) {
+            stampaUso();
+            return;
+        }
+
+        try {
+            ImportazioneDAOImpl importazioneDAO = new ImportazioneDAOImpl();
+            if (utenti != null) {
+                try (Reader csv = Files.newBufferedReader(utenti, StandardCharsets.UTF_8)) {
+                    riporta(utenti, importazioneDAO.importaUtenti(csv));
+                }
+            }
+            if (team != null) {
+                try (Reader csv = Files.newBufferedReader(team, StandardCharsets.UTF_8)) {
+                    riporta(team, importazioneDAO.importaTeam(csv));
+                }
+            }
+            if (membership != null) {
+                try (Reader csv = Files.newBufferedReader(membership, StandardCharsets.UTF_8)) {
+                    riporta(membership, importazioneDAO.importaMembership(csv));
+                }
+            }
+        } catch (SQLException | IOException e) {
+            System.err.println("Importazione interrotta: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            try {
+                ConnessioneDatabase.getInstance().closeConnection();
+            } catch (SQLException e) {
+                // Il database non era raggiungibile: non c'è nulla da chiudere
+            }
+        }
+    }
+
+    /**
+     * Stampa il riepilogo e scrive le righe scartate in un file separato.
+     */
+    private static void riporta(Path file, EsitoImportazione esito) throws IOException {
+        System.out.println(esito);
+        if (esito.getRigheScartate().isEmpty()) {
+            return;
+        }
+
+        Path scartate = file.resolveSibling(file.getFileName() + ".scartate.csv");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(scartate, StandardCharsets.UTF_8))) {
+            out.println("record,motivo,valori");
+            for (EsitoImportazione.RigaScartata riga : esito.getRigheScartate()) {
+                out.println(riga.getNumeroRecord() + "," + csv(riga.getMotivo()) + ","
+                        + csv(String.join(";", riga.getValori().stream().map(v -> v == null ? "" : v).toList())));
+            }
+        }
+        System.out.println("  righe scartate scritte in " + scartate);
+    }
+
+    private static String csv(String valore) {
+        return "\"" + valore.replace("\"", "\"\"") + "\"";
+    }
+
+    private static void stampaUso() {
+        System.err.println("Uso: ImportaPartecipanti [--utenti file.csv] [--team file.csv] [--membership file.csv]");
+    }
+}
@@ -0,0 +1,72 @@
+package utilities;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rapporto sui tempi di avvio dell'applicazione.
+ *
+ * Misura il tempo dall'avvio della JVM alla prima finestra visibile e lo confronta con
+ * un obiettivo, configurabile con la proprietà di sistema {@code avvio.obiettivoMillis}.
+ * Registra inoltre la durata della creazione di ogni servizio, così che si veda subito
+ * se qualcosa torna a essere costruito prima della prima finestra.
+ */
+public final class TempiAvvio {
+
+    /**
+     * Obiettivo per il tempo alla prima finestra, in millisecondi.
+     */
+    public static final long OBIETTIVO_PRIMO_FRAME_MILLIS = Long.getLong("avvio.obiettivoMillis", 1_000);
+
+    private static final List<String> fasi = new ArrayList<>();
+    private static long primoFrameMillis = -1;
+
+    private TempiAvvio() {
+    }
+
+    /**
+     * Registra la durata di una fase (ad esempio la creazione di un servizio).
+     * Le fasi registrate prima della prima finestra compaiono nel rapporto di avvio,
+     * le successive vengono stampate subito.
+     *
+     * @param fase Il nome della fase
+     * @param durataNanos La durata in nanosecondi
+     */
+    public static synchronized void registra(String fase, long durataNanos) {
+        String riga = String.format("  %-28s %6d ms", fase, durataNanos / 1_000_000);
+        if (primoFrameMillis < 0) {
+            fasi.add(riga + " (prima della finestra)");
+        } else {
+            System.out.println("Avvio:" + riga.substring(1));
+        }
+    }
+
+    /**
+     * Segnala che la prima finestra è visibile e stampa il rapporto di avvio.
+     * Le chiamate successive alla prima vengono ignorate.
+     */
+    public static synchronized void primoFrameVisibile() {
+        if (primoFrameMillis >= 0) {
+            return;
+        }
+        primoFrameMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        StringBuilder rapporto = new StringBuilder();
+        rapporto.append("Avvio: prima finestra visibile dopo ").append(primoFrameMillis).append(" ms")
+                .append(" (obiettivo ").append(OBIETTIVO_PRIMO_FRAME_MILLIS).append(" ms)")
+                .append(primoFrameMillis <= OBIETTIVO_PRIMO_FRAME_MILLIS ? " - OK" : " - OBIETTIVO SUPERATO");
+        for (String fase : fasi) {
+            rapporto.append('\n').append(fase);
+        }
+        System.out.println(rapporto);
+        fasi.clear();
+    }
+
+    /**
+     * @return Il tempo dall'avvio della JVM alla prima finestra in millisecondi, -1 se non è ancora visibile
+     */
+    public static synchronized long getPrimoFrameMillis() {
+        return primoFrameMillis;
+    }
+}
@@ -0,0 +1,93 @@
+package utilities;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizzazione del testo per la ricerca.
+ *
+ * Il testo viene portato in minuscolo e privato degli accenti, così che "perché", "perche'"
+ * e "PERCHE" siano equivalenti, e diviso in parole sui caratteri che non sono lettere o cifre
+ * (gli apostrofi delle elisioni compresi: "l'idea" diventa "l", "idea"). Le parole più comuni
+ * della lingua italiana sono scartate, perché compaiono in quasi tutti i documenti e non
+ * aiutano a distinguerli.
+ */
+public final class TestoRicerca {
+
+    private static final Pattern SEGNI_DIACRITICI = Pattern.compile("\\p{M}+");
+
+    private static final Set<String> PAROLE_VUOTE = Set.of(
+            "a", "ad", "al", "alla", "alle", "agli", "ai", "allo", "anche", "che", "chi", "ci", "come",
+            "con", "da", "dal", "dalla", "dalle", "dai", "dagli", "dallo", "del", "della", "delle", "dei",
+            "degli", "dello", "di", "e", "ed", "gli", "ha", "hanno", "i", "il", "in", "la", "le",
+            "lo", "l", "ma", "mi", "ne", "nel", "nella", "nelle", "nei", "negli", "nello", "non", "o",
+            "per", "piu", "po", "quale", "quando", "questa", "questo", "se", "si", "sono", "su", "sul",
+            "sulla", "sulle", "sui", "tra", "fra", "un", "una", "uno", "d", "c", "s", "nell", "dell",
+            "all", "dall", "sull");
+
+    private TestoRicerca() {
+    }
+
+    /**
+     * Porta un testo in minuscolo e rimuove gli accenti.
+     *
+     * @param testo Il testo da normalizzare
+     * @return Il testo normalizzato, stringa vuota se il testo è null
+     */
+    public static String normalizza(String testo) {
+        if (testo == null || testo.isEmpty()) {
+            return "";
+        }
+        String scomposto = Normalizer.normalize(testo, Normalizer.Form.NFD);
+        return SEGNI_DIACRITICI.matcher(scomposto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Divide un testo in parole normalizzate, scartando le parole vuote.
+     * Le parole ripetute compaiono più volte, nell'ordine del testo.
+     *
+     * @param testo Il testo da dividere
+     * @return Le parole del testo
+     */
+    public static List<String> parole(String testo) {
+        List<String> parole = new ArrayList<>();
+        String normalizzato = normalizza(testo);
+        int inizio = -1;
+        for (int i = 0; i <= normalizzato.length(); i++) {
+            boolean carattereDiParola = i < normalizzato.length()
+                    && Character.isLetterOrDigit(normalizzato.charAt(i));
+            if (carattereDiParola && inizio < 0) {
+                inizio = i;
+            } else if (!carattereDiParola && inizio >= 0) {
+                String parola = normalizzato.substring(inizio, i);
+                if (!PAROLE_VUOTE.contains(parola)) {
+                    parole.add(parola);
+                }
+                inizio = -1;
+            }
+        }
+        return parole;
+    }
+
+    /**
+     * Restituisce l'ultima parola di un testo se è ancora in corso di digitazione, cioè se il
+     * testo non termina con uno spazio o un segno di punteggiatura. La parola è normalizzata
+     * ma non viene scartata anche se è una parola vuota: "di" può essere l'inizio di "digitale".
+     *
+     * @param testo Il testo cercato
+     * @return L'ultima parola normalizzata, null se il testo termina con un separatore
+     */
+    public static String parolaIncompleta(String testo) {
+        String normalizzato = normalizza(testo);
+        int fine = normalizzato.length();
+        int inizio = fine;
+        while (inizio > 0 && Character.isLetterOrDigit(normalizzato.charAt(inizio - 1))) {
+            inizio--;
+        }
+        return inizio < fine ? normalizzato.substring(inizio, fine) : null;
+    }
+}
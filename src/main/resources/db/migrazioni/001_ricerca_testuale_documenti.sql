@@ -0,0 +1,20 @@
+-- Ricerca testuale dei documenti (DocumentoDAO.cercaDocumentiTestoCompleto).
+--
+-- Aggiunge a DOCUMENTO la colonna tsvector generata da titolo (peso A) e contenuto (peso B)
+-- con la configurazione 'italian', la stessa di DocumentoDAOImpl.CONFIGURAZIONE_TESTO, e il
+-- relativo indice GIN. La colonna è calcolata dal database, quindi resta allineata a ogni
+-- INSERT e UPDATE senza modifiche ai DAO.
+--
+-- ADD COLUMN di una colonna STORED riscrive la tabella con un lock ACCESS EXCLUSIVE che
+-- blocca anche le letture: va eseguita in una finestra di manutenzione. L'indice è creato
+-- CONCURRENTLY per non bloccare le scritture; CREATE INDEX CONCURRENTLY non può essere
+-- eseguito in una transazione, quindi lo script va lanciato in autocommit
+-- (ad esempio psql -f, senza --single-transaction).
+
+ALTER TABLE DOCUMENTO ADD COLUMN IF NOT EXISTS Testo_ricerca tsvector
+GENERATED ALWAYS AS (
+    setweight(to_tsvector('italian'::regconfig, coalesce(Titolo_doc, '')), 'A') ||
+    setweight(to_tsvector('italian'::regconfig, coalesce(Contenuto, '')), 'B')
+) STORED;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_documento_testo_ricerca ON DOCUMENTO USING GIN (Testo_ricerca);
@@ -0,0 +1,19 @@
+-- Ricerca dei nomi dei team e dei titoli degli hackathon (TeamDAO.searchTeamsByName,
+-- TeamDAO.cercaTeamSimili, HackathonDAO.cercaHackathonSimili).
+--
+-- L'estensione pg_trgm fornisce l'operatore <% e word_similarity, usati dalle ricerche per
+-- somiglianza; senza di essa i DAO ripiegano sulla sola ricerca per sottostringa (ILIKE).
+-- Gli indici GIN con gin_trgm_ops servono sia <% sia ILIKE con caratteri jolly iniziali,
+-- che un B-tree non può usare; senza indici le ricerche funzionano ma leggono tutta la tabella.
+--
+-- CREATE EXTENSION richiede un utente con il privilegio CREATE sul database. Gli indici sono
+-- creati CONCURRENTLY per non bloccare le scritture su TEAM e HACKATHON; CREATE INDEX
+-- CONCURRENTLY non può essere eseguito in una transazione, quindi lo script va lanciato in
+-- autocommit (ad esempio psql -f, senza --single-transaction).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_team_nome_trgm ON TEAM USING GIN (Nome_team gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_hackathon_titolo_trgm
+    ON HACKATHON USING GIN (Titolo_identificativo gin_trgm_ops);